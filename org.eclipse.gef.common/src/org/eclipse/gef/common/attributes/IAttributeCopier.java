@@ -34,6 +34,11 @@ public interface IAttributeCopier {
 				IAttributeStore target) {
 			target.attributesProperty().putAll(source.getAttributes());
 		}
+
+		@Override
+		public boolean isThreadSafe() {
+			return true;
+		}
 	};
 
 	/**
@@ -46,6 +51,11 @@ public interface IAttributeCopier {
 				IAttributeStore target) {
 			// do nothing
 		}
+
+		@Override
+		public boolean isThreadSafe() {
+			return true;
+		}
 	};
 
 	/**
@@ -60,4 +70,16 @@ public interface IAttributeCopier {
 	 */
 	public void copy(IAttributeStore source, IAttributeStore target);
 
+	/**
+	 * Returns whether this {@link IAttributeCopier} may be used to transfer
+	 * attributes between different pairs of {@link IAttributeStore}s
+	 * concurrently. Defaults to <code>false</code>.
+	 *
+	 * @return <code>true</code> if {@link #copy(IAttributeStore, IAttributeStore)}
+	 *         may be called concurrently, <code>false</code> otherwise.
+	 */
+	public default boolean isThreadSafe() {
+		return false;
+	}
+
 }
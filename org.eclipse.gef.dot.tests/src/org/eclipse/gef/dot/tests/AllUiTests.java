@@ -20,6 +20,7 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({ DotArrowTypeTests.class, DotImportTests.class,
+		DotStreamingImportTests.class,
 		DotExportTests.class, DotExecutableUtilsTests.class,
 		DotExtractorTests.class, DotAttributesTests.class, DotParserTests.class,
 		DotQuickfixTests.class, DotEscStringTests.class,
@@ -15,6 +15,7 @@ package org.eclipse.gef.dot.tests;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -252,6 +253,28 @@ public class DotAttributesTests {
 		}
 	}
 
+	@Test
+	public void edge_color_parsedValueIsCopy() {
+		Node n1 = new Node.Builder().buildNode();
+		Node n2 = new Node.Builder().buildNode();
+		Edge e1 = new Edge.Builder(n1, n2).buildEdge();
+		Edge e2 = new Edge.Builder(n2, n1).buildEdge();
+		DotAttributes.setColor(e1, "white");
+		DotAttributes.setColor(e2, "white");
+
+		// parse results of equal raw values are equal, but not identical
+		StringColor color1 = (StringColor) DotAttributes.getColorParsed(e1);
+		StringColor color2 = (StringColor) DotAttributes.getColorParsed(e2);
+		assertTrue(EcoreUtil.equals(color1, color2));
+		assertNotSame(color1, color2);
+
+		// changing a parsed value does not affect subsequent results
+		color1.setName("black");
+		assertEquals("white",
+				((StringColor) DotAttributes.getColorParsed(e1)).getName());
+		assertEquals("white", DotAttributes.getColor(e1));
+	}
+
 	@Test
 	public void edge_color() {
 		Node n1 = new Node.Builder().buildNode();
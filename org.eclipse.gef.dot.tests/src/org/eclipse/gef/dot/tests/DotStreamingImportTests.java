@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.dot.tests;
+
+import static org.eclipse.gef.dot.tests.DotTestUtils.RESOURCES_TESTS;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.gef.dot.internal.DotImport;
+import org.eclipse.gef.dot.internal.DotStreamingImport;
+import org.eclipse.gef.dot.internal.language.DotUiInjectorProvider;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.xtext.junit4.InjectWith;
+import org.eclipse.xtext.junit4.XtextRunner;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for the {@link DotStreamingImport} class, which has to produce the
+ * same graphs as the {@link DotImport}.
+ */
+@RunWith(XtextRunner.class)
+@InjectWith(DotUiInjectorProvider.class)
+public final class DotStreamingImportTests {
+
+	private final DotImport dotImport = new DotImport();
+	private final DotStreamingImport dotStreamingImport = new DotStreamingImport();
+
+	@Test
+	public void sampleGraphsFileImport() throws IOException {
+		for (String fileName : new String[] { "simple_graph.dot", //$NON-NLS-1$
+				"simple_digraph.dot", "labeled_graph.dot", //$NON-NLS-1$ //$NON-NLS-2$
+				"styled_graph.dot", "clustered_graph.dot", //$NON-NLS-1$ //$NON-NLS-2$
+				"colored_graph.dot", "html_like_labels1.dot" }) { //$NON-NLS-1$ //$NON-NLS-2$
+			File dotFile = new File(RESOURCES_TESTS + fileName);
+			Assert.assertEquals(fileName, dotImport.importDot(dotFile).toString(),
+					dotStreamingImport.importDot(dotFile).toString());
+		}
+	}
+
+	@Test
+	public void statements() {
+		testStringImport(DotTestGraphs.EMPTY_WITH_COMMENTS);
+		testStringImport(DotTestGraphs.EMPTY_STRICT_DIRECTED);
+		testStringImport(DotTestGraphs.TWO_NODES_AND_THREE_EDGES);
+		testStringImport(DotTestGraphs.EMPTY_NODE_ATTRIBUTE_LIST);
+		testStringImport(DotTestGraphs.EMPTY_GRAPH_ATTRIBUTE_STATEMENT);
+		testStringImport(DotTestGraphs.NODES_AFTER_EDGES);
+		testStringImport(DotTestGraphs.NODES_BEFORE_EDGES_WITH_ATTRIBUTES);
+		testStringImport(DotTestGraphs.NODE_GROUPS);
+		testStringImport(DotTestGraphs.KEYWORDS);
+		testStringImport(DotTestGraphs.PORTS);
+		testStringImport(DotTestGraphs.COMPASS_POINTS_AS_NODE_NAMES);
+	}
+
+	@Test
+	public void identifiers() {
+		testStringImport(DotTestGraphs.ESCAPED_QUOTES_LABEL);
+		testStringImport(DotTestGraphs.MULTILINE_QUOTED_IDS);
+		testStringImport(DotTestGraphs.FULLY_QUOTED_IDS);
+		testStringImport(DotTestGraphs.IDS_WITH_QUOTES);
+		testStringImport(DotTestGraphs.QUOTED_LABELS);
+		testStringImport(DotTestGraphs.NEW_LINES_IN_LABELS);
+	}
+
+	@Test
+	public void attributePrecedence() {
+		testStringImport(DotTestGraphs.GLOBAL_EDGE_LABEL_AD_HOC_NODES);
+		testStringImport(DotTestGraphs.GLOBAL_NODE_LABEL_AD_HOC_NODES);
+		testStringImport(DotTestGraphs.MULTI_EDGE_STATEMENTS_GLOBAL);
+		testStringImport(DotTestGraphs.MULTI_EDGE_STATEMENTS_LOCAL);
+		testStringImport(DotTestGraphs.MULTI_EDGE_STATEMENTS_OVERRIDE);
+		testStringImport(DotTestGraphs.NODE_LABEL_OVERRIDE);
+		testStringImport(DotTestGraphs.NODE_LABEL_OVERRIDE2);
+		testStringImport(DotTestGraphs.NODE_LABEL_OVERRIDE3);
+		testStringImport(DotTestGraphs.EDGE_COLOR_OVERRIDE);
+		testStringImport(DotTestGraphs.GRAPH_RANKDIR_LR);
+		testStringImport(DotTestGraphs.GRAPH_LAYOUT_DOT_HORIZONTAL);
+	}
+
+	@Test
+	public void subgraphs() {
+		testStringImport(DotTestGraphs.CLUSTERS);
+		testStringImport(DotTestGraphs.CLUSTER_MERGE);
+		testStringImport(DotTestGraphs.CLUSTER_SCOPE);
+		// edge statements with subgraphs are not transformed
+		testStringImport("digraph { {a b} -> c; d -> {e} -> f }"); //$NON-NLS-1$
+	}
+
+	@Test
+	public void multipleGraphs() throws IOException {
+		final List<Graph> graphs = new ArrayList<>();
+		dotStreamingImport.importDot(
+				new StringReader("graph {1--2} digraph {3->4} graph {5}"), //$NON-NLS-1$
+				new DotStreamingImport.IGraphSink() {
+					@Override
+					public void graphImported(Graph graph) {
+						graphs.add(graph);
+					}
+				});
+		Assert.assertEquals(3, graphs.size());
+		Assert.assertEquals(1, graphs.get(2).getNodes().size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidGraph() {
+		dotStreamingImport.importDot("graph Sample{"); //$NON-NLS-1$
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidCharacter() {
+		dotStreamingImport.importDot("graph {1 -- $}"); //$NON-NLS-1$
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void faultyLayout() {
+		dotStreamingImport.importDot("graph Sample{graph[layout=cool];1;}"); //$NON-NLS-1$
+	}
+
+	private void testStringImport(String dot) {
+		Assert.assertEquals(dot, dotImport.importDot(dot).toString(),
+				dotStreamingImport.importDot(dot).toString());
+	}
+}
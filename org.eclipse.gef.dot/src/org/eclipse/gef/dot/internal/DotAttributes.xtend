@@ -19,10 +19,12 @@ import java.util.Collections
 import java.util.Iterator
 import java.util.List
 import java.util.Map
+import java.util.concurrent.ConcurrentHashMap
 import org.eclipse.emf.common.util.BasicDiagnostic
 import org.eclipse.emf.common.util.Diagnostic
 import org.eclipse.emf.ecore.EObject
 import org.eclipse.emf.ecore.EStructuralFeature
+import org.eclipse.emf.ecore.util.EcoreUtil
 import org.eclipse.gef.common.reflect.ReflectionUtils
 import org.eclipse.gef.dot.internal.generator.DotAttribute
 import org.eclipse.gef.dot.internal.language.DotArrowTypeStandaloneSetup
@@ -312,7 +314,14 @@ class DotAttributes {
 	 *         parsed.
 	 */
 	private static def <T> T parseAttributeValue(IAttributeValueParser<T> parser, String attributeValue) {
-		if (attributeValue === null) null else parser.parse(attributeValue).parsedValue
+		if (attributeValue === null) {
+			null
+		} else if (parser instanceof EObjectParser) {
+			// the Xtext-based parsers are expensive, so use their cache
+			(parser as EObjectParser<?>).getParsedValue(attributeValue) as T
+		} else {
+			parser.parse(attributeValue).parsedValue
+		}
 	}
 
 	// TODO: separate validation from parsing
@@ -522,16 +531,49 @@ class DotAttributes {
 		}
 	}
 
+	/**
+	 * The maximum number of raw values for which an {@link EObjectParser}
+	 * caches the parse results.
+	 */
+	static val PARSE_CACHE_SIZE = 1024
+
 	private static class EObjectParser<T extends EObject> implements IAttributeValueParser<T> {
 
 		val Injector injector
 		var IParser xtextParser
 		var Class<T> parsedType
+		val Map<String, IAttributeValueParser.ParseResult<T>> parseResults = new ConcurrentHashMap
 
 		new(Injector injector) {
 			this.injector = injector
 		}
 
+		/**
+		 * Returns the value parsed from the given raw value, or
+		 * <code>null</code> if it could not be parsed. The parse result of
+		 * each distinct raw value is cached (the cache is cleared once it
+		 * contains PARSE_CACHE_SIZE values), so that raw values that
+		 * are used repeatedly (e.g. colors or arrow types) are parsed only
+		 * once. As parsed values may be changed by the caller, a copy of the
+		 * cached value is returned.
+		 * 
+		 * @param attributeValue
+		 *            The raw value to parse.
+		 * @return A copy of the parsed value, or <code>null</code>.
+		 */
+		def T getParsedValue(String attributeValue) {
+			var parseResult = parseResults.get(attributeValue)
+			if (parseResult === null) {
+				parseResult = parse(attributeValue)
+				if (parseResults.size >= PARSE_CACHE_SIZE) {
+					parseResults.clear
+				}
+				parseResults.put(attributeValue, parseResult)
+			}
+			val parsedValue = parseResult.parsedValue
+			if (parsedValue === null) null else EcoreUtil.copy(parsedValue)
+		}
+
 		@SuppressWarnings("unchecked")
 		override IAttributeValueParser.ParseResult<T> parse(String attributeValue) {
 			val IParseResult xtextParseResult = parser.parse(new StringReader(attributeValue))
@@ -121,26 +121,14 @@ class DotImport {
 		val graph = graphBuilder.build
 
 		// apply all global graph attributes we have processed before
-		val setter = [ String attributeName, (Graph, ID)=>void f |
+		DotImportAttributes.applyGraphAttributes(graph) [ attributeName |
 			val attributeValue = getAttributeValue(attributeName)
 			if (attributeValue !== null) {
-				f.apply(graph, attributeValue)
-			} else if (globalGraphAttributes(graphBuilder).containsKey(attributeName)) {
-				f.apply(graph, globalGraphAttributes(graphBuilder).get(attributeName))
+				attributeValue
+			} else {
+				globalGraphAttributes(graphBuilder).get(attributeName)
 			}
 		]
-
-		// graph attributes
-		setter.apply(BB__GC, [g, value|g.setBbRaw(value)])
-		setter.apply(BGCOLOR__GC, [g, value|g.setBgcolorRaw(value)])
-		setter.apply(CLUSTERRANK__G, [g, value|g.setClusterrankRaw(value)])
-		setter.apply(FONTCOLOR__GCNE, [g, value|g.setFontcolorRaw(value)])
-		setter.apply(LABEL__GCNE, [g, value|g.setLabelRaw(value)])
-		setter.apply(LAYOUT__G, [g, value|g.setLayoutRaw(value)])
-		setter.apply(OUTPUTORDER__G, [g, value|g.setOutputorderRaw(value)])
-		setter.apply(PAGEDIR__G, [g, value|g.setPagedirRaw(value)])
-		setter.apply(RANKDIR__G, [g, value|g.setRankdirRaw(value)])
-		setter.apply(SPLINES__G, [g, value|g.setSplinesRaw(value)])
 		
 		graph
 	}
@@ -160,34 +148,16 @@ class DotImport {
 			graphBuilder.nodes(node)
 		}
 
-		val setter = [ String attributeName, (Node, ID)=>void f |
+		DotImportAttributes.applyNodeAttributes(node) [ attributeName |
 			val attributeValue = attrLists.getAttributeValue(attributeName)
 			if (attributeValue !== null) {
-				f.apply(node, attributeValue)
-			} else if (!isExistingNode && globalNodeAttributes(graphBuilder).containsKey(attributeName)) {
+				attributeValue
+			} else if (!isExistingNode) {
 				//XXX:  consider the global nodes attributes only if the node has just been created
-				f.apply(node, globalNodeAttributes(graphBuilder).get(attributeName))
+				globalNodeAttributes(graphBuilder).get(attributeName)
 			}
 		]
 
-		setter.apply(COLOR__CNE, [n, value|n.setColorRaw(value)])
-		setter.apply(COLORSCHEME__GCNE, [n, value|n.setColorschemeRaw(value)])
-		setter.apply(DISTORTION__N, [n, value|n.setDistortionRaw(value)])
-		setter.apply(FILLCOLOR__CNE, [n, value|n.setFillcolorRaw(value)])
-		setter.apply(FIXEDSIZE__N, [n, value|n.setFixedsizeRaw(value)])
-		setter.apply(FONTCOLOR__GCNE, [n, value|n.setFontcolorRaw(value)])
-		setter.apply(HEIGHT__N, [n, value|n.setHeightRaw(value)])
-		setter.apply(ID__GCNE, [n, value|n.setIdRaw(value)])
-		setter.apply(LABEL__GCNE, [n, value|n.setLabelRaw(value)])
-		setter.apply(POS__NE, [n, value|n.setPosRaw(value)])
-		setter.apply(SHAPE__N, [n, value|n.setShapeRaw(value)])
-		setter.apply(SIDES__N, [n, value|n.setSidesRaw(value)])
-		setter.apply(SKEW__N, [n, value|n.setSkewRaw(value)])
-		setter.apply(STYLE__GCNE, [n, value|n.setStyleRaw(value)])
-		setter.apply(WIDTH__N, [n, value|n.setWidthRaw(value)])
-		setter.apply(XLABEL__NE, [n, value|n.setXlabelRaw(value)])
-		setter.apply(XLP__NE, [n, value|n.setXlpRaw(value)])
-
 		node
 	}
 
@@ -288,21 +258,14 @@ class DotImport {
 		}
 
 		// apply all global cluster and subgraph attributes to subgraph
-		val setter = [ String attributeName, (Graph, ID)=>void f |
+		DotImportAttributes.applySubgraphAttributes(subgraph) [ attributeName |
 			val attributeValue = getAttributeValue(attributeName)
 			if (attributeValue !== null) {
-				f.apply(subgraph, attributeValue)
-			} else if (globalGraphAttributes(subgraphBuilder).containsKey(attributeName)) {
-				f.apply(subgraph, globalGraphAttributes(subgraphBuilder).get(attributeName))
+				attributeValue
+			} else {
+				globalGraphAttributes(subgraphBuilder).get(attributeName)
 			}
 		]
-
-		// cluster and subgraph attributes
-		setter.apply(BB__GC, [g, value|g.setBbRaw(value)])
-		setter.apply(BGCOLOR__GC, [g, value|g.setBgcolorRaw(value)])
-		setter.apply(FONTCOLOR__GCNE, [g, value|g.setFontcolorRaw(value)])
-		setter.apply(LABEL__GCNE, [g, value|g.setLabelRaw(value)])
-		setter.apply(RANK__S, [g, value|g.setRankRaw(value)])
 	}
 
 	private def create new Node.Builder().buildNode() createSubgraph(String subgraphName) {
@@ -315,36 +278,15 @@ class DotImport {
 		Graph.Builder graphBuilder) {
 		val edge = new Edge.Builder(sourceNode, targetNode).buildEdge()
 
-		val setter = [ String attributeName, (Edge, ID)=>void f |
+		DotImportAttributes.applyEdgeAttributes(edge) [ attributeName |
 			val attributeValue = attrLists.getAttributeValue(attributeName)
 			if (attributeValue !== null) {
-				f.apply(edge, attributeValue)
-			} else if (globalEdgeAttributes(graphBuilder).containsKey(attributeName)) {
-				f.apply(edge, globalEdgeAttributes(graphBuilder).get(attributeName))
+				attributeValue
+			} else {
+				globalEdgeAttributes(graphBuilder).get(attributeName)
 			}
 		]
 
-		setter.apply(ARROWHEAD__E, [e, value|e.setArrowheadRaw(value)])
-		setter.apply(ARROWSIZE__E, [e, value|e.setArrowsizeRaw(value)])
-		setter.apply(ARROWTAIL__E, [e, value|e.setArrowtailRaw(value)])
-		setter.apply(COLOR__CNE, [e, value|e.setColorRaw(value)])
-		setter.apply(COLORSCHEME__GCNE, [e, value|e.setColorschemeRaw(value)])
-		setter.apply(DIR__E, [e, value|e.setDirRaw(value)])
-		setter.apply(FILLCOLOR__CNE, [e, value|e.setFillcolorRaw(value)])
-		setter.apply(FONTCOLOR__GCNE, [e, value|e.setFontcolorRaw(value)])
-		setter.apply(HEAD_LP__E, [e, value|e.setHeadLpRaw(value)])
-		setter.apply(HEADLABEL__E, [e, value|e.setHeadlabelRaw(value)])
-		setter.apply(ID__GCNE, [e, value|e.setIdRaw(value)])
-		setter.apply(LABEL__GCNE, [e, value|e.setLabelRaw(value)])
-		setter.apply(LABELFONTCOLOR__E, [e, value|e.setLabelfontcolorRaw(value)])
-		setter.apply(LP__GCE, [e, value|e.setLpRaw(value)])
-		setter.apply(POS__NE, [e, value|e.setPosRaw(value)])
-		setter.apply(STYLE__GCNE, [e, value|e.setStyleRaw(value)])
-		setter.apply(TAILLABEL__E, [e, value|e.setTaillabelRaw(value)])
-		setter.apply(TAIL_LP__E, [e, value|e.setTailLpRaw(value)])
-		setter.apply(XLABEL__NE, [e, value|e.setXlabelRaw(value)])
-		setter.apply(XLP__NE, [e, value|e.setXlpRaw(value)])
-
 		edge
 	}
 
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.dot.internal;
+
+import static org.eclipse.gef.dot.internal.DotAttributes.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.eclipse.gef.dot.internal.language.terminals.ID;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+
+/**
+ * The {@link DotAttributes} that are transferred from Graphviz DOT input to
+ * the created {@link Graph}s, {@link Node}s, and {@link Edge}s, shared by
+ * {@link DotImport} and {@link DotStreamingImport}. The attributes are applied
+ * in a fixed order using their raw setters, so that their values are
+ * validated.
+ */
+final class DotImportAttributes {
+
+	private static final Map<String, BiConsumer<Graph, ID>> GRAPH_ATTRIBUTES = new LinkedHashMap<>();
+	private static final Map<String, BiConsumer<Graph, ID>> SUBGRAPH_ATTRIBUTES = new LinkedHashMap<>();
+	private static final Map<String, BiConsumer<Node, ID>> NODE_ATTRIBUTES = new LinkedHashMap<>();
+	private static final Map<String, BiConsumer<Edge, ID>> EDGE_ATTRIBUTES = new LinkedHashMap<>();
+
+	static {
+		GRAPH_ATTRIBUTES.put(BB__GC, DotAttributes::setBbRaw);
+		GRAPH_ATTRIBUTES.put(BGCOLOR__GC, DotAttributes::setBgcolorRaw);
+		GRAPH_ATTRIBUTES.put(CLUSTERRANK__G,
+				DotAttributes::setClusterrankRaw);
+		GRAPH_ATTRIBUTES.put(FONTCOLOR__GCNE, DotAttributes::setFontcolorRaw);
+		GRAPH_ATTRIBUTES.put(LABEL__GCNE, DotAttributes::setLabelRaw);
+		GRAPH_ATTRIBUTES.put(LAYOUT__G, DotAttributes::setLayoutRaw);
+		GRAPH_ATTRIBUTES.put(OUTPUTORDER__G,
+				DotAttributes::setOutputorderRaw);
+		GRAPH_ATTRIBUTES.put(PAGEDIR__G, DotAttributes::setPagedirRaw);
+		GRAPH_ATTRIBUTES.put(RANKDIR__G, DotAttributes::setRankdirRaw);
+		GRAPH_ATTRIBUTES.put(SPLINES__G, DotAttributes::setSplinesRaw);
+
+		// cluster and subgraph attributes
+		SUBGRAPH_ATTRIBUTES.put(BB__GC, DotAttributes::setBbRaw);
+		SUBGRAPH_ATTRIBUTES.put(BGCOLOR__GC, DotAttributes::setBgcolorRaw);
+		SUBGRAPH_ATTRIBUTES.put(FONTCOLOR__GCNE,
+				DotAttributes::setFontcolorRaw);
+		SUBGRAPH_ATTRIBUTES.put(LABEL__GCNE, DotAttributes::setLabelRaw);
+		SUBGRAPH_ATTRIBUTES.put(RANK__S, DotAttributes::setRankRaw);
+
+		NODE_ATTRIBUTES.put(COLOR__CNE, DotAttributes::setColorRaw);
+		NODE_ATTRIBUTES.put(COLORSCHEME__GCNE,
+				DotAttributes::setColorschemeRaw);
+		NODE_ATTRIBUTES.put(DISTORTION__N, DotAttributes::setDistortionRaw);
+		NODE_ATTRIBUTES.put(FILLCOLOR__CNE, DotAttributes::setFillcolorRaw);
+		NODE_ATTRIBUTES.put(FIXEDSIZE__N, DotAttributes::setFixedsizeRaw);
+		NODE_ATTRIBUTES.put(FONTCOLOR__GCNE, DotAttributes::setFontcolorRaw);
+		NODE_ATTRIBUTES.put(HEIGHT__N, DotAttributes::setHeightRaw);
+		NODE_ATTRIBUTES.put(ID__GCNE, DotAttributes::setIdRaw);
+		NODE_ATTRIBUTES.put(LABEL__GCNE, DotAttributes::setLabelRaw);
+		NODE_ATTRIBUTES.put(POS__NE, DotAttributes::setPosRaw);
+		NODE_ATTRIBUTES.put(SHAPE__N, DotAttributes::setShapeRaw);
+		NODE_ATTRIBUTES.put(SIDES__N, DotAttributes::setSidesRaw);
+		NODE_ATTRIBUTES.put(SKEW__N, DotAttributes::setSkewRaw);
+		NODE_ATTRIBUTES.put(STYLE__GCNE, DotAttributes::setStyleRaw);
+		NODE_ATTRIBUTES.put(WIDTH__N, DotAttributes::setWidthRaw);
+		NODE_ATTRIBUTES.put(XLABEL__NE, DotAttributes::setXlabelRaw);
+		NODE_ATTRIBUTES.put(XLP__NE, DotAttributes::setXlpRaw);
+
+		EDGE_ATTRIBUTES.put(ARROWHEAD__E, DotAttributes::setArrowheadRaw);
+		EDGE_ATTRIBUTES.put(ARROWSIZE__E, DotAttributes::setArrowsizeRaw);
+		EDGE_ATTRIBUTES.put(ARROWTAIL__E, DotAttributes::setArrowtailRaw);
+		EDGE_ATTRIBUTES.put(COLOR__CNE, DotAttributes::setColorRaw);
+		EDGE_ATTRIBUTES.put(COLORSCHEME__GCNE,
+				DotAttributes::setColorschemeRaw);
+		EDGE_ATTRIBUTES.put(DIR__E, DotAttributes::setDirRaw);
+		EDGE_ATTRIBUTES.put(FILLCOLOR__CNE, DotAttributes::setFillcolorRaw);
+		EDGE_ATTRIBUTES.put(FONTCOLOR__GCNE, DotAttributes::setFontcolorRaw);
+		EDGE_ATTRIBUTES.put(HEAD_LP__E, DotAttributes::setHeadLpRaw);
+		EDGE_ATTRIBUTES.put(HEADLABEL__E, DotAttributes::setHeadlabelRaw);
+		EDGE_ATTRIBUTES.put(ID__GCNE, DotAttributes::setIdRaw);
+		EDGE_ATTRIBUTES.put(LABEL__GCNE, DotAttributes::setLabelRaw);
+		EDGE_ATTRIBUTES.put(LABELFONTCOLOR__E,
+				DotAttributes::setLabelfontcolorRaw);
+		EDGE_ATTRIBUTES.put(LP__GCE, DotAttributes::setLpRaw);
+		EDGE_ATTRIBUTES.put(POS__NE, DotAttributes::setPosRaw);
+		EDGE_ATTRIBUTES.put(STYLE__GCNE, DotAttributes::setStyleRaw);
+		EDGE_ATTRIBUTES.put(TAILLABEL__E, DotAttributes::setTaillabelRaw);
+		EDGE_ATTRIBUTES.put(TAIL_LP__E, DotAttributes::setTailLpRaw);
+		EDGE_ATTRIBUTES.put(XLABEL__NE, DotAttributes::setXlabelRaw);
+		EDGE_ATTRIBUTES.put(XLP__NE, DotAttributes::setXlpRaw);
+	}
+
+	private DotImportAttributes() {
+		// utility class
+	}
+
+	private static <T> void apply(T element,
+			Map<String, BiConsumer<T, ID>> attributes,
+			Function<String, ID> attributeValues) {
+		for (Map.Entry<String, BiConsumer<T, ID>> attribute : attributes
+				.entrySet()) {
+			ID value = attributeValues.apply(attribute.getKey());
+			if (value != null) {
+				attribute.getValue().accept(element, value);
+			}
+		}
+	}
+
+	/**
+	 * Applies the edge attributes to the given {@link Edge}.
+	 *
+	 * @param edge
+	 *            The {@link Edge} to which the attributes are applied.
+	 * @param attributeValues
+	 *            Provides the value of the attribute with the given name, or
+	 *            <code>null</code> if it is not specified.
+	 */
+	static void applyEdgeAttributes(Edge edge,
+			Function<String, ID> attributeValues) {
+		apply(edge, EDGE_ATTRIBUTES, attributeValues);
+	}
+
+	/**
+	 * Applies the graph attributes to the given (top-level) {@link Graph}.
+	 *
+	 * @param graph
+	 *            The {@link Graph} to which the attributes are applied.
+	 * @param attributeValues
+	 *            Provides the value of the attribute with the given name, or
+	 *            <code>null</code> if it is not specified.
+	 */
+	static void applyGraphAttributes(Graph graph,
+			Function<String, ID> attributeValues) {
+		apply(graph, GRAPH_ATTRIBUTES, attributeValues);
+	}
+
+	/**
+	 * Applies the node attributes to the given {@link Node}.
+	 *
+	 * @param node
+	 *            The {@link Node} to which the attributes are applied.
+	 * @param attributeValues
+	 *            Provides the value of the attribute with the given name, or
+	 *            <code>null</code> if it is not specified.
+	 */
+	static void applyNodeAttributes(Node node,
+			Function<String, ID> attributeValues) {
+		apply(node, NODE_ATTRIBUTES, attributeValues);
+	}
+
+	/**
+	 * Applies the cluster and subgraph attributes to the given {@link Graph}
+	 * of a subgraph.
+	 *
+	 * @param subgraph
+	 *            The {@link Graph} of the subgraph to which the attributes are
+	 *            applied.
+	 * @param attributeValues
+	 *            Provides the value of the attribute with the given name, or
+	 *            <code>null</code> if it is not specified.
+	 */
+	static void applySubgraphAttributes(Graph subgraph,
+			Function<String, ID> attributeValues) {
+		apply(subgraph, SUBGRAPH_ATTRIBUTES, attributeValues);
+	}
+}
@@ -0,0 +1,866 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.dot.internal;
+
+import static org.eclipse.gef.dot.internal.DotAttributes.*;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.gef.dot.internal.language.dot.GraphType;
+import org.eclipse.gef.dot.internal.language.terminals.ID;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+
+/**
+ * A streaming variant of {@link DotImport}, which tokenizes the Graphviz DOT
+ * input directly from a {@link Reader} and emits the contained nodes, edges,
+ * and attributes into {@link Graph.Builder}s, without constructing an
+ * intermediate (EMF) abstract syntax tree. Top-level statements are
+ * transformed as soon as they are parsed, so that memory consumption is
+ * dominated by the resulting {@link Graph} rather than by the input. Only the
+ * statements of (sub-)graphs enclosed in braces are buffered (in a compact
+ * form) until their closing brace has been read, because their transformation
+ * depends on the statement they are part of.
+ * <p>
+ * For valid input, the created {@link Graph}s are equal to those created by
+ * {@link DotImport#importDot(String)}. However, in contrast to
+ * {@link DotImport}, only syntactic errors are reported.
+ */
+public class DotStreamingImport {
+
+	/**
+	 * A sink that is notified about every (top-level) {@link Graph} as soon as
+	 * it has been completely imported. Using a sink, graphs of a multi-graph
+	 * input do not have to be retained by the importer.
+	 */
+	public interface IGraphSink {
+
+		/**
+		 * Called when the given {@link Graph} has been imported.
+		 *
+		 * @param graph
+		 *            The imported {@link Graph}.
+		 */
+		void graphImported(Graph graph);
+	}
+
+	private static final Map<String, ID> NO_ATTRIBUTES = Collections
+			.emptyMap();
+
+	// parsed statements, only retained for the body of subgraphs
+	private static final class AttrStatement {
+		private final TokenKind type;
+		private final Map<String, ID> attributes;
+
+		private AttrStatement(TokenKind type, Map<String, ID> attributes) {
+			this.type = type;
+			this.attributes = attributes;
+		}
+	}
+
+	private static final class AttributeStatement {
+		private final ID name;
+		private final ID value;
+
+		private AttributeStatement(ID name, ID value) {
+			this.name = name;
+			this.value = value;
+		}
+	}
+
+	private static final class EdgeStatement {
+		private final ID source;
+		private final List<ID> targets;
+		private final Map<String, ID> attributes;
+
+		private EdgeStatement(ID source, List<ID> targets,
+				Map<String, ID> attributes) {
+			this.source = source;
+			this.targets = targets;
+			this.attributes = attributes;
+		}
+	}
+
+	private static final class NodeStatement {
+		private final ID name;
+		private final Map<String, ID> attributes;
+
+		private NodeStatement(ID name, Map<String, ID> attributes) {
+			this.name = name;
+			this.attributes = attributes;
+		}
+	}
+
+	private static final class SubgraphStatement {
+		private final ID name;
+		private final List<Object> statements;
+
+		private SubgraphStatement(ID name, List<Object> statements) {
+			this.name = name;
+			this.statements = statements;
+		}
+	}
+
+	/**
+	 * The (sub-)graph that is currently transformed, together with the
+	 * global attributes that apply within it.
+	 */
+	private static final class Scope {
+		private final Graph.Builder builder = new Graph.Builder();
+		private final Map<String, ID> globalGraphAttributes = new HashMap<>();
+		private final Map<String, ID> globalNodeAttributes = new HashMap<>();
+		private final Map<String, ID> globalEdgeAttributes = new HashMap<>();
+		// attribute statements (a=b), where the first occurrence wins
+		private final Map<String, ID> attributes = new HashMap<>();
+
+		private Scope(Scope outer) {
+			if (outer != null) {
+				globalGraphAttributes.putAll(outer.globalGraphAttributes);
+				globalNodeAttributes.putAll(outer.globalNodeAttributes);
+				globalEdgeAttributes.putAll(outer.globalEdgeAttributes);
+			}
+		}
+	}
+
+	private enum TokenKind {
+		EOF, ID, LBRACE, RBRACE, LBRACKET, RBRACKET, EQUALS, COMMA, SEMICOLON, COLON, EDGE_OP,
+		// keywords
+		STRICT, GRAPH, DIGRAPH, NODE, EDGE, SUBGRAPH
+	}
+
+	/**
+	 * A hand-written lexer for the terminals of the DOT grammar (see
+	 * Dot.xtext), which reads its input in chunks from a {@link Reader}.
+	 */
+	private static final class Lexer {
+
+		private final Reader reader;
+		private final char[] buffer = new char[8192];
+		private int position;
+		private int limit;
+		private int line = 1;
+		private final StringBuilder text = new StringBuilder();
+
+		private TokenKind kind;
+		private ID.Type idType;
+		private int tokenLine;
+
+		private Lexer(Reader reader) {
+			this.reader = reader;
+		}
+
+		private String describe() {
+			return kind == TokenKind.ID ? "'" + text + "'"
+					: kind == TokenKind.EOF ? "end of input" : kind.toString();
+		}
+
+		private IllegalArgumentException error(String message) {
+			return new IllegalArgumentException(
+					"Given DOT string is not valid: " + message + " at line "
+							+ tokenLine);
+		}
+
+		private ID id() {
+			return ID.fromString(text.toString(), idType);
+		}
+
+		private boolean isIdPart(int c) {
+			return isIdStart(c) || c >= '0' && c <= '9';
+		}
+
+		private boolean isIdStart(int c) {
+			return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z'
+					|| c >= '\u0080' && c <= '\u00FF' || c == '_';
+		}
+
+		private void lexHtmlString() throws IOException {
+			int depth = 0;
+			while (true) {
+				int c = read();
+				if (c < 0) {
+					throw error("Unterminated HTML string");
+				}
+				text.append((char) c);
+				if (c == '<') {
+					depth++;
+				} else if (c == '>' && --depth == 0) {
+					return;
+				}
+			}
+		}
+
+		private boolean lexNumeral() throws IOException {
+			boolean hasDigits = false;
+			if (peek(0) == '-') {
+				text.append((char) read());
+			}
+			while (isDigit(peek(0))) {
+				text.append((char) read());
+				hasDigits = true;
+			}
+			if (peek(0) == '.') {
+				text.append((char) read());
+				while (isDigit(peek(0))) {
+					text.append((char) read());
+					hasDigits = true;
+				}
+			}
+			return hasDigits;
+		}
+
+		private void lexQuotedString() throws IOException {
+			text.append((char) read());
+			while (true) {
+				int c = read();
+				if (c < 0) {
+					throw error("Unterminated quoted string");
+				}
+				text.append((char) c);
+				if (c == '"') {
+					return;
+				} else if (c == '\\' && peek(0) == '"') {
+					text.append((char) read());
+				}
+			}
+		}
+
+		private boolean isDigit(int c) {
+			return c >= '0' && c <= '9';
+		}
+
+		private TokenKind keyword(String candidate) {
+			// keywords are case-insensitive
+			switch (candidate.toLowerCase()) {
+			case "strict":
+				return TokenKind.STRICT;
+			case "graph":
+				return TokenKind.GRAPH;
+			case "digraph":
+				return TokenKind.DIGRAPH;
+			case "node":
+				return TokenKind.NODE;
+			case "edge":
+				return TokenKind.EDGE;
+			case "subgraph":
+				return TokenKind.SUBGRAPH;
+			default:
+				return TokenKind.ID;
+			}
+		}
+
+		/**
+		 * Advances to the next token.
+		 *
+		 * @throws IOException
+		 *             In case the input could not be read.
+		 */
+		private void next() throws IOException {
+			skipHidden();
+			text.setLength(0);
+			idType = null;
+			tokenLine = line;
+			int c = peek(0);
+			if (c < 0) {
+				kind = TokenKind.EOF;
+				return;
+			}
+			switch (c) {
+			case '{':
+				read();
+				kind = TokenKind.LBRACE;
+				return;
+			case '}':
+				read();
+				kind = TokenKind.RBRACE;
+				return;
+			case '[':
+				read();
+				kind = TokenKind.LBRACKET;
+				return;
+			case ']':
+				read();
+				kind = TokenKind.RBRACKET;
+				return;
+			case '=':
+				read();
+				kind = TokenKind.EQUALS;
+				return;
+			case ',':
+				read();
+				kind = TokenKind.COMMA;
+				return;
+			case ';':
+				read();
+				kind = TokenKind.SEMICOLON;
+				return;
+			case ':':
+				read();
+				kind = TokenKind.COLON;
+				return;
+			case '"':
+				lexQuotedString();
+				kind = TokenKind.ID;
+				idType = ID.Type.QUOTED_STRING;
+				return;
+			case '<':
+				lexHtmlString();
+				kind = TokenKind.ID;
+				idType = ID.Type.HTML_STRING;
+				return;
+			case '-':
+				int c1 = peek(1);
+				if (c1 == '>' || c1 == '-') {
+					read();
+					read();
+					kind = TokenKind.EDGE_OP;
+					return;
+				}
+				break;
+			default:
+				break;
+			}
+			if (isDigit(c) || c == '.' || c == '-') {
+				if (!lexNumeral()) {
+					throw error("Unexpected character '" + text + "'");
+				}
+				kind = TokenKind.ID;
+				idType = ID.Type.NUMERAL;
+				return;
+			}
+			if (isIdStart(c)) {
+				while (isIdPart(peek(0))) {
+					text.append((char) read());
+				}
+				kind = keyword(text.toString());
+				if (kind == TokenKind.ID) {
+					// compass points are parsed as STRING IDs as well
+					idType = ID.Type.STRING;
+				}
+				return;
+			}
+			throw error("Unexpected character '" + (char) c + "'");
+		}
+
+		private int peek(int offset) throws IOException {
+			while (position + offset >= limit) {
+				if (position > 0) {
+					// compact the buffer to make room for the look-ahead
+					System.arraycopy(buffer, position, buffer, 0,
+							limit - position);
+					limit -= position;
+					position = 0;
+				}
+				int read = reader.read(buffer, limit, buffer.length - limit);
+				if (read < 0) {
+					return -1;
+				}
+				limit += read;
+			}
+			return buffer[position + offset];
+		}
+
+		private int read() throws IOException {
+			int c = peek(0);
+			if (c >= 0) {
+				position++;
+				if (c == '\n') {
+					line++;
+				}
+			}
+			return c;
+		}
+
+		private void skipHidden() throws IOException {
+			while (true) {
+				int c = peek(0);
+				if (c == ' ' || c == '\t' || c == '\r' || c == '\n'
+						|| c == '\f') {
+					read();
+				} else if (c == '#' || c == '/' && peek(1) == '/') {
+					// single line comment
+					while (c >= 0 && c != '\n') {
+						c = read();
+					}
+				} else if (c == '/' && peek(1) == '*') {
+					// multi line comment
+					read();
+					read();
+					while (!(peek(0) == '*' && peek(1) == '/')) {
+						if (read() < 0) {
+							throw error("Unterminated comment");
+						}
+					}
+					read();
+					read();
+				} else {
+					return;
+				}
+			}
+		}
+	}
+
+	private Lexer lexer;
+
+	// node and (named) subgraph nodes of the currently imported graph
+	private final Map<String, Node> nodes = new HashMap<>();
+	private final Map<String, Node> subgraphs = new HashMap<>();
+
+	/**
+	 * Imports the {@link Graph}s contained in the given DOT file.
+	 *
+	 * @param dotFile
+	 *            The DOT file to import.
+	 * @return The list of imported {@link Graph}s.
+	 * @throws IOException
+	 *             In case the file could not be read.
+	 */
+	public List<Graph> importDot(File dotFile) throws IOException {
+		try (Reader reader = new BufferedReader(new InputStreamReader(
+				new FileInputStream(dotFile), "UTF-8"))) {
+			return importDot(reader);
+		}
+	}
+
+	/**
+	 * Imports the {@link Graph}s contained in the given {@link Reader}.
+	 *
+	 * @param reader
+	 *            The {@link Reader} to read the DOT input from. It is not
+	 *            closed by this method.
+	 * @return The list of imported {@link Graph}s.
+	 * @throws IOException
+	 *             In case the input could not be read.
+	 */
+	public List<Graph> importDot(Reader reader) throws IOException {
+		final List<Graph> graphs = new ArrayList<>();
+		importDot(reader, new IGraphSink() {
+			@Override
+			public void graphImported(Graph graph) {
+				graphs.add(graph);
+			}
+		});
+		return graphs;
+	}
+
+	/**
+	 * Imports the {@link Graph}s contained in the given {@link Reader},
+	 * passing each of them to the given {@link IGraphSink} as soon as it has
+	 * been imported.
+	 *
+	 * @param reader
+	 *            The {@link Reader} to read the DOT input from. It is not
+	 *            closed by this method.
+	 * @param sink
+	 *            The {@link IGraphSink} that is notified about the imported
+	 *            {@link Graph}s.
+	 * @throws IOException
+	 *             In case the input could not be read.
+	 */
+	public void importDot(Reader reader, IGraphSink sink) throws IOException {
+		lexer = new Lexer(reader);
+		try {
+			lexer.next();
+			while (lexer.kind != TokenKind.EOF) {
+				sink.graphImported(parseDotGraph());
+			}
+		} finally {
+			lexer = null;
+			nodes.clear();
+			subgraphs.clear();
+		}
+	}
+
+	/**
+	 * Imports the {@link Graph}s contained in the given DOT string.
+	 *
+	 * @param dotString
+	 *            The DOT string to import.
+	 * @return The list of imported {@link Graph}s.
+	 */
+	public List<Graph> importDot(String dotString) {
+		try {
+			return importDot(new StringReader(dotString));
+		} catch (IOException e) {
+			// cannot happen for a StringReader
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void expect(TokenKind kind) throws IOException {
+		if (lexer.kind != kind) {
+			throw lexer.error("Expected " + kind + " but found "
+					+ lexer.describe());
+		}
+		lexer.next();
+	}
+
+	private ID expectId() throws IOException {
+		if (lexer.kind != TokenKind.ID) {
+			throw lexer.error("Expected ID but found " + lexer.describe());
+		}
+		ID id = lexer.id();
+		lexer.next();
+		return id;
+	}
+
+	private boolean isSubgraphStart() {
+		return lexer.kind == TokenKind.SUBGRAPH
+				|| lexer.kind == TokenKind.LBRACE;
+	}
+
+	private void parseAttrList(Map<String, ID> attributes, boolean firstWins)
+			throws IOException {
+		expect(TokenKind.LBRACKET);
+		while (lexer.kind != TokenKind.RBRACKET) {
+			String name = expectId().toValue();
+			expect(TokenKind.EQUALS);
+			ID value = expectId();
+			if (!firstWins || !attributes.containsKey(name)) {
+				attributes.put(name, value);
+			}
+			if (lexer.kind == TokenKind.COMMA
+					|| lexer.kind == TokenKind.SEMICOLON) {
+				lexer.next();
+			}
+		}
+		lexer.next();
+	}
+
+	private Map<String, ID> parseAttrLists() throws IOException {
+		if (lexer.kind != TokenKind.LBRACKET) {
+			return NO_ATTRIBUTES;
+		}
+		// the first occurrence of a local attribute takes precedence
+		Map<String, ID> attributes = new HashMap<>();
+		while (lexer.kind == TokenKind.LBRACKET) {
+			parseAttrList(attributes, true);
+		}
+		return attributes;
+	}
+
+	private Graph parseDotGraph() throws IOException {
+		// nodes and subgraphs are only shared within a single graph
+		nodes.clear();
+		subgraphs.clear();
+
+		if (lexer.kind == TokenKind.STRICT) {
+			lexer.next();
+		}
+		GraphType type;
+		if (lexer.kind == TokenKind.GRAPH) {
+			type = GraphType.GRAPH;
+		} else if (lexer.kind == TokenKind.DIGRAPH) {
+			type = GraphType.DIGRAPH;
+		} else {
+			throw lexer.error("Expected graph type but found "
+					+ lexer.describe());
+		}
+		lexer.next();
+		ID name = lexer.kind == TokenKind.ID ? expectId() : null;
+		expect(TokenKind.LBRACE);
+
+		Scope scope = new Scope(null);
+		if (name != null) {
+			scope.builder.attr(_NAME__GNE, name);
+		}
+		scope.builder.attr(_TYPE__G, type);
+
+		// transform the statements as soon as they have been parsed
+		while (lexer.kind != TokenKind.RBRACE) {
+			Object statement = parseStmt();
+			if (statement != null) {
+				transformStmt(statement, scope);
+			}
+		}
+		lexer.next();
+
+		// process the graph last, so we can initialize attributes of the
+		// created graph object rather than using the builder; we can thus
+		// ensure attribute values get properly validated.
+		Graph graph = scope.builder.build();
+		DotImportAttributes.applyGraphAttributes(graph,
+				attributeName -> getAttributeValue(scope, attributeName));
+		return graph;
+	}
+
+	private void parsePort() throws IOException {
+		// ports are not transformed (consistent to DotImport)
+		expect(TokenKind.COLON);
+		expectId();
+		if (lexer.kind == TokenKind.COLON) {
+			lexer.next();
+			expectId();
+		}
+	}
+
+	/**
+	 * Parses the next statement (including an optional trailing semicolon)
+	 * and returns it, or <code>null</code> if the statement is not subject to
+	 * transformation.
+	 */
+	private Object parseStmt() throws IOException {
+		Object statement = null;
+		switch (lexer.kind) {
+		case GRAPH:
+		case NODE:
+		case EDGE:
+			TokenKind type = lexer.kind;
+			lexer.next();
+			if (lexer.kind != TokenKind.LBRACKET) {
+				throw lexer.error(
+						"Expected LBRACKET but found " + lexer.describe());
+			}
+			// the last occurrence of a global attribute takes precedence
+			Map<String, ID> attributes = new HashMap<>();
+			while (lexer.kind == TokenKind.LBRACKET) {
+				parseAttrList(attributes, false);
+			}
+			statement = new AttrStatement(type, attributes);
+			break;
+		case SUBGRAPH:
+		case LBRACE:
+			statement = parseSubgraph();
+			if (lexer.kind == TokenKind.EDGE_OP) {
+				// edge statements with a subgraph as source are not
+				// transformed (consistent to DotImport)
+				while (lexer.kind == TokenKind.EDGE_OP) {
+					lexer.next();
+					if (isSubgraphStart()) {
+						parseSubgraph();
+					} else {
+						parseNodeId();
+					}
+				}
+				parseAttrLists();
+				statement = null;
+			}
+			break;
+		case ID:
+			ID name = expectId();
+			if (lexer.kind == TokenKind.EQUALS) {
+				lexer.next();
+				statement = new AttributeStatement(name, expectId());
+				break;
+			}
+			if (lexer.kind == TokenKind.COLON) {
+				parsePort();
+			}
+			if (lexer.kind == TokenKind.EDGE_OP) {
+				List<ID> targets = new ArrayList<>();
+				while (lexer.kind == TokenKind.EDGE_OP) {
+					lexer.next();
+					if (isSubgraphStart()) {
+						// subgraphs are not transformed as edge targets
+						// (consistent to DotImport)
+						parseSubgraph();
+					} else {
+						targets.add(parseNodeId());
+					}
+				}
+				statement = new EdgeStatement(name, targets,
+						parseAttrLists());
+			} else {
+				statement = new NodeStatement(name, parseAttrLists());
+			}
+			break;
+		case EOF:
+			throw lexer.error("Unexpected end of input");
+		default:
+			throw lexer.error("Unexpected " + lexer.describe());
+		}
+		if (lexer.kind == TokenKind.SEMICOLON) {
+			lexer.next();
+		}
+		return statement;
+	}
+
+	private ID parseNodeId() throws IOException {
+		ID name = expectId();
+		if (lexer.kind == TokenKind.COLON) {
+			parsePort();
+		}
+		return name;
+	}
+
+	private SubgraphStatement parseSubgraph() throws IOException {
+		ID name = null;
+		if (lexer.kind == TokenKind.SUBGRAPH) {
+			lexer.next();
+			if (lexer.kind == TokenKind.ID) {
+				name = expectId();
+			}
+		}
+		expect(TokenKind.LBRACE);
+		List<Object> statements = new ArrayList<>();
+		while (lexer.kind != TokenKind.RBRACE) {
+			Object statement = parseStmt();
+			if (statement != null) {
+				statements.add(statement);
+			}
+		}
+		lexer.next();
+		return new SubgraphStatement(name, statements);
+	}
+
+	private Edge createEdge(Node sourceNode, Node targetNode,
+			Map<String, ID> attributes, Scope scope) {
+		Edge edge = new Edge.Builder(sourceNode, targetNode).buildEdge();
+		Map<String, ID> globals = scope.globalEdgeAttributes;
+		DotImportAttributes.applyEdgeAttributes(edge,
+				attributeName -> getAttributeValue(attributes, globals,
+						attributeName));
+		return edge;
+	}
+
+	private ID getAttributeValue(Map<String, ID> attributes,
+			Map<String, ID> globals, String name) {
+		ID value = attributes.get(name);
+		if (value == null && globals != null) {
+			value = globals.get(name);
+		}
+		return value;
+	}
+
+	private ID getAttributeValue(Scope scope, String name) {
+		return getAttributeValue(scope.attributes, scope.globalGraphAttributes,
+				name);
+	}
+
+	private Node transformNodeId(ID name, Map<String, ID> attributes,
+			Scope scope) {
+		String key = name.toValue();
+		Node node = nodes.get(key);
+		boolean isExistingNode = node != null;
+		if (!isExistingNode) {
+			node = new Node.Builder().buildNode();
+			nodes.put(key, node);
+			_setNameRaw(node, name);
+			scope.builder.nodes(node);
+		}
+
+		// consider the global node attributes only if the node has just been
+		// created
+		Map<String, ID> globals = isExistingNode ? null
+				: scope.globalNodeAttributes;
+		DotImportAttributes.applyNodeAttributes(node,
+				attributeName -> getAttributeValue(attributes, globals,
+						attributeName));
+		return node;
+	}
+
+	private void transformStmt(Object statement, Scope scope) {
+		if (statement instanceof AttrStatement) {
+			AttrStatement attrStatement = (AttrStatement) statement;
+			switch (attrStatement.type) {
+			case GRAPH:
+				scope.globalGraphAttributes.putAll(attrStatement.attributes);
+				break;
+			case NODE:
+				scope.globalNodeAttributes.putAll(attrStatement.attributes);
+				break;
+			default:
+				scope.globalEdgeAttributes.putAll(attrStatement.attributes);
+				break;
+			}
+		} else if (statement instanceof AttributeStatement) {
+			// graph attributes are applied after the graph has been built
+			AttributeStatement attribute = (AttributeStatement) statement;
+			String name = attribute.name.toValue();
+			if (!scope.attributes.containsKey(name)) {
+				scope.attributes.put(name, attribute.value);
+			}
+		} else if (statement instanceof NodeStatement) {
+			NodeStatement nodeStatement = (NodeStatement) statement;
+			transformNodeId(nodeStatement.name, nodeStatement.attributes,
+					scope);
+		} else if (statement instanceof EdgeStatement) {
+			EdgeStatement edgeStatement = (EdgeStatement) statement;
+			Node sourceNode = transformNodeId(edgeStatement.source,
+					NO_ATTRIBUTES, scope);
+			for (ID target : edgeStatement.targets) {
+				Node targetNode = transformNodeId(target, NO_ATTRIBUTES,
+						scope);
+				scope.builder.edges(createEdge(sourceNode, targetNode,
+						edgeStatement.attributes, scope));
+				// current target node may be source for next edge
+				sourceNode = targetNode;
+			}
+		} else if (statement instanceof SubgraphStatement) {
+			transformSubgraph((SubgraphStatement) statement, scope);
+		}
+	}
+
+	private void transformSubgraph(SubgraphStatement statement,
+			Scope scope) {
+		// anonymous subgraphs cannot be 'merged', which is why we have to
+		// create a new subgraph for each
+		ID name = statement.name;
+		Node subgraphNode = name == null ? null : subgraphs.get(name.toValue());
+		boolean isExistingSubgraph = subgraphNode != null;
+		if (subgraphNode == null) {
+			subgraphNode = new Node.Builder().buildNode();
+			if (name != null) {
+				subgraphs.put(name.toValue(), subgraphNode);
+			}
+		}
+
+		// global attributes of 'outer' scopes are transferred as initial
+		// global attributes of the nested scope
+		Scope subgraphScope = new Scope(scope);
+		if (name != null) {
+			subgraphScope.builder.attr(_NAME__GNE, name);
+		}
+		for (Object nestedStatement : statement.statements) {
+			transformStmt(nestedStatement, subgraphScope);
+		}
+
+		Graph subgraph = subgraphScope.builder.build();
+		if (!isExistingSubgraph) {
+			subgraphNode.setNestedGraph(subgraph);
+			subgraph.setNestingNode(subgraphNode);
+			scope.builder.nodes(subgraphNode);
+		} else {
+			// merge into existing subgraph
+			Graph nestedGraph = subgraphNode.getNestedGraph();
+			nestedGraph.getAttributes().putAll(subgraph.getAttributes());
+			Set<Node> existingNodes = new HashSet<>(nestedGraph.getNodes());
+			List<Node> addedNodes = new ArrayList<>();
+			for (Node node : subgraph.getNodes()) {
+				if (!existingNodes.contains(node)) {
+					addedNodes.add(node);
+				}
+			}
+			nestedGraph.getNodes().addAll(addedNodes);
+			nestedGraph.getEdges().addAll(subgraph.getEdges());
+		}
+
+		// apply cluster and subgraph attributes
+		DotImportAttributes.applySubgraphAttributes(subgraph,
+				attributeName -> getAttributeValue(subgraphScope,
+						attributeName));
+	}
+}
@@ -12,12 +12,19 @@
 package org.eclipse.gef.fx.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.gef.fx.utils.Geometry2Shape;
 import org.eclipse.gef.fx.utils.Shape2Geometry;
+import org.eclipse.gef.geometry.planar.AffineTransform;
 import org.eclipse.gef.geometry.planar.Path;
 import org.junit.Test;
 
+import javafx.scene.shape.PathElement;
+
 public class GeometryConversionTests {
 	
 	@Test
@@ -28,6 +35,37 @@ public class GeometryConversionTests {
 				.close();
 		assertEquals(p, Shape2Geometry.toPath(Geometry2Shape.toPath(p)));
 	}
+
+	@Test
+	public void test_updatePathElements() {
+		Path p = new Path().moveTo(50, 50).lineTo(100, 100)
+				.quadTo(100, 150, 50, 150).cubicTo(20, 120, 20, 80, 50, 50)
+				.close();
+		javafx.scene.shape.Path fxPath = new javafx.scene.shape.Path(
+				Geometry2Shape.toPathElements(p, 10, 20));
+		assertEquals(p.getTransformed(
+				new AffineTransform().setToTranslation(10, 20)),
+				Shape2Geometry.toPath(fxPath));
+
+		// same structure: path elements are updated in place
+		List<PathElement> elements = new ArrayList<>(fxPath.getElements());
+		Geometry2Shape.updatePathElements(p, -10, 0, fxPath.getElements());
+		assertEquals(elements, fxPath.getElements());
+		for (int i = 0; i < elements.size(); i++) {
+			assertSame(elements.get(i), fxPath.getElements().get(i));
+		}
+		assertEquals(p.getTransformed(
+				new AffineTransform().setToTranslation(-10, 0)),
+				Shape2Geometry.toPath(fxPath));
+
+		// different structure: path elements are replaced where necessary
+		Path q = new Path().moveTo(0, 0).lineTo(10, 10).lineTo(20, 0);
+		Geometry2Shape.updatePathElements(q, 0, 0, fxPath.getElements());
+		assertEquals(3, fxPath.getElements().size());
+		assertSame(elements.get(0), fxPath.getElements().get(0));
+		assertSame(elements.get(1), fxPath.getElements().get(1));
+		assertEquals(q, Shape2Geometry.toPath(fxPath));
+	}
 	
 }
 
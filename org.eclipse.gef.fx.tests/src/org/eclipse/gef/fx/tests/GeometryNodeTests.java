@@ -13,13 +13,22 @@
 package org.eclipse.gef.fx.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.gef.fx.nodes.GeometryNode;
+import org.eclipse.gef.fx.utils.Shape2Geometry;
+import org.eclipse.gef.geometry.planar.AffineTransform;
+import org.eclipse.gef.geometry.planar.IGeometry;
 import org.eclipse.gef.geometry.planar.Polyline;
 import org.eclipse.gef.geometry.planar.RoundedRectangle;
 import org.junit.Test;
 
 import javafx.scene.paint.Color;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.PathElement;
 import javafx.scene.shape.StrokeType;
 
 public class GeometryNodeTests {
@@ -156,4 +165,41 @@ public class GeometryNodeTests {
 		assertEquals(40.0, n.getWidth(), 0);
 		assertEquals(50.0, n.getHeight(), 0);
 	}
+
+	@Test
+	public void reusePathElementsOnRelocate() {
+		GeometryNode<IGeometry> n = new GeometryNode<>();
+		n.setGeometry(new RoundedRectangle(30, 40, 30, 40, 20, 20));
+		List<PathElement> elements = new ArrayList<>(
+				n.getPath().getElements());
+		MoveTo moveTo = (MoveTo) elements.get(0);
+		double x = moveTo.getX();
+		double y = moveTo.getY();
+
+		// relocating does not change the path elements (which are specified
+		// relative to the layout position)
+		n.relocate(100, 200);
+		assertEquals(elements.size(), n.getPath().getElements().size());
+		for (int i = 0; i < elements.size(); i++) {
+			assertSame(elements.get(i), n.getPath().getElements().get(i));
+		}
+		assertEquals(x, moveTo.getX(), 0);
+		assertEquals(y, moveTo.getY(), 0);
+
+		// resizing updates the path elements in place
+		n.resizeGeometry(60, 80);
+		assertSame(moveTo, n.getPath().getElements().get(0));
+		assertEquals(n.getGeometry().toPath(),
+				Shape2Geometry.toPath(n.getPath())
+						.getTransformed(new AffineTransform().setToTranslation(
+								n.getLayoutX(), n.getLayoutY())));
+
+		// changing the segment structure replaces the path elements
+		n.setGeometry(new Polyline(0, 0, 10, 10, 20, 0));
+		assertEquals(3, n.getPath().getElements().size());
+		assertEquals(n.getGeometry().toPath(),
+				Shape2Geometry.toPath(n.getPath())
+						.getTransformed(new AffineTransform().setToTranslation(
+								n.getLayoutX(), n.getLayoutY())));
+	}
 }
@@ -13,7 +13,7 @@
  *******************************************************************************/
 package org.eclipse.gef.fx.nodes;
 
-import org.eclipse.gef.fx.utils.Geometry2Shape;
+import org.eclipse.gef.fx.utils.GeometryConversionCache;
 import org.eclipse.gef.geometry.planar.AffineTransform;
 import org.eclipse.gef.geometry.planar.Arc;
 import org.eclipse.gef.geometry.planar.Ellipse;
@@ -84,6 +84,7 @@ public class GeometryNode<T extends IGeometry> extends Region {
 	private Path clickableAreaShape = null;
 	private DoubleProperty clickableAreaWidth = new SimpleDoubleProperty();
 	private ObjectProperty<T> geometryProperty = new SimpleObjectProperty<>();
+	private GeometryConversionCache conversionCache = new GeometryConversionCache();
 
 	private ChangeListener<T> geometryChangeListener = new ChangeListener<T>() {
 		@Override
@@ -418,10 +419,8 @@ public class GeometryNode<T extends IGeometry> extends Region {
 	}
 
 	private PathElement[] getPathElements() {
-		return Geometry2Shape.toPathElements(geometryProperty.get()
-				.getTransformed(new AffineTransform()
-						.setToTranslation(-getLayoutX(), -getLayoutY()))
-				.toPath());
+		return conversionCache.toPathElements(geometryProperty.get(),
+				-getLayoutX(), -getLayoutY());
 	}
 
 	/**
@@ -1046,9 +1045,12 @@ public class GeometryNode<T extends IGeometry> extends Region {
 	}
 
 	private void updateShapes(Path... paths) {
-		PathElement[] pathElements = getPathElements();
+		// update the existing path elements in place, so that the paths are
+		// only invalidated if the (local) geometry actually changed, which is
+		// e.g. not the case when the geometry is only relocated
 		for (Path p : paths) {
-			p.getElements().setAll(pathElements);
+			conversionCache.updatePathElements(geometryProperty.get(),
+					-getLayoutX(), -getLayoutY(), p.getElements());
 		}
 	}
 }
\ No newline at end of file
@@ -13,6 +13,9 @@
  *******************************************************************************/
 package org.eclipse.gef.fx.utils;
 
+import java.util.Arrays;
+import java.util.List;
+
 import org.eclipse.gef.geometry.planar.Arc;
 import org.eclipse.gef.geometry.planar.CubicCurve;
 import org.eclipse.gef.geometry.planar.Ellipse;
@@ -27,6 +30,7 @@ import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.geometry.planar.RoundedRectangle;
 import org.eclipse.gef.geometry.planar.Path.Segment;
 
+import javafx.collections.ObservableList;
 import javafx.scene.shape.ClosePath;
 import javafx.scene.shape.CubicCurveTo;
 import javafx.scene.shape.FillRule;
@@ -136,39 +140,174 @@ public class Geometry2Shape {
 	 * @return The new array of {@link PathElement}s.
 	 */
 	public static PathElement[] toPathElements(Path path) {
+		return toPathElements(path, 0, 0);
+	}
+
+	/**
+	 * Converts the given {@link Path}, translated by the given offset, to an
+	 * array of JavaFX {@link PathElement}s.
+	 *
+	 * @param path
+	 *            The {@link Path} to convert.
+	 * @param dx
+	 *            The horizontal offset by which the {@link Path} is
+	 *            translated.
+	 * @param dy
+	 *            The vertical offset by which the {@link Path} is translated.
+	 * @return The new array of {@link PathElement}s.
+	 */
+	public static PathElement[] toPathElements(Path path, double dx,
+			double dy) {
 		Segment[] segments = path.getSegments();
 		PathElement[] elements = new PathElement[segments.length];
 		for (int i = 0; i < segments.length; i++) {
-			Point[] points = segments[i].getPoints();
-			// if (points.length > 0) {
-			// System.out.println(i + ": " + points[points.length - 1]);
-			// }
-			switch (segments[i].getType()) {
-			case Segment.MOVE_TO:
-				elements[i] = new MoveTo(points[0].x, points[0].y);
-				break;
-			case Segment.LINE_TO:
-				elements[i] = new LineTo(points[0].x, points[0].y);
-				break;
-			case Segment.QUAD_TO:
-				elements[i] = new QuadCurveTo(points[0].x, points[0].y,
-						points[1].x, points[1].y);
-				break;
-			case Segment.CUBIC_TO:
-				elements[i] = new CubicCurveTo(points[0].x, points[0].y,
-						points[1].x, points[1].y, points[2].x, points[2].y);
-				break;
-			case Segment.CLOSE:
-				elements[i] = new ClosePath();
-				break;
-			default:
-				throw new IllegalStateException(
-						"Unknown Path.Segment: <" + segments[i] + ">");
-			}
+			elements[i] = toPathElement(segments[i], dx, dy);
 		}
 		return elements;
 	}
 
+	private static PathElement toPathElement(Segment segment, double dx,
+			double dy) {
+		Point[] points = segment.getPoints();
+		switch (segment.getType()) {
+		case Segment.MOVE_TO:
+			return new MoveTo(points[0].x + dx, points[0].y + dy);
+		case Segment.LINE_TO:
+			return new LineTo(points[0].x + dx, points[0].y + dy);
+		case Segment.QUAD_TO:
+			return new QuadCurveTo(points[0].x + dx, points[0].y + dy,
+					points[1].x + dx, points[1].y + dy);
+		case Segment.CUBIC_TO:
+			return new CubicCurveTo(points[0].x + dx, points[0].y + dy,
+					points[1].x + dx, points[1].y + dy, points[2].x + dx,
+					points[2].y + dy);
+		case Segment.CLOSE:
+			return new ClosePath();
+		default:
+			throw new IllegalStateException(
+					"Unknown Path.Segment: <" + segment + ">");
+		}
+	}
+
+	/**
+	 * Updates the given {@link PathElement} so that it represents the given
+	 * {@link Segment}, translated by the given offset, if the type of the
+	 * {@link PathElement} matches that of the {@link Segment}.
+	 *
+	 * @param element
+	 *            The {@link PathElement} to update.
+	 * @param segment
+	 *            The {@link Segment} to represent.
+	 * @param dx
+	 *            The horizontal offset by which the {@link Segment} is
+	 *            translated.
+	 * @param dy
+	 *            The vertical offset by which the {@link Segment} is
+	 *            translated.
+	 * @return <code>true</code> if the {@link PathElement} could be updated,
+	 *         <code>false</code> if its type does not match.
+	 */
+	private static boolean updatePathElement(PathElement element,
+			Segment segment, double dx, double dy) {
+		if (element == null || !element.isAbsolute()) {
+			return false;
+		}
+		Point[] points = segment.getPoints();
+		switch (segment.getType()) {
+		case Segment.MOVE_TO:
+			if (element.getClass() != MoveTo.class) {
+				return false;
+			}
+			MoveTo moveTo = (MoveTo) element;
+			moveTo.setX(points[0].x + dx);
+			moveTo.setY(points[0].y + dy);
+			return true;
+		case Segment.LINE_TO:
+			if (element.getClass() != LineTo.class) {
+				return false;
+			}
+			LineTo lineTo = (LineTo) element;
+			lineTo.setX(points[0].x + dx);
+			lineTo.setY(points[0].y + dy);
+			return true;
+		case Segment.QUAD_TO:
+			if (element.getClass() != QuadCurveTo.class) {
+				return false;
+			}
+			QuadCurveTo quadTo = (QuadCurveTo) element;
+			quadTo.setControlX(points[0].x + dx);
+			quadTo.setControlY(points[0].y + dy);
+			quadTo.setX(points[1].x + dx);
+			quadTo.setY(points[1].y + dy);
+			return true;
+		case Segment.CUBIC_TO:
+			if (element.getClass() != CubicCurveTo.class) {
+				return false;
+			}
+			CubicCurveTo cubicTo = (CubicCurveTo) element;
+			cubicTo.setControlX1(points[0].x + dx);
+			cubicTo.setControlY1(points[0].y + dy);
+			cubicTo.setControlX2(points[1].x + dx);
+			cubicTo.setControlY2(points[1].y + dy);
+			cubicTo.setX(points[2].x + dx);
+			cubicTo.setY(points[2].y + dy);
+			return true;
+		case Segment.CLOSE:
+			return element.getClass() == ClosePath.class;
+		default:
+			throw new IllegalStateException(
+					"Unknown Path.Segment: <" + segment + ">");
+		}
+	}
+
+	/**
+	 * Updates the given list of JavaFX {@link PathElement}s (e.g. the elements
+	 * of a {@link javafx.scene.shape.Path}) so that it represents the given
+	 * {@link Path}, translated by the given offset.
+	 * <p>
+	 * An existing {@link PathElement} is reused if its type matches that of
+	 * the corresponding {@link Segment}, in which case only its coordinates
+	 * are updated. Therefore, the list itself is only changed if the segment
+	 * structure of the {@link Path} differs from the given
+	 * {@link PathElement}s, and a JavaFX {@link javafx.scene.shape.Path} is
+	 * not invalidated at all if neither the structure nor any of the
+	 * coordinates changed.
+	 *
+	 * @param path
+	 *            The {@link Path} to convert.
+	 * @param dx
+	 *            The horizontal offset by which the {@link Path} is
+	 *            translated.
+	 * @param dy
+	 *            The vertical offset by which the {@link Path} is translated.
+	 * @param elements
+	 *            The list of {@link PathElement}s to update.
+	 */
+	public static void updatePathElements(Path path, double dx, double dy,
+			List<PathElement> elements) {
+		Segment[] segments = path.getSegments();
+		PathElement[] updated = new PathElement[segments.length];
+		boolean structureChanged = segments.length != elements.size();
+		for (int i = 0; i < segments.length; i++) {
+			PathElement element = i < elements.size() ? elements.get(i)
+					: null;
+			if (updatePathElement(element, segments[i], dx, dy)) {
+				updated[i] = element;
+			} else {
+				updated[i] = toPathElement(segments[i], dx, dy);
+				structureChanged = true;
+			}
+		}
+		if (structureChanged) {
+			if (elements instanceof ObservableList) {
+				((ObservableList<PathElement>) elements).setAll(updated);
+			} else {
+				elements.clear();
+				elements.addAll(Arrays.asList(updated));
+			}
+		}
+	}
+
 	/**
 	 * Returns a {@link javafx.scene.shape.Polygon} that visualizes the given
 	 * {@link Polygon}.
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.utils;
+
+import java.util.List;
+
+import org.eclipse.gef.geometry.planar.IGeometry;
+import org.eclipse.gef.geometry.planar.Path;
+
+import javafx.scene.shape.PathElement;
+
+/**
+ * A {@link GeometryConversionCache} converts {@link IGeometry}s to JavaFX
+ * {@link PathElement}s (see {@link Geometry2Shape}), remembering the
+ * {@link Path} (see {@link IGeometry#toPath()}) of the most recently converted
+ * {@link IGeometry}. Converting the same {@link IGeometry} again (at the same
+ * or at another offset) does thus not require to compute its {@link Path}
+ * again.
+ * <p>
+ * The cache is keyed by the identity of the {@link IGeometry}. As an
+ * {@link IGeometry} may be changed in place, the cache has to be
+ * {@link #clear() cleared} in that case.
+ */
+public class GeometryConversionCache {
+
+	private IGeometry geometry;
+	private Path path;
+
+	/**
+	 * Clears this {@link GeometryConversionCache}, so that the {@link Path} of
+	 * the next converted {@link IGeometry} is computed anew.
+	 */
+	public void clear() {
+		geometry = null;
+		path = null;
+	}
+
+	private Path getPath(IGeometry geometry) {
+		if (geometry != this.geometry) {
+			this.path = geometry.toPath();
+			this.geometry = geometry;
+		}
+		return path;
+	}
+
+	/**
+	 * Converts the given {@link IGeometry}, translated by the given offset, to
+	 * an array of JavaFX {@link PathElement}s.
+	 *
+	 * @param geometry
+	 *            The {@link IGeometry} to convert.
+	 * @param dx
+	 *            The horizontal offset by which the {@link IGeometry} is
+	 *            translated.
+	 * @param dy
+	 *            The vertical offset by which the {@link IGeometry} is
+	 *            translated.
+	 * @return The new array of {@link PathElement}s.
+	 * @see Geometry2Shape#toPathElements(Path, double, double)
+	 */
+	public PathElement[] toPathElements(IGeometry geometry, double dx,
+			double dy) {
+		return Geometry2Shape.toPathElements(getPath(geometry), dx, dy);
+	}
+
+	/**
+	 * Updates the given list of JavaFX {@link PathElement}s so that it
+	 * represents the given {@link IGeometry}, translated by the given offset.
+	 * Existing {@link PathElement}s are updated in place as long as the
+	 * segment structure is unchanged.
+	 *
+	 * @param geometry
+	 *            The {@link IGeometry} to convert.
+	 * @param dx
+	 *            The horizontal offset by which the {@link IGeometry} is
+	 *            translated.
+	 * @param dy
+	 *            The vertical offset by which the {@link IGeometry} is
+	 *            translated.
+	 * @param elements
+	 *            The list of {@link PathElement}s to update.
+	 * @see Geometry2Shape#updatePathElements(Path, double, double, List)
+	 */
+	public void updatePathElements(IGeometry geometry, double dx, double dy,
+			List<PathElement> elements) {
+		Geometry2Shape.updatePathElements(getPath(geometry), dx, dy,
+				elements);
+	}
+
+}
@@ -14,6 +14,9 @@ package org.eclipse.gef.geometry.tests;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.geom.NoninvertibleTransformException;
 
 import org.eclipse.gef.geometry.euclidean.Angle;
 import org.eclipse.gef.geometry.planar.AffineTransform;
@@ -36,6 +39,57 @@ public class AffineTransformTests {
 		assertEquals(t0, t1);
 	}
 
+	@Test
+	public void test_hashCode() {
+		// scaling the zero entries results in -0.0
+		AffineTransform t0 = new AffineTransform().scale(-2, 2);
+		AffineTransform t1 = new AffineTransform(-2, 0, 0, 2, 0, 0);
+		assertEquals(t0, t1);
+		assertEquals(t0.hashCode(), t1.hashCode());
+		assertEquals(new java.awt.geom.AffineTransform(-2, 0, 0, 2, 0, 0)
+				.hashCode(), t1.hashCode());
+	}
+
+	@Test
+	public void test_inverse() throws NoninvertibleTransformException {
+		AffineTransform tx = new AffineTransform().translate(10, 5)
+				.rotate(Angle.fromDeg(30).rad()).scale(2, 3);
+		Point p = new Point(3, -7);
+		assertEquals(p, tx.inverseTransform(tx.getTransformed(p)));
+		assertEquals(p, tx.getInverse().getTransformed(tx.getTransformed(p)));
+
+		// the cached inverse has to be discarded when the transform changes
+		tx.translate(1, 1);
+		assertEquals(p, tx.inverseTransform(tx.getTransformed(p)));
+		AffineTransform inverted = tx.getCopy().invert();
+		assertEquals(p, inverted.concatenate(tx).getTransformed(p));
+		assertEquals(tx.getTransformed(p),
+				tx.getInverse().getInverse().getTransformed(p));
+	}
+
+	@Test(expected = NoninvertibleTransformException.class)
+	public void test_inverse_noninvertible()
+			throws NoninvertibleTransformException {
+		new AffineTransform().scale(0, 1).inverseTransform(new Point(1, 1));
+	}
+
+	@Test
+	public void test_getType() {
+		assertEquals(java.awt.geom.AffineTransform.TYPE_IDENTITY,
+				new AffineTransform().getType());
+		assertEquals(java.awt.geom.AffineTransform.TYPE_TRANSLATION,
+				new AffineTransform().translate(1, 2).getType());
+		assertEquals(java.awt.geom.AffineTransform.TYPE_UNIFORM_SCALE,
+				new AffineTransform().scale(2, 2).getType());
+		assertEquals(java.awt.geom.AffineTransform.TYPE_QUADRANT_ROTATION,
+				new AffineTransform().quadrantRotate(1).getType());
+		assertEquals(java.awt.geom.AffineTransform.TYPE_GENERAL_TRANSFORM,
+				new AffineTransform().shear(1, 0).getType());
+		assertEquals(java.awt.geom.AffineTransform.TYPE_GENERAL_ROTATION,
+				new AffineTransform().rotate(1).getType());
+		assertTrue(new AffineTransform().clone() instanceof AffineTransform);
+	}
+
 	@Test
 	public void test_rotate90() {
 		AffineTransform tx = new AffineTransform();
@@ -44,4 +98,22 @@ public class AffineTransformTests {
 		assertEquals(new Point(0, 1), tx.getTransformed(new Point(1, 0)));
 	}
 
+	@Test
+	public void test_transform_coordinates() {
+		AffineTransform tx = new AffineTransform().translate(10, 5)
+				.rotate(Angle.fromDeg(90).rad()).scale(2, 3);
+		Point[] points = new Point[] { new Point(1, 0), new Point(2, 3),
+				new Point(-4, 1) };
+		Point[] expected = tx.getTransformed(points);
+
+		// transform the last two points in place, leaving the first untouched
+		double[] coordinates = new double[] { 1, 0, 2, 3, -4, 1 };
+		tx.transform(coordinates, 2, coordinates, 2, 2);
+		assertEquals(new Point(1, 0),
+				new Point(coordinates[0], coordinates[1]));
+		assertEquals(expected[1], new Point(coordinates[2], coordinates[3]));
+		assertEquals(expected[2], new Point(coordinates[4], coordinates[5]));
+		assertEquals(tx.getTransformed(points[2]), expected[2]);
+	}
+
 }
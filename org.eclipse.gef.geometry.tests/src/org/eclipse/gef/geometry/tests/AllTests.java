@@ -20,10 +20,12 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({ AffineTransformTests.class, AngleTests.class, ArcTests.class,
 		AWTConversionTests.class, BezierCurveTests.class, CubicCurveTests.class,
-		CurvedPolygonTests.class, CurveUtilsTests.class, DimensionTests.class,
+		CurvedPolygonTests.class, CurveIntersectorTests.class,
+		CurveUtilsTests.class, DimensionTests.class,
 		EllipseTests.class, IGeometryTests.class, LineTests.class,
 		PathTests.class, PieTests.class, PointListUtilsTests.class,
-		PointTests.class, PolygonTests.class, PolylineTests.class,
+		PointTests.class, PolygonClipperTests.class, PolygonTests.class,
+		PolylineTests.class,
 		PrecisionUtilsTests.class, QuadraticCurveTests.class,
 		RectangleTests.class, RegionTests.class, RingTests.class,
 		RoundedRectangleTests.class, StraightTests.class, VectorTests.class,
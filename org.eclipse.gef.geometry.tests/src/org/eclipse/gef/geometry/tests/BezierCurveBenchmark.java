@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.tests;
+
+import java.util.Random;
+
+import org.eclipse.gef.geometry.planar.BezierCurve;
+import org.eclipse.gef.geometry.planar.CubicCurve;
+import org.eclipse.gef.geometry.planar.PolyBezier;
+import org.eclipse.gef.geometry.planar.QuadraticCurve;
+
+/**
+ * Measures the run time of intersection and overlap computations between
+ * random {@link CubicCurve}s, {@link QuadraticCurve}s and {@link PolyBezier}s,
+ * as well as of the computation of their bounds and line strips. This is not
+ * part of the {@link AllTests} suite, but is to be started as a Java
+ * application.
+ */
+public class BezierCurveBenchmark {
+
+	private static final int[] SIZES = { 10, 20, 40 };
+
+	private static final int RUNS = 3;
+
+	private static double coordinate(Random random) {
+		return 1000 * random.nextDouble();
+	}
+
+	private static CubicCurve[] createCubics(Random random, int count) {
+		CubicCurve[] curves = new CubicCurve[count];
+		for (int i = 0; i < count; i++) {
+			curves[i] = new CubicCurve(coordinate(random), coordinate(random),
+					coordinate(random), coordinate(random), coordinate(random),
+					coordinate(random), coordinate(random), coordinate(random));
+		}
+		return curves;
+	}
+
+	private static PolyBezier[] createPolyBeziers(Random random, int count) {
+		PolyBezier[] polyBeziers = new PolyBezier[count];
+		for (int i = 0; i < count; i++) {
+			BezierCurve[] curves = new BezierCurve[5];
+			double x = coordinate(random);
+			double y = coordinate(random);
+			for (int j = 0; j < curves.length; j++) {
+				double nx = x + 200 * random.nextDouble() - 100;
+				double ny = y + 200 * random.nextDouble() - 100;
+				curves[j] = new CubicCurve(x, y, coordinate(random),
+						coordinate(random), coordinate(random),
+						coordinate(random), nx, ny);
+				x = nx;
+				y = ny;
+			}
+			polyBeziers[i] = new PolyBezier(curves);
+		}
+		return polyBeziers;
+	}
+
+	private static QuadraticCurve[] createQuadratics(Random random,
+			int count) {
+		QuadraticCurve[] curves = new QuadraticCurve[count];
+		for (int i = 0; i < count; i++) {
+			curves[i] = new QuadraticCurve(coordinate(random),
+					coordinate(random), coordinate(random), coordinate(random),
+					coordinate(random), coordinate(random));
+		}
+		return curves;
+	}
+
+	public static void main(String[] args) {
+		for (int size : SIZES) {
+			Random random = new Random(size);
+			CubicCurve[] cubics = createCubics(random, size);
+			QuadraticCurve[] quadratics = createQuadratics(random, size);
+			PolyBezier[] polyBeziers = createPolyBeziers(random, size / 5);
+			for (int run = 0; run < RUNS; run++) {
+				int count = 0;
+				long start = System.nanoTime();
+				for (int i = 0; i < size; i++) {
+					for (int j = i + 1; j < size; j++) {
+						count += cubics[i].getIntersections(cubics[j]).length;
+						count += quadratics[i]
+								.getIntersections(quadratics[j]).length;
+						count += cubics[i]
+								.getIntersections(quadratics[j]).length;
+					}
+				}
+				long curves = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				for (int i = 0; i < polyBeziers.length; i++) {
+					for (int j = i + 1; j < polyBeziers.length; j++) {
+						count += polyBeziers[i]
+								.getIntersections(polyBeziers[j]).length;
+						count += polyBeziers[i]
+								.getOverlaps(polyBeziers[j]).length;
+					}
+				}
+				long polys = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				for (int i = 0; i < size; i++) {
+					cubics[i].translate(1, 1);
+					quadratics[i].translate(1, 1);
+					for (int k = 0; k < 10; k++) {
+						count += cubics[i].getBounds().isEmpty() ? 0 : 1;
+						count += cubics[i].toLineStrip(0.1).length;
+						count += quadratics[i].toPath().getSegments().length;
+					}
+				}
+				long flattening = System.nanoTime() - start;
+
+				System.out.println(size + " curves: intersections "
+						+ curves / 1000000 + "ms, PolyBezier "
+						+ polys / 1000000 + "ms, bounds/line strips "
+						+ flattening / 1000000 + "ms (" + count + " results)");
+			}
+		}
+	}
+
+}
@@ -205,6 +205,20 @@ public class BezierCurveTests {
 				.toRectangle(Geometry2AWT.toAWTPath(c2.toPath()).getBounds2D());
 		assertEquals(c2pathBounds.getHeight(), c2bounds.getHeight(), 0.1);
 		assertEquals(c2pathBounds.getWidth(), c2bounds.getWidth(), 0.1);
+
+		// bounds are cached, so changing the curve or the returned bounds has
+		// to be reflected
+		BezierCurve c3 = new BezierCurve(1, 1, 1, 10, 10, 1, 10, 10);
+		c3.getBounds().translate(5, 5);
+		assertEquals(new Rectangle(1, 1, 9, 9), c3.getBounds());
+		c3.translate(1, 2);
+		assertEquals(new Rectangle(2, 3, 9, 9), c3.getBounds());
+		c3.setP2(new Point(20, 10));
+		assertEquals(new BezierCurve(2, 3, 2, 12, 11, 3, 20, 10).getBounds(),
+				c3.getBounds());
+		c3.scale(2, new Point(2, 3));
+		assertEquals(new BezierCurve(2, 3, 2, 21, 20, 3, 38, 17).getBounds(),
+				c3.getBounds());
 	}
 
 	@Test
@@ -735,7 +749,32 @@ public class BezierCurveTests {
 		assertEquals(new Line(0, 0, 1, 1), lines[0]);
 		assertEquals(linear.toLine(), lines[0]);
 
-		// TODO: check complicated curves, too
+		// the line strip of a curved curve is connected, starts and ends at
+		// the end points of the curve, and approximates it
+		CubicCurve cubic = new CubicCurve(0, 0, 0, 100, 100, -100, 100, 0);
+		lines = cubic.toLineStrip(0.5);
+		assertTrue(lines.length > 1);
+		assertEquals(cubic.getP1(), lines[0].getP1());
+		assertEquals(cubic.getP2(), lines[lines.length - 1].getP2());
+		for (int i = 0; i < lines.length; i++) {
+			if (i > 0) {
+				assertEquals(lines[i - 1].getP2(), lines[i].getP1());
+			}
+			Point center = lines[i].get(0.5);
+			assertTrue(cubic.getProjection(center).getDistance(center) < 1);
+		}
+
+		// line strips are cached, so changing the curve or the returned lines
+		// has to be reflected
+		lines[0].setP1(new Point(-5, -5));
+		assertEquals(cubic.getP1(), cubic.toLineStrip(0.5)[0].getP1());
+		cubic.translate(10, 0);
+		assertEquals(new Point(10, 0), cubic.toLineStrip(0.5)[0].getP1());
+		assertEquals(new Point(10, 0), cubic.toPath().getSegments()[0]
+				.getPoints()[0]);
+		cubic.setP2(new Point(50, 50));
+		lines = cubic.toLineStrip(0.5);
+		assertEquals(new Point(50, 50), lines[lines.length - 1].getP2());
 	}
 
 	@Test
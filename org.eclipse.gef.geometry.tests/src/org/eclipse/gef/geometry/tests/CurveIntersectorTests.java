@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.eclipse.gef.geometry.planar.BezierCurve;
+import org.eclipse.gef.geometry.planar.CubicCurve;
+import org.eclipse.gef.geometry.planar.CurveIntersector;
+import org.eclipse.gef.geometry.planar.ICurve;
+import org.eclipse.gef.geometry.planar.Line;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.PolyBezier;
+import org.eclipse.gef.geometry.planar.Polyline;
+import org.eclipse.gef.geometry.planar.QuadraticCurve;
+import org.junit.Test;
+
+public class CurveIntersectorTests {
+
+	private static final long SEED = 123;
+
+	private static void assertSamePoints(Point[] expected, Point[] actual) {
+		assertEquals(expected.length, actual.length);
+		for (Point p : expected) {
+			assertTrue(Arrays.asList(actual).contains(p));
+		}
+	}
+
+	private static ICurve[] createCurves(Random random, int count) {
+		ICurve[] curves = new ICurve[count];
+		for (int i = 0; i < count; i++) {
+			double x = 100 * random.nextDouble();
+			double y = 100 * random.nextDouble();
+			switch (i % 4) {
+			case 0:
+				curves[i] = new Line(x, y, x + 40 * random.nextDouble(),
+						y + 40 * random.nextDouble());
+				break;
+			case 1:
+				curves[i] = new QuadraticCurve(x, y,
+						x + 40 * random.nextDouble(), y - 20,
+						x + 40 * random.nextDouble(), y + 10);
+				break;
+			case 2:
+				curves[i] = new CubicCurve(x, y, x + 30, y - 30, x - 10,
+						y + 40 * random.nextDouble(), x + 30, y + 30);
+				break;
+			default:
+				curves[i] = new PolyBezier(
+						new BezierCurve[] { new CubicCurve(x, y, x + 10, y + 30,
+								x + 20, y - 30, x + 30, y),
+								new Line(x + 30, y, x + 30, y + 30) });
+			}
+		}
+		return curves;
+	}
+
+	@Test
+	public void test_getIntersections() {
+		// two crossing lines, a polyline touching the second line at its end
+		// point, and a distant line
+		ICurve[] curves = new ICurve[] { new Line(0, 0, 10, 10),
+				new Line(0, 10, 10, 0),
+				new Polyline(new Point(10, 0), new Point(20, 0),
+						new Point(20, 10)),
+				new Line(100, 100, 110, 110) };
+		CurveIntersector intersector = new CurveIntersector(curves);
+
+		assertArrayEquals(new int[][] { { 0, 1 }, { 1, 2 } },
+				intersector.getIntersectingPairs());
+		assertSamePoints(new Point[] { new Point(5, 5) },
+				intersector.getIntersections(0, 1));
+		assertSamePoints(new Point[] { new Point(5, 5) },
+				intersector.getIntersections(1, 0));
+		assertSamePoints(new Point[] {}, intersector.getIntersections(0, 2));
+		assertSamePoints(new Point[] {}, intersector.getIntersections(1, 1));
+		assertSamePoints(new Point[] { new Point(5, 5), new Point(10, 0) },
+				intersector.getIntersections(1));
+		assertSamePoints(new Point[] {}, intersector.getIntersections(3));
+		assertSamePoints(new Point[] { new Point(5, 5), new Point(10, 0) },
+				intersector.getIntersections());
+
+		// returned points are copies
+		intersector.getIntersections(0, 1)[0].translate(1, 1);
+		assertSamePoints(new Point[] { new Point(5, 5) },
+				intersector.getIntersections(0, 1));
+	}
+
+	@Test
+	public void test_getIntersections_pairwise() {
+		Random random = new Random(SEED);
+		ICurve[] curves = createCurves(random, 24);
+		CurveIntersector intersector = new CurveIntersector(curves);
+		CurveIntersector parallelIntersector = new CurveIntersector(curves)
+				.setParallel(true);
+
+		int pairs = 0;
+		for (int i = 0; i < curves.length; i++) {
+			for (int j = i + 1; j < curves.length; j++) {
+				Point[] expected = curves[i].getIntersections(curves[j]);
+				assertSamePoints(expected, intersector.getIntersections(i, j));
+				assertSamePoints(expected,
+						parallelIntersector.getIntersections(i, j));
+				if (expected.length > 0) {
+					assertArrayEquals(new int[] { i, j },
+							intersector.getIntersectingPairs()[pairs++]);
+				}
+			}
+		}
+		assertTrue(pairs > 0);
+		assertEquals(pairs, intersector.getIntersectingPairs().length);
+		assertEquals(pairs, parallelIntersector.getIntersectingPairs().length);
+	}
+
+}
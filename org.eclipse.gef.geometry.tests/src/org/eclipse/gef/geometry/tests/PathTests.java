@@ -18,8 +18,10 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.List;
 
+import org.eclipse.gef.geometry.planar.Ellipse;
 import org.eclipse.gef.geometry.planar.ICurve;
 import org.eclipse.gef.geometry.planar.Path;
+import org.eclipse.gef.geometry.planar.Path.Segment;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.junit.Test;
@@ -35,6 +37,26 @@ public class PathTests {
 		assertTrue(unionPath.contains(r1.getCenter()));
 	}
 
+	@Test
+	public void test_CAG_curved() {
+		// curved segments are preserved
+		Ellipse e = new Ellipse(0, 0, 100, 100);
+		Rectangle r = new Rectangle(50, 50, 100, 100);
+		for (Path path : new Path[] { Path.add(e.toPath(), r.toPath()),
+				Path.exclusiveOr(e.toPath(), r.toPath()),
+				Path.intersect(e.toPath(), r.toPath()),
+				Path.subtract(e.toPath(), r.toPath()) }) {
+			boolean curved = false;
+			for (Segment segment : path.getSegments()) {
+				if (segment.getType() == Segment.CUBIC_TO
+						|| segment.getType() == Segment.QUAD_TO) {
+					curved = true;
+				}
+			}
+			assertTrue(curved);
+		}
+	}
+
 	@Test
 	public void test_CAG_exclusiveOr() {
 		Rectangle r0 = new Rectangle(0, 0, 100, 100);
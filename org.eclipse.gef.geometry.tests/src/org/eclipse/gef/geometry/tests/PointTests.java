@@ -87,6 +87,11 @@ public class PointTests {
 
 		assertTrue(bounds.getTopLeft().equals(new Point(0, 0)));
 		assertTrue(bounds.getBottomRight().equals(new Point(0, 0)));
+
+		double[] coordinates = new double[] { 100, 100, 3, -2, -1, 5, 2, 0 };
+		assertEquals(new Rectangle(-1, -2, 4, 7),
+				Point.getBounds(coordinates, 2, 3));
+		assertEquals(new Rectangle(), Point.getBounds(coordinates, 0, 0));
 	}
 
 	@Test
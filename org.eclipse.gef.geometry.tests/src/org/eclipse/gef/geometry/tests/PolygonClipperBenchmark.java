@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.tests;
+
+import java.awt.geom.Area;
+import java.util.Random;
+
+import org.eclipse.gef.geometry.convert.awt.Geometry2AWT;
+import org.eclipse.gef.geometry.internal.utils.PolygonClipper;
+import org.eclipse.gef.geometry.internal.utils.PolygonClipper.Operation;
+import org.eclipse.gef.geometry.planar.Path;
+
+/**
+ * Compares the run time of the {@link PolygonClipper} with that of
+ * {@link Area} for the union of two jagged circles with 10k to 100k vertices
+ * each. This is not part of the {@link AllTests} suite, but is to be started
+ * as a Java application.
+ */
+public class PolygonClipperBenchmark {
+
+	private static final int[] SIZES = { 10000, 30000, 100000 };
+
+	private static final int RUNS = 3;
+
+	private static Path createJaggedCircle(Random random, int vertices,
+			double cx, double cy) {
+		Path path = new Path(Path.WIND_NON_ZERO);
+		for (int i = 0; i < vertices; i++) {
+			double angle = 2 * Math.PI * i / vertices;
+			double radius = 400 + 20 * random.nextDouble();
+			double x = cx + radius * Math.cos(angle);
+			double y = cy + radius * Math.sin(angle);
+			if (i == 0) {
+				path.moveTo(x, y);
+			} else {
+				path.lineTo(x, y);
+			}
+		}
+		return path.close();
+	}
+
+	public static void main(String[] args) {
+		boolean withAwt = args.length == 0 || !"-noawt".equals(args[0]);
+		for (int size : SIZES) {
+			Random random = new Random(size);
+			Path a = createJaggedCircle(random, size, 500, 500);
+			Path b = createJaggedCircle(random, size, 600, 550);
+			for (int run = 0; run < RUNS; run++) {
+				long start = System.nanoTime();
+				PolygonClipper.compute(a, b, Operation.UNION);
+				long gef = System.nanoTime() - start;
+				String awt = "-";
+				if (withAwt) {
+					start = System.nanoTime();
+					Area area = new Area(Geometry2AWT.toAWTPath(a));
+					area.add(new Area(Geometry2AWT.toAWTPath(b)));
+					awt = (System.nanoTime() - start) / 1000000 + "ms";
+				}
+				System.out.println(size + " vertices: PolygonClipper "
+						+ gef / 1000000 + "ms, Area " + awt);
+			}
+		}
+	}
+
+}
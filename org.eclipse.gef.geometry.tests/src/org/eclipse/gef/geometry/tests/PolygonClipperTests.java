@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.gef.geometry.internal.utils.PolygonClipper;
+import org.eclipse.gef.geometry.internal.utils.PolygonClipper.Operation;
+import org.eclipse.gef.geometry.planar.Path;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Polygon;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.junit.Test;
+
+public class PolygonClipperTests {
+
+	private static double area(double[][] contours) {
+		double area = 0;
+		for (double[] contour : contours) {
+			int n = contour.length;
+			for (int i = 0; i < n; i += 2) {
+				area += contour[i] * contour[(i + 3) % n]
+						- contour[(i + 2) % n] * contour[i + 1];
+			}
+		}
+		return Math.abs(area / 2);
+	}
+
+	private static double[][] toContours(Polygon... polygons) {
+		double[][] contours = new double[polygons.length][];
+		for (int i = 0; i < polygons.length; i++) {
+			contours[i] = polygons[i].getCoordinates();
+		}
+		return contours;
+	}
+
+	@Test
+	public void test_collinear_overlap() {
+		// rectangles sharing (part of) their right and left sides
+		double[][] a = toContours(new Rectangle(0, 0, 50, 50).toPolygon());
+		double[][] b = toContours(new Rectangle(50, 25, 50, 50).toPolygon());
+
+		double[][] union = PolygonClipper.compute(a, Path.WIND_NON_ZERO, b,
+				Path.WIND_NON_ZERO, Operation.UNION, 0);
+		assertEquals(1, union.length);
+		assertEquals(5000, area(union), 0);
+
+		double[][] intersection = PolygonClipper.compute(a,
+				Path.WIND_NON_ZERO, b, Path.WIND_NON_ZERO,
+				Operation.INTERSECTION, 0);
+		assertEquals(0, intersection.length);
+	}
+
+	@Test
+	public void test_difference() {
+		Path result = PolygonClipper.compute(
+				new Rectangle(0, 0, 100, 100).toPath(),
+				new Rectangle(25, 25, 50, 50).toPath(), Operation.DIFFERENCE);
+
+		assertTrue(result.contains(new Point(10, 10)));
+		assertTrue(result.contains(new Point(90, 50)));
+		assertFalse(result.contains(new Point(50, 50)));
+		assertFalse(result.contains(new Point(110, 50)));
+	}
+
+	@Test
+	public void test_exclusiveOr() {
+		double[][] a = toContours(new Rectangle(0, 0, 100, 100).toPolygon());
+		double[][] b = toContours(new Rectangle(50, 50, 100, 100).toPolygon());
+
+		double[][] xor = PolygonClipper.compute(a, Path.WIND_NON_ZERO, b,
+				Path.WIND_NON_ZERO, Operation.EXCLUSIVE_OR, 0);
+		assertEquals(15000, area(xor), 0);
+	}
+
+	@Test
+	public void test_intersection() {
+		Polygon triangle = new Polygon(0, 0, 100, 0, 0, 100);
+		Polygon square = new Rectangle(0, 0, 50, 50).toPolygon();
+
+		Path result = PolygonClipper.compute(triangle, square,
+				Operation.INTERSECTION);
+		assertEquals(new Rectangle(0, 0, 50, 50), result.getBounds());
+
+		double[][] contours = PolygonClipper.compute(toContours(triangle),
+				Path.WIND_NON_ZERO, toContours(new Polygon(50, 0, 100, 100,
+						0, 100)),
+				Path.WIND_NON_ZERO, Operation.INTERSECTION, 0);
+		assertEquals(1, contours.length);
+		// intersection is the triangle (50,0), (66.6,33.3), (0,100)
+		assertEquals(5000.0 / 3, area(contours), 1e-9);
+	}
+
+	@Test
+	public void test_simplify() {
+		// bowtie
+		Path bowtie = new Path(Path.WIND_EVEN_ODD).moveTo(0, 0)
+				.lineTo(100, 100).lineTo(100, 0).lineTo(0, 100).close();
+		Path simplified = PolygonClipper.simplify(bowtie);
+
+		assertEquals(Path.WIND_NON_ZERO, simplified.getWindingRule());
+		assertTrue(simplified.contains(new Point(10, 50)));
+		assertTrue(simplified.contains(new Point(90, 50)));
+		assertFalse(simplified.contains(new Point(50, 10)));
+		assertFalse(simplified.contains(new Point(50, 90)));
+
+		int moveTos = 0;
+		for (Path.Segment s : simplified.getSegments()) {
+			if (s.getType() == Path.Segment.MOVE_TO) {
+				moveTos++;
+			}
+		}
+		assertEquals(2, moveTos);
+	}
+
+	@Test
+	public void test_union() {
+		Path result = PolygonClipper.compute(
+				new Rectangle(0, 0, 100, 100).toPath(),
+				new Rectangle(50, 50, 100, 100).toPath(), Operation.UNION);
+
+		assertEquals(new Rectangle(0, 0, 150, 150), result.getBounds());
+		assertTrue(result.contains(new Point(25, 25)));
+		assertTrue(result.contains(new Point(125, 125)));
+		assertFalse(result.contains(new Point(125, 25)));
+		assertFalse(result.contains(new Point(25, 125)));
+	}
+
+	@Test
+	public void test_vertical_segments() {
+		// vertical edges on which other segments start and end
+		double[][] a = toContours(new Polygon(0, 0, 50, 0, 50, 100, 0, 100));
+		double[][] b = toContours(new Polygon(50, 0, 100, 50, 50, 100),
+				new Polygon(25, 25, 50, 50, 25, 75));
+
+		double[][] union = PolygonClipper.compute(a, Path.WIND_NON_ZERO, b,
+				Path.WIND_NON_ZERO, Operation.UNION, 0);
+		assertEquals(1, union.length);
+		assertEquals(5000 + 2500, area(union), 0);
+
+		double[][] difference = PolygonClipper.compute(a, Path.WIND_NON_ZERO,
+				b, Path.WIND_NON_ZERO, Operation.DIFFERENCE, 0);
+		assertEquals(5000 - 625, area(difference), 0);
+	}
+
+}
@@ -401,6 +401,67 @@ public class PolygonTests {
 		assertTrue("" + tri.getArea(), PrecisionUtils.equal(25, tri.getArea()));
 	}
 
+	@Test
+	public void test_contains_coordinates() {
+		for (Polygon polygon : new Polygon[] { CONCAVE_OCTAGON,
+				CONCAVE_PENTAGON, RHOMB, RECTANGLE }) {
+			// prepend a dummy point to test the offset
+			double[] vertices = polygon.getCoordinates();
+			double[] coordinates = new double[vertices.length + 2];
+			System.arraycopy(vertices, 0, coordinates, 2, vertices.length);
+			for (double x = -1; x <= 9; x += 0.5) {
+				for (double y = -1; y <= 9; y += 0.5) {
+					assertEquals(polygon + " contains " + x + ", " + y,
+							polygon.contains(new Point(x, y)),
+							Polygon.contains(coordinates, 2,
+									vertices.length / 2, x, y));
+				}
+			}
+		}
+		assertFalse(Polygon.contains(new double[] {}, 0, 0, 0, 0));
+	}
+
+	@Test
+	public void test_contains_Point_indexed() {
+		// comb with enough vertices to be tested using the segment index
+		int teeth = 10;
+		double[] coordinates = new double[8 * teeth + 4];
+		for (int i = 0; i < teeth; i++) {
+			double[] tooth = { 2 * i, 0, 2 * i, 5 + i % 3, 2 * i + 1,
+					5 + i % 3, 2 * i + 1, 1 };
+			System.arraycopy(tooth, 0, coordinates, 8 * i, 8);
+		}
+		coordinates[8 * teeth] = 2 * teeth;
+		coordinates[8 * teeth + 1] = 1;
+		coordinates[8 * teeth + 2] = 2 * teeth;
+		coordinates[8 * teeth + 3] = -1;
+		Polygon polygon = new Polygon(coordinates);
+		Polyline polyline = new Polyline(coordinates);
+		for (int pass = 0; pass < 2; pass++) {
+			if (pass == 1) {
+				// the index has to be updated when the points are modified
+				polygon.translate(0.5, 0.5);
+				polyline.translate(0.5, 0.5);
+			}
+			double[] vertices = polygon.getCoordinates();
+			for (double x = -1.5; x <= 22; x += 0.25) {
+				for (double y = -2; y <= 9; y += 0.25) {
+					assertEquals(x + ", " + y,
+							Polygon.contains(vertices, 0, vertices.length / 2,
+									x, y),
+							polygon.contains(new Point(x, y)));
+					assertEquals(x + ", " + y,
+							Polyline.contains(vertices, 0, vertices.length / 2,
+									x, y),
+							polyline.contains(new Point(x, y)));
+				}
+			}
+		}
+		assertTrue(polygon.contains(new Line(1, 0.5, 19, 0.5)));
+		assertTrue(polygon.contains(new Line(1, 0.5, 1, 5)));
+		assertFalse(polygon.contains(new Line(1, 2, 19, 2)));
+	}
+
 	@Test
 	public void test_getBounds() {
 		assertEquals(RECTANGLE, RECTANGLE.getBounds().toPolygon());
@@ -544,6 +605,84 @@ public class PolygonTests {
 		assertTrue(true);
 	}
 
+	@Test(expected = IllegalStateException.class)
+	public void test_getTriangulation_crossing_edges() {
+		// the closing edge crosses the edge from (-1, 2) to (-8.16, 5.51)
+		new Polygon(2, 4, -1, 2, -8.157069082962936, 5.513853464630955,
+				-6.9619731369484805, -1.0580245074595374).getTriangulation();
+	}
+
+	@Test
+	public void test_getTriangulation_touching_vertex() {
+		// the polygon touches itself at (1, 2)
+		Polygon p = new Polygon(7, 1, 5, 4, 2, 2, 1, 2, 2, 3, 1, 2, -3, 8, -3,
+				4, -2, -1);
+		double area = 0;
+		for (Polygon triangle : p.getTriangulation()) {
+			area += triangle.getArea();
+		}
+		assertTrue(PrecisionUtils.equal(p.getArea(), area));
+	}
+
+	@Test
+	public void test_getTriangulationIndices() {
+		// comb-shaped polygon with split and merge vertices
+		Polygon p = new Polygon(0, 0, 10, 0, 10, 10, 8, 10, 8, 2, 6, 2, 6, 10,
+				4, 10, 4, 2, 2, 2, 2, 10, 0, 10);
+		int[] indices = p.getTriangulationIndices();
+		assertEquals(3 * (p.getPoints().length - 2), indices.length);
+
+		Point[] points = p.getPoints();
+		double area = 0;
+		for (int i = 0; i < indices.length; i += 3) {
+			Polygon triangle = new Polygon(points[indices[i]],
+					points[indices[i + 1]], points[indices[i + 2]]);
+			// all triangles are oriented like the polygon
+			assertTrue(triangle.getSignedArea() * p.getSignedArea() > 0);
+			area += triangle.getArea();
+		}
+		assertTrue(PrecisionUtils.equal(p.getArea(), area));
+
+		// the ear-clipping algorithm covers the same area
+		area = 0;
+		for (Polygon triangle : p.getTriangulation(true)) {
+			area += triangle.getArea();
+		}
+		assertTrue(PrecisionUtils.equal(p.getArea(), area));
+
+		// duplicate vertices are ignored
+		p = new Polygon(150.0, 50.0, 50.0, 100.0, 23.0, 165.0, 50.0, 250.0,
+				135.0, 294.0, 250.0, 300.0, 137.0, 260.0, 63.0, 168.0, 113.0,
+				105.0, 136.0, 206.0, 150.0, 50.0);
+		assertEquals(3 * 8, p.getTriangulationIndices().length);
+	}
+
+	@Test
+	public void test_getTriangulationIndices_nearly_equal_y() {
+		// vertices whose y coordinates differ by rounding errors only
+		Polygon p = new Polygon(6.484835057925955, 4.999999999999999,
+				1.7120176074540743, 5.0, -5.007042753146417, 8.5,
+				-3.373845404171049, 5.0, -6.571379620954678, 6.999999999999999,
+				-7.952394128462723, -3.0, -3.8477980457289207, -2.0,
+				-6.711533661796455, -3.5, 5.544782033212984, -7.5,
+				7.416548319507808, -5.0, 4.5391651037958045, -3.0,
+				8.455626281067564, -2.5);
+		Polygon[] triangles = p.getTriangulation(false);
+		assertEquals(p.getPoints().length - 2, triangles.length);
+		double area = 0;
+		for (Polygon triangle : triangles) {
+			area += triangle.getArea();
+		}
+		assertTrue(PrecisionUtils.equal(p.getArea(), area));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void test_getTriangulationIndices_touching_vertex() {
+		// the polygon touches itself at (1, 2)
+		new Polygon(7, 1, 5, 4, 2, 2, 1, 2, 2, 3, 1, 2, -3, 8, -3, 4, -2, -1)
+				.getTriangulationIndices();
+	}
+
 	@Test
 	public void test_intersects_Ellipse() {
 		assertTrue(RHOMB.touches(new Ellipse(0, 0, 4, 4)));
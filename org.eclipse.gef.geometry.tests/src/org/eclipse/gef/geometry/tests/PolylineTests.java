@@ -44,6 +44,19 @@ public class PolylineTests {
 		assertTrue(POLYLINE.contains(new Point(2, 1)));
 	}
 
+	@Test
+	public void test_contains_with_coordinates() {
+		double[] coordinates = POLYLINE.getCoordinates();
+		assertFalse(Polyline.contains(coordinates, 0, 3, 9, 5));
+		assertFalse(Polyline.contains(coordinates, 0, 3, 1, 4));
+		assertTrue(Polyline.contains(coordinates, 0, 3, 0, 0));
+		assertTrue(Polyline.contains(coordinates, 0, 3, 1, 0));
+		assertTrue(Polyline.contains(coordinates, 0, 3, 2, 1));
+		// only consider the last segment
+		assertFalse(Polyline.contains(coordinates, 2, 2, 0.5, 0));
+		assertTrue(Polyline.contains(coordinates, 2, 2, 2, 1));
+	}
+
 	@Test
 	public void test_equals() {
 		assertEquals(POLYLINE, POLYLINE);
@@ -55,6 +68,17 @@ public class PolylineTests {
 		assertEquals(POLYLINE, new Polyline(points.toArray(new Point[] {})));
 	}
 
+	@Test
+	public void test_getLength() {
+		double expected = 1 + Math.sqrt(50);
+		assertEquals(expected, POLYLINE.getLength(), 0);
+		assertEquals(expected,
+				Polyline.getLength(POLYLINE.getCoordinates(), 0, 3), 0);
+		assertEquals(Math.sqrt(50),
+				Polyline.getLength(POLYLINE.getCoordinates(), 2, 2), 0);
+		assertEquals(0, Polyline.getLength(new double[] {}, 0, 0), 0);
+	}
+
 	@Test
 	public void test_toBezier() {
 		Line[] beziers = new Polyline(new double[] {}).toBezier();
@@ -17,6 +17,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
+import org.eclipse.gef.geometry.planar.Line;
 import org.eclipse.gef.geometry.planar.Path;
 import org.eclipse.gef.geometry.planar.Path.Segment;
 import org.eclipse.gef.geometry.planar.Point;
@@ -26,6 +27,55 @@ import org.junit.Test;
 
 public class RegionTests {
 
+	@Test
+	public void test_addAll() {
+		Region region = new Region().addAll(new Rectangle(0, 0, 100, 100),
+				new Rectangle(50, 50, 100, 100), new Rectangle(20, 20, 10, 10),
+				new Rectangle(200, 0, 0, 10));
+
+		// bands: [0,50] x [0,100], [50,100] x [0,150], [100,150] x [50,150],
+		// followed by the rectangle without area
+		assertEquals(4, region.getShapes().length);
+		assertEquals(new Region(new Rectangle(0, 0, 100, 100),
+				new Rectangle(50, 50, 100, 100), new Rectangle(200, 0, 0, 10)),
+				region);
+
+		assertTrue(region.contains(new Point(0, 0)));
+		assertTrue(region.contains(new Point(150, 100)));
+		assertTrue(region.contains(new Point(125, 75)));
+		assertFalse(region.contains(new Point(125, 25)));
+		assertFalse(region.contains(new Point(25, 125)));
+		assertTrue(region.contains(new Point(200, 5)));
+		assertFalse(region.contains(new Point(201, 5)));
+
+		assertTrue(region.contains(new Rectangle(0, 50, 150, 20)));
+		assertTrue(region.contains(new Rectangle(60, 0, 30, 150)));
+		assertFalse(region.contains(new Rectangle(0, 40, 150, 70)));
+
+		// adding to a non-empty region retains its area
+		region = new Region(new Rectangle(0, 0, 50, 50))
+				.addAll(new Rectangle(50, 0, 50, 50));
+		assertEquals(1, region.getShapes().length);
+		assertEquals(new Rectangle(0, 0, 100, 50), region.getShapes()[0]);
+	}
+
+	@Test
+	public void test_contains_after_modification() {
+		Region region = new Region(new Rectangle(0, 0, 50, 50),
+				new Rectangle(100, 0, 50, 50));
+		assertTrue(region.contains(new Point(25, 25)));
+
+		region.translate(0, 100);
+		assertFalse(region.contains(new Point(25, 25)));
+		assertTrue(region.contains(new Point(25, 125)));
+
+		region.add(new Rectangle(0, 0, 150, 50));
+		assertTrue(region.contains(new Point(75, 25)));
+
+		region.getShapes()[0].setWidth(10);
+		assertFalse(region.contains(new Point(25, 125)));
+	}
+
 	@Test
 	public void test_constructor() {
 		Region region = new Region();
@@ -38,6 +88,34 @@ public class RegionTests {
 		assertEquals(1, region.getShapes().length);
 	}
 
+	@Test
+	public void test_contains_degenerate_rectangles() {
+		Region region = new Region(new Rectangle(0, 0, 10, 10),
+				new Rectangle(20, 0, 0, 10), new Rectangle(30, 5, 10, 0));
+
+		// points and segments on rectangles without area are contained
+		assertTrue(region.contains(new Point(20, 5)));
+		assertTrue(region.contains(new Point(35, 5)));
+		assertTrue(region.contains(new Line(20, 2, 20, 8)));
+		assertTrue(region.contains(new Rectangle(30, 5, 5, 0)));
+		assertFalse(region.contains(new Point(21, 5)));
+		assertFalse(region.contains(new Point(35, 6)));
+		assertFalse(region.contains(new Line(20, 2, 20, 12)));
+
+		// the same holds after adding further rectangles in bulk
+		region.addAll(new Rectangle(0, 20, 10, 10));
+		assertTrue(region.contains(new Point(20, 5)));
+		assertTrue(region.contains(new Line(30, 5, 40, 5)));
+		assertTrue(region.contains(new Point(5, 25)));
+
+		// rectangles without area are retained when added in bulk
+		region = new Region().addAll(new Rectangle(0, 0, 10, 10),
+				new Rectangle(20, 0, 0, 10), new Rectangle(30, 5, 10, 0));
+		assertTrue(region.contains(new Point(20, 5)));
+		assertTrue(region.contains(new Point(35, 5)));
+		assertFalse(region.contains(new Point(35, 6)));
+	}
+
 	@Test
 	public void test_copy_semantics() {
 		Rectangle r1 = new Rectangle(0, 0, 100, 100);
@@ -0,0 +1,1007 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.internal.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+import org.eclipse.gef.geometry.planar.Path;
+import org.eclipse.gef.geometry.planar.Path.Segment;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Polygon;
+
+/**
+ * The {@link PolygonClipper} computes boolean operations (union, intersection,
+ * difference, exclusive-or) of two polygonal areas, each of which may consist
+ * of several (possibly self-intersecting) contours that are interpreted using
+ * either the {@link Path#WIND_EVEN_ODD} or the {@link Path#WIND_NON_ZERO}
+ * winding rule.
+ * <p>
+ * The computation is based on a plane sweep over the contour segments of both
+ * operands (following the algorithm of Martinez, Rueda, and Feito), which
+ * subdivides the segments at their intersection points and determines the
+ * winding numbers of both operands on each side of every segment, so that
+ * only those segments separating the interior of the result from its exterior
+ * are retained. Finally, the retained segments are linked to closed contours,
+ * which are oriented so that the result can be filled using either winding
+ * rule. Curved {@link Path} segments are flattened before the computation.
+ * <p>
+ * Intersection points that are regarded to be equal to a segment end point
+ * (w.r.t. the {@link PrecisionUtils} shift passed in) are snapped onto that
+ * end point, so that the topology of the result is consistent with the
+ * comparisons performed by the geometry classes.
+ */
+public class PolygonClipper {
+
+	/**
+	 * The boolean operations supported by the {@link PolygonClipper}.
+	 */
+	public enum Operation {
+		/**
+		 * The area covered by the subject or the clip.
+		 */
+		UNION,
+		/**
+		 * The area covered by both the subject and the clip.
+		 */
+		INTERSECTION,
+		/**
+		 * The area covered by the subject but not the clip.
+		 */
+		DIFFERENCE,
+		/**
+		 * The area covered by either the subject or the clip, but not both.
+		 */
+		EXCLUSIVE_OR
+	}
+
+	private static final class PointKey {
+		private final double x;
+		private final double y;
+
+		private PointKey(double x, double y) {
+			this.x = x;
+			this.y = y;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof PointKey)) {
+				return false;
+			}
+			PointKey other = (PointKey) obj;
+			return x == other.x && y == other.y;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * Double.hashCode(x) + Double.hashCode(y);
+		}
+	}
+
+	private static final class SweepEvent {
+		private final double x;
+		private final double y;
+		private final int id;
+		private boolean left;
+		private SweepEvent other;
+		// change of the winding numbers of the subject and clip when crossing
+		// the segment upwards (only maintained for left events)
+		private int contributionA;
+		private int contributionB;
+		// winding numbers of the subject and clip below the segment (only
+		// maintained for left events)
+		private int windingA;
+		private int windingB;
+		// whether the segment has been merged into a coincident one and
+		// removed from the sweep line status (only maintained for left events)
+		private boolean merged;
+
+		private SweepEvent(double x, double y, boolean left, int id) {
+			this.x = x;
+			this.y = y;
+			this.left = left;
+			this.id = id;
+		}
+
+		private boolean isBelow(double px, double py) {
+			return left ? signedArea(x, y, other.x, other.y, px, py) > 0
+					: signedArea(other.x, other.y, x, y, px, py) > 0;
+		}
+
+		private boolean isAt(double px, double py) {
+			return x == px && y == py;
+		}
+
+		private boolean isAt(SweepEvent e) {
+			return x == e.x && y == e.y;
+		}
+	}
+
+	/**
+	 * The maximum flatness (i.e. the maximum distance of the control points
+	 * from the chord) up to which a curved segment is approximated by a line.
+	 */
+	private static final double FLATNESS = 0.01;
+
+	private static final int MAX_FLATTENING_DEPTH = 10;
+
+	// squared tolerance for the parallelism test (relative to segment lengths)
+	private static final double PARALLEL_EPSILON = 1e-18;
+
+	/**
+	 * Computes the given boolean {@link Operation} for the given subject and
+	 * clip {@link Path}s, using the default {@link PrecisionUtils} shift.
+	 *
+	 * @param subject
+	 *            The subject {@link Path}.
+	 * @param clip
+	 *            The clip {@link Path}.
+	 * @param operation
+	 *            The {@link Operation} to compute.
+	 * @return A new {@link Path} (using the {@link Path#WIND_NON_ZERO} winding
+	 *         rule) representing the result of the operation.
+	 */
+	public static Path compute(Path subject, Path clip, Operation operation) {
+		return compute(subject, clip, operation, 0);
+	}
+
+	/**
+	 * Computes the given boolean {@link Operation} for the given subject and
+	 * clip {@link Path}s.
+	 *
+	 * @param subject
+	 *            The subject {@link Path}.
+	 * @param clip
+	 *            The clip {@link Path}.
+	 * @param operation
+	 *            The {@link Operation} to compute.
+	 * @param shift
+	 *            The {@link PrecisionUtils} shift that is used to decide
+	 *            whether an intersection point is snapped onto a segment end
+	 *            point.
+	 * @return A new {@link Path} (using the {@link Path#WIND_NON_ZERO} winding
+	 *         rule) representing the result of the operation.
+	 */
+	public static Path compute(Path subject, Path clip, Operation operation,
+			int shift) {
+		PolygonClipper clipper = new PolygonClipper(operation,
+				subject.getWindingRule(), clip.getWindingRule(), shift);
+		clipper.addPath(subject, true);
+		clipper.addPath(clip, false);
+		return toPath(clipper.compute());
+	}
+
+	/**
+	 * Computes the given boolean {@link Operation} for the given subject and
+	 * clip contours, each of which is given as an array of alternating x and y
+	 * coordinates (as provided e.g. by {@link PointListUtils#toCoordinatesArray(Point[])}),
+	 * where the last point is implicitly connected to the first one.
+	 *
+	 * @param subject
+	 *            The contours of the subject.
+	 * @param subjectWindingRule
+	 *            The winding rule of the subject.
+	 * @param clip
+	 *            The contours of the clip.
+	 * @param clipWindingRule
+	 *            The winding rule of the clip.
+	 * @param operation
+	 *            The {@link Operation} to compute.
+	 * @param shift
+	 *            The {@link PrecisionUtils} shift that is used to decide
+	 *            whether an intersection point is snapped onto a segment end
+	 *            point.
+	 * @return The contours of the result, where outer contours and holes are
+	 *         oppositely oriented.
+	 */
+	public static double[][] compute(double[][] subject,
+			int subjectWindingRule, double[][] clip, int clipWindingRule,
+			Operation operation, int shift) {
+		PolygonClipper clipper = new PolygonClipper(operation,
+				subjectWindingRule, clipWindingRule, shift);
+		for (double[] contour : subject) {
+			clipper.addContour(contour, true);
+		}
+		for (double[] contour : clip) {
+			clipper.addContour(contour, false);
+		}
+		return clipper.compute();
+	}
+
+	/**
+	 * Computes the given boolean {@link Operation} for the given subject and
+	 * clip {@link Polygon}s, each of which is interpreted using the
+	 * {@link Path#WIND_NON_ZERO} winding rule.
+	 *
+	 * @param subject
+	 *            The subject {@link Polygon}.
+	 * @param clip
+	 *            The clip {@link Polygon}.
+	 * @param operation
+	 *            The {@link Operation} to compute.
+	 * @return A new {@link Path} (using the {@link Path#WIND_NON_ZERO} winding
+	 *         rule) representing the result of the operation.
+	 */
+	public static Path compute(Polygon subject, Polygon clip,
+			Operation operation) {
+		return toPath(compute(
+				new double[][] {
+						PointListUtils.toCoordinatesArray(subject.getPoints()) },
+				Path.WIND_NON_ZERO,
+				new double[][] {
+						PointListUtils.toCoordinatesArray(clip.getPoints()) },
+				Path.WIND_NON_ZERO, operation, 0));
+	}
+
+	/**
+	 * Normalizes the given {@link Path}, i.e. computes a {@link Path} covering
+	 * the same area (w.r.t. the winding rule of the given {@link Path}), whose
+	 * contours do not intersect each other.
+	 *
+	 * @param path
+	 *            The {@link Path} to normalize.
+	 * @return A new {@link Path} (using the {@link Path#WIND_NON_ZERO} winding
+	 *         rule) covering the same area as the given {@link Path}.
+	 */
+	public static Path simplify(Path path) {
+		PolygonClipper clipper = new PolygonClipper(Operation.UNION,
+				path.getWindingRule(), Path.WIND_NON_ZERO, 0);
+		clipper.addPath(path, true);
+		return toPath(clipper.compute());
+	}
+
+	private static double signedArea(double x0, double y0, double x1,
+			double y1, double x2, double y2) {
+		return (x0 - x2) * (y1 - y2) - (x1 - x2) * (y0 - y2);
+	}
+
+	private static Path toPath(double[][] contours) {
+		Path path = new Path(Path.WIND_NON_ZERO);
+		for (double[] contour : contours) {
+			path.moveTo(contour[0], contour[1]);
+			for (int i = 2; i < contour.length; i += 2) {
+				path.lineTo(contour[i], contour[i + 1]);
+			}
+			// like java.awt.geom.Area, only emit the closing edge explicitly
+			// if it is not horizontal
+			if (contour[contour.length - 1] != contour[1]) {
+				path.lineTo(contour[0], contour[1]);
+			}
+			path.close();
+		}
+		return path;
+	}
+
+	private final Operation operation;
+	private final int windingRuleA;
+	private final int windingRuleB;
+	private final int shift;
+
+	private int nextId;
+	private double maxXA = Double.NEGATIVE_INFINITY;
+	private double maxXB = Double.NEGATIVE_INFINITY;
+
+	private final Comparator<SweepEvent> eventComparator = new Comparator<SweepEvent>() {
+		@Override
+		public int compare(SweepEvent e1, SweepEvent e2) {
+			return compareEvents(e1, e2);
+		}
+	};
+
+	private final PriorityQueue<SweepEvent> queue = new PriorityQueue<>(64,
+			eventComparator);
+
+	private final TreeSet<SweepEvent> status = new TreeSet<>(
+			new Comparator<SweepEvent>() {
+				@Override
+				public int compare(SweepEvent e1, SweepEvent e2) {
+					return compareSegments(e1, e2);
+				}
+			});
+
+	// the retained segments (x1, y1, x2, y2), oriented so that the interior
+	// of the result lies to their left (in a y-up coordinate system)
+	private double[] result = new double[64];
+	private int resultSize;
+
+	private final double[] intersection = new double[4];
+
+	// the vertices (input end points and intersection points), hashed by
+	// cells of the size of the tolerance, so that intersection points can be
+	// snapped onto nearby vertices
+	private final Map<PointKey, double[]> vertices = new HashMap<>();
+	// the x (y) coordinates of the vertical (horizontal) segments, hashed in
+	// the same manner
+	private final Map<Double, Double> verticals = new HashMap<>();
+	private final Map<Double, Double> horizontals = new HashMap<>();
+	private final double tolerance;
+
+	private PolygonClipper(Operation operation, int windingRuleA,
+			int windingRuleB, int shift) {
+		this.operation = operation;
+		this.windingRuleA = windingRuleA;
+		this.windingRuleB = windingRuleB;
+		this.shift = shift;
+		this.tolerance = PrecisionUtils.calculateFraction(shift);
+	}
+
+	private void addContour(double[] coordinates, boolean subject) {
+		int n = coordinates.length / 2;
+		for (int i = 0; i < n; i++) {
+			int j = (i + 1) % n;
+			addSegment(coordinates[2 * i], coordinates[2 * i + 1],
+					coordinates[2 * j], coordinates[2 * j + 1], subject);
+		}
+	}
+
+	private void addCubic(double x0, double y0, double x1, double y1,
+			double x2, double y2, double x3, double y3, boolean subject,
+			int depth) {
+		double dx = x3 - x0;
+		double dy = y3 - y0;
+		double sqrLength = dx * dx + dy * dy;
+		boolean flat;
+		if (sqrLength <= FLATNESS * FLATNESS) {
+			// (nearly) closed curve, so test the distance of the control
+			// points from the start point
+			flat = Math.hypot(x1 - x0, y1 - y0) <= FLATNESS
+					&& Math.hypot(x2 - x0, y2 - y0) <= FLATNESS;
+		} else {
+			double d = Math.abs((x1 - x3) * dy - (y1 - y3) * dx)
+					+ Math.abs((x2 - x3) * dy - (y2 - y3) * dx);
+			flat = d * d <= FLATNESS * FLATNESS * sqrLength
+					&& isWithin(x1, y1, x0, y0, x3, y3)
+					&& isWithin(x2, y2, x0, y0, x3, y3);
+		}
+		if (flat || depth >= MAX_FLATTENING_DEPTH) {
+			addSegment(x0, y0, x3, y3, subject);
+			return;
+		}
+		// subdivide at t = 0.5 (de Casteljau)
+		double x01 = (x0 + x1) / 2, y01 = (y0 + y1) / 2;
+		double x12 = (x1 + x2) / 2, y12 = (y1 + y2) / 2;
+		double x23 = (x2 + x3) / 2, y23 = (y2 + y3) / 2;
+		double x012 = (x01 + x12) / 2, y012 = (y01 + y12) / 2;
+		double x123 = (x12 + x23) / 2, y123 = (y12 + y23) / 2;
+		double xm = (x012 + x123) / 2, ym = (y012 + y123) / 2;
+		addCubic(x0, y0, x01, y01, x012, y012, xm, ym, subject, depth + 1);
+		addCubic(xm, ym, x123, y123, x23, y23, x3, y3, subject, depth + 1);
+	}
+
+	private void addPath(Path path, boolean subject) {
+		double startX = 0, startY = 0;
+		double currentX = 0, currentY = 0;
+		for (Segment s : path.getSegments()) {
+			Point[] points = s.getPoints();
+			switch (s.getType()) {
+			case Segment.MOVE_TO:
+				// sub-paths are implicitly closed
+				addSegment(currentX, currentY, startX, startY, subject);
+				startX = currentX = points[0].x;
+				startY = currentY = points[0].y;
+				break;
+			case Segment.LINE_TO:
+				addSegment(currentX, currentY, points[0].x, points[0].y,
+						subject);
+				currentX = points[0].x;
+				currentY = points[0].y;
+				break;
+			case Segment.QUAD_TO:
+				// elevate to a cubic curve
+				addCubic(currentX, currentY,
+						currentX + 2 * (points[0].x - currentX) / 3,
+						currentY + 2 * (points[0].y - currentY) / 3,
+						points[1].x + 2 * (points[0].x - points[1].x) / 3,
+						points[1].y + 2 * (points[0].y - points[1].y) / 3,
+						points[1].x, points[1].y, subject, 0);
+				currentX = points[1].x;
+				currentY = points[1].y;
+				break;
+			case Segment.CUBIC_TO:
+				addCubic(currentX, currentY, points[0].x, points[0].y,
+						points[1].x, points[1].y, points[2].x, points[2].y,
+						subject, 0);
+				currentX = points[2].x;
+				currentY = points[2].y;
+				break;
+			case Segment.CLOSE:
+				addSegment(currentX, currentY, startX, startY, subject);
+				currentX = startX;
+				currentY = startY;
+				break;
+			default:
+				throw new IllegalArgumentException(
+						"Unsupported segment type " + s.getType());
+			}
+		}
+		addSegment(currentX, currentY, startX, startY, subject);
+	}
+
+	private void addResult(SweepEvent from, SweepEvent to) {
+		if (resultSize + 4 > result.length) {
+			result = Arrays.copyOf(result, result.length * 2);
+		}
+		result[resultSize++] = from.x;
+		result[resultSize++] = from.y;
+		result[resultSize++] = to.x;
+		result[resultSize++] = to.y;
+	}
+
+	private void addVertex(double x, double y) {
+		PointKey cell = new PointKey(Math.floor(x / tolerance),
+				Math.floor(y / tolerance));
+		if (!vertices.containsKey(cell)) {
+			vertices.put(cell, new double[] { x, y });
+		}
+	}
+
+	private void addSegment(double x1, double y1, double x2, double y2,
+			boolean subject) {
+		if (x1 == x2 && y1 == y2) {
+			// skip degenerated segments
+			return;
+		}
+		addVertex(x1, y1);
+		addVertex(x2, y2);
+		if (x1 == x2) {
+			verticals.put(Math.floor(x1 / tolerance), x1);
+		} else if (y1 == y2) {
+			horizontals.put(Math.floor(y1 / tolerance), y1);
+		}
+		boolean forward = x1 < x2 || x1 == x2 && y1 < y2;
+		SweepEvent left = new SweepEvent(forward ? x1 : x2, forward ? y1 : y2,
+				true, nextId++);
+		SweepEvent right = new SweepEvent(forward ? x2 : x1,
+				forward ? y2 : y1, false, nextId++);
+		left.other = right;
+		right.other = left;
+		if (subject) {
+			left.contributionA = forward ? 1 : -1;
+			maxXA = Math.max(maxXA, right.x);
+		} else {
+			left.contributionB = forward ? 1 : -1;
+			maxXB = Math.max(maxXB, right.x);
+		}
+		queue.add(left);
+		queue.add(right);
+	}
+
+	private int compareEvents(SweepEvent e1, SweepEvent e2) {
+		if (e1 == e2) {
+			return 0;
+		}
+		if (e1.x != e2.x) {
+			return e1.x < e2.x ? -1 : 1;
+		}
+		if (e1.y != e2.y) {
+			return e1.y < e2.y ? -1 : 1;
+		}
+		// right end points are processed before left end points
+		if (e1.left != e2.left) {
+			return e1.left ? 1 : -1;
+		}
+		// the event of the lower segment is processed first
+		if (signedArea(e1.x, e1.y, e1.other.x, e1.other.y, e2.other.x,
+				e2.other.y) != 0) {
+			return e1.isBelow(e2.other.x, e2.other.y) ? -1 : 1;
+		}
+		return e1.id < e2.id ? -1 : 1;
+	}
+
+	private int compareSegments(SweepEvent le1, SweepEvent le2) {
+		if (le1 == le2) {
+			return 0;
+		}
+		if (le1.isAt(le2) && le1.other.isAt(le2.other)) {
+			// coincident segments
+			return le1.id < le2.id ? -1 : 1;
+		}
+		if (signedArea(le1.x, le1.y, le1.other.x, le1.other.y, le2.x,
+				le2.y) != 0
+				|| signedArea(le1.x, le1.y, le1.other.x, le1.other.y,
+						le2.other.x, le2.other.y) != 0) {
+			// segments are not collinear
+			if (le1.isAt(le2)) {
+				// same left end point, so compare the right end points
+				return le1.isBelow(le2.other.x, le2.other.y) ? -1 : 1;
+			}
+			if (le1.x == le2.x) {
+				// a vertical segment does not separate the segments starting
+				// on it (which extend to the right), so it is regarded to be
+				// above them
+				if (le1.other.x == le1.x && le1.y < le2.y
+						&& le2.y < le1.other.y) {
+					return 1;
+				}
+				if (le2.other.x == le2.x && le2.y < le1.y
+						&& le1.y < le2.other.y) {
+					return -1;
+				}
+				return le1.y < le2.y ? -1 : 1;
+			}
+			if (compareEvents(le1, le2) > 0) {
+				// le1 has been inserted after le2
+				return side(le2, le1) > 0 ? 1 : -1;
+			}
+			return side(le1, le2) > 0 ? -1 : 1;
+		}
+		// collinear segments
+		return compareEvents(le1, le2) > 0 ? 1 : -1;
+	}
+
+	/**
+	 * Determines on which side of the segment associated with the left event
+	 * <i>le</i> the segment associated with the left event <i>other</i> is
+	 * located, when starting at the left end point of <i>other</i>. In case
+	 * that left end point lies on <i>le</i> (w.r.t. the {@link PrecisionUtils}
+	 * shift), the right end point of <i>other</i> is used instead, so that
+	 * the order does not change when <i>le</i> is later subdivided at that
+	 * point.
+	 *
+	 * @return A positive value if <i>other</i> lies above <i>le</i>, a
+	 *         negative value if it lies below.
+	 */
+	private int side(SweepEvent le, SweepEvent other) {
+		double length = Math.hypot(le.other.x - le.x, le.other.y - le.y);
+		double tolerance = PrecisionUtils.calculateFraction(shift) * length;
+		double area = signedArea(le.x, le.y, le.other.x, le.other.y, other.x,
+				other.y);
+		if (Math.abs(area) <= tolerance) {
+			area = signedArea(le.x, le.y, le.other.x, le.other.y,
+					other.other.x, other.other.y);
+		}
+		return area > 0 ? 1 : -1;
+	}
+
+	private double[][] compute() {
+		// the result of an intersection or difference cannot extend beyond the
+		// subject (or clip)
+		double maxX = Double.POSITIVE_INFINITY;
+		if (operation == Operation.INTERSECTION) {
+			maxX = Math.min(maxXA, maxXB);
+		} else if (operation == Operation.DIFFERENCE) {
+			maxX = maxXA;
+		}
+
+		while (!queue.isEmpty()) {
+			SweepEvent e = queue.poll();
+			if (e.x > maxX) {
+				break;
+			}
+			if (e.left) {
+				status.add(e);
+				SweepEvent prev = status.lower(e);
+				SweepEvent next = status.higher(e);
+				computeFields(e, prev);
+				if (next != null && possibleIntersection(e, next) == 2) {
+					computeFields(e, prev);
+					computeFields(next, e);
+				}
+				if (prev != null && possibleIntersection(prev, e) == 2) {
+					computeFields(prev, status.lower(prev));
+					computeFields(e, prev);
+				}
+			} else {
+				SweepEvent le = e.other;
+				if (le.merged) {
+					continue;
+				}
+				SweepEvent prev = status.lower(le);
+				SweepEvent next = status.higher(le);
+				removeFromStatus(le);
+				retain(le);
+				if (prev != null && next != null) {
+					possibleIntersection(prev, next);
+				}
+			}
+		}
+		// the fields of segments still contained in the sweep line status are
+		// final as well
+		for (SweepEvent le : status) {
+			retain(le);
+		}
+		return connect();
+	}
+
+	private void computeFields(SweepEvent le, SweepEvent prev) {
+		if (prev == null) {
+			le.windingA = 0;
+			le.windingB = 0;
+		} else {
+			le.windingA = prev.windingA + prev.contributionA;
+			le.windingB = prev.windingB + prev.contributionB;
+		}
+	}
+
+	/**
+	 * Links the retained segments to closed contours.
+	 */
+	private double[][] connect() {
+		int n = resultSize / 4;
+		Map<PointKey, List<Integer>> outgoing = new HashMap<>();
+		for (int i = 0; i < n; i++) {
+			PointKey key = new PointKey(result[4 * i], result[4 * i + 1]);
+			List<Integer> edges = outgoing.get(key);
+			if (edges == null) {
+				edges = new ArrayList<>(2);
+				outgoing.put(key, edges);
+			}
+			edges.add(i);
+		}
+
+		List<double[]> contours = new ArrayList<>();
+		boolean[] used = new boolean[n];
+		double[] contour = new double[16];
+		for (int i = 0; i < n; i++) {
+			if (used[i]) {
+				continue;
+			}
+			int size = 0;
+			double startX = result[4 * i];
+			double startY = result[4 * i + 1];
+			int current = i;
+			while (current >= 0) {
+				used[current] = true;
+				if (size + 2 > contour.length) {
+					contour = Arrays.copyOf(contour, contour.length * 2);
+				}
+				contour[size++] = result[4 * current];
+				contour[size++] = result[4 * current + 1];
+				double endX = result[4 * current + 2];
+				double endY = result[4 * current + 3];
+				if (endX == startX && endY == startY) {
+					break;
+				}
+				current = -1;
+				List<Integer> edges = outgoing.get(new PointKey(endX, endY));
+				if (edges != null) {
+					Iterator<Integer> it = edges.iterator();
+					while (it.hasNext()) {
+						int candidate = it.next();
+						it.remove();
+						if (!used[candidate]) {
+							current = candidate;
+							break;
+						}
+					}
+				}
+			}
+			double[] simplified = removeCollinearPoints(contour, size);
+			if (simplified != null) {
+				contours.add(simplified);
+			}
+		}
+		return contours.toArray(new double[contours.size()][]);
+	}
+
+	private void divideSegment(SweepEvent le, double x, double y) {
+		SweepEvent r = new SweepEvent(x, y, false, nextId++);
+		SweepEvent l = new SweepEvent(x, y, true, nextId++);
+		// guard against rounding errors, which would cause the left event to
+		// be processed after the right event
+		if (compareEvents(l, le.other) >= 0 || compareEvents(r, le) <= 0) {
+			return;
+		}
+		r.other = le;
+		l.other = le.other;
+		l.contributionA = le.contributionA;
+		l.contributionB = le.contributionB;
+		le.other.other = l;
+		le.other = r;
+		queue.add(l);
+		queue.add(r);
+	}
+
+	private boolean isInResult(int windingA, int windingB) {
+		boolean a = windingRuleA == Path.WIND_EVEN_ODD ? (windingA & 1) != 0
+				: windingA != 0;
+		boolean b = windingRuleB == Path.WIND_EVEN_ODD ? (windingB & 1) != 0
+				: windingB != 0;
+		switch (operation) {
+		case UNION:
+			return a || b;
+		case INTERSECTION:
+			return a && b;
+		case DIFFERENCE:
+			return a && !b;
+		default:
+			return a ^ b;
+		}
+	}
+
+	private boolean isWithin(double px, double py, double x0, double y0,
+			double x1, double y1) {
+		// tests whether the projection of p lies within the chord, so that
+		// curves with control points outside the chord are subdivided
+		double dx = x1 - x0;
+		double dy = y1 - y0;
+		double dot = (px - x0) * dx + (py - y0) * dy;
+		return dot >= 0 && dot <= dx * dx + dy * dy;
+	}
+
+	/**
+	 * Computes the intersection of the segments associated with the given
+	 * left events and stores the intersection point(s) in
+	 * {@link #intersection}.
+	 *
+	 * @return The number of intersection points, i.e. 0, 1, or 2 (in case
+	 *         the segments overlap).
+	 */
+	private int intersect(SweepEvent a, SweepEvent b) {
+		double dax = a.other.x - a.x;
+		double day = a.other.y - a.y;
+		double dbx = b.other.x - b.x;
+		double dby = b.other.y - b.y;
+		double ex = b.x - a.x;
+		double ey = b.y - a.y;
+		double kross = dax * dby - day * dbx;
+		double sqrLenA = dax * dax + day * day;
+		double sqrLenB = dbx * dbx + dby * dby;
+		if (kross * kross > PARALLEL_EPSILON * sqrLenA * sqrLenB) {
+			double s = (ex * dby - ey * dbx) / kross;
+			double t = (ex * day - ey * dax) / kross;
+			double fraction = PrecisionUtils.calculateFraction(shift);
+			double toleranceA = fraction / Math.sqrt(sqrLenA);
+			double toleranceB = fraction / Math.sqrt(sqrLenB);
+			if (s < -toleranceA || s > 1 + toleranceA || t < -toleranceB
+					|| t > 1 + toleranceB) {
+				return 0;
+			}
+			s = Math.max(0, Math.min(1, s));
+			double x = a.x + s * dax;
+			double y = a.y + s * day;
+			// keep intersection points on horizontal and vertical segments
+			// (including those of other segments, which may pass through the
+			// intersection point as well)
+			if (dax == 0 || dbx == 0) {
+				x = dax == 0 ? a.x : b.x;
+			} else {
+				x = snapToAxis(verticals, x);
+			}
+			if (day == 0 || dby == 0) {
+				y = day == 0 ? a.y : b.y;
+			} else {
+				y = snapToAxis(horizontals, y);
+			}
+			// snap onto end points (or other vertices) to keep the topology
+			// consistent
+			if (!snap(x, y, a.x, a.y, a, b)
+					&& !snap(x, y, a.other.x, a.other.y, a, b)
+					&& !snap(x, y, b.x, b.y, a, b)
+					&& !snap(x, y, b.other.x, b.other.y, a, b)
+					&& !snapToVertex(x, y, a, b)) {
+				intersection[0] = x;
+				intersection[1] = y;
+				addVertex(x, y);
+			}
+			return 1;
+		}
+		// parallel segments, test whether they are collinear
+		double kross2 = ex * day - ey * dax;
+		if (kross2 * kross2 > PARALLEL_EPSILON * sqrLenA
+				* (ex * ex + ey * ey)) {
+			return 0;
+		}
+		double sb1 = (ex * dax + ey * day) / sqrLenA;
+		double sb2 = sb1 + (dax * dbx + day * dby) / sqrLenA;
+		SweepEvent first = sb1 < sb2 ? b : b.other;
+		SweepEvent last = sb1 < sb2 ? b.other : b;
+		double sMin = Math.min(sb1, sb2);
+		double sMax = Math.max(sb1, sb2);
+		if (sMin > 1 || sMax < 0) {
+			return 0;
+		}
+		SweepEvent start = sMin > 0 ? first : a;
+		SweepEvent end = sMax < 1 ? last : a.other;
+		intersection[0] = start.x;
+		intersection[1] = start.y;
+		if (start.isAt(end)) {
+			return 1;
+		}
+		intersection[2] = end.x;
+		intersection[3] = end.y;
+		return 2;
+	}
+
+	/**
+	 * Checks the segments associated with the given left events for an
+	 * intersection and subdivides them accordingly.
+	 *
+	 * @return 0 if the segments do not intersect (other than at a common end
+	 *         point), 1 if they intersect in a single point, 2 if they are
+	 *         (now) coincident, and 3 if they overlap partially.
+	 */
+	private int possibleIntersection(SweepEvent le1, SweepEvent le2) {
+		int n = intersect(le1, le2);
+		if (n == 0) {
+			return 0;
+		}
+		if (n == 1) {
+			if (le1.isAt(le2) || le1.other.isAt(le2.other)) {
+				// the segments share an end point
+				return 0;
+			}
+			double x = intersection[0];
+			double y = intersection[1];
+			if (!le1.isAt(x, y) && !le1.other.isAt(x, y)) {
+				divideSegment(le1, x, y);
+			}
+			if (!le2.isAt(x, y) && !le2.other.isAt(x, y)) {
+				divideSegment(le2, x, y);
+			}
+			return 1;
+		}
+
+		// the segments overlap
+		SweepEvent[] events = new SweepEvent[4];
+		int size = 0;
+		boolean leftCoincide = le1.isAt(le2);
+		boolean rightCoincide = le1.other.isAt(le2.other);
+		if (!leftCoincide) {
+			boolean swap = compareEvents(le1, le2) > 0;
+			events[size++] = swap ? le2 : le1;
+			events[size++] = swap ? le1 : le2;
+		}
+		if (!rightCoincide) {
+			boolean swap = compareEvents(le1.other, le2.other) > 0;
+			events[size++] = swap ? le2.other : le1.other;
+			events[size++] = swap ? le1.other : le2.other;
+		}
+		if (leftCoincide) {
+			// let le1 represent both coincident segments (le2 is removed
+			// before it is subdivided, so that it can still be located within
+			// the sweep line status)
+			removeFromStatus(le2);
+			le2.merged = true;
+			if (!rightCoincide) {
+				// split the longer segment at the end of the shorter one
+				divideSegment(events[1].other, events[0].x, events[0].y);
+			}
+			le1.contributionA += le2.contributionA;
+			le1.contributionB += le2.contributionB;
+			return 2;
+		}
+		if (rightCoincide) {
+			divideSegment(events[0], events[1].x, events[1].y);
+			return 3;
+		}
+		if (events[0] != events[3].other) {
+			// neither segment contains the other one
+			divideSegment(events[0], events[1].x, events[1].y);
+			divideSegment(events[1], events[2].x, events[2].y);
+			return 3;
+		}
+		// one segment contains the other one (the left event associated
+		// with its right end point is updated by the first division)
+		divideSegment(events[0], events[1].x, events[1].y);
+		divideSegment(events[3].other, events[2].x, events[2].y);
+		return 3;
+	}
+
+	private void removeFromStatus(SweepEvent le) {
+		if (!status.remove(le)) {
+			// the order may have become inconsistent due to rounding errors
+			Iterator<SweepEvent> it = status.iterator();
+			while (it.hasNext()) {
+				if (it.next() == le) {
+					it.remove();
+					break;
+				}
+			}
+		}
+	}
+
+	private double[] removeCollinearPoints(double[] contour, int size) {
+		int n = size / 2;
+		double[] points = new double[size];
+		int count = 0;
+		double fraction = PrecisionUtils.calculateFraction(shift);
+		for (int i = 0; i < n; i++) {
+			double px = count > 0 ? points[2 * count - 2]
+					: contour[2 * ((i + n - 1) % n)];
+			double py = count > 0 ? points[2 * count - 1]
+					: contour[2 * ((i + n - 1) % n) + 1];
+			double x = contour[2 * i];
+			double y = contour[2 * i + 1];
+			double nx = contour[2 * ((i + 1) % n)];
+			double ny = contour[2 * ((i + 1) % n) + 1];
+			double length = Math.hypot(nx - px, ny - py);
+			if (Math.abs(signedArea(px, py, nx, ny, x, y)) <= fraction * length
+					&& (x - px) * (nx - x) + (y - py) * (ny - y) >= 0) {
+				// (x, y) lies on the line between its neighbors
+				continue;
+			}
+			points[2 * count] = x;
+			points[2 * count + 1] = y;
+			count++;
+		}
+		if (count < 3) {
+			return null;
+		}
+		return Arrays.copyOf(points, 2 * count);
+	}
+
+	private void retain(SweepEvent le) {
+		if (le.contributionA == 0 && le.contributionB == 0) {
+			return;
+		}
+		boolean below = isInResult(le.windingA, le.windingB);
+		boolean above = isInResult(le.windingA + le.contributionA,
+				le.windingB + le.contributionB);
+		if (below != above) {
+			if (above) {
+				addResult(le, le.other);
+			} else {
+				addResult(le.other, le);
+			}
+		}
+	}
+
+	/**
+	 * Snaps the given intersection point of the segments associated with the
+	 * given left events onto the given vertex, in case they are regarded to be
+	 * equal and the vertex does not leave a horizontal or vertical segment.
+	 */
+	private boolean snap(double x, double y, double vx, double vy,
+			SweepEvent a, SweepEvent b) {
+		if (PrecisionUtils.equal(x, vx, shift)
+				&& PrecisionUtils.equal(y, vy, shift)
+				&& (a.x != a.other.x || vx == a.x)
+				&& (a.y != a.other.y || vy == a.y)
+				&& (b.x != b.other.x || vx == b.x)
+				&& (b.y != b.other.y || vy == b.y)) {
+			intersection[0] = vx;
+			intersection[1] = vy;
+			return true;
+		}
+		return false;
+	}
+
+	private double snapToAxis(Map<Double, Double> axes, double c) {
+		if (axes.isEmpty()) {
+			return c;
+		}
+		double cell = Math.floor(c / tolerance);
+		for (int i = -1; i <= 1; i++) {
+			Double axis = axes.get(cell + i);
+			if (axis != null && PrecisionUtils.equal(c, axis, shift)) {
+				return axis;
+			}
+		}
+		return c;
+	}
+
+	private boolean snapToVertex(double x, double y, SweepEvent a,
+			SweepEvent b) {
+		double cellX = Math.floor(x / tolerance);
+		double cellY = Math.floor(y / tolerance);
+		for (int i = -1; i <= 1; i++) {
+			for (int j = -1; j <= 1; j++) {
+				double[] vertex = vertices
+						.get(new PointKey(cellX + i, cellY + j));
+				if (vertex != null && snap(x, y, vertex[0], vertex[1], a, b)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,591 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.internal.utils;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.TreeSet;
+
+/**
+ * The {@link PolygonTriangulator} computes a triangulation of a simple polygon
+ * in O(n log n) time. The polygon is first partitioned into y-monotone pieces
+ * by a sweep over its vertices, inserting diagonals at split and merge
+ * vertices. Each monotone piece is then triangulated in linear time.
+ * <p>
+ * The triangulation is returned as an index buffer, i.e. as a sequence of
+ * vertex index triples, each of which denotes one triangle. All triangles are
+ * oriented in the same way as the polygon. Consecutive duplicate vertices of
+ * the polygon (including the last vertex if it equals the first one) are
+ * ignored.
+ * <p>
+ * Coordinates are compared using {@link PrecisionUtils}. Vertices whose y
+ * coordinates are equal with respect to that tolerance are processed as if
+ * they were exactly equal, so that all decisions of the sweep are consistent.
+ * Polygons that touch themselves at a vertex are rejected.
+ */
+public class PolygonTriangulator {
+
+	/**
+	 * The vertex types distinguished by the monotone partitioning.
+	 */
+	private static final int START = 0;
+	private static final int END = 1;
+	private static final int SPLIT = 2;
+	private static final int MERGE = 3;
+	private static final int REGULAR = 4;
+
+	private static double cross(double ax, double ay, double bx, double by,
+			double cx, double cy) {
+		return (bx - ax) * (cy - by) - (by - ay) * (cx - bx);
+	}
+
+	/**
+	 * Returns a value in [0, 4) that increases monotonically with the angle of
+	 * the given vector (in counter-clockwise direction), without computing
+	 * trigonometric functions.
+	 */
+	private static double pseudoAngle(double dx, double dy) {
+		double p = dy / (Math.abs(dx) + Math.abs(dy));
+		if (dx < 0) {
+			return 2 - p;
+		}
+		return dy < 0 ? 4 + p : p;
+	}
+
+	/**
+	 * Triangulates the simple polygon that is given by an alternating sequence
+	 * of x and y coordinates within the given array.
+	 *
+	 * @param coordinates
+	 *            an array containing alternating x and y coordinates of the
+	 *            polygon's vertices
+	 * @param offset
+	 *            the index of the x coordinate of the first vertex
+	 * @param numPoints
+	 *            the number of vertices
+	 * @return an array containing three vertex indices (relative to the first
+	 *         vertex) per triangle
+	 * @throws IllegalStateException
+	 *             if the polygon is detected not to be simple
+	 */
+	public static int[] triangulate(double[] coordinates, int offset,
+			int numPoints) {
+		return new PolygonTriangulator(coordinates, offset, numPoints)
+				.triangulate();
+	}
+
+	// vertex data of the polygon without consecutive duplicates, in
+	// counter-clockwise order (with respect to a y-axis pointing upwards)
+	private final int[] indices;
+	private final double[] xs;
+	private final double[] ys;
+	private final boolean reversed;
+	private final int n;
+
+	// rank of each vertex within the sweep order
+	private int[] rank;
+
+	// status of the sweep, i.e. the edges left of the polygon's interior that
+	// are intersected by the sweep line; edge i connects vertex i and i + 1
+	private TreeSet<Integer> status;
+	private int[] helper;
+	private int[] types;
+	private double sweepX;
+	private double sweepY;
+
+	// adjacency of the vertices (polygon edges and diagonals)
+	private int[][] neighbors;
+	private int[] degree;
+
+	private int[] triangles;
+	private int triangleCount;
+
+	private PolygonTriangulator(double[] coordinates, int offset,
+			int numPoints) {
+		// drop consecutive duplicates
+		int[] unique = new int[numPoints];
+		int size = 0;
+		for (int i = 0; i < numPoints; i++) {
+			int last = size == 0 ? -1 : unique[size - 1];
+			if (last < 0 || !sameVertex(coordinates, offset, last, i)) {
+				unique[size++] = i;
+			}
+		}
+		while (size > 1
+				&& sameVertex(coordinates, offset, unique[0], unique[size - 1])) {
+			size--;
+		}
+
+		// the sweep proceeds from top to bottom with a y-axis pointing
+		// upwards, which is why all y coordinates are negated
+		double area = 0;
+		for (int i = 0; i < size; i++) {
+			int a = offset + 2 * unique[i];
+			int b = offset + 2 * unique[(i + 1) % size];
+			area += coordinates[a] * -coordinates[b + 1]
+					- -coordinates[a + 1] * coordinates[b];
+		}
+		reversed = area < 0;
+		n = size;
+		indices = new int[n];
+		xs = new double[n];
+		ys = new double[n];
+		for (int i = 0; i < n; i++) {
+			int index = unique[reversed ? n - 1 - i : i];
+			indices[i] = index;
+			xs[i] = coordinates[offset + 2 * index];
+			ys[i] = -coordinates[offset + 2 * index + 1];
+		}
+	}
+
+	private void addDiagonal(int v, int w) {
+		for (int i = 0; i < degree[v]; i++) {
+			if (neighbors[v][i] == w) {
+				return;
+			}
+		}
+		addNeighbor(v, w);
+		addNeighbor(w, v);
+	}
+
+	private void addNeighbor(int v, int w) {
+		if (degree[v] == neighbors[v].length) {
+			neighbors[v] = Arrays.copyOf(neighbors[v], 2 * degree[v]);
+		}
+		neighbors[v][degree[v]++] = w;
+	}
+
+	private void addTriangle(int a, int b, int c) {
+		// orient the triangle like the polygon
+		if (cross(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c]) < 0) {
+			int t = b;
+			b = c;
+			c = t;
+		}
+		if (reversed) {
+			int t = b;
+			b = c;
+			c = t;
+		}
+		triangles[triangleCount++] = indices[a];
+		triangles[triangleCount++] = indices[b];
+		triangles[triangleCount++] = indices[c];
+	}
+
+	/**
+	 * Returns <code>true</code> if vertex v is processed before vertex w by
+	 * the sweep, i.e. if it lies above w or at the same height but left of w.
+	 */
+	private boolean above(int v, int w) {
+		return ys[v] > ys[w] || ys[v] == ys[w] && xs[v] < xs[w];
+	}
+
+	private int classify(int v) {
+		int prev = v == 0 ? n - 1 : v - 1;
+		int next = v == n - 1 ? 0 : v + 1;
+		boolean convex = cross(xs[prev], ys[prev], xs[v], ys[v], xs[next],
+				ys[next]) >= 0;
+		if (above(v, prev) && above(v, next)) {
+			return convex ? START : SPLIT;
+		} else if (above(prev, v) && above(next, v)) {
+			return convex ? END : MERGE;
+		}
+		return REGULAR;
+	}
+
+	private Comparator<Integer> createStatusComparator() {
+		return new Comparator<Integer>() {
+			@Override
+			public int compare(Integer e1, Integer e2) {
+				if (e1.intValue() == e2.intValue()) {
+					return 0;
+				}
+				int c = Double.compare(xAtSweep(e1), xAtSweep(e2));
+				if (c != 0) {
+					return c;
+				}
+				// the probe (-1) is placed right of all edges it touches
+				if (e1 < 0) {
+					return 1;
+				} else if (e2 < 0) {
+					return -1;
+				}
+				return Integer.compare(e1, e2);
+			}
+		};
+	}
+
+	/**
+	 * Returns the edge of the sweep status that lies directly left of the
+	 * current sweep vertex.
+	 */
+	private int edgeLeftOfSweep() {
+		Integer edge = status.lower(-1);
+		if (edge == null) {
+			throw new IllegalStateException(
+					"Only simple polygons allowed. A polygon without any self-intersections is considered to be simple. This polygon is not simple.");
+		}
+		return edge;
+	}
+
+	private int indexOf(int v, int w) {
+		for (int i = 0; i < degree[v]; i++) {
+			if (neighbors[v][i] == w) {
+				return i;
+			}
+		}
+		throw new IllegalStateException(
+				"Only simple polygons allowed. A polygon without any self-intersections is considered to be simple. This polygon is not simple.");
+	}
+
+	/**
+	 * Partitions the polygon into y-monotone pieces by inserting diagonals
+	 * into the adjacency lists.
+	 */
+	private void partition(int[] order) {
+		helper = new int[n];
+		types = new int[n];
+		for (int v = 0; v < n; v++) {
+			types[v] = classify(v);
+		}
+		status = new TreeSet<>(createStatusComparator());
+		for (int v : order) {
+			int prev = v == 0 ? n - 1 : v - 1;
+			sweepX = xs[v];
+			sweepY = ys[v];
+			switch (types[v]) {
+			case START:
+				status.add(v);
+				helper[v] = v;
+				break;
+			case END:
+				if (types[helper[prev]] == MERGE) {
+					addDiagonal(v, helper[prev]);
+				}
+				status.remove(prev);
+				break;
+			case SPLIT: {
+				int left = edgeLeftOfSweep();
+				addDiagonal(v, helper[left]);
+				helper[left] = v;
+				status.add(v);
+				helper[v] = v;
+				break;
+			}
+			case MERGE: {
+				if (types[helper[prev]] == MERGE) {
+					addDiagonal(v, helper[prev]);
+				}
+				status.remove(prev);
+				int left = edgeLeftOfSweep();
+				if (types[helper[left]] == MERGE) {
+					addDiagonal(v, helper[left]);
+				}
+				helper[left] = v;
+				break;
+			}
+			default:
+				if (above(prev, v)) {
+					// the interior of the polygon lies right of v
+					if (types[helper[prev]] == MERGE) {
+						addDiagonal(v, helper[prev]);
+					}
+					status.remove(prev);
+					status.add(v);
+					helper[v] = v;
+				} else {
+					int left = edgeLeftOfSweep();
+					if (types[helper[left]] == MERGE) {
+						addDiagonal(v, helper[left]);
+					}
+					helper[left] = v;
+				}
+			}
+		}
+		status = null;
+	}
+
+	/**
+	 * Sorts the given vertices in sweep order (see {@link #above(int, int)})
+	 * using a merge sort, so that no boxing is necessary.
+	 */
+	private void sortBySweepOrder(int[] vertices, int[] buffer, int from,
+			int to) {
+		if (to - from < 2) {
+			return;
+		}
+		int mid = (from + to) >>> 1;
+		sortBySweepOrder(vertices, buffer, from, mid);
+		sortBySweepOrder(vertices, buffer, mid, to);
+		if (!above(vertices[mid], vertices[mid - 1])) {
+			return;
+		}
+		System.arraycopy(vertices, from, buffer, from, to - from);
+		for (int i = from, l = from, r = mid; i < to; i++) {
+			if (r == to || l < mid && !above(buffer[r], buffer[l])) {
+				vertices[i] = buffer[l++];
+			} else {
+				vertices[i] = buffer[r++];
+			}
+		}
+	}
+
+	/**
+	 * Sorts the neighbors of each vertex counter-clockwise by angle.
+	 */
+	private void sortNeighbors() {
+		double[] angles = new double[4];
+		for (int v = 0; v < n; v++) {
+			int[] nb = neighbors[v];
+			if (angles.length < degree[v]) {
+				angles = new double[degree[v]];
+			}
+			for (int i = 0; i < degree[v]; i++) {
+				angles[i] = pseudoAngle(xs[nb[i]] - xs[v], ys[nb[i]] - ys[v]);
+			}
+			// insertion sort, as the degree is small
+			for (int i = 1; i < degree[v]; i++) {
+				int w = nb[i];
+				double a = angles[i];
+				int j = i - 1;
+				while (j >= 0 && angles[j] > a) {
+					nb[j + 1] = nb[j];
+					angles[j + 1] = angles[j];
+					j--;
+				}
+				nb[j + 1] = w;
+				angles[j + 1] = a;
+			}
+		}
+	}
+
+	private int[] triangulate() {
+		if (n < 3) {
+			return new int[0];
+		}
+		triangles = new int[3 * (n - 2)];
+
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		sortBySweepOrder(order, new int[n], 0, n);
+		if (snapToSweepLines(order)) {
+			sortBySweepOrder(order, new int[n], 0, n);
+		}
+		rank = new int[n];
+		for (int i = 0; i < n; i++) {
+			rank[order[i]] = i;
+			if (i > 0 && ys[order[i]] == ys[order[i - 1]] && PrecisionUtils
+					.equal(xs[order[i]], xs[order[i - 1]])) {
+				// the polygon touches itself at this vertex
+				throw new IllegalStateException(
+						"Only simple polygons allowed. A polygon without any self-intersections is considered to be simple. This polygon is not simple.");
+			}
+		}
+
+		neighbors = new int[n][];
+		degree = new int[n];
+		for (int v = 0; v < n; v++) {
+			neighbors[v] = new int[4];
+			addNeighbor(v, v == 0 ? n - 1 : v - 1);
+			addNeighbor(v, v == n - 1 ? 0 : v + 1);
+		}
+		partition(order);
+		sortNeighbors();
+
+		// walk the faces left of all directed edges, skipping the outer face
+		boolean[][] visited = new boolean[n][];
+		for (int v = 0; v < n; v++) {
+			visited[v] = new boolean[degree[v]];
+			visited[v][indexOf(v, v == 0 ? n - 1 : v - 1)] = true;
+		}
+		int[] face = new int[n];
+		for (int v = 0; v < n; v++) {
+			for (int i = 0; i < degree[v]; i++) {
+				if (visited[v][i]) {
+					continue;
+				}
+				int size = 0;
+				int a = v;
+				int b = neighbors[v][i];
+				int slot = i;
+				while (!visited[a][slot]) {
+					visited[a][slot] = true;
+					if (size == n) {
+						throw new IllegalStateException(
+								"Only simple polygons allowed. A polygon without any self-intersections is considered to be simple. This polygon is not simple.");
+					}
+					face[size++] = a;
+					// continue with the next edge in clockwise order
+					int back = indexOf(b, a);
+					int nextSlot = back == 0 ? degree[b] - 1 : back - 1;
+					a = b;
+					b = neighbors[a][nextSlot];
+					slot = nextSlot;
+				}
+				triangulateMonotone(face, size);
+			}
+		}
+		return triangleCount == triangles.length ? triangles
+				: Arrays.copyOf(triangles, triangleCount);
+	}
+
+	/**
+	 * Triangulates a y-monotone piece, given by its vertices in
+	 * counter-clockwise order.
+	 */
+	private void triangulateMonotone(int[] face, int size) {
+		if (size < 3) {
+			return;
+		}
+		if (size == 3) {
+			addTriangle(face[0], face[1], face[2]);
+			return;
+		}
+		int top = 0;
+		int bottom = 0;
+		for (int i = 1; i < size; i++) {
+			if (rank[face[i]] < rank[face[top]]) {
+				top = i;
+			}
+			if (rank[face[i]] > rank[face[bottom]]) {
+				bottom = i;
+			}
+		}
+
+		// merge the left chain (top to bottom in counter-clockwise order) and
+		// the right chain (top to bottom in clockwise order)
+		int[] sorted = new int[size];
+		boolean[] onLeft = new boolean[size];
+		int l = top;
+		int r = top == 0 ? size - 1 : top - 1;
+		sorted[0] = face[top];
+		onLeft[0] = true;
+		l = l == size - 1 ? 0 : l + 1;
+		for (int k = 1; k < size; k++) {
+			boolean takeLeft = l != bottom && (r == bottom
+					|| rank[face[l]] < rank[face[r]]);
+			if (k == size - 1) {
+				sorted[k] = face[bottom];
+				onLeft[k] = false;
+			} else if (takeLeft) {
+				sorted[k] = face[l];
+				onLeft[k] = true;
+				l = l == size - 1 ? 0 : l + 1;
+			} else {
+				sorted[k] = face[r];
+				onLeft[k] = false;
+				r = r == 0 ? size - 1 : r - 1;
+			}
+		}
+
+		int[] stack = new int[size];
+		boolean[] stackLeft = new boolean[size];
+		int sp = 0;
+		stack[sp] = sorted[0];
+		stackLeft[sp++] = onLeft[0];
+		stack[sp] = sorted[1];
+		stackLeft[sp++] = onLeft[1];
+		for (int k = 2; k < size - 1; k++) {
+			int u = sorted[k];
+			if (onLeft[k] != stackLeft[sp - 1]) {
+				// connect u to all vertices on the stack
+				for (int i = 0; i < sp - 1; i++) {
+					addTriangle(u, stack[i], stack[i + 1]);
+				}
+				stack[0] = stack[sp - 1];
+				stackLeft[0] = stackLeft[sp - 1];
+				stack[1] = u;
+				stackLeft[1] = onLeft[k];
+				sp = 2;
+			} else {
+				int last = stack[--sp];
+				while (sp > 0) {
+					int w = stack[sp - 1];
+					double c = onLeft[k]
+							? cross(xs[w], ys[w], xs[last], ys[last], xs[u],
+									ys[u])
+							: cross(xs[u], ys[u], xs[last], ys[last], xs[w],
+									ys[w]);
+					if (c <= 0) {
+						break;
+					}
+					addTriangle(u, last, w);
+					last = w;
+					sp--;
+				}
+				stack[sp] = last;
+				stackLeft[sp++] = onLeft[k];
+				stack[sp] = u;
+				stackLeft[sp++] = onLeft[k];
+			}
+		}
+		int u = sorted[size - 1];
+		for (int i = 0; i < sp - 1; i++) {
+			addTriangle(u, stack[i], stack[i + 1]);
+		}
+	}
+
+	private static boolean sameVertex(double[] coordinates, int offset, int i,
+			int j) {
+		return PrecisionUtils.equal(coordinates[offset + 2 * i],
+				coordinates[offset + 2 * j])
+				&& PrecisionUtils.equal(coordinates[offset + 2 * i + 1],
+						coordinates[offset + 2 * j + 1]);
+	}
+
+	/**
+	 * Assigns the same y coordinate to all vertices whose y coordinates are
+	 * equal with respect to {@link PrecisionUtils}, so that the exact
+	 * comparisons of the sweep agree with that tolerance. The vertices have to
+	 * be given in sweep order.
+	 *
+	 * @return <code>true</code> if any y coordinate was changed
+	 */
+	private boolean snapToSweepLines(int[] order) {
+		boolean changed = false;
+		double last = ys[order[0]];
+		for (int i = 1; i < n; i++) {
+			int v = order[i];
+			double y = ys[v];
+			if (y != ys[order[i - 1]] && PrecisionUtils.equal(last, y)) {
+				ys[v] = ys[order[i - 1]];
+				changed = true;
+			}
+			last = y;
+		}
+		return changed;
+	}
+
+	/**
+	 * Returns the x coordinate of the given edge at the current sweep
+	 * position. The probe edge (-1) denotes the current sweep vertex itself.
+	 */
+	private double xAtSweep(int e) {
+		if (e < 0) {
+			return sweepX;
+		}
+		int w = e == n - 1 ? 0 : e + 1;
+		double x1 = xs[e];
+		double y1 = ys[e];
+		double x2 = xs[w];
+		double y2 = ys[w];
+		if (y1 == y2) {
+			return Math.max(Math.min(sweepX, Math.max(x1, x2)),
+					Math.min(x1, x2));
+		}
+		return x1 + (sweepY - y1) * (x2 - x1) / (y2 - y1);
+	}
+
+}
@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.internal.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.eclipse.gef.geometry.planar.Rectangle;
+
+/**
+ * The {@link RectangleBands} represent the union of a set of
+ * {@link Rectangle}s as a canonical sequence of horizontal bands. Each band
+ * covers a y-range that does not overlap with any other band, and stores the
+ * sorted, disjoint x-ranges (spans) that are covered within that y-range.
+ * Vertically adjacent bands always differ in their spans, i.e. the
+ * decomposition of a given area is unique.
+ * <p>
+ * The decomposition is computed by a sweep over the sorted top and bottom
+ * edges of the given {@link Rectangle}s. Point and rectangle containment can
+ * then be tested using binary searches over the bands and spans. All
+ * containment tests are carried out using {@link PrecisionUtils}.
+ * <p>
+ * {@link Rectangle}s that do not cover any area (i.e. that have a width or
+ * height of <code>0</code>) cannot be represented by bands. They are kept
+ * aside and tested individually.
+ */
+public class RectangleBands {
+
+	private final double[] tops;
+	private final double[] bottoms;
+	private final double[][] spans;
+	private final Rectangle[] degenerate;
+
+	/**
+	 * Computes the {@link RectangleBands} for the union of the given
+	 * {@link Rectangle}s. {@link Rectangle}s that do not cover any area (i.e.
+	 * that have a width or height of <code>0</code>) do not contribute to the
+	 * bands, but are still taken into account by the containment tests.
+	 *
+	 * @param rectangles
+	 *            The {@link Rectangle}s to decompose.
+	 */
+	public RectangleBands(Collection<Rectangle> rectangles) {
+		List<Rectangle> byTop = new ArrayList<>(rectangles.size());
+		List<Rectangle> withoutArea = new ArrayList<>();
+		for (Rectangle r : rectangles) {
+			if (r.getWidth() > 0 && r.getHeight() > 0) {
+				byTop.add(r);
+			} else {
+				withoutArea.add(r.getCopy());
+			}
+		}
+		degenerate = withoutArea.toArray(new Rectangle[] {});
+		List<Rectangle> byBottom = new ArrayList<>(byTop);
+		Collections.sort(byTop, new Comparator<Rectangle>() {
+			@Override
+			public int compare(Rectangle r1, Rectangle r2) {
+				return Double.compare(r1.getY(), r2.getY());
+			}
+		});
+		Collections.sort(byBottom, new Comparator<Rectangle>() {
+			@Override
+			public int compare(Rectangle r1, Rectangle r2) {
+				return Double.compare(bottom(r1), bottom(r2));
+			}
+		});
+
+		double[] ys = new double[2 * byTop.size()];
+		for (int i = 0; i < byTop.size(); i++) {
+			ys[2 * i] = byTop.get(i).getY();
+			ys[2 * i + 1] = byTop.get(i).getY() + byTop.get(i).getHeight();
+		}
+		Arrays.sort(ys);
+
+		List<double[]> bands = new ArrayList<>();
+		List<double[]> bandSpans = new ArrayList<>();
+		// x-coordinate -> change of the number of active rectangles
+		TreeMap<Double, Integer> deltas = new TreeMap<>();
+		int nextTop = 0;
+		int nextBottom = 0;
+		for (int i = 0; i < ys.length - 1; i++) {
+			double y = ys[i];
+			if (i > 0 && y == ys[i - 1]) {
+				continue;
+			}
+			while (nextTop < byTop.size() && byTop.get(nextTop).getY() == y) {
+				Rectangle r = byTop.get(nextTop++);
+				addDelta(deltas, r.getX(), 1);
+				addDelta(deltas, r.getX() + r.getWidth(), -1);
+			}
+			while (nextBottom < byBottom.size()
+					&& bottom(byBottom.get(nextBottom)) == y) {
+				Rectangle r = byBottom.get(nextBottom++);
+				addDelta(deltas, r.getX(), -1);
+				addDelta(deltas, r.getX() + r.getWidth(), 1);
+			}
+			// find the next distinct y-coordinate
+			int j = i + 1;
+			while (j < ys.length && ys[j] == y) {
+				j++;
+			}
+			if (j == ys.length) {
+				break;
+			}
+			double[] spansOfBand = computeSpans(deltas);
+			if (spansOfBand.length == 0) {
+				continue;
+			}
+			int last = bands.size() - 1;
+			if (last >= 0 && bands.get(last)[1] == y
+					&& Arrays.equals(bandSpans.get(last), spansOfBand)) {
+				// coalesce with the previous band
+				bands.get(last)[1] = ys[j];
+			} else {
+				bands.add(new double[] { y, ys[j] });
+				bandSpans.add(spansOfBand);
+			}
+		}
+
+		tops = new double[bands.size()];
+		bottoms = new double[bands.size()];
+		spans = bandSpans.toArray(new double[bandSpans.size()][]);
+		for (int i = 0; i < tops.length; i++) {
+			tops[i] = bands.get(i)[0];
+			bottoms[i] = bands.get(i)[1];
+		}
+	}
+
+	private static void addDelta(TreeMap<Double, Integer> deltas, double x,
+			int delta) {
+		Integer old = deltas.get(x);
+		int sum = old == null ? delta : old + delta;
+		if (sum == 0) {
+			deltas.remove(x);
+		} else {
+			deltas.put(x, sum);
+		}
+	}
+
+	private static double bottom(Rectangle r) {
+		return r.getY() + r.getHeight();
+	}
+
+	private static double[] computeSpans(TreeMap<Double, Integer> deltas) {
+		double[] result = new double[deltas.size()];
+		int size = 0;
+		int depth = 0;
+		for (Entry<Double, Integer> e : deltas.entrySet()) {
+			int newDepth = depth + e.getValue();
+			if (depth == 0 && newDepth > 0 || depth > 0 && newDepth == 0) {
+				result[size++] = e.getKey();
+			}
+			depth = newDepth;
+		}
+		return Arrays.copyOf(result, size);
+	}
+
+	/**
+	 * Tests whether the given point is covered by these
+	 * {@link RectangleBands}, including their borders.
+	 *
+	 * @param x
+	 *            The x-coordinate of the point to test.
+	 * @param y
+	 *            The y-coordinate of the point to test.
+	 * @return <code>true</code> if the point is covered, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean contains(double x, double y) {
+		int band = firstBandBelow(y);
+		// the point may lie on the border between two adjacent bands
+		for (int i = band; i < tops.length
+				&& PrecisionUtils.smallerEqual(tops[i], y); i++) {
+			if (spanContaining(i, x, x) >= 0) {
+				return true;
+			}
+		}
+		for (Rectangle r : degenerate) {
+			if (r.contains(x, y)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Tests whether the rectangle specified by the given values is fully
+	 * covered by these {@link RectangleBands}, including their borders.
+	 *
+	 * @param x
+	 *            The x-coordinate of the rectangle to test.
+	 * @param y
+	 *            The y-coordinate of the rectangle to test.
+	 * @param width
+	 *            The width of the rectangle to test.
+	 * @param height
+	 *            The height of the rectangle to test.
+	 * @return <code>true</code> if the rectangle is covered, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean contains(double x, double y, double width, double height) {
+		for (Rectangle r : degenerate) {
+			if (r.contains(x, y, width, height)) {
+				return true;
+			}
+		}
+		double covered = y;
+		boolean found = false;
+		for (int i = firstBandBelow(y); i < tops.length
+				&& PrecisionUtils.smallerEqual(tops[i], covered); i++) {
+			if (spanContaining(i, x, x + width) >= 0) {
+				found = true;
+				covered = Math.max(covered, bottoms[i]);
+				if (PrecisionUtils.greaterEqual(covered, y + height)) {
+					return true;
+				}
+			} else if (!PrecisionUtils.smallerEqual(bottoms[i], covered)) {
+				// the band extends beyond the covered range without covering
+				// the x-range of the rectangle
+				return false;
+			}
+		}
+		return found && PrecisionUtils.greaterEqual(covered, y + height);
+	}
+
+	/**
+	 * Returns the index of the first band whose bottom is not above the given
+	 * y-coordinate.
+	 */
+	private int firstBandBelow(double y) {
+		int low = 0;
+		int high = bottoms.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (PrecisionUtils.smallerEqual(y, bottoms[mid])) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the number of bands.
+	 *
+	 * @return The number of bands.
+	 */
+	public int getBandCount() {
+		return tops.length;
+	}
+
+	/**
+	 * Returns the index of the span of the given band which covers the given
+	 * x-range, or <code>-1</code> if no such span exists.
+	 */
+	private int spanContaining(int band, double x1, double x2) {
+		double[] xs = spans[band];
+		// find last span starting at or before x1
+		int low = 0;
+		int high = xs.length / 2;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (PrecisionUtils.smallerEqual(xs[2 * mid], x1)) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		int span = low - 1;
+		if (span >= 0 && PrecisionUtils.greaterEqual(xs[2 * span + 1], x2)) {
+			return span;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the {@link Rectangle}s that correspond to the spans of all
+	 * bands, ordered by y- and then x-coordinate, followed by the
+	 * {@link Rectangle}s that do not cover any area. The returned
+	 * {@link Rectangle}s do not share any area.
+	 *
+	 * @return The {@link Rectangle}s making up these {@link RectangleBands}.
+	 */
+	public Rectangle[] toRectangles() {
+		List<Rectangle> rectangles = new ArrayList<>();
+		for (int i = 0; i < tops.length; i++) {
+			for (int j = 0; j < spans[i].length; j += 2) {
+				rectangles.add(new Rectangle(spans[i][j], tops[i],
+						spans[i][j + 1] - spans[i][j], bottoms[i] - tops[i]));
+			}
+		}
+		for (Rectangle r : degenerate) {
+			rectangles.add(r.getCopy());
+		}
+		return rectangles.toArray(new Rectangle[] {});
+	}
+
+}
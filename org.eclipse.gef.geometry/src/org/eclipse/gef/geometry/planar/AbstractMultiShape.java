@@ -22,8 +22,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
-import java.util.function.BiFunction;
 
+import org.eclipse.gef.geometry.internal.utils.PolygonClipper;
 import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
 
 /**
@@ -398,38 +398,28 @@ abstract class AbstractMultiShape extends AbstractGeometry
 
 	@Override
 	public Path toPath() {
-		return toPath(Path::exclusiveOr);
-	}
-
-	/**
-	 * Computes a {@link Path} for this {@link AbstractMultiShape} by combining
-	 * the {@link Path} representations of the individual {@link #getOutlines()
-	 * outlines} using the given <i>pathCombinator</i> ({@link BiFunction}). The
-	 * <i>pathCombinator</i> is used as a folding operator, i.e. for three
-	 * outlines A, B, and C, the <i>pathCombinator</i> is used as follows:
-	 * <ol>
-	 * <li><code>path = A.toPath();</code></li>
-	 * <li><code>path = pathCombinator(path, B);</code></li>
-	 * <li><code>path = pathCombinator(path, C);</code></li>
-	 * </ol>
-	 *
-	 * @param pathCombinator
-	 *            The {@link BiFunction} that is used to combine two consecutive
-	 *            {@link Path}s to a result {@link Path}.
-	 * @return The result of folding the (<i>closed</i>) {@link #getOutlines()
-	 *         outlines} of this {@link AbstractMultiShape} using the given
-	 *         <i>pathCombinator</i>.
-	 */
-	private Path toPath(BiFunction<Path, Path, Path> pathCombinator) {
 		Polyline[] outlines = getOutlines();
 		if (outlines == null || outlines.length < 1) {
 			return new Path();
 		}
-		Path path = outlines[0].toPath().close();
-		for (int i = 1; i < outlines.length; i++) {
-			path = pathCombinator.apply(path, outlines[i].toPath().close());
+		if (outlines.length == 1) {
+			return outlines[0].toPath().close();
+		}
+		// the outlines are combined using the even-odd rule (i.e. they are
+		// exclusive-or'ed) and normalized in a single pass
+		Path path = new Path(Path.WIND_EVEN_ODD);
+		for (Polyline outline : outlines) {
+			Point[] points = outline.getPoints();
+			if (points.length == 0) {
+				continue;
+			}
+			path.moveTo(points[0].x, points[0].y);
+			for (int i = 1; i < points.length; i++) {
+				path.lineTo(points[i].x, points[i].y);
+			}
+			path.close();
 		}
-		return path;
+		return PolygonClipper.simplify(path);
 	}
 
 }
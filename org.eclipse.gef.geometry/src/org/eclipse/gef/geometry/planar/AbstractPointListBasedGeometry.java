@@ -39,11 +39,23 @@ abstract class AbstractPointListBasedGeometry<T extends AbstractPointListBasedGe
 
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * The number of points from which on containment tests are performed
+	 * using a {@link SegmentIndex}.
+	 */
+	static final int SEGMENT_INDEX_THRESHOLD = 32;
+
 	/**
 	 * The points constituting this {@link AbstractPointListBasedGeometry}.
 	 */
 	Point[] points;
 
+	/**
+	 * The lazily created index of the segments between successive points,
+	 * which is discarded whenever the points are modified.
+	 */
+	private transient SegmentIndex segmentIndex;
+
 	/**
 	 * Constructs a new {@link AbstractPointListBasedGeometry} from a
 	 * even-numbered sequence of coordinates.
@@ -105,6 +117,40 @@ abstract class AbstractPointListBasedGeometry<T extends AbstractPointListBasedGe
 		return PointListUtils.toCoordinatesArray(points);
 	}
 
+	/**
+	 * Returns the coordinates of this {@link AbstractPointListBasedGeometry}'s
+	 * points, transformed by the given {@link AffineTransform}.
+	 *
+	 * @param t
+	 *            The {@link AffineTransform} to apply.
+	 * @return an array that alternately contains the transformed x and y
+	 *         coordinates
+	 */
+	double[] getTransformedCoordinates(AffineTransform t) {
+		double[] coordinates = getCoordinates();
+		t.transform(coordinates, 0, coordinates, 0, points.length);
+		return coordinates;
+	}
+
+	/**
+	 * Returns a {@link SegmentIndex} of the segments between successive
+	 * {@link Point}s of this {@link AbstractPointListBasedGeometry}, where
+	 * segment <code>i</code> connects the points <code>i</code> and
+	 * <code>i + 1</code>. The index is created on demand and reused until the
+	 * points are modified.
+	 *
+	 * @param closed
+	 *            whether the segment from the last to the first point is
+	 *            indexed, too (has to be the same for all invocations)
+	 * @return the {@link SegmentIndex} of the segments
+	 */
+	SegmentIndex getSegmentIndex(boolean closed) {
+		if (segmentIndex == null) {
+			segmentIndex = new SegmentIndex(points, closed);
+		}
+		return segmentIndex;
+	}
+
 	/**
 	 * Returns a copy of the {@link Point}s that make up this
 	 * {@link AbstractPointListBasedGeometry}.
@@ -255,6 +301,7 @@ abstract class AbstractPointListBasedGeometry<T extends AbstractPointListBasedGe
 			p.x = np.x;
 			p.y = np.y;
 		}
+		segmentIndex = null;
 		translate(center);
 		return (T) this;
 	}
@@ -319,6 +366,7 @@ abstract class AbstractPointListBasedGeometry<T extends AbstractPointListBasedGe
 			p.x = np.x;
 			p.y = np.y;
 		}
+		segmentIndex = null;
 		translate(center);
 		return (T) this;
 	}
@@ -351,6 +399,7 @@ abstract class AbstractPointListBasedGeometry<T extends AbstractPointListBasedGe
 			p.x = np.x;
 			p.y = np.y;
 		}
+		segmentIndex = null;
 		return (T) this;
 	}
 
@@ -363,6 +412,7 @@ abstract class AbstractPointListBasedGeometry<T extends AbstractPointListBasedGe
 	@SuppressWarnings("unchecked")
 	public T translate(double dx, double dy) {
 		Point.translate(points, dx, dy);
+		segmentIndex = null;
 		return (T) this;
 	}
 
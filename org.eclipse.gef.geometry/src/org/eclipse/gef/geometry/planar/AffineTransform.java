@@ -15,10 +15,9 @@ package org.eclipse.gef.geometry.planar;
 
 import java.awt.geom.NoninvertibleTransformException;
 
-import org.eclipse.gef.geometry.convert.awt.AWT2Geometry;
-import org.eclipse.gef.geometry.convert.awt.Geometry2AWT;
 import org.eclipse.gef.geometry.euclidean.Angle;
 import org.eclipse.gef.geometry.euclidean.Vector;
+import org.eclipse.gef.geometry.internal.utils.PointListUtils;
 
 /**
  * <p>
@@ -26,7 +25,14 @@ import org.eclipse.gef.geometry.euclidean.Vector;
  * 2-dimensional affine transformations.
  * </p>
  * <p>
- * It delegates to the {@link java.awt.geom.AffineTransform} functionality.
+ * The transformation matrix is stored directly within the
+ * {@link AffineTransform}, which keeps track of whether it represents the
+ * identity, a pure translation, or a scaling (with or without translation), so
+ * that {@link Point}s can be transformed without performing the full matrix
+ * multiplication in these cases. The inverse transformation matrix is computed
+ * on demand and cached until the {@link AffineTransform} is modified. The
+ * semantics of all methods correspond to those of
+ * {@link java.awt.geom.AffineTransform}.
  * </p>
  *
  * @author anyssen
@@ -35,10 +41,59 @@ import org.eclipse.gef.geometry.euclidean.Vector;
  */
 public class AffineTransform implements Cloneable {
 
-	// TODO: implement affine transform locally to get rid of dependency on
-	// awt.geom.
+	// flags indicating which parts of the matrix have to be applied
+	private static final int APPLY_IDENTITY = 0;
+	private static final int APPLY_TRANSLATE = 1;
+	private static final int APPLY_SCALE = 2;
+	private static final int APPLY_SHEAR = 4;
 
-	private java.awt.geom.AffineTransform delegate = new java.awt.geom.AffineTransform();
+	// type constants as specified by java.awt.geom.AffineTransform
+	private static final int TYPE_IDENTITY = 0;
+	private static final int TYPE_TRANSLATION = 1;
+	private static final int TYPE_UNIFORM_SCALE = 2;
+	private static final int TYPE_GENERAL_SCALE = 4;
+	private static final int TYPE_FLIP = 64;
+	private static final int TYPE_QUADRANT_ROTATION = 8;
+	private static final int TYPE_GENERAL_ROTATION = 16;
+	private static final int TYPE_GENERAL_TRANSFORM = 32;
+
+	// exact sine and cosine values for rotations by 0, 90, 180, and 270deg
+	private static final double[][] QUADRANT_SIN_COS = { { 0, 1 }, { 1, 0 },
+			{ 0, -1 }, { -1, 0 } };
+
+	private static double[] getSinCos(double vecx, double vecy) {
+		if (vecy == 0) {
+			return QUADRANT_SIN_COS[vecx < 0 ? 2 : 0];
+		} else if (vecx == 0) {
+			return QUADRANT_SIN_COS[vecy > 0 ? 1 : 3];
+		}
+		double length = Math.sqrt(vecx * vecx + vecy * vecy);
+		return new double[] { vecy / length, vecx / length };
+	}
+
+	private static double round(double value) {
+		// same rounding as used by java.awt.geom.AffineTransform#toString()
+		return Math.rint(value * 1E15) / 1E15;
+	}
+
+	private double m00 = 1;
+	private double m10;
+	private double m01;
+	private double m11 = 1;
+	private double m02;
+	private double m12;
+
+	/**
+	 * Combination of the APPLY_* flags, which is updated whenever the matrix
+	 * is changed.
+	 */
+	private int state = APPLY_IDENTITY;
+
+	/**
+	 * The cached inverse matrix (in the format of {@link #getMatrix()}), or
+	 * <code>null</code> if it was not yet computed.
+	 */
+	private double[] inverse;
 
 	/**
 	 * Creates a new {@link AffineTransform} with its transformation matrix set
@@ -73,8 +128,7 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform(double m00, double m10, double m01, double m11,
 			double m02, double m12) {
-		delegate = new java.awt.geom.AffineTransform(m00, m10, m01, m11, m02,
-				m12);
+		setTransform(m00, m10, m01, m11, m02, m12);
 	}
 
 	/**
@@ -90,16 +144,73 @@ public class AffineTransform implements Cloneable {
 	 *      double, double)
 	 */
 	public AffineTransform(double[] flatmatrix) {
-		delegate = new java.awt.geom.AffineTransform(flatmatrix);
+		m00 = flatmatrix[0];
+		m10 = flatmatrix[1];
+		m01 = flatmatrix[2];
+		m11 = flatmatrix[3];
+		if (flatmatrix.length > 5) {
+			m02 = flatmatrix[4];
+			m12 = flatmatrix[5];
+		}
+		updateState();
 	}
 
-	private AffineTransform(java.awt.geom.AffineTransform delegate) {
-		this.delegate = delegate;
+	private int calculateType() {
+		int type = (state & APPLY_TRANSLATE) != 0 ? TYPE_TRANSLATION
+				: TYPE_IDENTITY;
+		switch (state & ~APPLY_TRANSLATE) {
+		case APPLY_SHEAR | APPLY_SCALE:
+			if (m00 * m01 + m10 * m11 != 0) {
+				// transformed unit vectors are not perpendicular
+				return TYPE_GENERAL_TRANSFORM;
+			}
+			int scale = m00 * m11 - m01 * m10 != 1 ? TYPE_UNIFORM_SCALE : 0;
+			if (m00 >= 0 == m11 >= 0) {
+				if (m00 != m11 || m01 != -m10) {
+					return type | TYPE_GENERAL_ROTATION | TYPE_GENERAL_SCALE;
+				}
+				return type | TYPE_GENERAL_ROTATION | scale;
+			}
+			if (m00 != -m11 || m01 != m10) {
+				return type | TYPE_GENERAL_ROTATION | TYPE_FLIP
+						| TYPE_GENERAL_SCALE;
+			}
+			return type | TYPE_GENERAL_ROTATION | TYPE_FLIP | scale;
+		case APPLY_SHEAR:
+			if (m01 >= 0 != m10 >= 0) {
+				if (m01 != -m10) {
+					return type | TYPE_QUADRANT_ROTATION | TYPE_GENERAL_SCALE;
+				} else if (m01 != 1 && m01 != -1) {
+					return type | TYPE_QUADRANT_ROTATION | TYPE_UNIFORM_SCALE;
+				}
+				return type | TYPE_QUADRANT_ROTATION;
+			}
+			return type | TYPE_QUADRANT_ROTATION | TYPE_FLIP
+					| (m01 == m10 ? TYPE_UNIFORM_SCALE : TYPE_GENERAL_SCALE);
+		case APPLY_SCALE:
+			if (m00 >= 0 == m11 >= 0) {
+				int rotation = m00 >= 0 ? 0 : TYPE_QUADRANT_ROTATION;
+				if (m00 != m11) {
+					return type | rotation | TYPE_GENERAL_SCALE;
+				} else if (m00 != 1 && m00 != -1) {
+					return type | rotation | TYPE_UNIFORM_SCALE;
+				}
+				return type | rotation;
+			}
+			if (m00 != -m11) {
+				return type | TYPE_FLIP | TYPE_GENERAL_SCALE;
+			} else if (m00 != 1 && m00 != -1) {
+				return type | TYPE_FLIP | TYPE_UNIFORM_SCALE;
+			}
+			return type | TYPE_FLIP;
+		default:
+			return type;
+		}
 	}
 
 	@Override
 	public Object clone() {
-		return delegate.clone();
+		return getCopy();
 	}
 
 	/**
@@ -114,8 +225,37 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform concatenate(AffineTransform Tx) {
-		delegate.concatenate(Tx.delegate);
-		return this;
+		if (Tx.state == APPLY_IDENTITY) {
+			return this;
+		}
+		double n00 = m00 * Tx.m00 + m01 * Tx.m10;
+		double n01 = m00 * Tx.m01 + m01 * Tx.m11;
+		double n02 = m00 * Tx.m02 + m01 * Tx.m12 + m02;
+		double n10 = m10 * Tx.m00 + m11 * Tx.m10;
+		double n11 = m10 * Tx.m01 + m11 * Tx.m11;
+		double n12 = m10 * Tx.m02 + m11 * Tx.m12 + m12;
+		return setTransform(n00, n10, n01, n11, n02, n12);
+	}
+
+	/**
+	 * Concatenates a rotation given by its sine and cosine with this
+	 * {@link AffineTransform}. Sine and cosine values of exactly 1 or -1 are
+	 * treated as quadrant rotations, so that no rounding errors are introduced.
+	 */
+	private AffineTransform concatenateRotation(double sin, double cos) {
+		if (sin == 1 || sin == -1) {
+			cos = 0;
+		} else if (cos == 1 || cos == -1) {
+			sin = 0;
+		}
+		if (sin == 0 && cos == 1) {
+			return this;
+		}
+		double n00 = cos * m00 + sin * m01;
+		double n01 = -sin * m00 + cos * m01;
+		double n10 = cos * m10 + sin * m11;
+		double n11 = -sin * m10 + cos * m11;
+		return setTransform(n00, n10, n01, n11, m02, m12);
 	}
 
 	/**
@@ -140,7 +280,17 @@ public class AffineTransform implements Cloneable {
 	 */
 	public void deltaTransform(double[] srcPts, int srcOff, double[] dstPts,
 			int dstOff, int numPts) {
-		delegate.deltaTransform(srcPts, srcOff, dstPts, dstOff, numPts);
+		if (srcPts == dstPts && dstOff > srcOff
+				&& dstOff < srcOff + numPts * 2) {
+			System.arraycopy(srcPts, srcOff, dstPts, dstOff, numPts * 2);
+			srcOff = dstOff;
+		}
+		for (int i = 0; i < numPts * 2; i += 2) {
+			double x = srcPts[srcOff + i];
+			double y = srcPts[srcOff + i + 1];
+			dstPts[dstOff + i] = x * m00 + y * m01;
+			dstPts[dstOff + i + 1] = x * m10 + y * m11;
+		}
 	}
 
 	/**
@@ -153,14 +303,15 @@ public class AffineTransform implements Cloneable {
 	 * @return a new, transformed {@link Point}
 	 */
 	public Point deltaTransform(Point pt) {
-		return AWT2Geometry.toPoint(
-				delegate.deltaTransform(Geometry2AWT.toAWTPoint(pt), null));
+		return new Point(pt.x * m00 + pt.y * m01, pt.x * m10 + pt.y * m11);
 	}
 
 	@Override
 	public boolean equals(Object obj) {
 		if (obj instanceof AffineTransform) {
-			return delegate.equals(((AffineTransform) obj).delegate);
+			AffineTransform o = (AffineTransform) obj;
+			return m00 == o.m00 && m01 == o.m01 && m02 == o.m02
+					&& m10 == o.m10 && m11 == o.m11 && m12 == o.m12;
 		}
 		return false;
 	}
@@ -171,7 +322,10 @@ public class AffineTransform implements Cloneable {
 	 * @return a copy of this {@link AffineTransform}
 	 */
 	public AffineTransform getCopy() {
-		return new AffineTransform(getMatrix());
+		AffineTransform copy = new AffineTransform(m00, m10, m01, m11, m02,
+				m12);
+		copy.inverse = inverse;
+		return copy;
 	}
 
 	/**
@@ -182,7 +336,7 @@ public class AffineTransform implements Cloneable {
 	 *         {@link AffineTransform}
 	 */
 	public double getDeterminant() {
-		return delegate.getDeterminant();
+		return m00 * m11 - m01 * m10;
 	}
 
 	/**
@@ -194,19 +348,36 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform getInverse() {
 		try {
-			return new AffineTransform(delegate.createInverse());
+			double[] i = getInverseMatrix();
+			AffineTransform result = new AffineTransform(i);
+			result.inverse = getMatrix();
+			return result;
 		} catch (NoninvertibleTransformException e) {
 			throw new IllegalArgumentException(e);
 		}
 	}
 
+	private double[] getInverseMatrix() throws NoninvertibleTransformException {
+		if (inverse == null) {
+			double det = getDeterminant();
+			if (Math.abs(det) <= Double.MIN_VALUE) {
+				throw new NoninvertibleTransformException(
+						"Determinant is " + det);
+			}
+			inverse = new double[] { m11 / det, -m10 / det, -m01 / det,
+					m00 / det, (m01 * m12 - m11 * m02) / det,
+					(m10 * m02 - m00 * m12) / det };
+		}
+		return inverse;
+	}
+
 	/**
 	 * Returns the matrix component in the first row and first column.
 	 *
 	 * @return The matrix component in the first row and first column.
 	 */
 	public double getM00() {
-		return delegate.getScaleX();
+		return m00;
 	}
 
 	/**
@@ -215,7 +386,7 @@ public class AffineTransform implements Cloneable {
 	 * @return The matrix component in the first row and second column.
 	 */
 	public double getM01() {
-		return delegate.getShearX();
+		return m01;
 	}
 
 	/**
@@ -224,7 +395,7 @@ public class AffineTransform implements Cloneable {
 	 * @return The matrix component in the second row and first column.
 	 */
 	public double getM10() {
-		return delegate.getShearY();
+		return m10;
 	}
 
 	/**
@@ -233,7 +404,7 @@ public class AffineTransform implements Cloneable {
 	 * @return The matrix component in the second row and second column.
 	 */
 	public double getM11() {
-		return delegate.getScaleY();
+		return m11;
 	}
 
 	/**
@@ -244,9 +415,7 @@ public class AffineTransform implements Cloneable {
 	 *         {@link AffineTransform}
 	 */
 	public double[] getMatrix() {
-		double[] flatmatrix = new double[6];
-		delegate.getMatrix(flatmatrix);
-		return flatmatrix;
+		return new double[] { m00, m10, m01, m11, m02, m12 };
 	}
 
 	/**
@@ -291,8 +460,19 @@ public class AffineTransform implements Cloneable {
 	 * @return a new, transformed {@link Point}
 	 */
 	public Point getTransformed(Point ptSrc) {
-		return AWT2Geometry.toPoint(
-				delegate.transform(Geometry2AWT.toAWTPoint(ptSrc), null));
+		double x = ptSrc.x;
+		double y = ptSrc.y;
+		switch (state) {
+		case APPLY_IDENTITY:
+			return new Point(x, y);
+		case APPLY_TRANSLATE:
+			return new Point(x + m02, y + m12);
+		case APPLY_SCALE:
+		case APPLY_SCALE | APPLY_TRANSLATE:
+			return new Point(x * m00 + m02, y * m11 + m12);
+		default:
+			return new Point(x * m00 + y * m01 + m02, x * m10 + y * m11 + m12);
+		}
 	}
 
 	/**
@@ -306,13 +486,9 @@ public class AffineTransform implements Cloneable {
 	 * @return an array of new, transformed {@link Point}s
 	 */
 	public Point[] getTransformed(Point[] points) {
-		Point[] result = new Point[points.length];
-
-		for (int i = 0; i < points.length; i++) {
-			result[i] = getTransformed(points[i]);
-		}
-
-		return result;
+		double[] coordinates = PointListUtils.toCoordinatesArray(points);
+		transform(coordinates, 0, coordinates, 0, points.length);
+		return PointListUtils.toPointsArray(coordinates);
 	}
 
 	/**
@@ -323,7 +499,7 @@ public class AffineTransform implements Cloneable {
 	 *         transformation matrix
 	 */
 	public double getTranslateX() {
-		return delegate.getTranslateX();
+		return m02;
 	}
 
 	/**
@@ -334,7 +510,7 @@ public class AffineTransform implements Cloneable {
 	 *         transformation matrix
 	 */
 	public double getTranslateY() {
-		return delegate.getTranslateY();
+		return m12;
 	}
 
 	/**
@@ -347,12 +523,20 @@ public class AffineTransform implements Cloneable {
 	 *         {@link AffineTransform}
 	 */
 	public int getType() {
-		return delegate.getType();
+		return calculateType();
 	}
 
 	@Override
 	public int hashCode() {
-		return delegate.hashCode();
+		// adding 0.0 normalizes -0.0 (e.g. resulting from scale()) to 0.0,
+		// which is regarded to be equal by equals(Object)
+		long bits = Double.doubleToLongBits(m00 + 0.0);
+		bits = bits * 31 + Double.doubleToLongBits(m01 + 0.0);
+		bits = bits * 31 + Double.doubleToLongBits(m02 + 0.0);
+		bits = bits * 31 + Double.doubleToLongBits(m10 + 0.0);
+		bits = bits * 31 + Double.doubleToLongBits(m11 + 0.0);
+		bits = bits * 31 + Double.doubleToLongBits(m12 + 0.0);
+		return ((int) bits) ^ ((int) (bits >> 32));
 	}
 
 	/**
@@ -378,7 +562,26 @@ public class AffineTransform implements Cloneable {
 	 */
 	public void inverseTransform(double[] srcPts, int srcOff, double[] dstPts,
 			int dstOff, int numPts) throws NoninvertibleTransformException {
-		delegate.inverseTransform(srcPts, srcOff, dstPts, dstOff, numPts);
+		if (srcPts == dstPts && dstOff > srcOff
+				&& dstOff < srcOff + numPts * 2) {
+			System.arraycopy(srcPts, srcOff, dstPts, dstOff, numPts * 2);
+			srcOff = dstOff;
+		}
+		if (state == APPLY_IDENTITY || state == APPLY_TRANSLATE) {
+			// no need to compute the inverse matrix
+			for (int k = 0; k < numPts * 2; k += 2) {
+				dstPts[dstOff + k] = srcPts[srcOff + k] - m02;
+				dstPts[dstOff + k + 1] = srcPts[srcOff + k + 1] - m12;
+			}
+			return;
+		}
+		double[] i = getInverseMatrix();
+		for (int k = 0; k < numPts * 2; k += 2) {
+			double x = srcPts[srcOff + k];
+			double y = srcPts[srcOff + k + 1];
+			dstPts[dstOff + k] = x * i[0] + y * i[2] + i[4];
+			dstPts[dstOff + k + 1] = x * i[1] + y * i[3] + i[5];
+		}
 	}
 
 	/**
@@ -393,8 +596,12 @@ public class AffineTransform implements Cloneable {
 	 */
 	public Point inverseTransform(Point pt)
 			throws NoninvertibleTransformException {
-		return AWT2Geometry.toPoint(
-				delegate.inverseTransform(Geometry2AWT.toAWTPoint(pt), null));
+		if (state == APPLY_IDENTITY || state == APPLY_TRANSLATE) {
+			return new Point(pt.x - m02, pt.y - m12);
+		}
+		double[] i = getInverseMatrix();
+		return new Point(pt.x * i[0] + pt.y * i[2] + i[4],
+				pt.x * i[1] + pt.y * i[3] + i[5]);
 	}
 
 	/**
@@ -405,7 +612,10 @@ public class AffineTransform implements Cloneable {
 	 *             when this {@link AffineTransform} is not invertible.
 	 */
 	public AffineTransform invert() throws NoninvertibleTransformException {
-		delegate.invert();
+		double[] i = getInverseMatrix();
+		double[] matrix = getMatrix();
+		setTransform(i[0], i[1], i[2], i[3], i[4], i[5]);
+		inverse = matrix;
 		return this;
 	}
 
@@ -418,7 +628,7 @@ public class AffineTransform implements Cloneable {
 	 *         <code>false</code>
 	 */
 	public boolean isIdentity() {
-		return delegate.isIdentity();
+		return state == APPLY_IDENTITY;
 	}
 
 	/**
@@ -433,8 +643,16 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform preConcatenate(AffineTransform Tx) {
-		delegate.preConcatenate(Tx.delegate);
-		return this;
+		if (Tx.state == APPLY_IDENTITY) {
+			return this;
+		}
+		double n00 = Tx.m00 * m00 + Tx.m01 * m10;
+		double n01 = Tx.m00 * m01 + Tx.m01 * m11;
+		double n02 = Tx.m00 * m02 + Tx.m01 * m12 + Tx.m02;
+		double n10 = Tx.m10 * m00 + Tx.m11 * m10;
+		double n11 = Tx.m10 * m01 + Tx.m11 * m11;
+		double n12 = Tx.m10 * m02 + Tx.m11 * m12 + Tx.m12;
+		return setTransform(n00, n10, n01, n11, n02, n12);
 	}
 
 	/**
@@ -447,8 +665,8 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform quadrantRotate(int numquadrants) {
-		delegate.quadrantRotate(numquadrants);
-		return this;
+		double[] sinCos = QUADRANT_SIN_COS[numquadrants & 3];
+		return concatenateRotation(sinCos[0], sinCos[1]);
 	}
 
 	/**
@@ -466,8 +684,9 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform quadrantRotate(int numquadrants, double anchorx,
 			double anchory) {
-		delegate.quadrantRotate(numquadrants, anchorx, anchory);
-		return this;
+		translate(anchorx, anchory);
+		quadrantRotate(numquadrants);
+		return translate(-anchorx, -anchory);
 	}
 
 	/**
@@ -479,8 +698,7 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform rotate(double theta) {
-		delegate.rotate(theta);
-		return this;
+		return concatenateRotation(Math.sin(theta), Math.cos(theta));
 	}
 
 	/**
@@ -497,8 +715,8 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform rotate(double vecx, double vecy) {
-		delegate.rotate(vecx, vecy);
-		return this;
+		double[] sinCos = getSinCos(vecx, vecy);
+		return concatenateRotation(sinCos[0], sinCos[1]);
 	}
 
 	/**
@@ -516,8 +734,9 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform rotate(double theta, double anchorx,
 			double anchory) {
-		delegate.rotate(theta, anchorx, anchory);
-		return this;
+		translate(anchorx, anchory);
+		rotate(theta);
+		return translate(-anchorx, -anchory);
 	}
 
 	// TODO: Add the possibility to pass Angle objects instead of simple double
@@ -543,8 +762,9 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform rotate(double vecx, double vecy, double anchorx,
 			double anchory) {
-		delegate.rotate(vecx, vecy, anchorx, anchory);
-		return this;
+		translate(anchorx, anchory);
+		rotate(vecx, vecy);
+		return translate(-anchorx, -anchory);
 	}
 
 	/**
@@ -560,7 +780,11 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform scale(double sx, double sy) {
-		delegate.scale(sx, sy);
+		m00 *= sx;
+		m10 *= sx;
+		m01 *= sy;
+		m11 *= sy;
+		updateState();
 		return this;
 	}
 
@@ -571,8 +795,7 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setToIdentity() {
-		delegate.setToIdentity();
-		return this;
+		return setTransform(1, 0, 0, 1, 0, 0);
 	}
 
 	/**
@@ -584,8 +807,8 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setToQuadrantRotation(int numquadrants) {
-		delegate.setToQuadrantRotation(numquadrants);
-		return this;
+		setToIdentity();
+		return quadrantRotate(numquadrants);
 	}
 
 	/**
@@ -604,8 +827,8 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform setToQuadrantRotation(int numquadrants,
 			double anchorx, double anchory) {
-		delegate.setToQuadrantRotation(numquadrants, anchorx, anchory);
-		return this;
+		setToIdentity();
+		return quadrantRotate(numquadrants, anchorx, anchory);
 	}
 
 	/**
@@ -617,8 +840,8 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setToRotation(double theta) {
-		delegate.setToRotation(theta);
-		return this;
+		setToIdentity();
+		return rotate(theta);
 	}
 
 	/**
@@ -635,8 +858,8 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setToRotation(double vecx, double vecy) {
-		delegate.setToRotation(vecx, vecy);
-		return this;
+		setToIdentity();
+		return rotate(vecx, vecy);
 	}
 
 	/**
@@ -655,8 +878,8 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform setToRotation(double theta, double anchorx,
 			double anchory) {
-		delegate.setToRotation(theta, anchorx, anchory);
-		return this;
+		setToIdentity();
+		return rotate(theta, anchorx, anchory);
 	}
 
 	/**
@@ -680,8 +903,8 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform setToRotation(double vecx, double vecy,
 			double anchorx, double anchory) {
-		delegate.setToRotation(vecx, vecy, anchorx, anchory);
-		return this;
+		setToIdentity();
+		return rotate(vecx, vecy, anchorx, anchory);
 	}
 
 	/**
@@ -695,8 +918,7 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setToScale(double sx, double sy) {
-		delegate.setToScale(sx, sy);
-		return this;
+		return setTransform(sx, 0, 0, sy, 0, 0);
 	}
 
 	/**
@@ -710,8 +932,7 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setToShear(double shx, double shy) {
-		delegate.setToShear(shx, shy);
-		return this;
+		return setTransform(1, shy, shx, 1, 0, 0);
 	}
 
 	/**
@@ -726,8 +947,7 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setToTranslation(double tx, double ty) {
-		delegate.setToTranslation(tx, ty);
-		return this;
+		return setTransform(1, 0, 0, 1, tx, ty);
 	}
 
 	/**
@@ -740,7 +960,8 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform setTransform(AffineTransform Tx) {
-		delegate.setTransform(Tx.delegate);
+		setTransform(Tx.m00, Tx.m10, Tx.m01, Tx.m11, Tx.m02, Tx.m12);
+		inverse = Tx.inverse;
 		return this;
 	}
 
@@ -771,7 +992,13 @@ public class AffineTransform implements Cloneable {
 	 */
 	public AffineTransform setTransform(double m00, double m10, double m01,
 			double m11, double m02, double m12) {
-		delegate.setTransform(m00, m10, m01, m11, m02, m12);
+		this.m00 = m00;
+		this.m10 = m10;
+		this.m01 = m01;
+		this.m11 = m11;
+		this.m02 = m02;
+		this.m12 = m12;
+		updateState();
 		return this;
 	}
 
@@ -788,13 +1015,76 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform shear(double shx, double shy) {
-		delegate.shear(shx, shy);
-		return this;
+		double n00 = m00 + m01 * shy;
+		double n01 = m00 * shx + m01;
+		double n10 = m10 + m11 * shy;
+		double n11 = m10 * shx + m11;
+		return setTransform(n00, n10, n01, n11, m02, m12);
 	}
 
 	@Override
 	public String toString() {
-		return delegate.toString();
+		return "AffineTransform[[" + round(m00) + ", " + round(m01) + ", "
+				+ round(m02) + "], [" + round(m10) + ", " + round(m11) + ", "
+				+ round(m12) + "]]";
+	}
+
+	/**
+	 * Transforms an array of x and y coordinates with this
+	 * {@link AffineTransform}. The source and destination arrays may be
+	 * identical, and the source and destination ranges may overlap. No
+	 * intermediate {@link Point}s are created.
+	 *
+	 * @param srcPts
+	 *            the array of x and y coordinates to transform
+	 * @param srcOff
+	 *            the index of the <i>srcPts</i> array where the x coordinate of
+	 *            the first {@link Point} to transform is found
+	 * @param dstPts
+	 *            the destination array of x and y coordinates for the result of
+	 *            the transformation
+	 * @param dstOff
+	 *            the index of the <i>dstPts</i> array where the x coordinate of
+	 *            the first transformed {@link Point} is stored
+	 * @param numPts
+	 *            the number of {@link Point}s to transform
+	 */
+	public void transform(double[] srcPts, int srcOff, double[] dstPts,
+			int dstOff, int numPts) {
+		if (srcPts == dstPts && dstOff > srcOff
+				&& dstOff < srcOff + numPts * 2) {
+			// copy the source range first, so that it is not overwritten
+			System.arraycopy(srcPts, srcOff, dstPts, dstOff, numPts * 2);
+			srcOff = dstOff;
+		}
+		int end = srcOff + numPts * 2;
+		switch (state) {
+		case APPLY_IDENTITY:
+			if (srcPts != dstPts || srcOff != dstOff) {
+				System.arraycopy(srcPts, srcOff, dstPts, dstOff, numPts * 2);
+			}
+			break;
+		case APPLY_TRANSLATE:
+			for (int i = srcOff; i < end; i += 2) {
+				dstPts[dstOff++] = srcPts[i] + m02;
+				dstPts[dstOff++] = srcPts[i + 1] + m12;
+			}
+			break;
+		case APPLY_SCALE:
+		case APPLY_SCALE | APPLY_TRANSLATE:
+			for (int i = srcOff; i < end; i += 2) {
+				dstPts[dstOff++] = srcPts[i] * m00 + m02;
+				dstPts[dstOff++] = srcPts[i + 1] * m11 + m12;
+			}
+			break;
+		default:
+			for (int i = srcOff; i < end; i += 2) {
+				double x = srcPts[i];
+				double y = srcPts[i + 1];
+				dstPts[dstOff++] = x * m00 + y * m01 + m02;
+				dstPts[dstOff++] = x * m10 + y * m11 + m12;
+			}
+		}
 	}
 
 	/**
@@ -808,8 +1098,23 @@ public class AffineTransform implements Cloneable {
 	 * @return <code>this</code> for convenience
 	 */
 	public AffineTransform translate(double tx, double ty) {
-		delegate.translate(tx, ty);
+		m02 += tx * m00 + ty * m01;
+		m12 += tx * m10 + ty * m11;
+		updateState();
 		return this;
 	}
 
+	private void updateState() {
+		inverse = null;
+		if (m01 == 0 && m10 == 0) {
+			state = m00 == 1 && m11 == 1 ? APPLY_IDENTITY : APPLY_SCALE;
+		} else {
+			state = m00 == 0 && m11 == 0 ? APPLY_SHEAR
+					: APPLY_SHEAR | APPLY_SCALE;
+		}
+		if (m02 != 0 || m12 != 0) {
+			state |= APPLY_TRANSLATE;
+		}
+	}
+
 }
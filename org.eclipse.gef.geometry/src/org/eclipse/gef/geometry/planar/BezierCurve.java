@@ -430,7 +430,7 @@ public class BezierCurve extends AbstractGeometry
 		 * @return the first sub-curve of this {@link IntervalPair}
 		 */
 		public BezierCurve getPClipped() {
-			return p.getClipped(Math.max(pi.a, 0), Math.min(pi.b, 1));
+			return p.getSubCurve(Math.max(pi.a, 0), Math.min(pi.b, 1));
 		}
 
 		/**
@@ -461,7 +461,7 @@ public class BezierCurve extends AbstractGeometry
 		 * @return the second sub-curve of this {@link IntervalPair}
 		 */
 		public BezierCurve getQClipped() {
-			return q.getClipped(Math.max(qi.a, 0), Math.min(qi.b, 1));
+			return q.getSubCurve(Math.max(qi.a, 0), Math.min(qi.b, 1));
 		}
 
 		/**
@@ -511,22 +511,6 @@ public class BezierCurve extends AbstractGeometry
 
 	}
 
-	/**
-	 * <p>
-	 * The {@link IPointCmp} interface specifies a method to determine which of
-	 * two given {@link Point}s "is better than" the other.
-	 * </p>
-	 * <p>
-	 * It is used to identify the bounding box of an arbitrary
-	 * {@link BezierCurve} by searching for the minimal and maximal x and y
-	 * coordinates while sub-dividing the {@link BezierCurve} until all of its
-	 * control {@link Point}s are not "better than" the one selected.
-	 * </p>
-	 */
-	private interface IPointCmp {
-		public boolean pIsBetterThanQ(Point p, Point q);
-	}
-
 	private static final long serialVersionUID = 1L;
 
 	private static final int CHUNK_SHIFT = -3;
@@ -543,48 +527,41 @@ public class BezierCurve extends AbstractGeometry
 			.calculateFraction(0) / 10;
 
 	/**
-	 * An {@link IPointCmp} implementation to find the {@link Point} with the
-	 * minimal x coordinate in a list of {@link Point}s.
-	 */
-	private static final IPointCmp xminCmp = new IPointCmp() {
-		@Override
-		public boolean pIsBetterThanQ(Point p, Point q) {
-			return PrecisionUtils.smallerEqual(p.x, q.x);
-		}
-	};
-
-	/**
-	 * An {@link IPointCmp} implementation to find the {@link Point} with the
-	 * maximal x coordinate in a list of {@link Point}s.
-	 */
-	private static final IPointCmp xmaxCmp = new IPointCmp() {
-		@Override
-		public boolean pIsBetterThanQ(Point p, Point q) {
-			return PrecisionUtils.greaterEqual(p.x, q.x);
-		}
-	};
-
-	/**
-	 * An {@link IPointCmp} implementation to find the {@link Point} with the
-	 * minimal y coordinate in a list of {@link Point}s.
-	 */
-	private static final IPointCmp yminCmp = new IPointCmp() {
-		@Override
-		public boolean pIsBetterThanQ(Point p, Point q) {
-			return PrecisionUtils.smallerEqual(p.y, q.y);
-		}
-	};
-
-	/**
-	 * An {@link IPointCmp} implementation to find the {@link Point} with the
-	 * maximal y coordinate in a list of {@link Point}s.
-	 */
-	private static final IPointCmp ymaxCmp = new IPointCmp() {
-		@Override
-		public boolean pIsBetterThanQ(Point p, Point q) {
-			return PrecisionUtils.greaterEqual(p.y, q.y);
+	 * Computes the control point coordinates of the sub-curve over the
+	 * parameter {@link Interval} <code>[s;e]</code> of the curve with the given
+	 * control point coordinates. The same arithmetic as in
+	 * {@link #getClipped(double, double)} is used, but no intermediate objects
+	 * are created.
+	 *
+	 * @param coordinates
+	 *            the control point coordinates of the curve to clip
+	 * @param s
+	 *            the lower limit of the parameter {@link Interval}
+	 * @param e
+	 *            the upper limit of the parameter {@link Interval}
+	 * @param tmp
+	 *            an array used for intermediate results
+	 * @param clipped
+	 *            the array to store the control point coordinates of the
+	 *            sub-curve in
+	 * @return the number of control points of the sub-curve, which is
+	 *         <code>1</code> if <i>s</i> is <code>1</code>
+	 */
+	private static int clip(double[] coordinates, double s, double e,
+			double[] tmp, double[] clipped) {
+		int n = coordinates.length / 2;
+		if (s == 1) {
+			clipped[0] = coordinates[2 * n - 2];
+			clipped[1] = coordinates[2 * n - 1];
+			return 1;
 		}
-	};
+		// split at s and keep the right part, which is then split at the
+		// corresponding parameter value, keeping the left part
+		System.arraycopy(coordinates, 0, tmp, 0, 2 * n);
+		split(tmp, n, s, null);
+		split(tmp, n, (e - s) / (1 - s), clipped);
+		return n;
+	}
 
 	/**
 	 * <p>
@@ -677,38 +654,77 @@ public class BezierCurve extends AbstractGeometry
 	 */
 	private static boolean containmentParameter(BezierCurve c,
 			double[] interval, Point p) {
-		Stack<Interval> parts = new Stack<>();
-		parts.push(new Interval(interval));
-		while (!parts.empty()) {
-			Interval i = parts.pop();
-
-			if (i.converges(1)) {
-				interval[0] = i.a;
-				interval[1] = i.b;
+		double[] coordinates = c.toCoordinates();
+		double[] tmp = new double[coordinates.length];
+		double[] clipped = new double[coordinates.length];
+		// stack of parameter intervals (lower and upper limits)
+		double[] parts = new double[32];
+		parts[0] = interval[0];
+		parts[1] = interval[1];
+		int size = 2;
+		while (size > 0) {
+			double a = parts[size - 2];
+			double b = parts[size - 1];
+			size -= 2;
+
+			if (PrecisionUtils.equal(a, b, 1)) {
+				interval[0] = a;
+				interval[1] = b;
 				break;
 			}
 
-			double iMid = i.getMid();
-			Interval left = new Interval(i.a, iMid);
-			Interval right = new Interval(iMid, i.b);
-
-			BezierCurve clipped = c.getClipped(left.a, left.b);
-			Rectangle bounds = clipped.getControlBounds();
-
-			if (bounds.contains(p)) {
-				parts.push(left);
+			if (size + 4 > parts.length) {
+				parts = Arrays.copyOf(parts, 2 * parts.length);
+			}
+			double mid = (a + b) / 2;
+			int n = clip(coordinates, a, mid, tmp, clipped);
+			if (controlBoundsContain(clipped, n, p.x, p.y)) {
+				parts[size++] = a;
+				parts[size++] = mid;
 			}
 
-			clipped = c.getClipped(right.a, right.b);
-			bounds = clipped.getControlBounds();
-
-			if (bounds.contains(p)) {
-				parts.push(right);
+			n = clip(coordinates, mid, b, tmp, clipped);
+			if (controlBoundsContain(clipped, n, p.x, p.y)) {
+				parts[size++] = mid;
+				parts[size++] = b;
 			}
 		}
 		return PrecisionUtils.equal(interval[0], interval[1], 1);
 	}
 
+	/**
+	 * Tests whether the bounds of the given control point coordinates contain
+	 * the given point, in the same way as
+	 * {@link Rectangle#contains(double, double)} for the
+	 * {@link #getControlBounds() control bounds}.
+	 *
+	 * @param coordinates
+	 *            the control point coordinates
+	 * @param n
+	 *            the number of control points
+	 * @param x
+	 *            the x coordinate of the point to test
+	 * @param y
+	 *            the y coordinate of the point to test
+	 * @return <code>true</code> if the control bounds contain the point,
+	 *         otherwise <code>false</code>
+	 */
+	private static boolean controlBoundsContain(double[] coordinates, int n,
+			double x, double y) {
+		double xmin = coordinates[0], xmax = coordinates[0],
+				ymin = coordinates[1], ymax = coordinates[1];
+		for (int i = 1; i < n; i++) {
+			xmin = Math.min(xmin, coordinates[2 * i]);
+			xmax = Math.max(xmax, coordinates[2 * i]);
+			ymin = Math.min(ymin, coordinates[2 * i + 1]);
+			ymax = Math.max(ymax, coordinates[2 * i + 1]);
+		}
+		return PrecisionUtils.greaterEqual(y, ymin)
+				&& PrecisionUtils.smallerEqual(y, ymin + (ymax - ymin))
+				&& PrecisionUtils.greaterEqual(x, xmin)
+				&& PrecisionUtils.smallerEqual(x, xmin + (xmax - xmin));
+	}
+
 	/**
 	 * Overwrites the attribute values of {@link IntervalPair} <i>dst</i> with
 	 * the respective attribute values of {@link IntervalPair} <i>src</i>.
@@ -759,6 +775,42 @@ public class BezierCurve extends AbstractGeometry
 		return maxDistance;
 	}
 
+	/**
+	 * Returns the similarity of the curve with the given control point
+	 * coordinates to a {@link Line}, in the same way as
+	 * {@link #distanceToBaseLine(BezierCurve)}.
+	 *
+	 * @param coordinates
+	 *            the control point coordinates
+	 * @param n
+	 *            the number of control points
+	 * @return the distance of the control points to the base {@link Line}
+	 */
+	private static double distanceToBaseLine(double[] coordinates, int n) {
+		double x1 = coordinates[0];
+		double y1 = coordinates[1];
+		double x2 = coordinates[2 * n - 2];
+		double y2 = coordinates[2 * n - 1];
+
+		// homogeneous coordinates of the base line (see Straight3D#through())
+		double lx = y1 - y2;
+		double ly = x2 - x1;
+		double lz = x1 * y2 - y1 * x2;
+		double f = Math.sqrt(lx * lx + ly * ly);
+		if (f == 0d) {
+			return 0d;
+		}
+
+		double maxDistance = 0d;
+		for (int i = 1; i < n - 1; i++) {
+			maxDistance = Math.max(maxDistance, Math.abs(
+					(lx * coordinates[2 * i] + ly * coordinates[2 * i + 1] + lz)
+							/ f));
+		}
+
+		return maxDistance;
+	}
+
 	/**
 	 * Searches for an overlapping segment within the given {@link IntervalPair}
 	 * s.
@@ -863,6 +915,26 @@ public class BezierCurve extends AbstractGeometry
 		return (y - p.y + m * p.x) / m;
 	}
 
+	/**
+	 * Checks whether the coordinate <i>p</i> is (imprecisely) smaller or
+	 * greater than the coordinate <i>q</i>, depending on <i>max</i>.
+	 *
+	 * @param p
+	 *            the first coordinate
+	 * @param q
+	 *            the second coordinate
+	 * @param max
+	 *            <code>true</code> to test if <i>p</i> is greater than or equal
+	 *            to <i>q</i>, <code>false</code> to test if it is smaller than
+	 *            or equal to <i>q</i>
+	 * @return <code>true</code> if <i>p</i> is better than <i>q</i>,
+	 *         otherwise <code>false</code>
+	 */
+	private static boolean isBetter(double p, double q, boolean max) {
+		return max ? PrecisionUtils.greaterEqual(p, q)
+				: PrecisionUtils.smallerEqual(p, q);
+	}
+
 	/**
 	 * Checks if the given {@link Interval}s are considered to be next to each
 	 * other within the specified imprecision. Two {@link Interval}s are
@@ -1038,12 +1110,63 @@ public class BezierCurve extends AbstractGeometry
 		return i;
 	}
 
+	/**
+	 * Applies the de Casteljau algorithm to the given control point
+	 * coordinates (in-place), using the same arithmetic as
+	 * {@link #split(double)}. Afterwards, the array contains the control
+	 * points of the right part of the split curve (over
+	 * <code>[t;1]</code>).
+	 *
+	 * @param coordinates
+	 *            the control point coordinates of the curve to split
+	 * @param n
+	 *            the number of control points
+	 * @param t
+	 *            the parameter value at which the curve is split
+	 * @param left
+	 *            the array to store the control point coordinates of the left
+	 *            part (over <code>[0;t]</code>) in, may be <code>null</code>
+	 */
+	private static void split(double[] coordinates, int n, double t,
+			double[] left) {
+		if (left != null) {
+			left[0] = coordinates[0];
+			left[1] = coordinates[1];
+		}
+		for (int i = 0; i < n - 1; i++) {
+			for (int j = 0; j < 2 * (n - i - 1); j++) {
+				coordinates[j] = coordinates[j]
+						+ (coordinates[j + 2] - coordinates[j]) * t;
+			}
+			if (left != null) {
+				left[2 * i + 2] = coordinates[0];
+				left[2 * i + 3] = coordinates[1];
+			}
+		}
+	}
+
 	/**
 	 * An array of {@link Vector3D}s which represent the control points of this
 	 * {@link BezierCurve}.
 	 */
 	private final Vector3D[] points;
 
+	/**
+	 * The lazily computed bounds of this {@link BezierCurve}, which are
+	 * discarded whenever a control point is modified.
+	 */
+	private transient Rectangle bounds;
+
+	/**
+	 * The lazily computed coordinates of the {@link Point}s of the line strip
+	 * approximating this {@link BezierCurve} for the
+	 * {@link #lineStripSimilarity} (see {@link #toLineStrip(double)}), which
+	 * are discarded whenever a control point is modified.
+	 */
+	private transient double[] lineStrip;
+
+	private transient double lineStripSimilarity;
+
 	/**
 	 * Constructs a new {@link BezierCurve} from the given {@link CubicCurve}.
 	 *
@@ -1170,38 +1293,91 @@ public class BezierCurve extends AbstractGeometry
 
 		// intersections from start
 		for (int i = 1; i < differencePoints.length; i++) {
-			Line seg = new Line(differencePoints[0], differencePoints[i]);
-			if (seg.getP1().y < L.dmin != seg.getP2().y < L.dmin) {
-				double x = intersectXAxisParallel(seg.getP1(), seg.getP2(),
-						L.dmin);
-				moveInterval(interval, x);
+			Point p1 = differencePoints[0];
+			Point p2 = differencePoints[i];
+			if (p1.y < L.dmin != p2.y < L.dmin) {
+				moveInterval(interval, intersectXAxisParallel(p1, p2, L.dmin));
 			}
-			if (seg.getP1().y < L.dmax != seg.getP2().y < L.dmax) {
-				double x = intersectXAxisParallel(seg.getP1(), seg.getP2(),
-						L.dmax);
-				moveInterval(interval, x);
+			if (p1.y < L.dmax != p2.y < L.dmax) {
+				moveInterval(interval, intersectXAxisParallel(p1, p2, L.dmax));
 			}
 		}
 
 		// intersections from end
 		for (int i = 0; i < differencePoints.length - 1; i++) {
-			Line seg = new Line(differencePoints[i],
-					differencePoints[differencePoints.length - 1]);
-			if (seg.getP1().y < L.dmin != seg.getP2().y < L.dmin) {
-				double x = intersectXAxisParallel(seg.getP1(), seg.getP2(),
-						L.dmin);
-				moveInterval(interval, x);
+			Point p1 = differencePoints[i];
+			Point p2 = differencePoints[differencePoints.length - 1];
+			if (p1.y < L.dmin != p2.y < L.dmin) {
+				moveInterval(interval, intersectXAxisParallel(p1, p2, L.dmin));
 			}
-			if (seg.getP1().y < L.dmax != seg.getP2().y < L.dmax) {
-				double x = intersectXAxisParallel(seg.getP1(), seg.getP2(),
-						L.dmax);
-				moveInterval(interval, x);
+			if (p1.y < L.dmax != p2.y < L.dmax) {
+				moveInterval(interval, intersectXAxisParallel(p1, p2, L.dmax));
 			}
 		}
 
 		return interval;
 	}
 
+	/**
+	 * Computes the coordinates of the {@link Point}s of a line strip
+	 * approximating this {@link BezierCurve} over the given {@link Interval}
+	 * (see {@link #toLineStrip(double, Interval)}). The control point
+	 * coordinates of the parts are computed without creating any objects.
+	 *
+	 * @param lineSimilarity
+	 *            the threshold for the sum of the distances of the control
+	 *            points to the baseline of a part
+	 * @param startInterval
+	 *            the {@link Interval} of this {@link BezierCurve} that has to
+	 *            be approximated
+	 * @return the coordinates of the start {@link Point} followed by those of
+	 *         the end {@link Point}s of the {@link Line} segments
+	 */
+	private double[] computeLineStrip(double lineSimilarity,
+			Interval startInterval) {
+		double[] coordinates = toCoordinates();
+		double[] tmp = new double[coordinates.length];
+		double[] part = new double[coordinates.length];
+		double[] strip = new double[2 * coordinates.length];
+		Point startPoint = getHC(startInterval.a).toPoint();
+		strip[0] = startPoint.x;
+		strip[1] = startPoint.y;
+		int stripSize = 2;
+
+		// stack of parameter intervals (lower and upper limits)
+		double[] parts = new double[32];
+		parts[0] = startInterval.a;
+		parts[1] = startInterval.b;
+		int size = 2;
+
+		while (size > 0) {
+			double a = parts[size - 2];
+			double b = parts[size - 1];
+			size -= 2;
+			int n = clip(coordinates, a, b, tmp, part);
+
+			if (distanceToBaseLine(part, n) < lineSimilarity) {
+				Point endPoint = getHC(b).toPoint();
+				if (stripSize + 2 > strip.length) {
+					strip = Arrays.copyOf(strip, 2 * strip.length);
+				}
+				strip[stripSize++] = endPoint.x;
+				strip[stripSize++] = endPoint.y;
+			} else {
+				if (size + 4 > parts.length) {
+					parts = Arrays.copyOf(parts, 2 * parts.length);
+				}
+				double im = (a + b) / 2;
+				parts[size++] = im;
+				parts[size++] = b;
+				parts[size++] = a;
+				parts[size++] = im;
+			}
+		}
+
+		return Arrays.copyOf(strip, stripSize);
+	}
+
 	private Point[] constructLUT(double start, double end, int size) {
 		Point[] lut = new Point[size];
 		for (int i = 0; i < size; i++) {
@@ -1333,48 +1509,52 @@ public class BezierCurve extends AbstractGeometry
 		}
 	}
 
-	/**
-	 * Searches for the specified extreme on this {@link BezierCurve}.
-	 *
-	 * @param cmp
-	 *            the {@link IPointCmp} that specifies the extreme to search for
-	 * @return the extreme {@link Point} that can be identified
-	 */
-	private Point findExtreme(IPointCmp cmp) {
-		return findExtreme(cmp, Interval.getFull());
-	}
-
 	/**
 	 * <p>
-	 * Searches for an extreme {@link Point} on this {@link BezierCurve}.
+	 * Searches for the minimal or maximal x or y coordinate of this
+	 * {@link BezierCurve}.
+	 * </p>
+	 * <p>
+	 * The {@link BezierCurve} is sub-divided until none of the control points
+	 * of a part is "better" than the extreme found so far.
 	 * </p>
 	 *
-	 * @param cmp
-	 *            the {@link IPointCmp} that is used to find the extreme
-	 *            {@link Point}
-	 * @param iStart
-	 *            the start {@link Interval} on this {@link BezierCurve} in
-	 *            which the extreme {@link Point} is searched for
-	 * @return the extreme {@link Point} that could be found
-	 */
-	private Point findExtreme(IPointCmp cmp, Interval iStart) {
-		Stack<Interval> parts = new Stack<>();
-		parts.push(iStart);
-
-		Point xtreme = getHC(iStart.a).toPoint();
-
-		while (!parts.isEmpty()) {
-			Interval i = parts.pop();
-			BezierCurve clipped = getClipped(i.a, i.b);
-
-			Point sp = clipped.points[0].toPoint();
-			xtreme = cmp.pIsBetterThanQ(sp, xtreme) ? sp : xtreme;
-			Point ep = clipped.points[clipped.points.length - 1].toPoint();
-			xtreme = cmp.pIsBetterThanQ(ep, xtreme) ? ep : xtreme;
+	 * @param vertical
+	 *            <code>true</code> to search for an extreme y coordinate,
+	 *            <code>false</code> to search for an extreme x coordinate
+	 * @param max
+	 *            <code>true</code> to search for the maximum,
+	 *            <code>false</code> to search for the minimum
+	 * @return the extreme coordinate that could be found
+	 */
+	private double findExtreme(boolean vertical, boolean max) {
+		int offset = vertical ? 1 : 0;
+		double[] coordinates = toCoordinates();
+		double[] tmp = new double[coordinates.length];
+		double[] clipped = new double[coordinates.length];
+		// stack of parameter intervals (lower and upper limits)
+		double[] parts = new double[32];
+		parts[0] = 0;
+		parts[1] = 1;
+		int size = 2;
+
+		Point start = getHC(0).toPoint();
+		double xtreme = vertical ? start.y : start.x;
+
+		while (size > 0) {
+			double a = parts[size - 2];
+			double b = parts[size - 1];
+			size -= 2;
+			int n = clip(coordinates, a, b, tmp, clipped);
+
+			double sp = clipped[offset];
+			xtreme = isBetter(sp, xtreme, max) ? sp : xtreme;
+			double ep = clipped[2 * (n - 1) + offset];
+			xtreme = isBetter(ep, xtreme, max) ? ep : xtreme;
 
 			boolean everythingWorse = true;
-			for (int j = 1; j < clipped.points.length - 1; j++) {
-				if (!cmp.pIsBetterThanQ(xtreme, clipped.points[j].toPoint())) {
+			for (int j = 1; j < n - 1; j++) {
+				if (!isBetter(xtreme, clipped[2 * j + offset], max)) {
 					everythingWorse = false;
 					break;
 				}
@@ -1385,10 +1565,15 @@ public class BezierCurve extends AbstractGeometry
 			}
 
 			// split interval
-			if (!i.converges()) {
-				double im = i.getMid();
-				parts.push(new Interval(im, i.b));
-				parts.push(new Interval(i.a, im));
+			if (!PrecisionUtils.equal(a, b)) {
+				if (size + 4 > parts.length) {
+					parts = Arrays.copyOf(parts, 2 * parts.length);
+				}
+				double im = (a + b) / 2;
+				parts[size++] = im;
+				parts[size++] = b;
+				parts[size++] = a;
+				parts[size++] = im;
 			}
 		}
 
@@ -1620,11 +1805,15 @@ public class BezierCurve extends AbstractGeometry
 
 	@Override
 	public Rectangle getBounds() {
-		double xmin = findExtreme(xminCmp).x;
-		double xmax = findExtreme(xmaxCmp).x;
-		double ymin = findExtreme(yminCmp).y;
-		double ymax = findExtreme(ymaxCmp).y;
-		return new Rectangle(new Point(xmin, ymin), new Point(xmax, ymax));
+		if (bounds == null) {
+			double xmin = findExtreme(false, false);
+			double xmax = findExtreme(false, true);
+			double ymin = findExtreme(true, false);
+			double ymax = findExtreme(true, true);
+			bounds = new Rectangle(new Point(xmin, ymin),
+					new Point(xmax, ymax));
+		}
+		return bounds.getCopy();
 	}
 
 	/**
@@ -1657,22 +1846,22 @@ public class BezierCurve extends AbstractGeometry
 	 *         {@link Polygon} of this {@link BezierCurve}
 	 */
 	public Rectangle getControlBounds() {
-		Point[] realPoints = getPoints();
+		double[] coordinates = toCoordinates();
 
-		double xmin = realPoints[0].x, xmax = realPoints[0].x,
-				ymin = realPoints[0].y, ymax = realPoints[0].y;
+		double xmin = coordinates[0], xmax = coordinates[0],
+				ymin = coordinates[1], ymax = coordinates[1];
 
-		for (int i = 1; i < realPoints.length; i++) {
-			if (realPoints[i].x < xmin) {
-				xmin = realPoints[i].x;
-			} else if (realPoints[i].x > xmax) {
-				xmax = realPoints[i].x;
+		for (int i = 2; i < coordinates.length; i += 2) {
+			if (coordinates[i] < xmin) {
+				xmin = coordinates[i];
+			} else if (coordinates[i] > xmax) {
+				xmax = coordinates[i];
 			}
 
-			if (realPoints[i].y < ymin) {
-				ymin = realPoints[i].y;
-			} else if (realPoints[i].y > ymax) {
-				ymax = realPoints[i].y;
+			if (coordinates[i + 1] < ymin) {
+				ymin = coordinates[i + 1];
+			} else if (coordinates[i + 1] > ymax) {
+				ymax = coordinates[i + 1];
 			}
 		}
 
@@ -1743,14 +1932,19 @@ public class BezierCurve extends AbstractGeometry
 		}
 
 		double bn = 1, tn = 1, d = 1d - t;
-		Vector3D pn = points[0].getScaled(bn * tn);
+		double x = points[0].x * (bn * tn);
+		double y = points[0].y * (bn * tn);
+		double z = points[0].z * (bn * tn);
 		for (int i = 1; i < n; i++) {
 			bn = bn * (n - i) / i;
 			tn = tn * t;
-			pn = pn.getScaled(d).getAdded(points[i].getScaled(bn * tn));
+			double f = bn * tn;
+			x = x * d + points[i].x * f;
+			y = y * d + points[i].y * f;
+			z = z * d + points[i].z * f;
 		}
 
-		return pn;
+		return new Vector3D(x, y, z);
 	}
 
 	/**
@@ -1786,6 +1980,11 @@ public class BezierCurve extends AbstractGeometry
 		Set<IntervalPair> intervalPairs = new HashSet<>();
 		Set<IntervalPair> endPointIntervalPairs = new HashSet<>();
 
+		// all intersections lie within both control bounds
+		if (!getControlBounds().touches(other.getControlBounds())) {
+			return intervalPairs;
+		}
+
 		IntervalPair ip = new IntervalPair(this, Interval.getFull(), other,
 				Interval.getFull());
 
@@ -1870,6 +2069,26 @@ public class BezierCurve extends AbstractGeometry
 		return intersections.toArray(new Point[] {});
 	}
 
+	/**
+	 * Returns the coordinates of the {@link Point}s of the line strip that
+	 * approximates this {@link BezierCurve} for the given similarity (see
+	 * {@link #toLineStrip(double)}). The result for the most recently used
+	 * similarity is cached until a control point is modified.
+	 *
+	 * @param lineSimilarity
+	 *            the threshold for the sum of the distances of the control
+	 *            points to the baseline of a part
+	 * @return the coordinates of the start {@link Point} followed by those of
+	 *         the end {@link Point}s of the {@link Line} segments
+	 */
+	private double[] getLineStripCoordinates(double lineSimilarity) {
+		if (lineStrip == null || lineStripSimilarity != lineSimilarity) {
+			lineStrip = computeLineStrip(lineSimilarity, Interval.getFull());
+			lineStripSimilarity = lineSimilarity;
+		}
+		return lineStrip;
+	}
+
 	/**
 	 * <p>
 	 * Returns a {@link BezierCurve} that represents the overlap of this
@@ -1888,6 +2107,9 @@ public class BezierCurve extends AbstractGeometry
 		if (equals(other)) {
 			return getCopy();
 		}
+		if (!getControlBounds().touches(other.getControlBounds())) {
+			return null;
+		}
 
 		Set<Point> intersections = new HashSet<>();
 		Set<IntervalPair> intervalPairs = new HashSet<>();
@@ -1905,7 +2127,9 @@ public class BezierCurve extends AbstractGeometry
 
 		IntervalPair overlap = extractOverlap(clusters,
 				endPointIntervalPairs.toArray(new IntervalPair[] {}));
-		return overlap == null ? null : overlap.getPClipped();
+		return overlap == null ? null
+				: overlap.p.getClipped(Math.max(overlap.pi.a, 0),
+						Math.min(overlap.pi.b, 1));
 	}
 
 	@Override
@@ -2126,6 +2350,33 @@ public class BezierCurve extends AbstractGeometry
 	/**
 	 * @see IGeometry#getTransformed(AffineTransform)
 	 */
+	/**
+	 * Returns a new {@link BezierCurve} representing this {@link BezierCurve}
+	 * on the {@link Interval} <code>[s;e]</code>. In contrast to
+	 * {@link #getClipped(double, double)}, the sub-curve is computed on the
+	 * control point coordinates (without intermediate objects), and it is
+	 * always a plain {@link BezierCurve}.
+	 *
+	 * @param s
+	 *            the lower limit of the parameter {@link Interval}
+	 * @param e
+	 *            the upper limit of the parameter {@link Interval}
+	 * @return a new {@link BezierCurve} representing this {@link BezierCurve}
+	 *         on the {@link Interval} <code>[s;e]</code>
+	 */
+	private BezierCurve getSubCurve(double s, double e) {
+		double[] coordinates = toCoordinates();
+		double[] clipped = new double[coordinates.length];
+		int n = clip(coordinates, s, e, new double[coordinates.length],
+				clipped);
+		Vector3D[] controlPoints = new Vector3D[n];
+		for (int i = 0; i < n; i++) {
+			controlPoints[i] = new Vector3D(clipped[2 * i],
+					clipped[2 * i + 1], 1);
+		}
+		return new BezierCurve(controlPoints);
+	}
+
 	@Override
 	public BezierCurve getTransformed(AffineTransform t) {
 		return new BezierCurve(t.getTransformed(getPoints()));
@@ -2272,6 +2523,8 @@ public class BezierCurve extends AbstractGeometry
 							.getRotatedCCW(angle).toPoint()
 							.getTranslated(center));
 		}
+		bounds = null;
+		lineStrip = null;
 		return this;
 	}
 
@@ -2408,6 +2661,8 @@ public class BezierCurve extends AbstractGeometry
 					+ (points.length - 1) + ".");
 		}
 		points[i] = new Vector3D(p);
+		bounds = null;
+		lineStrip = null;
 		return this;
 	}
 
@@ -2449,6 +2704,21 @@ public class BezierCurve extends AbstractGeometry
 		return new BezierCurve[] { this };
 	}
 
+	/**
+	 * Returns the coordinates of the control {@link Point}s of this
+	 * {@link BezierCurve} in x, y order.
+	 *
+	 * @return the coordinates of the control {@link Point}s
+	 */
+	private double[] toCoordinates() {
+		double[] coordinates = new double[2 * points.length];
+		for (int i = 0; i < points.length; i++) {
+			coordinates[2 * i] = points[i].x / points[i].z;
+			coordinates[2 * i + 1] = points[i].y / points[i].z;
+		}
+		return coordinates;
+	}
+
 	/**
 	 * Returns a hard approximation of this {@link BezierCurve} as a
 	 * {@link CubicCurve}. The new {@link CubicCurve} is constructed from the
@@ -2503,7 +2773,13 @@ public class BezierCurve extends AbstractGeometry
 	 * @see BezierCurve#toLineStrip(double, Interval)
 	 */
 	public Line[] toLineStrip(double lineSimilarity) {
-		return toLineStrip(lineSimilarity, Interval.getFull());
+		double[] coordinates = getLineStripCoordinates(lineSimilarity);
+		Line[] lines = new Line[coordinates.length / 2 - 1];
+		for (int i = 0; i < lines.length; i++) {
+			lines[i] = new Line(coordinates[2 * i], coordinates[2 * i + 1],
+					coordinates[2 * i + 2], coordinates[2 * i + 3]);
+		}
+		return lines;
 	}
 
 	/**
@@ -2529,29 +2805,14 @@ public class BezierCurve extends AbstractGeometry
 	 * @return {@link Line} segments approximating this {@link BezierCurve}
 	 */
 	public Line[] toLineStrip(double lineSimilarity, Interval startInterval) {
-		ArrayList<Line> lines = new ArrayList<>();
-
-		Point startPoint = getHC(startInterval.a).toPoint();
-
-		Stack<Interval> parts = new Stack<>();
-		parts.push(startInterval);
-
-		while (!parts.isEmpty()) {
-			Interval i = parts.pop();
-			BezierCurve part = getClipped(i.a, i.b);
-
-			if (distanceToBaseLine(part) < lineSimilarity) {
-				Point endPoint = getHC(i.b).toPoint();
-				lines.add(new Line(startPoint, endPoint));
-				startPoint = endPoint;
-			} else {
-				double im = i.getMid();
-				parts.push(new Interval(im, i.b));
-				parts.push(new Interval(i.a, im));
-			}
+		double[] coordinates = computeLineStrip(lineSimilarity,
+				startInterval);
+		Line[] lines = new Line[coordinates.length / 2 - 1];
+		for (int i = 0; i < lines.length; i++) {
+			lines[i] = new Line(coordinates[2 * i], coordinates[2 * i + 1],
+					coordinates[2 * i + 2], coordinates[2 * i + 3]);
 		}
-
-		return lines.toArray(new Line[] {});
+		return lines;
 	}
 
 	/**
@@ -2568,8 +2829,9 @@ public class BezierCurve extends AbstractGeometry
 		Point startPoint = points[0].toPoint();
 		path.moveTo(startPoint.x, startPoint.y);
 
-		for (Line seg : toLineStrip(0.25d)) {
-			path.lineTo(seg.getX2(), seg.getY2());
+		double[] coordinates = getLineStripCoordinates(0.25d);
+		for (int i = 2; i < coordinates.length; i += 2) {
+			path.lineTo(coordinates[i], coordinates[i + 1]);
 		}
 
 		return path;
@@ -2591,29 +2853,41 @@ public class BezierCurve extends AbstractGeometry
 		ArrayList<Point> points = new ArrayList<>();
 		points.add(getHC(startInterval.a).toPoint());
 
-		Stack<Interval> parts = new Stack<>();
-		parts.push(startInterval);
-
-		while (!parts.isEmpty()) {
-			Interval i = parts.pop();
-			BezierCurve part = getClipped(i.a, i.b);
-
-			Point[] partPoints = part.getPoints();
+		double[] coordinates = toCoordinates();
+		double[] tmp = new double[coordinates.length];
+		double[] part = new double[coordinates.length];
+		// stack of parameter intervals (lower and upper limits)
+		double[] parts = new double[32];
+		parts[0] = startInterval.a;
+		parts[1] = startInterval.b;
+		int size = 2;
+
+		while (size > 0) {
+			double a = parts[size - 2];
+			double b = parts[size - 1];
+			size -= 2;
+			int n = clip(coordinates, a, b, tmp, part);
 
 			boolean allTogether = true;
-			for (int j = 1; j < partPoints.length; j++) {
-				if (!partPoints[0].equals(partPoints[j])) {
+			for (int j = 1; j < n; j++) {
+				if (!PrecisionUtils.equal(part[0], part[2 * j])
+						|| !PrecisionUtils.equal(part[1], part[2 * j + 1])) {
 					allTogether = false;
 					break;
 				}
 			}
 
 			if (allTogether) {
-				points.add(partPoints[partPoints.length - 1]);
+				points.add(new Point(part[2 * n - 2], part[2 * n - 1]));
 			} else {
-				double im = i.getMid();
-				parts.push(new Interval(im, i.b));
-				parts.push(new Interval(i.a, im));
+				if (size + 4 > parts.length) {
+					parts = Arrays.copyOf(parts, 2 * parts.length);
+				}
+				double im = (a + b) / 2;
+				parts[size++] = im;
+				parts[size++] = b;
+				parts[size++] = a;
+				parts[size++] = im;
 			}
 		}
 
@@ -0,0 +1,363 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.planar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
+
+/**
+ * A {@link CurveIntersector} computes the {@link Point}s of intersection
+ * between all pairs of a number of {@link ICurve}s, e.g. to count the
+ * crossings of the connections of a diagram.
+ * <p>
+ * Instead of intersecting every pair of {@link ICurve}s, the
+ * {@link BezierCurve}s of all {@link ICurve}s (see {@link ICurve#toBezier()})
+ * are swept from left to right, and only those {@link BezierCurve}s of
+ * different {@link ICurve}s whose control bounds touch are intersected (see
+ * {@link BezierCurve#getIntersections(BezierCurve)}). The results are the
+ * same as those of {@link ICurve#getIntersections(ICurve)} for each pair of
+ * {@link ICurve}s. Intersections of an {@link ICurve} with itself are not
+ * computed.
+ * <p>
+ * The intersections are computed when they are first queried, optionally in
+ * parallel (see {@link #setParallel(boolean)}). A {@link CurveIntersector}
+ * does not notice subsequent changes of the passed-in {@link ICurve}s.
+ */
+public class CurveIntersector {
+
+	/**
+	 * Intersects the {@link BezierCurve}s of a range of candidate pairs, and
+	 * splits the range in halves as long as it is large enough.
+	 */
+	private static class IntersectionTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private static final int THRESHOLD = 16;
+
+		private final BezierCurve[] beziers;
+		private final int[] candidates;
+		private final Point[][] results;
+		private final int start;
+		private final int end;
+
+		public IntersectionTask(BezierCurve[] beziers, int[] candidates,
+				Point[][] results, int start, int end) {
+			this.beziers = beziers;
+			this.candidates = candidates;
+			this.results = results;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start <= THRESHOLD) {
+				intersect(beziers, candidates, results, start, end);
+			} else {
+				int middle = (start + end) >>> 1;
+				invokeAll(
+						new IntersectionTask(beziers, candidates, results,
+								start, middle),
+						new IntersectionTask(beziers, candidates, results,
+								middle, end));
+			}
+		}
+	}
+
+	/**
+	 * Intersects the {@link BezierCurve}s of the candidate pairs with the
+	 * given indices.
+	 *
+	 * @param beziers
+	 *            the {@link BezierCurve}s
+	 * @param candidates
+	 *            the indices of the {@link BezierCurve}s of the candidate
+	 *            pairs, two per pair
+	 * @param results
+	 *            the array to store the {@link Point}s of intersection of
+	 *            each candidate pair in
+	 * @param start
+	 *            the index of the first candidate pair to intersect
+	 * @param end
+	 *            the index after the last candidate pair to intersect
+	 */
+	private static void intersect(BezierCurve[] beziers, int[] candidates,
+			Point[][] results, int start, int end) {
+		for (int i = start; i < end; i++) {
+			results[i] = beziers[candidates[2 * i]]
+					.getIntersections(beziers[candidates[2 * i + 1]]);
+		}
+	}
+
+	private final ICurve[] curves;
+	private boolean parallel = false;
+
+	// intersections per pair of curves, keyed by i * curves.length + j (i < j)
+	private Map<Long, Point[]> intersections;
+
+	/**
+	 * Constructs a new {@link CurveIntersector} for the given {@link ICurve}s.
+	 * The {@link ICurve}s are referred to by their index within the passed-in
+	 * array.
+	 *
+	 * @param curves
+	 *            the {@link ICurve}s to intersect with each other
+	 */
+	public CurveIntersector(ICurve... curves) {
+		this.curves = Arrays.copyOf(curves, curves.length);
+	}
+
+	/**
+	 * Determines the pairs of {@link BezierCurve}s of different
+	 * {@link ICurve}s whose control bounds touch, intersects them, and
+	 * collects the results per pair of {@link ICurve}s.
+	 */
+	private void compute() {
+		List<BezierCurve> bezierList = new ArrayList<>();
+		List<Integer> ownerList = new ArrayList<>();
+		for (int i = 0; i < curves.length; i++) {
+			for (BezierCurve bezier : curves[i].toBezier()) {
+				bezierList.add(bezier);
+				ownerList.add(i);
+			}
+		}
+
+		final int n = bezierList.size();
+		BezierCurve[] beziers = bezierList.toArray(new BezierCurve[n]);
+		int[] owners = new int[n];
+		final double[] minXs = new double[n];
+		double[] minYs = new double[n];
+		double[] maxXs = new double[n];
+		double[] maxYs = new double[n];
+		Integer[] order = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			owners[i] = ownerList.get(i);
+			Rectangle bounds = beziers[i].getControlBounds();
+			minXs[i] = bounds.getX();
+			minYs[i] = bounds.getY();
+			maxXs[i] = bounds.getX() + bounds.getWidth();
+			maxYs[i] = bounds.getY() + bounds.getHeight();
+			order[i] = i;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer i, Integer j) {
+				return Double.compare(minXs[i], minXs[j]);
+			}
+		});
+
+		// sweep from left to right, keeping those BezierCurves whose control
+		// bounds may still touch the control bounds of subsequent ones, and
+		// record the candidate pairs with the BezierCurve of the smaller curve
+		// index first (as ICurve#getIntersections(ICurve) would do)
+		int[] active = new int[n];
+		int activeCount = 0;
+		int[] candidates = new int[16];
+		int candidateCount = 0;
+		for (int k = 0; k < n; k++) {
+			int b = order[k];
+			int remaining = 0;
+			for (int l = 0; l < activeCount; l++) {
+				int a = active[l];
+				if (!PrecisionUtils.smallerEqual(minXs[b], maxXs[a])) {
+					continue;
+				}
+				active[remaining++] = a;
+				if (owners[a] != owners[b]
+						&& PrecisionUtils.smallerEqual(minYs[b], maxYs[a])
+						&& PrecisionUtils.greaterEqual(maxYs[b], minYs[a])) {
+					if (candidateCount == candidates.length) {
+						candidates = Arrays.copyOf(candidates,
+								2 * candidates.length);
+					}
+					boolean swap = owners[a] > owners[b];
+					candidates[candidateCount++] = swap ? b : a;
+					candidates[candidateCount++] = swap ? a : b;
+				}
+			}
+			activeCount = remaining;
+			active[activeCount++] = b;
+		}
+
+		int pairCount = candidateCount / 2;
+		Point[][] results = new Point[pairCount][];
+		if (parallel) {
+			ForkJoinPool.commonPool().invoke(
+					new IntersectionTask(beziers, candidates, results, 0,
+							pairCount));
+		} else {
+			intersect(beziers, candidates, results, 0, pairCount);
+		}
+
+		Map<Long, Set<Point>> pointSets = new TreeMap<>();
+		for (int i = 0; i < pairCount; i++) {
+			if (results[i].length == 0) {
+				continue;
+			}
+			Long key = getKey(owners[candidates[2 * i]],
+					owners[candidates[2 * i + 1]]);
+			Set<Point> points = pointSets.get(key);
+			if (points == null) {
+				points = new HashSet<>();
+				pointSets.put(key, points);
+			}
+			points.addAll(Arrays.asList(results[i]));
+		}
+		intersections = new TreeMap<>();
+		for (Map.Entry<Long, Set<Point>> entry : pointSets.entrySet()) {
+			intersections.put(entry.getKey(),
+					entry.getValue().toArray(new Point[] {}));
+		}
+	}
+
+	/**
+	 * Returns the {@link ICurve}s that are intersected by this
+	 * {@link CurveIntersector}.
+	 *
+	 * @return a copy of the {@link ICurve}s of this {@link CurveIntersector}
+	 */
+	public ICurve[] getCurves() {
+		return Arrays.copyOf(curves, curves.length);
+	}
+
+	/**
+	 * Returns the index pairs <code>{i, j}</code> (with <code>i &lt; j</code>)
+	 * of all {@link ICurve}s that intersect each other, in lexicographical
+	 * order. The number of returned pairs is the number of crossing pairs of
+	 * {@link ICurve}s.
+	 *
+	 * @return the index pairs of the intersecting {@link ICurve}s
+	 */
+	public int[][] getIntersectingPairs() {
+		Map<Long, Point[]> intersections = getIntersectionMap();
+		int[][] pairs = new int[intersections.size()][];
+		int p = 0;
+		for (Long key : intersections.keySet()) {
+			pairs[p++] = new int[] { (int) (key / curves.length),
+					(int) (key % curves.length) };
+		}
+		return pairs;
+	}
+
+	private Map<Long, Point[]> getIntersectionMap() {
+		if (intersections == null) {
+			compute();
+		}
+		return intersections;
+	}
+
+	/**
+	 * Returns the {@link Point}s of intersection between any two different
+	 * {@link ICurve}s. A {@link Point} at which more than two {@link ICurve}s
+	 * intersect is only contained once.
+	 *
+	 * @return the {@link Point}s of intersection between the {@link ICurve}s
+	 */
+	public Point[] getIntersections() {
+		Set<Point> points = new HashSet<>();
+		for (Point[] pairPoints : getIntersectionMap().values()) {
+			points.addAll(Arrays.asList(pairPoints));
+		}
+		return Point.getCopy(points.toArray(new Point[] {}));
+	}
+
+	/**
+	 * Returns the {@link Point}s at which the {@link ICurve} with the given
+	 * index is intersected by any other {@link ICurve}, e.g. to render jumps
+	 * over the other {@link ICurve}s.
+	 *
+	 * @param index
+	 *            the index of the {@link ICurve}
+	 * @return the {@link Point}s of intersection of the {@link ICurve} with
+	 *         the given index and the other {@link ICurve}s
+	 */
+	public Point[] getIntersections(int index) {
+		Set<Point> points = new HashSet<>();
+		for (Map.Entry<Long, Point[]> entry : getIntersectionMap()
+				.entrySet()) {
+			long key = entry.getKey();
+			if (key / curves.length == index
+					|| key % curves.length == index) {
+				points.addAll(Arrays.asList(entry.getValue()));
+			}
+		}
+		return Point.getCopy(points.toArray(new Point[] {}));
+	}
+
+	/**
+	 * Returns the {@link Point}s of intersection of the {@link ICurve}s with
+	 * the given indices, i.e. the same {@link Point}s as
+	 * {@link ICurve#getIntersections(ICurve)}.
+	 *
+	 * @param i
+	 *            the index of the first {@link ICurve}
+	 * @param j
+	 *            the index of the second {@link ICurve}
+	 * @return the {@link Point}s of intersection of the {@link ICurve}s with
+	 *         the given indices, or an empty array if <code>i == j</code>
+	 */
+	public Point[] getIntersections(int i, int j) {
+		if (i == j) {
+			return new Point[] {};
+		}
+		Point[] points = getIntersectionMap()
+				.get(getKey(Math.min(i, j), Math.max(i, j)));
+		if (points == null) {
+			return new Point[] {};
+		}
+		return Point.getCopy(points);
+	}
+
+	private Long getKey(int i, int j) {
+		return (long) i * curves.length + j;
+	}
+
+	/**
+	 * Returns whether the intersections are computed in parallel.
+	 *
+	 * @return <code>true</code> if the intersections are computed in parallel,
+	 *         <code>false</code> otherwise
+	 * @see #setParallel(boolean)
+	 */
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * Specifies whether the intersections of the candidate pairs of
+	 * {@link BezierCurve}s are computed in parallel, using the common
+	 * {@link ForkJoinPool}. Defaults to <code>false</code>. Only takes effect
+	 * if called before the intersections are first queried.
+	 *
+	 * @param parallel
+	 *            <code>true</code> to compute the intersections in parallel,
+	 *            <code>false</code> otherwise
+	 * @return <code>this</code> for convenience
+	 */
+	public CurveIntersector setParallel(boolean parallel) {
+		this.parallel = parallel;
+		return this;
+	}
+
+}
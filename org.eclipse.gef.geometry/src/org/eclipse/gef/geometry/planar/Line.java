@@ -40,6 +40,34 @@ public class Line extends BezierCurve {
 
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * Tests whether the point (px, py) lies on the line segment from (x1, y1)
+	 * to (x2, y2), using the same imprecision as {@link #contains(Point)}, but
+	 * without creating any intermediate objects.
+	 */
+	static boolean contains(double x1, double y1, double x2, double y2,
+			double px, double py) {
+		if (PrecisionUtils.equal(x1, px) && PrecisionUtils.equal(y1, py)
+				|| PrecisionUtils.equal(x2, px)
+						&& PrecisionUtils.equal(y2, py)) {
+			return true;
+		}
+		if (!(PrecisionUtils.greaterEqual(px, Math.min(x1, x2))
+				&& PrecisionUtils.smallerEqual(px, Math.max(x1, x2))
+				&& PrecisionUtils.greaterEqual(py, Math.min(y1, y2))
+				&& PrecisionUtils.smallerEqual(py, Math.max(y1, y2)))) {
+			return false;
+		}
+		double dx = x2 - x1;
+		double dy = y2 - y1;
+		double length = Math.sqrt(dx * dx + dy * dy);
+		if (length == 0) {
+			return false;
+		}
+		double distance = (dx * (py - y1) - dy * (px - x1)) / length;
+		return PrecisionUtils.equal(distance, 0);
+	}
+
 	/**
 	 * Constructs a new {@link Line} from the given coordinate values.
 	 *
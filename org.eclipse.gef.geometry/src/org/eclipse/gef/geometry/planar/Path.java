@@ -20,6 +20,8 @@ import java.util.List;
 
 import org.eclipse.gef.geometry.convert.awt.AWT2Geometry;
 import org.eclipse.gef.geometry.convert.awt.Geometry2AWT;
+import org.eclipse.gef.geometry.internal.utils.PolygonClipper;
+import org.eclipse.gef.geometry.internal.utils.PolygonClipper.Operation;
 import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
 
 /**
@@ -254,6 +256,9 @@ public class Path extends AbstractGeometry implements IGeometry {
 	 * @return the sum of the areas
 	 */
 	public static Path add(Path pa, Path pb) {
+		if (isPolygonal(pa) && isPolygonal(pb)) {
+			return PolygonClipper.compute(pa, pb, Operation.UNION);
+		}
 		Area a = new Area(Geometry2AWT.toAWTPath(pa));
 		Area b = new Area(Geometry2AWT.toAWTPath(pb));
 		a.add(b);
@@ -271,6 +276,9 @@ public class Path extends AbstractGeometry implements IGeometry {
 	 * @return the exclusive-or of the areas
 	 */
 	public static Path exclusiveOr(Path pa, Path pb) {
+		if (isPolygonal(pa) && isPolygonal(pb)) {
+			return PolygonClipper.compute(pa, pb, Operation.EXCLUSIVE_OR);
+		}
 		Area a = new Area(Geometry2AWT.toAWTPath(pa));
 		Area b = new Area(Geometry2AWT.toAWTPath(pb));
 		a.exclusiveOr(b);
@@ -288,12 +296,37 @@ public class Path extends AbstractGeometry implements IGeometry {
 	 *         areas
 	 */
 	public static Path intersect(Path pa, Path pb) {
+		if (isPolygonal(pa) && isPolygonal(pb)) {
+			return PolygonClipper.compute(pa, pb, Operation.INTERSECTION);
+		}
 		Area a = new Area(Geometry2AWT.toAWTPath(pa));
 		Area b = new Area(Geometry2AWT.toAWTPath(pb));
 		a.intersect(b);
 		return AWT2Geometry.toPath(new Path2D.Double(a));
 	}
 
+	/**
+	 * Determines whether the given {@link Path} consists of straight
+	 * {@link Segment}s only. Such {@link Path}s are combined using the
+	 * {@link PolygonClipper}, while curved {@link Path}s are combined using
+	 * {@link Area}, which preserves their curves.
+	 *
+	 * @param path
+	 *            the {@link Path} to test
+	 * @return <code>true</code> if the given {@link Path} does not contain
+	 *         any {@link Segment#QUAD_TO} or {@link Segment#CUBIC_TO}
+	 *         {@link Segment}s, otherwise <code>false</code>
+	 */
+	private static boolean isPolygonal(Path path) {
+		for (Segment segment : path.segments) {
+			if (segment.getType() == Segment.QUAD_TO
+					|| segment.getType() == Segment.CUBIC_TO) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Subtracts the second given area from the first given area.
 	 *
@@ -304,6 +337,9 @@ public class Path extends AbstractGeometry implements IGeometry {
 	 * @return the area covered by the first but not the second given area
 	 */
 	public static Path subtract(Path pa, Path pb) {
+		if (isPolygonal(pa) && isPolygonal(pb)) {
+			return PolygonClipper.compute(pa, pb, Operation.DIFFERENCE);
+		}
 		Area a = new Area(Geometry2AWT.toAWTPath(pa));
 		Area b = new Area(Geometry2AWT.toAWTPath(pb));
 		a.subtract(b);
@@ -88,13 +88,50 @@ public class Point implements Cloneable, Serializable {
 			return new Rectangle();
 		}
 		// calculate bounds
-		Point topLeft = points[0];
-		Point bottomRight = points[0];
+		double minX = points[0].x;
+		double minY = points[0].y;
+		double maxX = minX;
+		double maxY = minY;
 		for (Point p : points) {
-			topLeft = Point.min(topLeft, p);
-			bottomRight = Point.max(bottomRight, p);
+			minX = Math.min(minX, p.x);
+			minY = Math.min(minY, p.y);
+			maxX = Math.max(maxX, p.x);
+			maxY = Math.max(maxY, p.y);
 		}
-		return new Rectangle(topLeft, bottomRight);
+		return new Rectangle(minX, minY, maxX - minX, maxY - minY);
+	}
+
+	/**
+	 * Computes the smallest {@link Rectangle} that contains all of the points
+	 * that are given by an alternating sequence of x and y coordinates within
+	 * the given array. In contrast to {@link #getBounds(Point...)}, no
+	 * intermediate {@link Point}s are created.
+	 *
+	 * @param coordinates
+	 *            an array containing alternating x and y coordinates
+	 * @param offset
+	 *            the index of the x coordinate of the first point
+	 * @param numPoints
+	 *            the number of points to consider
+	 * @return a new {@link Rectangle}, which is the smallest {@link Rectangle}
+	 *         that contains all given points
+	 */
+	public static Rectangle getBounds(double[] coordinates, int offset,
+			int numPoints) {
+		if (numPoints == 0) {
+			return new Rectangle();
+		}
+		double minX = coordinates[offset];
+		double minY = coordinates[offset + 1];
+		double maxX = minX;
+		double maxY = minY;
+		for (int i = offset + 2; i < offset + 2 * numPoints; i += 2) {
+			minX = Math.min(minX, coordinates[i]);
+			minY = Math.min(minY, coordinates[i + 1]);
+			maxX = Math.max(maxX, coordinates[i]);
+			maxY = Math.max(maxY, coordinates[i + 1]);
+		}
+		return new Rectangle(minX, minY, maxX - minX, maxY - minY);
 	}
 
 	/**
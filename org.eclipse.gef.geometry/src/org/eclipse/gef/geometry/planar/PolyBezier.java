@@ -199,6 +199,12 @@ public class PolyBezier extends AbstractGeometry
 
 	private BezierCurve[] beziers;
 
+	/**
+	 * The lazily created index of the control bounds of the
+	 * {@link BezierCurve}s, which is discarded whenever they are modified.
+	 */
+	private transient SlabIndex curveIndex;
+
 	/**
 	 * Constructs a new {@link PolyBezier} of the given {@link BezierCurve}s.
 	 * The {@link BezierCurve}s are expected to be connected with each other.
@@ -213,8 +219,15 @@ public class PolyBezier extends AbstractGeometry
 
 	@Override
 	public boolean contains(Point p) {
-		for (BezierCurve c : beziers) {
-			if (c.contains(p)) {
+		// only test the curves whose control bounds cover the point's y
+		// coordinate
+		SlabIndex index = getCurveIndex();
+		int slab = index.getSlab(p.y);
+		if (slab < 0) {
+			return false;
+		}
+		for (int k = index.getStart(slab); k < index.getEnd(slab); k++) {
+			if (beziers[index.getItem(k)].contains(p)) {
 				return true;
 			}
 		}
@@ -241,6 +254,20 @@ public class PolyBezier extends AbstractGeometry
 		return new PolyBezier(beziers);
 	}
 
+	private SlabIndex getCurveIndex() {
+		if (curveIndex == null) {
+			double[] minYs = new double[beziers.length];
+			double[] maxYs = new double[beziers.length];
+			for (int i = 0; i < beziers.length; i++) {
+				Rectangle bounds = beziers[i].getControlBounds();
+				minYs[i] = bounds.getY();
+				maxYs[i] = bounds.getY() + bounds.getHeight();
+			}
+			curveIndex = new SlabIndex(minYs, maxYs);
+		}
+		return curveIndex;
+	}
+
 	@Override
 	public Point[] getIntersections(ICurve c) {
 		return CurveUtils.getIntersections(this, c);
@@ -422,6 +449,7 @@ public class PolyBezier extends AbstractGeometry
 		for (BezierCurve c : beziers) {
 			c.rotateCCW(angle, cx, cy);
 		}
+		curveIndex = null;
 		return this;
 	}
 
@@ -476,6 +504,7 @@ public class PolyBezier extends AbstractGeometry
 		for (BezierCurve c : beziers) {
 			c.rotateCW(angle, cx, cy);
 		}
+		curveIndex = null;
 		return this;
 	}
 
@@ -519,6 +548,7 @@ public class PolyBezier extends AbstractGeometry
 		for (BezierCurve c : beziers) {
 			c.scale(fx, fy, cx, cy);
 		}
+		curveIndex = null;
 		return this;
 	}
 
@@ -560,6 +590,7 @@ public class PolyBezier extends AbstractGeometry
 		for (BezierCurve c : beziers) {
 			c.translate(dx, dy);
 		}
+		curveIndex = null;
 		return this;
 	}
 
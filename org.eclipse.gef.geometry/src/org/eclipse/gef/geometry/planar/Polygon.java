@@ -20,6 +20,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import org.eclipse.gef.geometry.internal.utils.PointListUtils;
+import org.eclipse.gef.geometry.internal.utils.PolygonTriangulator;
 import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
 
 /**
@@ -81,6 +82,56 @@ public class Polygon extends AbstractPointListBasedGeometry<Polygon>
 		return new Polygon(getPointsWithout(points, ear[1]));
 	}
 
+	/**
+	 * Tests whether the polygon that is given by an alternating sequence of x
+	 * and y coordinates within the given array contains the given point. The
+	 * border of the polygon is regarded to be part of it, same as for
+	 * {@link #contains(Point)}. In contrast to {@link #contains(Point)}, no
+	 * intermediate objects are created.
+	 *
+	 * @param coordinates
+	 *            an array containing alternating x and y coordinates of the
+	 *            polygon's vertices
+	 * @param offset
+	 *            the index of the x coordinate of the first vertex
+	 * @param numPoints
+	 *            the number of vertices
+	 * @param x
+	 *            the x coordinate of the point to test
+	 * @param y
+	 *            the y coordinate of the point to test
+	 * @return <code>true</code> if the point is contained by the polygon,
+	 *         otherwise <code>false</code>
+	 */
+	public static boolean contains(double[] coordinates, int offset,
+			int numPoints, double x, double y) {
+		if (numPoints == 0) {
+			return false;
+		}
+		int end = offset + 2 * numPoints;
+		boolean odd = false;
+		for (int i = offset; i < end; i += 2) {
+			int j = i + 2 < end ? i + 2 : offset;
+			double x1 = coordinates[i];
+			double y1 = coordinates[i + 1];
+			double x2 = coordinates[j];
+			double y2 = coordinates[j + 1];
+			if (Line.contains(x1, y1, x2, y2, x, y)) {
+				return true;
+			}
+			// count crossings of the ray from (x, y) in positive x direction;
+			// a vertex on the ray is counted for the edge in which it is the
+			// one with the greater y coordinate
+			if (y1 >= y != y2 >= y) {
+				double xi = x1 + (y - y1) * (x2 - x1) / (y2 - y1);
+				if (xi >= x) {
+					odd = !odd;
+				}
+			}
+		}
+		return odd;
+	}
+
 	/**
 	 * Searches the given list of {@link Point}s for a vertex that starts an
 	 * ear. An ear is a list of 3 vertices which build up a triangle that lies
@@ -269,7 +320,9 @@ public class Polygon extends AbstractPointListBasedGeometry<Polygon>
 
 		Set<Double> intersectionParams = new HashSet<>();
 
-		for (Line seg : getOutlineSegments()) {
+		for (Line seg : getOutlineSegments(
+				Math.min(line.getY1(), line.getY2()),
+				Math.max(line.getY1(), line.getY2()))) {
 			Point poi = seg.getIntersection(line);
 			if (poi != null) {
 				intersectionParams.add(line.getParameterAt(poi));
@@ -312,6 +365,11 @@ public class Polygon extends AbstractPointListBasedGeometry<Polygon>
 			return points[0].equals(p);
 		} else if (points.length == 2) {
 			return new Line(points[0], points[1]).contains(p);
+		} else if (points.length >= SEGMENT_INDEX_THRESHOLD) {
+			// locate the point using the segment index, which yields the
+			// same result as the linear test below
+			int crossings = getSegmentIndex(true).locate(p.x, p.y);
+			return crossings == SegmentIndex.ON_SEGMENT || crossings % 2 == 1;
 		} else {
 			// perform a quick rejection test via the bounds
 			Rectangle bounds = getBounds();
@@ -549,6 +607,25 @@ public class Polygon extends AbstractPointListBasedGeometry<Polygon>
 		return PointListUtils.toSegmentsArray(points, true);
 	}
 
+	/**
+	 * Returns the segments of this {@link Polygon} that may overlap the given
+	 * vertical range. For {@link Polygon}s with many segments, these are
+	 * determined using the segment index, otherwise all segments are returned.
+	 */
+	private Line[] getOutlineSegments(double minY, double maxY) {
+		if (points.length < SEGMENT_INDEX_THRESHOLD) {
+			return getOutlineSegments();
+		}
+		int[] indices = getSegmentIndex(true).getSegments(minY, maxY);
+		Line[] segments = new Line[indices.length];
+		for (int i = 0; i < indices.length; i++) {
+			int j = indices[i];
+			segments[i] = new Line(points[j],
+					points[j + 1 < points.length ? j + 1 : 0]);
+		}
+		return segments;
+	}
+
 	/**
 	 * Computes the signed area of this {@link Polygon}. The sign of the area is
 	 * negative for counter clockwise ordered vertices. It is positive for
@@ -580,20 +657,73 @@ public class Polygon extends AbstractPointListBasedGeometry<Polygon>
 	@Override
 	public Polygon getTransformed(AffineTransform t) {
 		// shape type should remain polygon (not path)
-		return new Polygon(t.getTransformed(points));
+		return new Polygon(getTransformedCoordinates(t));
 	}
 
 	/**
 	 * Naive, recursive ear-clipping algorithm to triangulate this simple,
-	 * planar {@link Polygon}.
+	 * planar {@link Polygon}. An {@link IllegalStateException} is thrown if
+	 * this {@link Polygon} is not simple.
 	 *
 	 * @return triangulation {@link Polygon}s (triangles)
+	 * @see #getTriangulation(boolean)
 	 */
 	public Polygon[] getTriangulation() {
-		assureSimplicity();
-		ArrayList<Polygon> ears = new ArrayList<>(points.length - 2);
-		triangulate(this, ears);
-		return ears.toArray(new Polygon[] {});
+		return getTriangulation(true);
+	}
+
+	/**
+	 * Triangulates this simple, planar {@link Polygon}. If
+	 * <code>earClipping</code> is <code>true</code>, the naive, recursive
+	 * ear-clipping algorithm is used, which verifies that this {@link Polygon}
+	 * is simple, but requires at least quadratic time. Otherwise, the
+	 * triangulation is computed by partitioning this {@link Polygon} into
+	 * monotone pieces (see {@link #getTriangulationIndices()}).
+	 *
+	 * @param earClipping
+	 *            <code>true</code> to use the ear-clipping algorithm,
+	 *            <code>false</code> to use monotone partitioning
+	 * @return triangulation {@link Polygon}s (triangles)
+	 */
+	public Polygon[] getTriangulation(boolean earClipping) {
+		if (earClipping) {
+			assureSimplicity();
+			ArrayList<Polygon> ears = new ArrayList<>(points.length - 2);
+			triangulate(this, ears);
+			return ears.toArray(new Polygon[] {});
+		}
+		int[] indices = getTriangulationIndices();
+		Polygon[] triangles = new Polygon[indices.length / 3];
+		for (int i = 0; i < triangles.length; i++) {
+			triangles[i] = new Polygon(points[indices[3 * i]],
+					points[indices[3 * i + 1]], points[indices[3 * i + 2]]);
+		}
+		return triangles;
+	}
+
+	/**
+	 * Triangulates this simple, planar {@link Polygon} by partitioning it into
+	 * monotone pieces, which requires O(n log n) time. The triangles are
+	 * returned as an index buffer, i.e. each three successive values of the
+	 * returned array are the indices of the vertices of one triangle within
+	 * {@link #getPoints()}. All triangles are oriented like this
+	 * {@link Polygon}. Successive duplicate vertices are ignored.
+	 * <p>
+	 * In contrast to the ear-clipping algorithm (see
+	 * {@link #getTriangulation(boolean)}), it is not verified that this
+	 * {@link Polygon} is simple. An {@link IllegalStateException} is thrown if
+	 * this {@link Polygon} touches itself at a vertex, but other
+	 * self-intersections are only detected by chance.
+	 *
+	 * @return the vertex indices of the triangles (three per triangle)
+	 */
+	public int[] getTriangulationIndices() {
+		if (points.length < 3) {
+			throw new IllegalStateException(
+					"A polygon can only be constructed of at least 3 vertices.");
+		}
+		return PolygonTriangulator.triangulate(
+				PointListUtils.toCoordinatesArray(points), 0, points.length);
 	}
 
 	/**
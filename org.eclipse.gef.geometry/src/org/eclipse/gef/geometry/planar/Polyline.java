@@ -34,6 +34,62 @@ public class Polyline extends AbstractPointListBasedGeometry<Polyline>
 
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * Tests whether the polyline that is given by an alternating sequence of x
+	 * and y coordinates within the given array contains the given point, i.e.
+	 * whether the point lies on one of its segments. In contrast to
+	 * {@link #contains(Point)}, no intermediate objects are created.
+	 *
+	 * @param coordinates
+	 *            an array containing alternating x and y coordinates of the
+	 *            polyline's points
+	 * @param offset
+	 *            the index of the x coordinate of the first point
+	 * @param numPoints
+	 *            the number of points
+	 * @param x
+	 *            the x coordinate of the point to test
+	 * @param y
+	 *            the y coordinate of the point to test
+	 * @return <code>true</code> if the point is contained by the polyline,
+	 *         otherwise <code>false</code>
+	 */
+	public static boolean contains(double[] coordinates, int offset,
+			int numPoints, double x, double y) {
+		for (int i = offset; i + 2 < offset + 2 * numPoints; i += 2) {
+			if (Line.contains(coordinates[i], coordinates[i + 1],
+					coordinates[i + 2], coordinates[i + 3], x, y)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Computes the length of the polyline that is given by an alternating
+	 * sequence of x and y coordinates within the given array, i.e. the sum of
+	 * the lengths of its segments.
+	 *
+	 * @param coordinates
+	 *            an array containing alternating x and y coordinates of the
+	 *            polyline's points
+	 * @param offset
+	 *            the index of the x coordinate of the first point
+	 * @param numPoints
+	 *            the number of points
+	 * @return the length of the polyline
+	 */
+	public static double getLength(double[] coordinates, int offset,
+			int numPoints) {
+		double length = 0;
+		for (int i = offset; i + 2 < offset + 2 * numPoints; i += 2) {
+			double dx = coordinates[i + 2] - coordinates[i];
+			double dy = coordinates[i + 3] - coordinates[i + 1];
+			length += Math.sqrt(dx * dx + dy * dy);
+		}
+		return length;
+	}
+
 	/**
 	 * Constructs a new {@link Polyline} from a even-numbered sequence of
 	 * coordinates. Similar to {@link Polyline#Polyline(Point...)}, only that
@@ -93,6 +149,10 @@ public class Polyline extends AbstractPointListBasedGeometry<Polyline>
 
 	@Override
 	public boolean contains(Point p) {
+		if (points.length >= SEGMENT_INDEX_THRESHOLD) {
+			return getSegmentIndex(false).locate(p.x,
+					p.y) == SegmentIndex.ON_SEGMENT;
+		}
 		for (int i = 0; i + 1 < points.length; i++) {
 			Point p1 = points[i];
 			Point p2 = points[i + 1];
@@ -166,8 +226,8 @@ public class Polyline extends AbstractPointListBasedGeometry<Polyline>
 	// TODO: tests
 	public double getLength() {
 		double length = 0;
-		for (Line line : getCurves()) {
-			length += line.getLength();
+		for (int i = 0; i + 1 < points.length; i++) {
+			length += points[i].getDistance(points[i + 1]);
 		}
 		return length;
 	}
@@ -205,7 +265,7 @@ public class Polyline extends AbstractPointListBasedGeometry<Polyline>
 
 	@Override
 	public Polyline getTransformed(AffineTransform t) {
-		return new Polyline(t.getTransformed(points));
+		return new Polyline(getTransformedCoordinates(t));
 	}
 
 	@Override
@@ -22,6 +22,7 @@ import java.util.Set;
 import java.util.Stack;
 
 import org.eclipse.gef.geometry.euclidean.Angle;
+import org.eclipse.gef.geometry.internal.utils.RectangleBands;
 
 /**
  * A combination of {@link Rectangle}s. The {@link Rectangle}s that build up a
@@ -83,6 +84,13 @@ public class Region extends AbstractMultiShape
 
 	private ArrayList<Rectangle> rects;
 
+	/**
+	 * Band decomposition of the internal {@link Rectangle}s, which is used to
+	 * speed up containment tests. It is lazily computed and discarded whenever
+	 * the internal {@link Rectangle}s may have changed.
+	 */
+	private transient RectangleBands bands;
+
 	/**
 	 * Constructs a new {@link Region} not covering any area.
 	 */
@@ -95,7 +103,9 @@ public class Region extends AbstractMultiShape
 	 * s.
 	 *
 	 * The given {@link Rectangle}s are {@link #add(Rectangle)}ed to the
-	 * {@link Region} one after the other.
+	 * {@link Region} one after the other. To construct a {@link Region} from a
+	 * large number of {@link Rectangle}s, use {@link #addAll(Rectangle...)}
+	 * instead.
 	 *
 	 * @param rectangles
 	 *            The array of {@link Rectangle}s from which this {@link Region}
@@ -174,15 +184,54 @@ public class Region extends AbstractMultiShape
 		}
 
 		rects.addAll(toAdd);
+		bands = null;
+
+		return this;
+	}
 
+	/**
+	 * Adds all of the given {@link Rectangle}s to this {@link Region}.
+	 *
+	 * In contrast to {@link #add(Rectangle)}, the internal {@link Rectangle}s
+	 * are recomputed from scratch, using a sweep over the horizontal edges of
+	 * all (internal and given) {@link Rectangle}s. The resulting internal
+	 * {@link Rectangle}s form horizontal bands, so that {@link Rectangle}s
+	 * within the same band share their y-coordinate and height.
+	 * {@link Rectangle}s that do not cover any area are retained as they are.
+	 *
+	 * @param rectangles
+	 *            the {@link Rectangle}s to add to this {@link Region}
+	 * @return <code>this</code> for convenience
+	 */
+	public Region addAll(Rectangle... rectangles) {
+		List<Rectangle> all = new ArrayList<>(
+				rects.size() + rectangles.length);
+		all.addAll(rects);
+		all.addAll(Arrays.asList(rectangles));
+		bands = new RectangleBands(all);
+		rects = new ArrayList<>(Arrays.asList(bands.toRectangles()));
 		return this;
 	}
 
 	@Override
 	public boolean contains(IGeometry g) {
+		// the geometry is contained if its bounds are contained
+		Rectangle bounds = g.getBounds();
+		if (getBands().contains(bounds.x, bounds.y, bounds.width,
+				bounds.height)) {
+			return true;
+		}
+		if (g instanceof Rectangle && bounds.width > 0 && bounds.height > 0) {
+			return false;
+		}
 		return ShapeUtils.contains(this, g);
 	}
 
+	@Override
+	public boolean contains(Point p) {
+		return getBands().contains(p.x, p.y);
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (obj instanceof Region) {
@@ -224,6 +273,13 @@ public class Region extends AbstractMultiShape
 		return bounds;
 	}
 
+	private RectangleBands getBands() {
+		if (bands == null) {
+			bands = new RectangleBands(rects);
+		}
+		return bands;
+	}
+
 	@Override
 	public Region getCopy() {
 		return new Region(this);
@@ -320,6 +376,8 @@ public class Region extends AbstractMultiShape
 
 	@Override
 	public Rectangle[] getShapes() {
+		// the returned rectangles may be modified by the caller
+		bands = null;
 		return rects.toArray(new Rectangle[] {});
 	}
 
@@ -363,6 +421,7 @@ public class Region extends AbstractMultiShape
 		for (Rectangle r : rects) {
 			r.scale(fx, fy, cx, cy);
 		}
+		bands = null;
 		return this;
 	}
 
@@ -397,6 +456,7 @@ public class Region extends AbstractMultiShape
 		for (Rectangle r : rects) {
 			r.translate(dx, dy);
 		}
+		bands = null;
 		return this;
 	}
 
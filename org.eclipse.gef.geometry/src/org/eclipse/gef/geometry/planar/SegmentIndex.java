@@ -0,0 +1,496 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.planar;
+
+import java.util.Arrays;
+
+import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
+
+/**
+ * A {@link SegmentIndex} allows to locate a point relative to the segments
+ * between successive {@link Point}s of a {@link Polyline} or {@link Polygon}
+ * in logarithmic time.
+ * <p>
+ * The distinct y coordinates of the points divide the plane into horizontal
+ * lines and the open slabs between them. These are the leaves of a segment
+ * tree, in which each segment is stored in those (at most logarithmically
+ * many) nodes whose y-range it spans, not regarding the segment's end points.
+ * The segments stored in a node do not intersect within the node's y-range
+ * unless the outline intersects itself, so that they are sorted by their x
+ * coordinate, and the segments that are crossed by a horizontal ray, or that
+ * lie next to a point, can be found by binary searches. Nodes whose segments
+ * cannot be sorted, because they intersect, are searched linearly.
+ * <p>
+ * The segments that end near the y coordinate of a point are found by a binary
+ * search over the points sorted by their y coordinates.
+ */
+final class SegmentIndex {
+
+	/**
+	 * Value returned by {@link #locate(double, double)} if a segment contains
+	 * the given point.
+	 */
+	static final int ON_SEGMENT = -1;
+
+	private static final double MARGIN = 2
+			* PrecisionUtils.calculateFraction(0);
+
+	private final Point[] points;
+	private final int segmentCount;
+
+	// the point indices sorted by y coordinate, and their y coordinates
+	private final int[] pointsByY;
+	private final double[] sortedYs;
+
+	// the distinct y coordinates; leaf 2i represents the line at ys[i], leaf
+	// 2i + 1 the open slab between ys[i] and ys[i + 1]
+	private final double[] ys;
+	private final int leafCount;
+
+	// segments of node i are stored in nodeSegments[nodeStarts[i]] to
+	// nodeSegments[nodeStarts[i + 1]]; the root is node 1
+	private final int[] nodeStarts;
+	private final int[] nodeSegments;
+	private final boolean[] nodeSorted;
+	// maximal ratio of length to height of the segments of a node
+	private final double[] nodeSlopes;
+
+	/**
+	 * Creates a new {@link SegmentIndex} for the segments between successive
+	 * points of the given array, where segment <code>i</code> connects the
+	 * points <code>i</code> and <code>i + 1</code>. The index has to be
+	 * discarded as soon as the points are modified.
+	 *
+	 * @param points
+	 *            the points of the segments
+	 * @param closed
+	 *            whether the segment from the last to the first point is
+	 *            indexed, too
+	 */
+	SegmentIndex(Point[] points, boolean closed) {
+		this.points = points;
+		int n = points.length;
+		segmentCount = closed ? n : Math.max(0, n - 1);
+
+		// sort the points by y coordinate
+		pointsByY = new int[n];
+		double[] keys = new double[n];
+		for (int i = 0; i < n; i++) {
+			pointsByY[i] = i;
+			keys[i] = points[i].y;
+		}
+		sort(pointsByY, keys, 0, n, new int[n], new double[n]);
+		sortedYs = keys;
+		int distinct = 0;
+		double[] distinctYs = new double[n];
+		for (int i = 0; i < n; i++) {
+			if (i == 0 || sortedYs[i] != sortedYs[i - 1]) {
+				distinctYs[distinct++] = sortedYs[i];
+			}
+		}
+		ys = Arrays.copyOf(distinctYs, distinct);
+		leafCount = Math.max(1, 2 * distinct - 1);
+
+		// determine the leaves spanned by each segment (in two passes, first
+		// counting the segments of each node)
+		int nodeCount = 4 * leafCount;
+		int[] firstLeaves = new int[segmentCount];
+		int[] lastLeaves = new int[segmentCount];
+		nodeStarts = new int[nodeCount + 1];
+		for (int i = 0; i < segmentCount; i++) {
+			Point p1 = points[i];
+			Point p2 = points[i + 1 < n ? i + 1 : 0];
+			firstLeaves[i] = 2 * Arrays.binarySearch(ys, Math.min(p1.y, p2.y))
+					+ 1;
+			lastLeaves[i] = 2 * Arrays.binarySearch(ys, Math.max(p1.y, p2.y))
+					- 1;
+			if (firstLeaves[i] <= lastLeaves[i]) {
+				insert(1, 0, leafCount - 1, firstLeaves[i], lastLeaves[i], i,
+						null);
+			}
+		}
+		for (int i = 0; i < nodeCount; i++) {
+			nodeStarts[i + 1] += nodeStarts[i];
+		}
+		nodeSegments = new int[nodeStarts[nodeCount]];
+		int[] fill = new int[nodeCount];
+		for (int i = 0; i < segmentCount; i++) {
+			if (firstLeaves[i] <= lastLeaves[i]) {
+				insert(1, 0, leafCount - 1, firstLeaves[i], lastLeaves[i], i,
+						fill);
+			}
+		}
+
+		nodeSorted = new boolean[nodeCount];
+		nodeSlopes = new double[nodeCount];
+		sortNodes(1, 0, leafCount - 1);
+	}
+
+	/**
+	 * Adds the given segment to the nodes of the subtree of the given node
+	 * whose leaf range is spanned by the segment. If <i>fill</i> is
+	 * <code>null</code>, the segments of the nodes are counted, otherwise they
+	 * are stored.
+	 */
+	private void insert(int node, int lo, int hi, int firstLeaf, int lastLeaf,
+			int segment, int[] fill) {
+		if (firstLeaf <= lo && hi <= lastLeaf) {
+			if (fill == null) {
+				nodeStarts[node + 1]++;
+			} else {
+				nodeSegments[nodeStarts[node] + fill[node]++] = segment;
+			}
+			return;
+		}
+		int mid = (lo + hi) >>> 1;
+		if (firstLeaf <= mid) {
+			insert(2 * node, lo, mid, firstLeaf, lastLeaf, segment, fill);
+		}
+		if (lastLeaf > mid) {
+			insert(2 * node + 1, mid + 1, hi, firstLeaf, lastLeaf, segment,
+					fill);
+		}
+	}
+
+	/**
+	 * Sorts the segments of the nodes of the given subtree by their x
+	 * coordinate in the middle of the respective node's y-range, and checks
+	 * whether the order is the same at the bottom and top of that range.
+	 */
+	private void sortNodes(int node, int lo, int hi) {
+		int start = nodeStarts[node];
+		int end = nodeStarts[node + 1];
+		if (end > start) {
+			double bottom = ys[lo >> 1];
+			double top = ys[(hi + 1) >> 1];
+			double middle = (bottom + top) / 2;
+			int size = end - start;
+			double[] keys = new double[size];
+			int[] segments = new int[size];
+			double slope = 1;
+			for (int k = 0; k < size; k++) {
+				int i = nodeSegments[start + k];
+				segments[k] = i;
+				keys[k] = getX(i, middle);
+				Point p1 = points[i];
+				Point p2 = points[i + 1 < points.length ? i + 1 : 0];
+				slope = Math.max(slope, Math.hypot(p2.x - p1.x, p2.y - p1.y)
+						/ Math.abs(p2.y - p1.y));
+			}
+			sort(segments, keys, 0, size, new int[size], new double[size]);
+			System.arraycopy(segments, 0, nodeSegments, start, size);
+			boolean sorted = true;
+			for (int k = 1; k < size && sorted; k++) {
+				sorted = getX(segments[k - 1], bottom) <= getX(segments[k],
+						bottom)
+						&& getX(segments[k - 1], top) <= getX(segments[k], top);
+			}
+			nodeSorted[node] = sorted;
+			nodeSlopes[node] = slope;
+		}
+		if (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			sortNodes(2 * node, lo, mid);
+			sortNodes(2 * node + 1, mid + 1, hi);
+		}
+	}
+
+	/**
+	 * Sorts the given values (and keys) in the given range by their keys,
+	 * using a stable merge sort.
+	 */
+	private static void sort(int[] values, double[] keys, int from, int to,
+			int[] tmpValues, double[] tmpKeys) {
+		if (to - from < 2) {
+			return;
+		}
+		int mid = (from + to) >>> 1;
+		sort(values, keys, from, mid, tmpValues, tmpKeys);
+		sort(values, keys, mid, to, tmpValues, tmpKeys);
+		if (keys[mid - 1] <= keys[mid]) {
+			return;
+		}
+		int i = from;
+		int j = mid;
+		for (int k = from; k < to; k++) {
+			if (j >= to || i < mid && keys[i] <= keys[j]) {
+				tmpValues[k] = values[i];
+				tmpKeys[k] = keys[i++];
+			} else {
+				tmpValues[k] = values[j];
+				tmpKeys[k] = keys[j++];
+			}
+		}
+		System.arraycopy(tmpValues, from, values, from, to - from);
+		System.arraycopy(tmpKeys, from, keys, from, to - from);
+	}
+
+	/**
+	 * Returns the index of the first point (within {@link #pointsByY}) whose y
+	 * coordinate is not smaller than the given one.
+	 */
+	private int firstPointAbove(double y) {
+		int low = 0;
+		int high = sortedYs.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (sortedYs[mid] < y) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the leaf that contains the given y coordinate, or
+	 * <code>-1</code> if it lies outside the y-range of the points.
+	 */
+	private int getLeaf(double y) {
+		int i = Arrays.binarySearch(ys, y);
+		if (i >= 0) {
+			return 2 * i;
+		}
+		i = -i - 1;
+		return i == 0 || i == ys.length ? -1 : 2 * i - 1;
+	}
+
+	/**
+	 * Returns the indices of all segments that may overlap the given vertical
+	 * range (extended by the imprecision used by {@link PrecisionUtils}),
+	 * in ascending order.
+	 *
+	 * @param fromY
+	 *            the minimal y coordinate of the range
+	 * @param toY
+	 *            the maximal y coordinate of the range
+	 * @return the indices of the segments overlapping the given range
+	 */
+	int[] getSegments(double fromY, double toY) {
+		// segments that span the whole range, not regarding their end points,
+		// are stored along the path to the bottom of the range, all other
+		// overlapping segments end within the range
+		int from = firstPointAbove(fromY - MARGIN);
+		int to = firstPointAbove(Math.nextUp(toY + MARGIN));
+		int leaf = getLeaf(fromY);
+		int size = 2 * (to - from);
+		if (leaf >= 0) {
+			int lo = 0;
+			int hi = leafCount - 1;
+			int node = 1;
+			while (true) {
+				size += nodeStarts[node + 1] - nodeStarts[node];
+				if (lo == hi) {
+					break;
+				}
+				int mid = (lo + hi) >>> 1;
+				if (leaf <= mid) {
+					node = 2 * node;
+					hi = mid;
+				} else {
+					node = 2 * node + 1;
+					lo = mid + 1;
+				}
+			}
+		}
+		int[] segments = new int[size];
+		size = 0;
+		for (int k = from; k < to; k++) {
+			int i = pointsByY[k];
+			if (i > 0) {
+				segments[size++] = i - 1;
+			} else if (segmentCount == points.length) {
+				segments[size++] = segmentCount - 1;
+			}
+			if (i < segmentCount) {
+				segments[size++] = i;
+			}
+		}
+		if (leaf >= 0) {
+			int lo = 0;
+			int hi = leafCount - 1;
+			int node = 1;
+			while (true) {
+				for (int k = nodeStarts[node]; k < nodeStarts[node + 1]; k++) {
+					segments[size++] = nodeSegments[k];
+				}
+				if (lo == hi) {
+					break;
+				}
+				int mid = (lo + hi) >>> 1;
+				if (leaf <= mid) {
+					node = 2 * node;
+					hi = mid;
+				} else {
+					node = 2 * node + 1;
+					lo = mid + 1;
+				}
+			}
+		}
+		Arrays.sort(segments, 0, size);
+		int distinct = 0;
+		for (int k = 0; k < size; k++) {
+			if (k == 0 || segments[k] != segments[k - 1]) {
+				segments[distinct++] = segments[k];
+			}
+		}
+		return Arrays.copyOf(segments, distinct);
+	}
+
+	/**
+	 * Computes the x coordinate of the given segment at the given y
+	 * coordinate, in the same way as the crossing test of
+	 * {@link Polygon#contains(double[], int, int, double, double)}.
+	 */
+	private double getX(int segment, double y) {
+		Point p1 = points[segment];
+		Point p2 = points[segment + 1 < points.length ? segment + 1 : 0];
+		return p1.x + (y - p1.y) * (p2.x - p1.x) / (p2.y - p1.y);
+	}
+
+	/**
+	 * Locates the given point relative to the indexed segments. If a segment
+	 * contains the point (see {@link Line#contains(double, double, double,
+	 * double, double, double)}), {@link #ON_SEGMENT} is returned. Otherwise
+	 * the number of segments is returned that are crossed by a horizontal ray
+	 * from the given point to the right, where a segment is regarded as being
+	 * crossed if the point's y coordinate lies within its half-open y-range
+	 * (so that an even number is returned for a point outside of a closed
+	 * outline).
+	 *
+	 * @param x
+	 *            the x coordinate of the point
+	 * @param y
+	 *            the y coordinate of the point
+	 * @return {@link #ON_SEGMENT} or the number of crossings of a ray from the
+	 *         point to the right
+	 */
+	int locate(double x, double y) {
+		int crossings = 0;
+
+		// test the segments that end near the point's y coordinate
+		int n = points.length;
+		for (int k = firstPointAbove(y - MARGIN); k < n
+				&& sortedYs[k] <= y + MARGIN; k++) {
+			int i = pointsByY[k];
+			int previous = i > 0 ? i - 1
+					: segmentCount == n ? segmentCount - 1 : -1;
+			if (previous >= 0) {
+				if (segmentContains(previous, x, y)) {
+					return ON_SEGMENT;
+				}
+				if (sortedYs[k] == y && points[previous].y < y
+						&& getX(previous, y) >= x) {
+					crossings++;
+				}
+			}
+			if (i < segmentCount) {
+				if (segmentContains(i, x, y)) {
+					return ON_SEGMENT;
+				}
+				if (sortedYs[k] == y && points[i + 1 < n ? i + 1 : 0].y < y
+						&& getX(i, y) >= x) {
+					crossings++;
+				}
+			}
+		}
+
+		// test the segments that span the point's y coordinate
+		int leaf = getLeaf(y);
+		if (leaf < 0) {
+			return crossings;
+		}
+		int lo = 0;
+		int hi = leafCount - 1;
+		int node = 1;
+		while (true) {
+			int start = nodeStarts[node];
+			int end = nodeStarts[node + 1];
+			if (start < end) {
+				int result = locate(node, start, end, x, y);
+				if (result == ON_SEGMENT) {
+					return ON_SEGMENT;
+				}
+				crossings += result;
+			}
+			if (lo == hi) {
+				return crossings;
+			}
+			int mid = (lo + hi) >>> 1;
+			if (leaf <= mid) {
+				node = 2 * node;
+				hi = mid;
+			} else {
+				node = 2 * node + 1;
+				lo = mid + 1;
+			}
+		}
+	}
+
+	/**
+	 * Locates the given point relative to the segments of the given node, all
+	 * of which span the point's y coordinate.
+	 */
+	private int locate(int node, int start, int end, double x, double y) {
+		if (!nodeSorted[node]) {
+			int crossings = 0;
+			for (int k = start; k < end; k++) {
+				int i = nodeSegments[k];
+				if (segmentContains(i, x, y)) {
+					return ON_SEGMENT;
+				}
+				if (getX(i, y) >= x) {
+					crossings++;
+				}
+			}
+			return crossings;
+		}
+
+		// find the first segment right of the point
+		int low = start;
+		int high = end;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (getX(nodeSegments[mid], y) < x) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+
+		// a segment containing the point lies within a horizontal distance
+		// that depends on its slope
+		double distance = MARGIN * (nodeSlopes[node] + 1);
+		for (int k = low; k < end
+				&& getX(nodeSegments[k], y) - x <= distance; k++) {
+			if (segmentContains(nodeSegments[k], x, y)) {
+				return ON_SEGMENT;
+			}
+		}
+		for (int k = low - 1; k >= start
+				&& x - getX(nodeSegments[k], y) <= distance; k--) {
+			if (segmentContains(nodeSegments[k], x, y)) {
+				return ON_SEGMENT;
+			}
+		}
+		return end - low;
+	}
+
+	private boolean segmentContains(int segment, double x, double y) {
+		Point p1 = points[segment];
+		Point p2 = points[segment + 1 < points.length ? segment + 1 : 0];
+		return Line.contains(p1.x, p1.y, p2.x, p2.y, x, y);
+	}
+
+}
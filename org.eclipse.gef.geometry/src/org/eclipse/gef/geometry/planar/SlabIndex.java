@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.geometry.planar;
+
+import org.eclipse.gef.geometry.internal.utils.PrecisionUtils;
+
+/**
+ * A {@link SlabIndex} divides the vertical extent of a number of items (e.g.
+ * the curves of a {@link PolyBezier}) into horizontal slabs of equal height,
+ * and records for each slab the items whose vertical extent overlaps it. The
+ * vertical extents are enlarged by the imprecision used by
+ * {@link PrecisionUtils}, so that all items that may (imprecisely) contain a
+ * point are found within the slab of that point.
+ * <p>
+ * The number of slabs is chosen in relation to the number and height of the
+ * items, so that the index requires linear space. Queries do not create any
+ * objects.
+ */
+final class SlabIndex {
+
+	private static final double MARGIN = 2
+			* PrecisionUtils.calculateFraction(0);
+
+	private final double minY;
+	private final double maxY;
+	private final double slabHeight;
+	private final int slabCount;
+
+	// items of slab i are stored in items[starts[i]] to items[starts[i + 1]]
+	private final int[] starts;
+	private final int[] items;
+
+	/**
+	 * Creates a new {@link SlabIndex} for the items whose vertical extents are
+	 * given by the passed-in arrays.
+	 *
+	 * @param minYs
+	 *            the minimal y coordinate of each item
+	 * @param maxYs
+	 *            the maximal y coordinate of each item
+	 */
+	SlabIndex(double[] minYs, double[] maxYs) {
+		int n = minYs.length;
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		double heights = 0;
+		for (int i = 0; i < n; i++) {
+			min = Math.min(min, minYs[i]);
+			max = Math.max(max, maxYs[i]);
+			heights += maxYs[i] - minYs[i];
+		}
+		minY = min - MARGIN;
+		maxY = max + MARGIN;
+		double height = maxY - minY;
+
+		// an item spans about (height of item / slab height) slabs, so choose
+		// the number of slabs such that there are about 3n references in total
+		int count = 1;
+		if (n > 1 && height > 2 * MARGIN) {
+			double estimate = 2 * n * height / Math.max(heights, height);
+			count = (int) Math.max(1, Math.min(n, estimate));
+		}
+		slabCount = count;
+		slabHeight = height / count;
+
+		int[] firstSlabs = new int[n];
+		int[] lastSlabs = new int[n];
+		starts = new int[count + 1];
+		for (int i = 0; i < n; i++) {
+			firstSlabs[i] = getSlabUnchecked(minYs[i] - MARGIN);
+			lastSlabs[i] = getSlabUnchecked(maxYs[i] + MARGIN);
+			for (int s = firstSlabs[i]; s <= lastSlabs[i]; s++) {
+				starts[s + 1]++;
+			}
+		}
+		for (int s = 0; s < count; s++) {
+			starts[s + 1] += starts[s];
+		}
+		items = new int[starts[count]];
+		int[] fill = new int[count];
+		for (int i = 0; i < n; i++) {
+			for (int s = firstSlabs[i]; s <= lastSlabs[i]; s++) {
+				items[starts[s] + fill[s]++] = i;
+			}
+		}
+	}
+
+	/**
+	 * Returns the index (within {@link #getItem(int)}) after the last item of
+	 * the given slab.
+	 *
+	 * @param slab
+	 *            the slab
+	 * @return the end index of the items of the given slab
+	 */
+	int getEnd(int slab) {
+		return starts[slab + 1];
+	}
+
+	/**
+	 * Returns the item at the given index, which has to lie between
+	 * {@link #getStart(int)} and {@link #getEnd(int)} of a slab.
+	 *
+	 * @param index
+	 *            the index
+	 * @return the item at the given index
+	 */
+	int getItem(int index) {
+		return items[index];
+	}
+
+	/**
+	 * Returns the slab that contains the given y coordinate, or
+	 * <code>-1</code> if it is not covered by any item.
+	 *
+	 * @param y
+	 *            the y coordinate
+	 * @return the slab containing the given y coordinate or <code>-1</code>
+	 */
+	int getSlab(double y) {
+		if (y < minY || y > maxY) {
+			return -1;
+		}
+		return getSlabUnchecked(y);
+	}
+
+	private int getSlabUnchecked(double y) {
+		int slab = (int) ((y - minY) / slabHeight);
+		return slab < 0 ? 0 : slab >= slabCount ? slabCount - 1 : slab;
+	}
+
+	/**
+	 * Returns the index (within {@link #getItem(int)}) of the first item of
+	 * the given slab.
+	 *
+	 * @param slab
+	 *            the slab
+	 * @return the start index of the items of the given slab
+	 */
+	int getStart(int slab) {
+		return starts[slab];
+	}
+
+}
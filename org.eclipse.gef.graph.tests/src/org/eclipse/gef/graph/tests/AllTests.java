@@ -17,6 +17,7 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({ GraphBuilderTests.class, GraphCopierTests.class })
+@SuiteClasses({ GraphBuilderTests.class, GraphCopierTests.class,
+		ColumnarAttributesTests.class })
 public class AllTests {
 }
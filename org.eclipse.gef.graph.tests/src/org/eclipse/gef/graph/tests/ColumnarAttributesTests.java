@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.junit.Test;
+
+import javafx.collections.MapChangeListener;
+import javafx.collections.ObservableMap;
+
+public class ColumnarAttributesTests {
+
+	@Test
+	public void buildColumnarGraph() {
+		Graph graph = new Graph.Builder().columnarAttributes(true).node("a")
+				.attr("label", "a").attr("width", 10.5).attr("visible", true)
+				.node("b").attr("label", "b").attr("rank", 2).edge("a", "b")
+				.attr("weight", 0.5).build();
+		assertTrue(graph.isColumnarAttributes());
+		assertFalse(new Graph().isColumnarAttributes());
+
+		Node a = graph.getNodes().get(0);
+		Node b = graph.getNodes().get(1);
+		assertEquals("a", a.getAttributes().get("label"));
+		assertEquals(10.5, a.getAttributes().get("width"));
+		assertEquals(true, a.getAttributes().get("visible"));
+		assertNull(a.getAttributes().get("rank"));
+		assertEquals(3, a.getAttributes().size());
+		assertEquals(2, b.getAttributes().get("rank"));
+		assertEquals(2, b.getAttributes().size());
+		assertEquals(0.5,
+				graph.getEdges().get(0).getAttributes().get("weight"));
+		assertSame(a.getAttributes(), a.attributesProperty().get());
+	}
+
+	@Test
+	public void mixedValueTypes() {
+		Graph graph = new Graph.Builder().columnarAttributes(true).node("a")
+				.attr("value", 1.0).node("b").attr("value", 2.0).build();
+		Node a = graph.getNodes().get(0);
+		Node b = graph.getNodes().get(1);
+		Object point = new Object();
+		a.getAttributes().put("value", point);
+		assertSame(point, a.getAttributes().get("value"));
+		assertEquals(2.0, b.getAttributes().get("value"));
+		a.getAttributes().put("value", null);
+		assertTrue(a.getAttributes().containsKey("value"));
+		assertNull(a.getAttributes().get("value"));
+		a.getAttributes().remove("value");
+		assertFalse(a.getAttributes().containsKey("value"));
+	}
+
+	@Test
+	public void transferOnAddAndRemove() {
+		Graph graph = new Graph.Builder().columnarAttributes(true).build();
+		Node node = new Node();
+		ObservableMap<String, Object> attributes = node.getAttributes();
+		attributes.put("label", "n");
+		final List<String> changes = new ArrayList<>();
+		attributes.addListener(new MapChangeListener<String, Object>() {
+			@Override
+			public void onChanged(
+					MapChangeListener.Change<? extends String, ? extends Object> change) {
+				changes.add(change.getKey());
+			}
+		});
+
+		// the attributes are transferred without notifications
+		graph.getNodes().add(node);
+		assertEquals("n", attributes.get("label"));
+		assertTrue(changes.isEmpty());
+
+		attributes.put("label", "m");
+		assertEquals("m", node.getAttributes().get("label"));
+		assertEquals(1, changes.size());
+
+		graph.getNodes().remove(node);
+		assertEquals("m", attributes.get("label"));
+
+		// rows of removed elements are reused without leaking values
+		Node other = new Node();
+		graph.getNodes().add(other);
+		assertTrue(other.getAttributes().isEmpty());
+	}
+
+	@Test
+	public void sameAttributesAsPerElementStorage() {
+		Graph.Builder columnar = new Graph.Builder().columnarAttributes(true);
+		Graph.Builder perElement = new Graph.Builder();
+		for (Graph.Builder builder : new Graph.Builder[] { columnar,
+				perElement }) {
+			for (int i = 0; i < 100; i++) {
+				builder.node(i).attr("label", Integer.toString(i))
+						.attr("index", i).attr("even", i % 2 == 0);
+			}
+			for (int i = 1; i < 100; i++) {
+				builder.edge(i - 1, i).attr("length", i / 2.0);
+			}
+		}
+		Graph columnarGraph = columnar.build();
+		Graph perElementGraph = perElement.build();
+		for (int i = 0; i < 100; i++) {
+			assertEquals(perElementGraph.getNodes().get(i).getAttributes(),
+					columnarGraph.getNodes().get(i).getAttributes());
+		}
+		for (int i = 0; i < 99; i++) {
+			Edge edge = columnarGraph.getEdges().get(i);
+			assertEquals(perElementGraph.getEdges().get(i).getAttributes(),
+					edge.getAttributes());
+		}
+	}
+
+}
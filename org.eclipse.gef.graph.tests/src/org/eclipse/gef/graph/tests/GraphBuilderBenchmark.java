@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.graph.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+
+/**
+ * Measures the run time of the construction of large {@link Graph}s, using
+ * the {@link Graph.Builder} as well as the {@link Graph} constructor, for
+ * 10k, 100k, and 1M elements (half of them nodes, half of them edges). This is
+ * not part of the {@link AllTests} suite, but is to be started as a Java
+ * application.
+ */
+public class GraphBuilderBenchmark {
+
+	private static final int[] SIZES = { 10000, 100000, 1000000 };
+
+	private static final int RUNS = 3;
+
+	private static Graph buildWithBuilder(int nodeCount, int[] targets) {
+		Graph.Builder builder = new Graph.Builder();
+		for (int i = 0; i < nodeCount; i++) {
+			builder.node(i).attr("label", Integer.toString(i));
+		}
+		for (int i = 0; i < nodeCount; i++) {
+			builder.edge(i, targets[i]);
+		}
+		return builder.build();
+	}
+
+	private static Graph buildWithConstructor(int nodeCount, int[] targets) {
+		List<Node> nodes = new ArrayList<>(nodeCount);
+		for (int i = 0; i < nodeCount; i++) {
+			Node node = new Node();
+			node.attributesProperty().put("label", Integer.toString(i));
+			nodes.add(node);
+		}
+		List<Edge> edges = new ArrayList<>(nodeCount);
+		for (int i = 0; i < nodeCount; i++) {
+			edges.add(new Edge(nodes.get(i), nodes.get(targets[i])));
+		}
+		return new Graph(nodes, edges);
+	}
+
+	public static void main(String[] args) {
+		for (int size : SIZES) {
+			int nodeCount = size / 2;
+			Random random = new Random(size);
+			int[] targets = new int[nodeCount];
+			for (int i = 0; i < nodeCount; i++) {
+				targets[i] = random.nextInt(nodeCount);
+			}
+			for (int run = 0; run < RUNS; run++) {
+				long start = System.nanoTime();
+				Graph builderGraph = buildWithBuilder(nodeCount, targets);
+				long builder = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				Graph constructorGraph = buildWithConstructor(nodeCount,
+						targets);
+				long constructor = System.nanoTime() - start;
+
+				System.out.println(size + " elements: Graph.Builder "
+						+ builder / 1000000 + "ms, Graph constructor "
+						+ constructor / 1000000 + "ms ("
+						+ (builderGraph.getNodes().size()
+								+ constructorGraph.getEdges().size())
+						+ " results)");
+			}
+		}
+	}
+
+}
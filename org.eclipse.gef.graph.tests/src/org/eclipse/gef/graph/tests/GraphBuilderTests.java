@@ -12,6 +12,8 @@
 package org.eclipse.gef.graph.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -195,6 +197,30 @@ public class GraphBuilderTests {
 				.get("label"), "n3");
 	}
 
+	@Test
+	public void graphAssociation() {
+		Graph g = new Graph.Builder().node("a").node("b").edge("a", "b")
+				.build();
+		for (Node n : g.getNodes()) {
+			assertSame(g, n.getGraph());
+		}
+		assertSame(g, g.getEdges().get(0).getGraph());
+
+		// replacing the nodes and edges by themselves keeps the association
+		g.getNodes().setAll(new ArrayList<>(g.getNodes()));
+		g.getEdges().setAll(new ArrayList<>(g.getEdges()));
+		for (Node n : g.getNodes()) {
+			assertSame(g, n.getGraph());
+		}
+		assertSame(g, g.getEdges().get(0).getGraph());
+
+		// removed nodes and edges are no longer associated
+		Edge e = g.getEdges().remove(0);
+		Node n = g.getNodes().remove(0);
+		assertNull(e.getGraph());
+		assertNull(n.getGraph());
+	}
+
 	/**
 	 * Test that values are overwritten in the order they are specified in the
 	 * builder.
@@ -12,13 +12,17 @@
 package org.eclipse.gef.graph.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.eclipse.gef.common.attributes.IAttributeCopier;
+import org.eclipse.gef.common.attributes.IAttributeStore;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.graph.GraphCopier;
@@ -105,4 +109,60 @@ public class GraphCopierTests {
 		}
 	}
 
+	@Test
+	public void parallelCopy() {
+		Graph g = genGraph(1000);
+		g.getNodes().get(1).setNestedGraph(genGraph(500));
+		GraphCopier copier = new GraphCopier(IAttributeCopier.SHALLOW_COPY);
+		assertFalse(copier.isParallel());
+		copier.setParallel(true);
+		Graph copy = copier.copy(g);
+
+		// copies are in the order of the input elements
+		assertEquals(1000, copy.getNodes().size());
+		assertEquals(999, copy.getEdges().size());
+		assertEquals(1500, copier.getInputToOutputNodeMap().size());
+		assertEquals(1498, copier.getInputToOutputEdgeMap().size());
+		for (int i = 0; i < 1000; i++) {
+			Node inputNode = g.getNodes().get(i);
+			Node outputNode = copy.getNodes().get(i);
+			assertSame(outputNode,
+					copier.getInputToOutputNodeMap().get(inputNode));
+			assertSame(inputNode.getAttributes().get(ID),
+					outputNode.getAttributes().get(ID));
+		}
+		for (int i = 0; i < 999; i++) {
+			Edge inputEdge = g.getEdges().get(i);
+			Edge outputEdge = copy.getEdges().get(i);
+			assertSame(outputEdge,
+					copier.getInputToOutputEdgeMap().get(inputEdge));
+			assertSame(copy.getNodes().get(i), outputEdge.getSource());
+			assertSame(copy.getNodes().get(i + 1), outputEdge.getTarget());
+		}
+
+		// nested graph
+		Graph nested = copy.getNodes().get(1).getNestedGraph();
+		assertEquals(500, nested.getNodes().size());
+		assertEquals(499, nested.getEdges().size());
+		assertSame(nested.getNodes().get(0),
+				nested.getEdges().get(0).getSource());
+	}
+
+	@Test
+	public void parallelCopyRequiresThreadSafeCopier() {
+		final Set<Thread> threads = new HashSet<>();
+		GraphCopier copier = new GraphCopier(new IAttributeCopier() {
+
+			@Override
+			public void copy(IAttributeStore source, IAttributeStore target) {
+				threads.add(Thread.currentThread());
+			}
+		});
+		copier.setParallel(true);
+		Graph copy = copier.copy(genGraph(1000));
+		assertEquals(1000, copy.getNodes().size());
+		assertEquals(1, threads.size());
+		assertTrue(threads.contains(Thread.currentThread()));
+	}
+
 }
@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.graph;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.gef.common.collections.MapListenerHelperEx;
+
+import javafx.beans.InvalidationListener;
+import javafx.collections.MapChangeListener;
+import javafx.collections.ObservableMap;
+
+/**
+ * The {@link AttributeMap} is the {@link ObservableMap} that holds the
+ * attributes of a {@link Node} or {@link Edge}. It stores the attributes
+ * either in a (lazily created) {@link HashMap} of its own, or in a row of the
+ * {@link AttributeTable} of the {@link Graph} that contains the element, if
+ * that {@link Graph} uses columnar attributes. The attributes are transferred
+ * between both storages when the element is added to or removed from such a
+ * {@link Graph} (see {@link #setTable(AttributeTable)}), so that references to
+ * the {@link AttributeMap} and registered listeners remain valid.
+ */
+final class AttributeMap extends AbstractMap<String, Object>
+		implements ObservableMap<String, Object> {
+
+	private final class EntryIterator
+			implements Iterator<Map.Entry<String, Object>> {
+
+		// iterate over a snapshot of the keys, so that the map can be
+		// modified during iteration
+		private final Iterator<String> keys = new ArrayList<>(keys())
+				.iterator();
+		private String current;
+
+		@Override
+		public boolean hasNext() {
+			return keys.hasNext();
+		}
+
+		@Override
+		public Map.Entry<String, Object> next() {
+			if (!keys.hasNext()) {
+				throw new NoSuchElementException();
+			}
+			current = keys.next();
+			final String key = current;
+			return new SimpleEntry<String, Object>(key, get(key)) {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public Object setValue(Object value) {
+					super.setValue(value);
+					return put(key, value);
+				}
+			};
+		}
+
+		@Override
+		public void remove() {
+			if (current == null) {
+				throw new IllegalStateException();
+			}
+			AttributeMap.this.remove(current);
+			current = null;
+		}
+	}
+
+	private Map<String, Object> local;
+	private AttributeTable table;
+	private int row = -1;
+	private MapListenerHelperEx<String, Object> helper;
+
+	@Override
+	public void addListener(InvalidationListener listener) {
+		getHelper().addListener(listener);
+	}
+
+	@Override
+	public void addListener(
+			MapChangeListener<? super String, ? super Object> listener) {
+		getHelper().addListener(listener);
+	}
+
+	@Override
+	public void clear() {
+		for (String key : keys()) {
+			remove(key);
+		}
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		if (table != null) {
+			return table.containsKey(row, key);
+		}
+		return local != null && local.containsKey(key);
+	}
+
+	@Override
+	public Set<Map.Entry<String, Object>> entrySet() {
+		return new AbstractSet<Map.Entry<String, Object>>() {
+
+			@Override
+			public void clear() {
+				AttributeMap.this.clear();
+			}
+
+			@Override
+			public Iterator<Map.Entry<String, Object>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return AttributeMap.this.size();
+			}
+		};
+	}
+
+	private void fireChange(String key, Object removedValue,
+			Object addedValue) {
+		if (helper != null) {
+			helper.fireValueChangedEvent(
+					new MapListenerHelperEx.AtomicChange<String, Object>(this,
+							key, removedValue, addedValue));
+		}
+	}
+
+	@Override
+	public Object get(Object key) {
+		if (table != null) {
+			return table.get(row, key);
+		}
+		return local == null ? null : local.get(key);
+	}
+
+	private MapListenerHelperEx<String, Object> getHelper() {
+		if (helper == null) {
+			helper = new MapListenerHelperEx<>(this);
+		}
+		return helper;
+	}
+
+	private List<String> keys() {
+		if (table != null) {
+			return table.getNames(row);
+		}
+		return local == null ? new ArrayList<String>()
+				: new ArrayList<>(local.keySet());
+	}
+
+	@Override
+	public Object put(String key, Object value) {
+		boolean contained = containsKey(key);
+		Object oldValue = get(key);
+		if (table != null) {
+			table.put(row, key, value);
+		} else {
+			if (local == null) {
+				local = new HashMap<>();
+			}
+			local.put(key, value);
+		}
+		if (!contained || !Objects.equals(oldValue, value)) {
+			fireChange(key, oldValue, value);
+		}
+		return oldValue;
+	}
+
+	@Override
+	public Object remove(Object key) {
+		if (!containsKey(key)) {
+			return null;
+		}
+		Object oldValue = get(key);
+		if (table != null) {
+			table.remove(row, key);
+		} else {
+			local.remove(key);
+		}
+		fireChange((String) key, oldValue, null);
+		return oldValue;
+	}
+
+	@Override
+	public void removeListener(InvalidationListener listener) {
+		if (helper != null) {
+			helper.removeListener(listener);
+		}
+	}
+
+	@Override
+	public void removeListener(
+			MapChangeListener<? super String, ? super Object> listener) {
+		if (helper != null) {
+			helper.removeListener(listener);
+		}
+	}
+
+	/**
+	 * Transfers the attributes into a row of the given {@link AttributeTable},
+	 * or into a {@link HashMap} of their own if <code>null</code> is passed in.
+	 * No change notifications are fired, as the attributes do not change.
+	 *
+	 * @param table
+	 *            The {@link AttributeTable} to store the attributes in, or
+	 *            <code>null</code>.
+	 */
+	void setTable(AttributeTable table) {
+		if (this.table == table) {
+			return;
+		}
+		Map<String, Object> attributes = new LinkedHashMap<>();
+		for (String key : keys()) {
+			attributes.put(key, get(key));
+		}
+		if (this.table != null) {
+			this.table.releaseRow(row);
+			row = -1;
+		}
+		this.table = table;
+		local = null;
+		if (table != null) {
+			row = table.allocateRow();
+			for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+				table.put(row, entry.getKey(), entry.getValue());
+			}
+		} else if (!attributes.isEmpty()) {
+			local = new HashMap<>(attributes);
+		}
+	}
+
+	@Override
+	public int size() {
+		if (table != null) {
+			return table.size(row);
+		}
+		return local == null ? 0 : local.size();
+	}
+
+}
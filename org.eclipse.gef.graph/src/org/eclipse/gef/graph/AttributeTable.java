@@ -0,0 +1,381 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An {@link AttributeTable} stores the attributes of the {@link Node}s or
+ * {@link Edge}s of a {@link Graph} with columnar attributes (see
+ * {@link Graph.Builder#columnarAttributes(boolean)}). Each element occupies a
+ * row, and each attribute name is interned into a column, so that the names
+ * are only stored once per table. {@link Double}, {@link Integer}, and
+ * {@link Boolean} values are stored in primitive arrays; as soon as a value of
+ * another type is put into such a column, the column is converted to store
+ * arbitrary objects.
+ * <p>
+ * Rows of elements that leave the {@link Graph} are recycled.
+ */
+final class AttributeTable {
+
+	/**
+	 * A column stores the values of one attribute for all rows. The presence
+	 * of a value is tracked separately, as <code>null</code> values are
+	 * permitted.
+	 */
+	private static abstract class Column {
+
+		private long[] present;
+
+		Column(int capacity) {
+			present = new long[(capacity + 63) >>> 6];
+		}
+
+		/**
+		 * Clears the value of the given row.
+		 */
+		void clear(int row) {
+			present[row >>> 6] &= ~(1L << row);
+			clearValue(row);
+		}
+
+		abstract void clearValue(int row);
+
+		void ensureCapacity(int capacity) {
+			if (present.length << 6 < capacity) {
+				present = Arrays.copyOf(present,
+						Math.max((capacity + 63) >>> 6, 2 * present.length));
+			}
+			ensureValueCapacity(capacity);
+		}
+
+		abstract void ensureValueCapacity(int capacity);
+
+		/**
+		 * Returns the value of the given row, which has to be present.
+		 */
+		abstract Object get(int row);
+
+		boolean isPresent(int row) {
+			return (row >>> 6) < present.length
+					&& (present[row >>> 6] & (1L << row)) != 0;
+		}
+
+		/**
+		 * Stores the given value in the given row, and returns
+		 * <code>false</code> if it cannot be represented by this column.
+		 */
+		boolean set(int row, Object value) {
+			if (!setValue(row, value)) {
+				return false;
+			}
+			present[row >>> 6] |= 1L << row;
+			return true;
+		}
+
+		abstract boolean setValue(int row, Object value);
+	}
+
+	private static final class BooleanColumn extends Column {
+
+		private long[] values;
+
+		BooleanColumn(int capacity) {
+			super(capacity);
+			values = new long[(capacity + 63) >>> 6];
+		}
+
+		@Override
+		void clearValue(int row) {
+			values[row >>> 6] &= ~(1L << row);
+		}
+
+		@Override
+		void ensureValueCapacity(int capacity) {
+			if (values.length << 6 < capacity) {
+				values = Arrays.copyOf(values,
+						Math.max((capacity + 63) >>> 6, 2 * values.length));
+			}
+		}
+
+		@Override
+		Object get(int row) {
+			return (values[row >>> 6] & (1L << row)) != 0;
+		}
+
+		@Override
+		boolean setValue(int row, Object value) {
+			if (!(value instanceof Boolean)) {
+				return false;
+			}
+			if ((Boolean) value) {
+				values[row >>> 6] |= 1L << row;
+			} else {
+				values[row >>> 6] &= ~(1L << row);
+			}
+			return true;
+		}
+	}
+
+	private static final class DoubleColumn extends Column {
+
+		private double[] values;
+
+		DoubleColumn(int capacity) {
+			super(capacity);
+			values = new double[capacity];
+		}
+
+		@Override
+		void clearValue(int row) {
+			values[row] = 0;
+		}
+
+		@Override
+		void ensureValueCapacity(int capacity) {
+			if (values.length < capacity) {
+				values = Arrays.copyOf(values,
+						Math.max(capacity, 2 * values.length));
+			}
+		}
+
+		@Override
+		Object get(int row) {
+			return values[row];
+		}
+
+		@Override
+		boolean setValue(int row, Object value) {
+			if (!(value instanceof Double)) {
+				return false;
+			}
+			values[row] = (Double) value;
+			return true;
+		}
+	}
+
+	private static final class IntegerColumn extends Column {
+
+		private int[] values;
+
+		IntegerColumn(int capacity) {
+			super(capacity);
+			values = new int[capacity];
+		}
+
+		@Override
+		void clearValue(int row) {
+			values[row] = 0;
+		}
+
+		@Override
+		void ensureValueCapacity(int capacity) {
+			if (values.length < capacity) {
+				values = Arrays.copyOf(values,
+						Math.max(capacity, 2 * values.length));
+			}
+		}
+
+		@Override
+		Object get(int row) {
+			return values[row];
+		}
+
+		@Override
+		boolean setValue(int row, Object value) {
+			if (!(value instanceof Integer)) {
+				return false;
+			}
+			values[row] = (Integer) value;
+			return true;
+		}
+	}
+
+	private static final class ObjectColumn extends Column {
+
+		private Object[] values;
+
+		ObjectColumn(int capacity) {
+			super(capacity);
+			values = new Object[capacity];
+		}
+
+		@Override
+		void clearValue(int row) {
+			values[row] = null;
+		}
+
+		@Override
+		void ensureValueCapacity(int capacity) {
+			if (values.length < capacity) {
+				values = Arrays.copyOf(values,
+						Math.max(capacity, 2 * values.length));
+			}
+		}
+
+		@Override
+		Object get(int row) {
+			return values[row];
+		}
+
+		@Override
+		boolean setValue(int row, Object value) {
+			values[row] = value;
+			return true;
+		}
+	}
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final Map<String, Integer> columnIndices = new HashMap<>();
+	private final List<String> names = new ArrayList<>();
+	private final List<Column> columns = new ArrayList<>();
+
+	private int capacity = INITIAL_CAPACITY;
+	private int rowCount;
+	private int[] freeRows = new int[INITIAL_CAPACITY];
+	private int freeRowCount;
+
+	/**
+	 * Allocates a new (empty) row, reusing released rows first.
+	 *
+	 * @return The index of the new row.
+	 */
+	int allocateRow() {
+		if (freeRowCount > 0) {
+			return freeRows[--freeRowCount];
+		}
+		if (rowCount == capacity) {
+			capacity *= 2;
+			for (Column column : columns) {
+				column.ensureCapacity(capacity);
+			}
+		}
+		return rowCount++;
+	}
+
+	/**
+	 * Returns whether the given row has a value for the given attribute.
+	 */
+	boolean containsKey(int row, Object name) {
+		Integer index = columnIndices.get(name);
+		return index != null && columns.get(index).isPresent(row);
+	}
+
+	private Column createColumn(Object value) {
+		if (value instanceof Double) {
+			return new DoubleColumn(capacity);
+		} else if (value instanceof Integer) {
+			return new IntegerColumn(capacity);
+		} else if (value instanceof Boolean) {
+			return new BooleanColumn(capacity);
+		}
+		return new ObjectColumn(capacity);
+	}
+
+	/**
+	 * Returns the value of the given attribute for the given row, or
+	 * <code>null</code> if it has no value.
+	 */
+	Object get(int row, Object name) {
+		Integer index = columnIndices.get(name);
+		if (index == null) {
+			return null;
+		}
+		Column column = columns.get(index);
+		return column.isPresent(row) ? column.get(row) : null;
+	}
+
+	/**
+	 * Returns the names of the attributes that have a value for the given
+	 * row, in the order in which the attributes were first put into this
+	 * table.
+	 */
+	List<String> getNames(int row) {
+		List<String> present = new ArrayList<>();
+		for (int i = 0; i < columns.size(); i++) {
+			if (columns.get(i).isPresent(row)) {
+				present.add(names.get(i));
+			}
+		}
+		return present;
+	}
+
+	/**
+	 * Stores the given value of the given attribute for the given row.
+	 */
+	void put(int row, String name, Object value) {
+		Integer index = columnIndices.get(name);
+		if (index == null) {
+			index = columns.size();
+			columnIndices.put(name, index);
+			names.add(name);
+			columns.add(createColumn(value));
+		}
+		Column column = columns.get(index);
+		if (!column.set(row, value)) {
+			// convert to a column that can hold arbitrary values
+			ObjectColumn objectColumn = new ObjectColumn(capacity);
+			for (int r = 0; r < rowCount; r++) {
+				if (column.isPresent(r)) {
+					objectColumn.set(r, column.get(r));
+				}
+			}
+			columns.set(index, objectColumn);
+			objectColumn.set(row, value);
+		}
+	}
+
+	/**
+	 * Clears all values of the given row and makes it available for reuse.
+	 */
+	void releaseRow(int row) {
+		for (Column column : columns) {
+			if (column.isPresent(row)) {
+				column.clear(row);
+			}
+		}
+		if (freeRowCount == freeRows.length) {
+			freeRows = Arrays.copyOf(freeRows, 2 * freeRows.length);
+		}
+		freeRows[freeRowCount++] = row;
+	}
+
+	/**
+	 * Removes the value of the given attribute for the given row.
+	 */
+	void remove(int row, Object name) {
+		Integer index = columnIndices.get(name);
+		if (index != null && columns.get(index).isPresent(row)) {
+			columns.get(index).clear(row);
+		}
+	}
+
+	/**
+	 * Returns the number of attributes that have a value for the given row.
+	 */
+	int size(int row) {
+		int size = 0;
+		for (Column column : columns) {
+			if (column.isPresent(row)) {
+				size++;
+			}
+		}
+		return size;
+	}
+
+}
@@ -28,7 +28,6 @@ import org.eclipse.gef.graph.Graph.Builder.Context;
 
 import javafx.beans.property.ReadOnlyMapProperty;
 import javafx.beans.property.ReadOnlyMapWrapper;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableMap;
 
 /**
@@ -158,7 +157,7 @@ public class Edge implements IAttributeStore {
 			Edge e = new Edge(sourceNode, targetNode);
 			for (Entry<Object, Object> s : attr) {
 				if (s.getKey() instanceof String) {
-					e.attributesProperty().put((String) s.getKey(), s.getValue());
+					e.getAttributes().put((String) s.getKey(), s.getValue());
 				} else {
 					((BiConsumer) s.getKey()).accept(e, s.getValue());
 				}
@@ -211,8 +210,15 @@ public class Edge implements IAttributeStore {
 		}
 	}
 
-	private final ReadOnlyMapWrapper<String, Object> attributesProperty = new ReadOnlyMapWrapperEx<>(this,
-			ATTRIBUTES_PROPERTY, FXCollections.<String, Object>observableHashMap());
+	/**
+	 * The attributes of this {@link Edge}, which are stored in the
+	 * {@link Graph}'s {@link AttributeTable} if it uses columnar attributes.
+	 */
+	private final AttributeMap attributes = new AttributeMap();
+	/**
+	 * The {@link #attributesProperty()}, which is created lazily.
+	 */
+	private ReadOnlyMapWrapper<String, Object> attributesProperty;
 	private Node source;
 	private Node target;
 	private Graph graph; // associated graph
@@ -234,7 +240,7 @@ public class Edge implements IAttributeStore {
 	 *            The target {@link Node} for this {@link Edge}.
 	 */
 	public Edge(Map<String, Object> attributes, Node source, Node target) {
-		this.attributesProperty.putAll(attributes);
+		this.attributes.putAll(attributes);
 		this.source = source;
 		this.target = target;
 	}
@@ -254,12 +260,15 @@ public class Edge implements IAttributeStore {
 
 	@Override
 	public ReadOnlyMapProperty<String, Object> attributesProperty() {
+		if (attributesProperty == null) {
+			attributesProperty = new ReadOnlyMapWrapperEx<>(this, ATTRIBUTES_PROPERTY, attributes);
+		}
 		return attributesProperty.getReadOnlyProperty();
 	}
 
 	@Override
 	public ObservableMap<String, Object> getAttributes() {
-		return attributesProperty.get();
+		return attributes;
 	}
 
 	/**
@@ -291,16 +300,18 @@ public class Edge implements IAttributeStore {
 
 	/**
 	 * Sets the {@link Graph} to which this {@link Edge} belongs to the given
-	 * value.
+	 * value. Only called by the {@link Graph}, which ensures that this
+	 * {@link Edge} is contained in it (a linear containment check would render
+	 * the construction of large graphs quadratic). The attributes are
+	 * transferred into the {@link AttributeTable} of the given {@link Graph},
+	 * if it uses columnar attributes.
 	 *
 	 * @param graph
 	 *            The new {@link Graph} for this {@link Edge}.
 	 */
 	void setGraph(Graph graph) {
-		if (graph != null && !graph.getEdges().contains(this)) {
-			throw new IllegalArgumentException("Edge is not contained in graph " + graph);
-		}
 		this.graph = graph;
+		attributes.setTable(graph == null ? null : graph.getEdgeAttributeTable());
 	}
 
 	/**
@@ -329,14 +340,14 @@ public class Edge implements IAttributeStore {
 		sb.append("Edge {");
 		boolean separator = false;
 		TreeMap<String, Object> sortedAttrs = new TreeMap<>();
-		sortedAttrs.putAll(attributesProperty);
+		sortedAttrs.putAll(attributes);
 		for (Object attrKey : sortedAttrs.keySet()) {
 			if (separator) {
 				sb.append(", ");
 			} else {
 				separator = true;
 			}
-			sb.append(attrKey.toString() + " : " + attributesProperty.get(attrKey));
+			sb.append(attrKey.toString() + " : " + attributes.get(attrKey));
 		}
 		sb.append("} from " + getSource() + " to " + getTarget());
 		return sb.toString();
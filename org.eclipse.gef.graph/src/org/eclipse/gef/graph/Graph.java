@@ -89,6 +89,7 @@ public final class Graph implements IAttributeStore {
 		private HashMap<Object, Node> nodes = new HashMap<>();
 		private List<Edge> edges = new ArrayList<>();
 		private Context context;
+		private boolean columnarAttributes = false;
 
 		/**
 		 * Constructs a new {@link Builder} without {@link Node}s and
@@ -147,11 +148,11 @@ public final class Graph implements IAttributeStore {
 			for (Edge.Builder eb : context.edgeBuilders) {
 				edges.add(eb.buildEdge());
 			}
-			List<Node> nodeList = new ArrayList<>();
+			List<Node> nodeList = new ArrayList<>(context.nodeKeys.size());
 			for (Object key : context.nodeKeys) {
 				nodeList.add(nodes.get(key));
 			}
-			Graph g = new Graph(nodeList, edges);
+			Graph g = new Graph(new HashMap<String, Object>(), nodeList, edges, columnarAttributes);
 			for (Entry<Object, Object> s : attr) {
 				if (s.getKey() instanceof String) {
 					g.attributesProperty().put((String) s.getKey(), s.getValue());
@@ -162,6 +163,22 @@ public final class Graph implements IAttributeStore {
 			return g;
 		}
 
+		/**
+		 * Specifies whether the {@link Graph} which is constructed by this
+		 * {@link Builder} stores the attributes of its {@link Node}s and
+		 * {@link Edge}s in columns (see {@link Graph#isColumnarAttributes()}).
+		 * Defaults to <code>false</code>.
+		 *
+		 * @param columnarAttributes
+		 *            <code>true</code> to store the attributes in columns,
+		 *            <code>false</code> to store them per element.
+		 * @return <code>this</code> for convenience.
+		 */
+		public Graph.Builder columnarAttributes(boolean columnarAttributes) {
+			this.columnarAttributes = columnarAttributes;
+			return this;
+		}
+
 		/**
 		 * Constructs a new {@link Edge.Builder}.
 		 *
@@ -332,6 +349,14 @@ public final class Graph implements IAttributeStore {
 	 */
 	private Node nestingNode; // when contained as a nested graph within a node
 
+	/**
+	 * The {@link AttributeTable}s that store the attributes of the
+	 * {@link Node}s and {@link Edge}s of this {@link Graph}, or
+	 * <code>null</code> if the attributes are stored per element.
+	 */
+	private final AttributeTable nodeAttributeTable;
+	private final AttributeTable edgeAttributeTable;
+
 	/**
 	 * Default constructor, using empty collections for attributes, nodes, and
 	 * edges.
@@ -367,17 +392,55 @@ public final class Graph implements IAttributeStore {
 	 *            List of {@link Edge}s.
 	 */
 	public Graph(Map<String, Object> attributes, Collection<? extends Node> nodes, Collection<? extends Edge> edges) {
+		this(attributes, nodes, edges, false);
+	}
+
+	/**
+	 * Constructs a new {@link Graph} from the given attributes, nodes, and
+	 * edges, which stores the attributes of its nodes and edges in columns if
+	 * <i>columnarAttributes</i> is <code>true</code> (see
+	 * {@link #isColumnarAttributes()}). Associates all nodes and edges with
+	 * this {@link Graph}.
+	 *
+	 * @param attributes
+	 *            Map of graph attributes.
+	 * @param nodes
+	 *            List of {@link Node}s.
+	 * @param edges
+	 *            List of {@link Edge}s.
+	 * @param columnarAttributes
+	 *            <code>true</code> to store the attributes of the {@link Node}s
+	 *            and {@link Edge}s in columns, <code>false</code> to store them
+	 *            per element.
+	 */
+	public Graph(Map<String, Object> attributes, Collection<? extends Node> nodes, Collection<? extends Edge> edges,
+			boolean columnarAttributes) {
 		this.attributesProperty.putAll(attributes);
+		this.nodeAttributeTable = columnarAttributes ? new AttributeTable() : null;
+		this.edgeAttributeTable = columnarAttributes ? new AttributeTable() : null;
+		// populate the lists in bulk before registering the listeners, and
+		// associate the initial nodes and edges directly, as this graph cannot
+		// be observed by anyone yet
+		this.nodesProperty.addAll(nodes);
+		this.edgesProperty.addAll(edges);
+		for (Node n : nodes) {
+			n.setGraph(this);
+		}
+		for (Edge e : edges) {
+			e.setGraph(this);
+		}
 		this.nodesProperty.addListener(new ListChangeListener<Node>() {
 			@Override
 			public void onChanged(ListChangeListener.Change<? extends Node> c) {
 				while (c.next()) {
-					for (Node n : c.getAddedSubList()) {
-						n.setGraph(Graph.this);
-					}
+					// process removals first, so that nodes which are replaced
+					// by themselves (e.g. via setAll()) stay associated
 					for (Node n : c.getRemoved()) {
 						n.setGraph(null);
 					}
+					for (Node n : c.getAddedSubList()) {
+						n.setGraph(Graph.this);
+					}
 				}
 			}
 		});
@@ -385,17 +448,15 @@ public final class Graph implements IAttributeStore {
 			@Override
 			public void onChanged(ListChangeListener.Change<? extends Edge> c) {
 				while (c.next()) {
-					for (Edge e : c.getAddedSubList()) {
-						e.setGraph(Graph.this);
-					}
 					for (Edge e : c.getRemoved()) {
 						e.setGraph(null);
 					}
+					for (Edge e : c.getAddedSubList()) {
+						e.setGraph(Graph.this);
+					}
 				}
 			}
 		});
-		this.nodesProperty.addAll(nodes);
-		this.edgesProperty.addAll(edges);
 	}
 
 	@Override
@@ -427,6 +488,18 @@ public final class Graph implements IAttributeStore {
 		return edgesProperty.getReadOnlyProperty();
 	}
 
+	/**
+	 * Returns the {@link AttributeTable} that stores the attributes of the
+	 * {@link Edge}s of this {@link Graph}, or <code>null</code> if the
+	 * attributes are stored per element.
+	 *
+	 * @return The {@link AttributeTable} for the {@link Edge}s, or
+	 *         <code>null</code>.
+	 */
+	AttributeTable getEdgeAttributeTable() {
+		return edgeAttributeTable;
+	}
+
 	/**
 	 * Returns the {@link Node} in which this {@link Graph} is nested. Returns
 	 * <code>null</code> when this {@link Graph} is not nested.
@@ -438,6 +511,18 @@ public final class Graph implements IAttributeStore {
 		return nestingNode;
 	}
 
+	/**
+	 * Returns the {@link AttributeTable} that stores the attributes of the
+	 * {@link Node}s of this {@link Graph}, or <code>null</code> if the
+	 * attributes are stored per element.
+	 *
+	 * @return The {@link AttributeTable} for the {@link Node}s, or
+	 *         <code>null</code>.
+	 */
+	AttributeTable getNodeAttributeTable() {
+		return nodeAttributeTable;
+	}
+
 	/**
 	 * Returns the nodes of this Graph.
 	 *
@@ -460,6 +545,28 @@ public final class Graph implements IAttributeStore {
 		}
 	}
 
+	/**
+	 * Returns whether this {@link Graph} stores the attributes of its
+	 * {@link Node}s and {@link Edge}s in columns. In this case, the attribute
+	 * names are interned per {@link Graph}, and the attribute values are
+	 * stored in per-attribute columns, using primitive arrays for
+	 * {@link Double}, {@link Integer}, and {@link Boolean} values. This
+	 * considerably reduces the memory footprint of large graphs with many
+	 * attributes per element. The attributes are transferred into the columns
+	 * when an element is added to this {@link Graph}, and out of them when it
+	 * is removed. The {@link ObservableMap} returned by
+	 * {@link Node#getAttributes()} or {@link Edge#getAttributes()} remains
+	 * valid in either case, but {@link Double}, {@link Integer}, and
+	 * {@link Boolean} values are only preserved by value, not by identity.
+	 *
+	 * @return <code>true</code> if the attributes of the {@link Node}s and
+	 *         {@link Edge}s are stored in columns, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isColumnarAttributes() {
+		return nodeAttributeTable != null;
+	}
+
 	/**
 	 * Returns a read-only list property containing the {@link Node}s of this
 	 * {@link Graph}.
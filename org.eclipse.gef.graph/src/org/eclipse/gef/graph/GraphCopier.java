@@ -12,24 +12,75 @@
  *******************************************************************************/
 package org.eclipse.gef.graph;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 import org.eclipse.gef.common.attributes.IAttributeCopier;
 import org.eclipse.gef.common.attributes.IAttributeStore;
 
 /**
  * A copier for {@link Graph}s.
+ * <p>
+ * If the {@link IAttributeCopier} is thread-safe (see
+ * {@link IAttributeCopier#isThreadSafe()}), the {@link Node}s and
+ * {@link Edge}s can be copied in parallel (see {@link #setParallel(boolean)}).
+ * In that case, {@link #copyNode(Node)}, {@link #copyEdge(Edge)}, and
+ * {@link #copyAttributes(IAttributeStore, IAttributeStore)} are called
+ * concurrently for different elements.
  *
  * @author anyssen
  *
  */
 public class GraphCopier {
 
-	private Map<Node, Node> inputToOutputNodes = new IdentityHashMap<>();
-	private Map<Edge, Edge> inputToOutputEdges = new IdentityHashMap<>();
+	/**
+	 * Copies a range of {@link Node}s or {@link Edge}s, and splits the range
+	 * in halves as long as it is large enough.
+	 */
+	private class CopyTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private static final int THRESHOLD = 64;
+
+		private final List<? extends IAttributeStore> inputs;
+		private final IAttributeStore[] outputs;
+		private final int start;
+		private final int end;
+
+		public CopyTask(List<? extends IAttributeStore> inputs,
+				IAttributeStore[] outputs, int start, int end) {
+			this.inputs = inputs;
+			this.outputs = outputs;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start <= THRESHOLD) {
+				copyElements(inputs, outputs, start, end);
+			} else {
+				int middle = (start + end) >>> 1;
+				invokeAll(new CopyTask(inputs, outputs, start, middle),
+						new CopyTask(inputs, outputs, middle, end));
+			}
+		}
+	}
+
+	// the maps are synchronized, as nested graphs may be copied concurrently
+	private final Map<Node, Node> inputToOutputNodes = Collections
+			.synchronizedMap(new IdentityHashMap<Node, Node>());
+	private final Map<Edge, Edge> inputToOutputEdges = Collections
+			.synchronizedMap(new IdentityHashMap<Edge, Edge>());
 	private IAttributeCopier attributeCopier;
+	private boolean parallel = false;
 
 	/**
 	 * Creates a new {@link GraphCopier} instance with the given
@@ -111,24 +162,79 @@ public class GraphCopier {
 		copyAttributes(graph, outputGraph);
 		// copy nodes, keeping track of copied nodes (so we can relocate them to
 		// link edges)
-		for (Node inputNode : graph.getNodes()) {
-			Node outputNode = copyNode(inputNode);
-			if (outputNode != null) {
-				inputToOutputNodes.put(inputNode, outputNode);
-				outputGraph.getNodes().add(outputNode);
+		List<Node> inputNodes = graph.getNodes();
+		Node[] outputNodes = new Node[inputNodes.size()];
+		copyElements(inputNodes, outputNodes);
+		List<Node> nodes = new ArrayList<>(outputNodes.length);
+		for (int i = 0; i < outputNodes.length; i++) {
+			if (outputNodes[i] != null) {
+				inputToOutputNodes.put(inputNodes.get(i), outputNodes[i]);
+				nodes.add(outputNodes[i]);
 			}
 		}
+		outputGraph.getNodes().addAll(nodes);
 		// copy edges
-		for (Edge inputEdge : graph.getEdges()) {
-			Edge outputEdge = copyEdge(inputEdge);
-			if (outputEdge != null) {
-				inputToOutputEdges.put(inputEdge, outputEdge);
-				outputGraph.getEdges().add(outputEdge);
+		List<Edge> inputEdges = graph.getEdges();
+		Edge[] outputEdges = new Edge[inputEdges.size()];
+		copyElements(inputEdges, outputEdges);
+		List<Edge> edges = new ArrayList<>(outputEdges.length);
+		for (int i = 0; i < outputEdges.length; i++) {
+			if (outputEdges[i] != null) {
+				inputToOutputEdges.put(inputEdges.get(i), outputEdges[i]);
+				edges.add(outputEdges[i]);
 			}
 		}
+		outputGraph.getEdges().addAll(edges);
 		return outputGraph;
 	}
 
+	/**
+	 * Copies the given {@link Node}s or {@link Edge}s into the given array,
+	 * in parallel if enabled and supported by the {@link IAttributeCopier}.
+	 *
+	 * @param inputs
+	 *            The {@link Node}s or {@link Edge}s to copy.
+	 * @param outputs
+	 *            The array to store the copies in.
+	 */
+	private void copyElements(List<? extends IAttributeStore> inputs,
+			IAttributeStore[] outputs) {
+		if (parallel && attributeCopier.isThreadSafe()
+				&& inputs.size() > CopyTask.THRESHOLD) {
+			CopyTask task = new CopyTask(inputs, outputs, 0, inputs.size());
+			if (ForkJoinTask.inForkJoinPool()) {
+				// nested graph that is copied within a task
+				task.invoke();
+			} else {
+				ForkJoinPool.commonPool().invoke(task);
+			}
+		} else {
+			copyElements(inputs, outputs, 0, inputs.size());
+		}
+	}
+
+	/**
+	 * Copies the {@link Node}s or {@link Edge}s within the given range into
+	 * the given array.
+	 *
+	 * @param inputs
+	 *            The {@link Node}s or {@link Edge}s to copy.
+	 * @param outputs
+	 *            The array to store the copies in.
+	 * @param start
+	 *            The index of the first element to copy.
+	 * @param end
+	 *            The index after the last element to copy.
+	 */
+	private void copyElements(List<? extends IAttributeStore> inputs,
+			IAttributeStore[] outputs, int start, int end) {
+		for (int i = start; i < end; i++) {
+			IAttributeStore input = inputs.get(i);
+			outputs[i] = input instanceof Node ? copyNode((Node) input)
+					: copyEdge((Edge) input);
+		}
+	}
+
 	/**
 	 * Creates a copy of the given node.
 	 *
@@ -178,4 +284,32 @@ public class GraphCopier {
 		return Collections.unmodifiableMap(inputToOutputNodes);
 	}
 
+	/**
+	 * Returns whether the {@link Node}s and {@link Edge}s are copied in
+	 * parallel.
+	 *
+	 * @return <code>true</code> if the {@link Node}s and {@link Edge}s are
+	 *         copied in parallel, <code>false</code> otherwise.
+	 * @see #setParallel(boolean)
+	 */
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * Specifies whether the {@link Node}s and {@link Edge}s of a
+	 * {@link Graph} are copied in parallel, using the common
+	 * {@link ForkJoinPool}. Defaults to <code>false</code>. Only takes effect
+	 * if the {@link IAttributeCopier} is thread-safe (see
+	 * {@link IAttributeCopier#isThreadSafe()}). The copies are added to the
+	 * output {@link Graph} in the order of the input elements either way.
+	 *
+	 * @param parallel
+	 *            <code>true</code> to copy in parallel, <code>false</code>
+	 *            otherwise.
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
 }
\ No newline at end of file
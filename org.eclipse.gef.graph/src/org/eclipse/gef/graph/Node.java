@@ -32,7 +32,6 @@ import org.eclipse.gef.graph.Graph.Builder.Context;
 
 import javafx.beans.property.ReadOnlyMapProperty;
 import javafx.beans.property.ReadOnlyMapWrapper;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableMap;
 
 /**
@@ -145,7 +144,7 @@ public class Node implements IAttributeStore {
 			Node n = new Node();
 			for (Entry<Object, Object> s : attr) {
 				if (s.getKey() instanceof String) {
-					n.attributesProperty().put((String) s.getKey(), s.getValue());
+					n.getAttributes().put((String) s.getKey(), s.getValue());
 				} else {
 					((BiConsumer) s.getKey()).accept(n, s.getValue());
 				}
@@ -209,8 +208,15 @@ public class Node implements IAttributeStore {
 
 	}
 
-	private final ReadOnlyMapWrapper<String, Object> attributesProperty = new ReadOnlyMapWrapperEx<>(this,
-			ATTRIBUTES_PROPERTY, FXCollections.<String, Object>observableHashMap());
+	/**
+	 * The attributes of this {@link Node}, which are stored in the
+	 * {@link Graph}'s {@link AttributeTable} if it uses columnar attributes.
+	 */
+	private final AttributeMap attributes = new AttributeMap();
+	/**
+	 * The {@link #attributesProperty()}, which is created lazily.
+	 */
+	private ReadOnlyMapWrapper<String, Object> attributesProperty;
 
 	/**
 	 * The {@link Graph} which this {@link Node} belongs to.
@@ -239,11 +245,14 @@ public class Node implements IAttributeStore {
 	 *            attributesProperty map} of this {@link Node}.
 	 */
 	public Node(Map<String, Object> attributes) {
-		this.attributesProperty.putAll(attributes);
+		this.attributes.putAll(attributes);
 	}
 
 	@Override
 	public ReadOnlyMapProperty<String, Object> attributesProperty() {
+		if (attributesProperty == null) {
+			attributesProperty = new ReadOnlyMapWrapperEx<>(this, ATTRIBUTES_PROPERTY, attributes);
+		}
 		return attributesProperty.getReadOnlyProperty();
 	}
 
@@ -339,7 +348,7 @@ public class Node implements IAttributeStore {
 
 	@Override
 	public ObservableMap<String, Object> getAttributes() {
-		return attributesProperty.get();
+		return attributes;
 	}
 
 	/**
@@ -447,16 +456,18 @@ public class Node implements IAttributeStore {
 
 	/**
 	 * Sets the {@link Graph} to which this {@link Node} belongs to the given
-	 * value.
+	 * value. Only called by the {@link Graph}, which ensures that this
+	 * {@link Node} is contained in it (a linear containment check would render
+	 * the construction of large graphs quadratic). The attributes are
+	 * transferred into the {@link AttributeTable} of the given {@link Graph},
+	 * if it uses columnar attributes.
 	 *
 	 * @param graph
 	 *            The new {@link Graph} for this {@link Node}.
 	 */
 	void setGraph(Graph graph) {
-		if (graph != null && !graph.getNodes().contains(this)) {
-			throw new IllegalArgumentException("Node is not contained in graph " + graph);
-		}
 		this.graph = graph;
+		attributes.setTable(graph == null ? null : graph.getNodeAttributeTable());
 	}
 
 	/**
@@ -483,14 +494,14 @@ public class Node implements IAttributeStore {
 		sb.append("Node {");
 		boolean separator = false;
 		TreeMap<String, Object> sortedAttrs = new TreeMap<>();
-		sortedAttrs.putAll(attributesProperty);
+		sortedAttrs.putAll(attributes);
 		for (Object attrKey : sortedAttrs.keySet()) {
 			if (separator) {
 				sb.append(", ");
 			} else {
 				separator = true;
 			}
-			sb.append(attrKey.toString() + " : " + attributesProperty.get(attrKey));
+			sb.append(attrKey.toString() + " : " + attributes.get(attrKey));
 		}
 		sb.append("}");
 		return sb.toString();
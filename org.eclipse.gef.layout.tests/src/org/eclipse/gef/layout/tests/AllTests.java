@@ -17,6 +17,11 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({ LayoutAlgorithmTests.class })
+@SuiteClasses({ LayoutAlgorithmTests.class, LayoutContextTests.class,
+		TidyTreeLayoutAlgorithmTests.class,
+		CachingLayoutAlgorithmTests.class,
+		LayoutInstrumentationTests.class,
+		OverlapRemovalAlgorithmTests.class,
+		MultilevelLayoutAlgorithmTests.class })
 public class AllTests {
 }
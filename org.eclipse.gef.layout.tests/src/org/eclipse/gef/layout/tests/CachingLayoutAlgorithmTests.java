@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.CachingLayoutAlgorithm;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CachingLayoutAlgorithmTests {
+
+	/**
+	 * Places the nodes along a diagonal, starting at a location that differs
+	 * for each layout pass.
+	 */
+	private static class CountingAlgorithm implements ILayoutAlgorithm {
+		int layouts;
+
+		@Override
+		public void applyLayout(LayoutContext layoutContext, boolean clean) {
+			layouts++;
+			Node[] nodes = layoutContext.getNodes();
+			for (int i = 0; i < nodes.length; i++) {
+				LayoutProperties.setLocation(nodes[i],
+						new Point(layouts + i, layouts + i));
+			}
+		}
+	}
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static LayoutContext createContext(double width) {
+		Graph.Builder builder = new Graph.Builder();
+		for (int i = 0; i < 3; i++) {
+			builder.node("n" + i).attr("id", "n" + i)
+					.attr(LayoutProperties.SIZE_PROPERTY,
+							new Dimension(width, 10));
+		}
+		Graph graph = builder.edge("n0", "n1").edge("n0", "n2").build();
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 100, 100));
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		return context;
+	}
+
+	private static Point getLocation(LayoutContext context, int index) {
+		return LayoutProperties.getLocation(context.getNodes()[index]);
+	}
+
+	@Test
+	public void evictLeastRecentlyUsed() {
+		CountingAlgorithm delegate = new CountingAlgorithm();
+		CachingLayoutAlgorithm algorithm = new CachingLayoutAlgorithm(delegate,
+				1);
+		algorithm.applyLayout(createContext(10), true);
+		algorithm.applyLayout(createContext(20), true);
+		algorithm.applyLayout(createContext(10), true);
+		assertEquals(3, delegate.layouts);
+	}
+
+	@Test
+	public void recomputeOnChangedStructure() {
+		CountingAlgorithm delegate = new CountingAlgorithm();
+		CachingLayoutAlgorithm algorithm = new CachingLayoutAlgorithm(delegate);
+		algorithm.applyLayout(createContext(10), true);
+
+		// changed size
+		algorithm.applyLayout(createContext(20), true);
+		assertEquals(2, delegate.layouts);
+
+		// changed parameters
+		algorithm.setParametersKey("other");
+		algorithm.applyLayout(createContext(10), true);
+		assertEquals(3, delegate.layouts);
+
+		// changed edges
+		LayoutContext context = createContext(10);
+		context.getGraph().getEdges().remove(0);
+		algorithm.setParametersKey(null);
+		algorithm.applyLayout(context, true);
+		assertEquals(4, delegate.layouts);
+	}
+
+	@Test
+	public void replayFromCacheDirectory() throws IOException {
+		Path directory = folder.newFolder().toPath();
+		CountingAlgorithm delegate = new CountingAlgorithm();
+		CachingLayoutAlgorithm algorithm = new CachingLayoutAlgorithm(delegate);
+		algorithm.setKeyAttribute("id");
+		algorithm.setCacheDirectory(directory);
+		LayoutContext context = createContext(10);
+		algorithm.applyLayout(context, true);
+
+		// a new instance (i.e. a new session) uses the stored results
+		CachingLayoutAlgorithm other = new CachingLayoutAlgorithm(delegate);
+		other.setKeyAttribute("id");
+		other.setCacheDirectory(directory);
+		LayoutContext reopened = createContext(10);
+		other.applyLayout(reopened, true);
+		assertEquals(1, delegate.layouts);
+		assertEquals(getLocation(context, 2), getLocation(reopened, 2));
+	}
+
+	@Test
+	public void replayFromMemory() {
+		CountingAlgorithm delegate = new CountingAlgorithm();
+		CachingLayoutAlgorithm algorithm = new CachingLayoutAlgorithm(delegate);
+		LayoutContext context = createContext(10);
+		algorithm.applyLayout(context, true);
+		assertEquals(1, delegate.layouts);
+		assertEquals(new Point(2, 2), getLocation(context, 1));
+
+		// same structure, so the locations are replayed
+		LayoutContext reopened = createContext(10);
+		algorithm.applyLayout(reopened, true);
+		assertEquals(1, delegate.layouts);
+		assertEquals(new Point(2, 2), getLocation(reopened, 1));
+
+		// after clearing, the delegate is used again
+		algorithm.clear();
+		algorithm.applyLayout(createContext(10), true);
+		assertEquals(2, delegate.layouts);
+	}
+
+}
@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.IIncrementalLayoutAlgorithm;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.ILayoutFilter;
+import org.eclipse.gef.layout.LayoutChangeLog;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.junit.Test;
+
+public class LayoutContextTests {
+
+	private static class CountingFilter implements ILayoutFilter {
+		int nodeCalls;
+		Node irrelevantNode;
+
+		@Override
+		public boolean isLayoutIrrelevant(Edge edge) {
+			return false;
+		}
+
+		@Override
+		public boolean isLayoutIrrelevant(Node node) {
+			nodeCalls++;
+			return node == irrelevantNode;
+		}
+	}
+
+	private static class IncrementalAlgorithm implements IIncrementalLayoutAlgorithm {
+		int cleanLayouts;
+		int incrementalLayouts;
+		int addedNodes;
+		int movedNodes;
+
+		@Override
+		public void applyIncrementalLayout(LayoutContext layoutContext, LayoutChangeLog changes) {
+			incrementalLayouts++;
+			addedNodes = changes.getAddedNodes().size();
+			movedNodes = changes.getMovedNodes().size();
+			move(layoutContext);
+		}
+
+		@Override
+		public void applyLayout(LayoutContext layoutContext, boolean clean) {
+			cleanLayouts++;
+			move(layoutContext);
+		}
+
+		private void move(LayoutContext layoutContext) {
+			for (Node n : layoutContext.getNodes()) {
+				LayoutProperties.setLocation(n, new Point(Math.random(), Math.random()));
+			}
+		}
+	}
+
+	@Test
+	public void applyLayoutResult() {
+		Node n1 = new Node();
+		Node n2 = new Node();
+		Graph graph = new Graph.Builder().nodes(n1, n2).build();
+		final LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		final int[] postLayoutCount = new int[1];
+		context.schedulePostLayoutPass(new Runnable() {
+			@Override
+			public void run() {
+				postLayoutCount[0]++;
+			}
+		});
+		LayoutProperties.setLocation(n2, new Point(5, 5));
+		assertEquals(1, context.getChangeLog().getMovedNodes().size());
+
+		// transferred locations are no moves and consume the recorded changes
+		final Node node = n1;
+		context.applyLayoutResult(new Runnable() {
+			@Override
+			public void run() {
+				LayoutProperties.setLocation(node, new Point(10, 10));
+			}
+		});
+		assertEquals(new Point(10, 10), LayoutProperties.getLocation(n1));
+		assertTrue(context.getChangeLog().isEmpty());
+		assertEquals(1, postLayoutCount[0]);
+
+		// locations changed afterwards are recorded again
+		LayoutProperties.setLocation(n1, new Point(20, 20));
+		assertTrue(context.getChangeLog().getMovedNodes().contains(n1));
+	}
+
+	@Test
+	public void cacheLayoutRelevantElements() {
+		Node n1 = new Node();
+		Node n2 = new Node();
+		Graph graph = new Graph.Builder().nodes(n1, n2).build();
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		CountingFilter filter = new CountingFilter();
+		context.addLayoutFilter(filter);
+
+		assertEquals(2, context.getNodes().length);
+		assertEquals(2, context.getNodes().length);
+		assertEquals(2, filter.nodeCalls);
+
+		// changing the graph invalidates the cache
+		graph.getNodes().add(new Node());
+		assertEquals(3, context.getNodes().length);
+		assertEquals(5, filter.nodeCalls);
+
+		// explicit invalidation
+		context.invalidateLayoutRelevantElements();
+		assertEquals(3, context.getNodes().length);
+		assertEquals(8, filter.nodeCalls);
+
+		// filters are evaluated again when a layout pass begins
+		filter.irrelevantNode = n1;
+		assertEquals(3, context.getNodes().length);
+		final int[] layoutRelevantNodes = new int[1];
+		context.setLayoutAlgorithm(new ILayoutAlgorithm() {
+			@Override
+			public void applyLayout(LayoutContext layoutContext, boolean clean) {
+				layoutRelevantNodes[0] = layoutContext.getNodes().length;
+			}
+		});
+		context.applyLayout(true);
+		assertEquals(2, layoutRelevantNodes[0]);
+		assertEquals(2, context.getNodes().length);
+	}
+
+	@Test
+	public void recordChanges() {
+		Node n1 = new Node();
+		Node n2 = new Node();
+		Graph graph = new Graph.Builder().nodes(n1, n2).build();
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		IncrementalAlgorithm algorithm = new IncrementalAlgorithm();
+		context.setLayoutAlgorithm(algorithm);
+		assertTrue(context.getChangeLog().isEmpty());
+
+		// initial clean layout; locations set by the algorithm are no moves
+		context.applyLayout(true);
+		assertEquals(1, algorithm.cleanLayouts);
+		assertTrue(context.getChangeLog().isEmpty());
+
+		// record changes
+		Node n3 = new Node();
+		graph.getNodes().add(n3);
+		Edge e = new Edge(n1, n3);
+		graph.getEdges().add(e);
+		LayoutProperties.setLocation(n2, new Point(5, 5));
+		LayoutProperties.setLocation(n3, new Point(5, 5));
+		assertEquals(1, context.getChangeLog().getAddedNodes().size());
+		assertEquals(1, context.getChangeLog().getAddedEdges().size());
+		assertEquals(1, context.getChangeLog().getMovedNodes().size());
+		assertTrue(context.getChangeLog().getMovedNodes().contains(n2));
+
+		// incremental layout consumes the changes
+		context.applyLayout(false);
+		assertEquals(1, algorithm.incrementalLayouts);
+		assertEquals(1, algorithm.addedNodes);
+		assertEquals(1, algorithm.movedNodes);
+		assertTrue(context.getChangeLog().isEmpty());
+
+		// removing an added element cancels out
+		Node n4 = new Node();
+		graph.getNodes().add(n4);
+		graph.getNodes().remove(n4);
+		assertTrue(context.getChangeLog().isEmpty());
+		graph.getEdges().remove(e);
+		assertEquals(1, context.getChangeLog().getRemovedEdges().size());
+		assertFalse(context.getChangeLog().isEmpty());
+
+		// clean layout does not use the incremental path
+		context.applyLayout(true);
+		assertEquals(2, algorithm.cleanLayouts);
+		assertEquals(1, algorithm.incrementalLayouts);
+	}
+
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutInstrumentation;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.LayoutQualityMetrics;
+import org.eclipse.gef.layout.algorithms.SpringLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm;
+import org.junit.Test;
+
+public class LayoutInstrumentationTests {
+
+	private static LayoutContext createContext(ILayoutAlgorithm algorithm) {
+		Graph graph = new Graph.Builder().node("a").node("b").node("c")
+				.node("d").edge("a", "b").edge("a", "c").edge("b", "d")
+				.edge("c", "d").build();
+		for (Node node : graph.getNodes()) {
+			LayoutProperties.setSize(node, new Dimension(10, 10));
+		}
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 200, 200));
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(algorithm);
+		context.setInstrumentation(new LayoutInstrumentation());
+		return context;
+	}
+
+	private static Node createNode(double x, double y, double size) {
+		Node node = new Node();
+		LayoutProperties.setLocation(node, new Point(x, y));
+		LayoutProperties.setSize(node, new Dimension(size, size));
+		return node;
+	}
+
+	@Test
+	public void qualityMetrics() {
+		// two crossing edges and two overlapping nodes
+		Node n1 = createNode(0, 0, 4);
+		Node n2 = createNode(10, 10, 4);
+		Node n3 = createNode(0, 10, 4);
+		Node n4 = createNode(10, 0, 4);
+		Node n5 = createNode(11, 11, 4);
+		Graph graph = new Graph.Builder().nodes(n1, n2, n3, n4, n5)
+				.edge(n1, n2).edge(n3, n4).edge(n2, n5).build();
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+
+		assertEquals(1, LayoutQualityMetrics.countEdgeCrossings(context));
+		assertEquals(1, LayoutQualityMetrics.countNodeOverlaps(context));
+		assertEquals(2 * Math.sqrt(200) + Math.sqrt(2),
+				LayoutQualityMetrics.computeTotalEdgeLength(context), 1e-9);
+
+		LayoutInstrumentation instrumentation = new LayoutInstrumentation();
+		instrumentation.computeQualityMetrics(context);
+		assertEquals(1, instrumentation
+				.getValue(LayoutInstrumentation.EDGE_CROSSINGS), 0);
+		assertEquals(1, instrumentation
+				.getValue(LayoutInstrumentation.NODE_OVERLAPS), 0);
+	}
+
+	@Test
+	public void resetOnLayoutPass() {
+		LayoutContext context = createContext(new SugiyamaLayoutAlgorithm());
+		LayoutInstrumentation instrumentation = context.getInstrumentation();
+		instrumentation.report("custom", 1);
+		context.applyLayout(true);
+		assertNull(instrumentation.getValue("custom"));
+		assertTrue(instrumentation
+				.getPhaseTime(LayoutInstrumentation.PHASE_LAYOUT) > 0);
+	}
+
+	@Test
+	public void springReportsIterations() {
+		LayoutContext context = createContext(new SpringLayoutAlgorithm());
+		context.applyLayout(true);
+
+		LayoutInstrumentation instrumentation = context.getInstrumentation();
+		assertTrue(instrumentation
+				.getValue(LayoutInstrumentation.ITERATIONS) > 0);
+		assertNotNull(instrumentation.getValue(LayoutInstrumentation.ENERGY));
+		assertNotNull(
+				instrumentation.getValue(LayoutInstrumentation.DISPLACEMENT));
+		assertTrue(instrumentation.getPhaseTimes()
+				.containsKey(LayoutInstrumentation.PHASE_ITERATION));
+	}
+
+	@Test
+	public void sugiyamaReportsPhases() {
+		LayoutContext context = createContext(new SugiyamaLayoutAlgorithm());
+		context.applyLayout(true);
+
+		assertEquals(
+				Arrays.asList(LayoutInstrumentation.PHASE_LAYERING,
+						LayoutInstrumentation.PHASE_CROSSING_REDUCTION,
+						LayoutInstrumentation.PHASE_PLACEMENT,
+						LayoutInstrumentation.PHASE_LAYOUT),
+				Arrays.asList(context.getInstrumentation().getPhaseTimes()
+						.keySet().toArray()));
+	}
+
+}
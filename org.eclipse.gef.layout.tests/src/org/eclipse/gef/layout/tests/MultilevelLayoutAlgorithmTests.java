@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutInstrumentation;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.LayoutQualityMetrics;
+import org.eclipse.gef.layout.algorithms.MultilevelLayoutAlgorithm;
+import org.junit.Test;
+
+public class MultilevelLayoutAlgorithmTests {
+
+	private static final Rectangle BOUNDS = new Rectangle(0, 0, 500, 500);
+
+	private static LayoutContext createGrid(int columns, int rows) {
+		Node[] nodes = new Node[columns * rows];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = new Node();
+			LayoutProperties.setSize(nodes[i], new Dimension(5, 5));
+		}
+		List<Edge> edges = new ArrayList<>();
+		for (int c = 0; c < columns; c++) {
+			for (int r = 0; r < rows; r++) {
+				if (c + 1 < columns) {
+					edges.add(new Edge(nodes[c * rows + r],
+							nodes[(c + 1) * rows + r]));
+				}
+				if (r + 1 < rows) {
+					edges.add(new Edge(nodes[c * rows + r],
+							nodes[c * rows + r + 1]));
+				}
+			}
+		}
+		Graph graph = new Graph.Builder().nodes(nodes).edges(edges).build();
+		LayoutProperties.setBounds(graph, BOUNDS);
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		return context;
+	}
+
+	@Test
+	public void deterministicAndParallel() {
+		LayoutContext sequential = createGrid(20, 20);
+		LayoutContext parallel = createGrid(20, 20);
+		MultilevelLayoutAlgorithm algorithm = new MultilevelLayoutAlgorithm();
+		algorithm.applyLayout(sequential, true);
+		algorithm.setParallel(true);
+		algorithm.applyLayout(parallel, true);
+
+		Node[] sequentialNodes = sequential.getNodes();
+		Node[] parallelNodes = parallel.getNodes();
+		for (int i = 0; i < sequentialNodes.length; i++) {
+			assertEquals(LayoutProperties.getLocation(sequentialNodes[i]),
+					LayoutProperties.getLocation(parallelNodes[i]));
+		}
+	}
+
+	@Test
+	public void keepNonMovableNodes() {
+		LayoutContext context = createGrid(5, 5);
+		Node fixed = context.getNodes()[0];
+		fixed.getAttributes().put(LayoutProperties.MOVABLE_PROPERTY, false);
+		LayoutProperties.setLocation(fixed, new Point(100, 100));
+		new MultilevelLayoutAlgorithm().applyLayout(context, true);
+		assertEquals(new Point(100, 100), LayoutProperties.getLocation(fixed));
+
+		// the other nodes are spread over the layout bounds
+		double minX = Double.MAX_VALUE;
+		double minY = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE;
+		double maxY = -Double.MAX_VALUE;
+		for (Node node : context.getNodes()) {
+			if (node != fixed) {
+				Point location = LayoutProperties.getLocation(node);
+				assertTrue(BOUNDS.contains(location));
+				minX = Math.min(minX, location.x);
+				minY = Math.min(minY, location.y);
+				maxX = Math.max(maxX, location.x);
+				maxY = Math.max(maxY, location.y);
+			}
+		}
+		assertTrue(Math.max(maxX - minX, maxY - minY) > BOUNDS.getWidth() / 2);
+	}
+
+	@Test
+	public void unfoldGrid() {
+		LayoutContext context = createGrid(30, 30);
+		context.setInstrumentation(new LayoutInstrumentation());
+		context.setLayoutAlgorithm(new MultilevelLayoutAlgorithm());
+		context.applyLayout(true);
+
+		// a grid is drawn without crossings
+		assertEquals(0, LayoutQualityMetrics.countEdgeCrossings(context));
+		for (Node node : context.getNodes()) {
+			assertTrue(BOUNDS.contains(LayoutProperties.getLocation(node)));
+		}
+		assertTrue(context.getInstrumentation()
+				.getValue(LayoutInstrumentation.ITERATIONS) > 0);
+	}
+
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.LayoutQualityMetrics;
+import org.eclipse.gef.layout.algorithms.OverlapRemovalAlgorithm;
+import org.junit.Test;
+
+public class OverlapRemovalAlgorithmTests {
+
+	private static final long SEED = 123;
+
+	private static LayoutContext createContext(Node... nodes) {
+		LayoutContext context = new LayoutContext();
+		context.setGraph(new Graph.Builder().nodes(nodes).build());
+		return context;
+	}
+
+	private static Node createNode(double x, double y, double width,
+			double height) {
+		Node node = new Node();
+		LayoutProperties.setLocation(node, new Point(x, y));
+		LayoutProperties.setSize(node, new Dimension(width, height));
+		return node;
+	}
+
+	@Test
+	public void keepNonMovableNodes() {
+		Node fixed = createNode(0, 0, 10, 10);
+		fixed.getAttributes().put(LayoutProperties.MOVABLE_PROPERTY, false);
+		Node right = createNode(4, 0, 10, 10);
+		Node left = createNode(-4, 0, 10, 10);
+		new OverlapRemovalAlgorithm()
+				.applyLayout(createContext(fixed, right, left), true);
+		assertEquals(new Point(0, 0), LayoutProperties.getLocation(fixed));
+		assertEquals(new Point(10, 0), LayoutProperties.getLocation(right));
+		assertEquals(new Point(-10, 0), LayoutProperties.getLocation(left));
+	}
+
+	@Test
+	public void removeOverlapsInRandomLayouts() {
+		Random random = new Random(SEED);
+		for (int i = 0; i < 10; i++) {
+			Node[] nodes = new Node[500];
+			for (int j = 0; j < nodes.length; j++) {
+				nodes[j] = createNode(300 * random.nextDouble(),
+						300 * random.nextDouble(),
+						5 + 30 * random.nextDouble(),
+						5 + 20 * random.nextDouble());
+			}
+			LayoutContext context = createContext(nodes);
+			assertTrue(LayoutQualityMetrics.countNodeOverlaps(context) > 0);
+			new OverlapRemovalAlgorithm(1).applyLayout(context, true);
+			assertEquals(0, LayoutQualityMetrics.countNodeOverlaps(context));
+		}
+	}
+
+	@Test
+	public void separateAlongSmallerOverlap() {
+		// horizontal overlap is smaller, so the nodes are moved horizontally,
+		// each by half of the overlap
+		Node left = createNode(0, 0, 10, 10);
+		Node right = createNode(4, 1, 10, 10);
+		new OverlapRemovalAlgorithm().applyLayout(createContext(left, right),
+				true);
+		assertEquals(new Point(-3, 0), LayoutProperties.getLocation(left));
+		assertEquals(new Point(7, 1), LayoutProperties.getLocation(right));
+
+		// vertical overlap is smaller, so the nodes are moved vertically
+		Node top = createNode(0, 0, 10, 10);
+		Node bottom = createNode(1, 4, 10, 10);
+		new OverlapRemovalAlgorithm().applyLayout(createContext(top, bottom),
+				true);
+		assertEquals(new Point(0, -3), LayoutProperties.getLocation(top));
+		assertEquals(new Point(1, 7), LayoutProperties.getLocation(bottom));
+	}
+
+	@Test
+	public void spacing() {
+		Node left = createNode(0, 0, 10, 10);
+		Node right = createNode(12, 0, 10, 10);
+		new OverlapRemovalAlgorithm(4).applyLayout(createContext(left, right),
+				true);
+		assertEquals(new Point(-1, 0), LayoutProperties.getLocation(left));
+		assertEquals(new Point(13, 0), LayoutProperties.getLocation(right));
+	}
+
+}
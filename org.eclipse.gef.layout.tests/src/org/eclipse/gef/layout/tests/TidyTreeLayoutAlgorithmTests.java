@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.RadialLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.TidyTreeLayoutAlgorithm;
+import org.junit.Test;
+
+public class TidyTreeLayoutAlgorithmTests {
+
+	private static final long SEED = 123;
+
+	private static Rectangle getBounds(Node node) {
+		Point location = LayoutProperties.getLocation(node);
+		Dimension size = LayoutProperties.getSize(node);
+		return new Rectangle(location.x - size.width / 2,
+				location.y - size.height / 2, size.width, size.height);
+	}
+
+	private static LayoutContext layout(Node[] nodes, Edge[] edges,
+			int direction) {
+		Graph graph = new Graph.Builder().nodes(nodes).edges(edges).build();
+		LayoutProperties.setBounds(graph, new Rectangle(10, 20, 500, 500));
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		new TidyTreeLayoutAlgorithm(direction).applyLayout(context, true);
+		return context;
+	}
+
+	private static Node node(double width, double height) {
+		Node node = new Node();
+		LayoutProperties.setSize(node, new Dimension(width, height));
+		return node;
+	}
+
+	@Test
+	public void centerParents() {
+		Node root = node(10, 10);
+		Node left = node(30, 10);
+		Node middle = node(10, 10);
+		Node right = node(50, 10);
+		layout(new Node[] { root, left, middle, right },
+				new Edge[] { new Edge(root, left), new Edge(root, middle),
+						new Edge(root, right) },
+				LayoutProperties.DIRECTION_TOP_DOWN);
+
+		// children are placed side by side, with the default node spacing
+		// between them, and the parent is centered above them
+		assertEquals(new Rectangle(10, 50, 30, 10), getBounds(left));
+		assertEquals(new Rectangle(50, 50, 10, 10), getBounds(middle));
+		assertEquals(new Rectangle(70, 50, 50, 10), getBounds(right));
+		assertEquals(new Point(60, 25), LayoutProperties.getLocation(root));
+	}
+
+	@Test
+	public void directions() {
+		Node root = node(20, 10);
+		Node child = node(20, 30);
+		Node[] nodes = new Node[] { root, child };
+		Edge[] edges = new Edge[] { new Edge(root, child) };
+
+		layout(nodes, edges, LayoutProperties.DIRECTION_TOP_DOWN);
+		assertEquals(new Rectangle(10, 20, 20, 10), getBounds(root));
+		assertEquals(new Rectangle(10, 50, 20, 30), getBounds(child));
+
+		layout(nodes, edges, LayoutProperties.DIRECTION_BOTTOM_UP);
+		assertEquals(new Rectangle(10, 70, 20, 10), getBounds(root));
+		assertEquals(new Rectangle(10, 20, 20, 30), getBounds(child));
+
+		layout(nodes, edges, LayoutProperties.DIRECTION_LEFT_RIGHT);
+		assertEquals(new Rectangle(10, 30, 20, 10), getBounds(root));
+		assertEquals(new Rectangle(50, 20, 20, 30), getBounds(child));
+
+		layout(nodes, edges, LayoutProperties.DIRECTION_RIGHT_LEFT);
+		assertEquals(new Rectangle(50, 30, 20, 10), getBounds(root));
+		assertEquals(new Rectangle(10, 20, 20, 30), getBounds(child));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidDirection() {
+		new TidyTreeLayoutAlgorithm().setDirection(0);
+	}
+
+	@Test
+	public void noOverlapsInRandomForests() {
+		Random random = new Random(SEED);
+		for (int i = 0; i < 50; i++) {
+			int n = 1 + random.nextInt(100);
+			Node[] nodes = new Node[n];
+			List<Edge> edges = new ArrayList<>();
+			for (int j = 0; j < n; j++) {
+				nodes[j] = node(1 + random.nextInt(40),
+						1 + random.nextInt(40));
+				// about every tenth node starts a new tree
+				if (j > 0 && random.nextInt(10) > 0) {
+					edges.add(new Edge(nodes[random.nextInt(j)], nodes[j]));
+				}
+			}
+			layout(nodes, edges.toArray(new Edge[] {}),
+					1 + random.nextInt(4));
+			for (int j = 0; j < n; j++) {
+				Rectangle bounds = getBounds(nodes[j]).shrink(0.5, 0.5);
+				for (int k = j + 1; k < n; k++) {
+					assertFalse(bounds
+							.touches(getBounds(nodes[k]).shrink(0.5, 0.5)));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void radialTreeStage() {
+		// the tidy tree is wider than the bounds
+		Node root = node(10, 10);
+		Node[] children = new Node[8];
+		Edge[] edges = new Edge[children.length];
+		for (int i = 0; i < children.length; i++) {
+			children[i] = node(30, 10);
+			edges[i] = new Edge(root, children[i]);
+		}
+		Graph graph = new Graph.Builder().nodes(root).nodes(children)
+				.edges(edges).build();
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 100, 100));
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		RadialLayoutAlgorithm radial = new RadialLayoutAlgorithm();
+		radial.setTreeLayoutAlgorithm(new TidyTreeLayoutAlgorithm());
+		radial.setRangeToLayout(0, Math.PI / 2);
+		radial.applyLayout(context, true);
+
+		// the children are placed around the root within the angle range,
+		// keeping their order
+		Point rootLocation = LayoutProperties.getLocation(root);
+		double previous = -Double.MAX_VALUE;
+		for (Node child : children) {
+			Point location = LayoutProperties.getLocation(child);
+			double angle = Math.atan2(location.y - rootLocation.y,
+					location.x - rootLocation.x);
+			assertTrue(angle >= -1e-9);
+			assertTrue(angle <= Math.PI / 2 + 1e-9);
+			assertTrue(angle > previous);
+			previous = angle;
+		}
+	}
+
+	@Test
+	public void resolveCycles() {
+		Node n1 = node(10, 10);
+		Node n2 = node(10, 10);
+		Node n3 = node(10, 10);
+		layout(new Node[] { n1, n2, n3 },
+				new Edge[] { new Edge(n1, n2), new Edge(n2, n3),
+						new Edge(n3, n1) },
+				LayoutProperties.DIRECTION_TOP_DOWN);
+
+		// the first node starts the tree, the edge closing the cycle is
+		// ignored
+		assertEquals(new Point(15, 25), LayoutProperties.getLocation(n1));
+		assertEquals(new Point(15, 55), LayoutProperties.getLocation(n2));
+		assertEquals(new Point(15, 85), LayoutProperties.getLocation(n3));
+	}
+
+}
@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout;
+
+/**
+ * An {@link ILayoutAlgorithm} that is capable of updating an existing layout
+ * incrementally, based on the changes that were recorded by the
+ * {@link LayoutContext} since the last layout pass.
+ */
+public interface IIncrementalLayoutAlgorithm extends ILayoutAlgorithm {
+
+	/**
+	 * Updates the layout of the given {@link LayoutContext}, which was
+	 * computed by a previous layout pass, by repairing the regions that are
+	 * affected by the given changes. Called by
+	 * {@link LayoutContext#applyLayout(boolean)} instead of
+	 * {@link #applyLayout(LayoutContext, boolean)} if a layout pass is
+	 * requested that is not clean and changes were recorded.
+	 *
+	 * @param layoutContext
+	 *            The {@link LayoutContext} that provides all relevant
+	 *            information about what to layout.
+	 * @param changes
+	 *            The {@link LayoutChangeLog} providing the changes since the
+	 *            last layout pass.
+	 */
+	public void applyIncrementalLayout(LayoutContext layoutContext, LayoutChangeLog changes);
+}
@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+
+/**
+ * The {@link LayoutChangeLog} records the changes of the {@link Graph} of a
+ * {@link LayoutContext} since the last layout pass, i.e. the {@link Node}s and
+ * {@link Edge}s that were added or removed, as well as the {@link Node}s that
+ * were moved (i.e. whose {@link LayoutProperties#LOCATION_PROPERTY} was changed
+ * outside of a layout pass). It is passed to
+ * {@link IIncrementalLayoutAlgorithm}s, so that they can restrict the layout
+ * computation to the affected regions.
+ */
+public class LayoutChangeLog {
+
+	private final Set<Node> addedNodes = new LinkedHashSet<>();
+	private final Set<Node> removedNodes = new LinkedHashSet<>();
+	private final Set<Node> movedNodes = new LinkedHashSet<>();
+	private final Set<Edge> addedEdges = new LinkedHashSet<>();
+	private final Set<Edge> removedEdges = new LinkedHashSet<>();
+
+	/**
+	 * Records that the given {@link Edge} was added.
+	 *
+	 * @param edge
+	 *            The {@link Edge} that was added.
+	 */
+	void edgeAdded(Edge edge) {
+		if (!removedEdges.remove(edge)) {
+			addedEdges.add(edge);
+		}
+	}
+
+	/**
+	 * Records that the given {@link Edge} was removed.
+	 *
+	 * @param edge
+	 *            The {@link Edge} that was removed.
+	 */
+	void edgeRemoved(Edge edge) {
+		if (!addedEdges.remove(edge)) {
+			removedEdges.add(edge);
+		}
+	}
+
+	/**
+	 * Clears this {@link LayoutChangeLog}.
+	 */
+	void clear() {
+		addedNodes.clear();
+		removedNodes.clear();
+		movedNodes.clear();
+		addedEdges.clear();
+		removedEdges.clear();
+	}
+
+	/**
+	 * Returns an unmodifiable {@link Set} containing the {@link Edge}s that
+	 * were added since the last layout pass.
+	 *
+	 * @return The {@link Edge}s that were added since the last layout pass.
+	 */
+	public Set<Edge> getAddedEdges() {
+		return Collections.unmodifiableSet(addedEdges);
+	}
+
+	/**
+	 * Returns an unmodifiable {@link Set} containing the {@link Node}s that
+	 * were added since the last layout pass.
+	 *
+	 * @return The {@link Node}s that were added since the last layout pass.
+	 */
+	public Set<Node> getAddedNodes() {
+		return Collections.unmodifiableSet(addedNodes);
+	}
+
+	/**
+	 * Returns an unmodifiable {@link Set} containing the {@link Node}s that
+	 * were moved since the last layout pass. Added {@link Node}s are not
+	 * contained.
+	 *
+	 * @return The {@link Node}s that were moved since the last layout pass.
+	 */
+	public Set<Node> getMovedNodes() {
+		return Collections.unmodifiableSet(movedNodes);
+	}
+
+	/**
+	 * Returns an unmodifiable {@link Set} containing the {@link Edge}s that
+	 * were removed since the last layout pass.
+	 *
+	 * @return The {@link Edge}s that were removed since the last layout pass.
+	 */
+	public Set<Edge> getRemovedEdges() {
+		return Collections.unmodifiableSet(removedEdges);
+	}
+
+	/**
+	 * Returns an unmodifiable {@link Set} containing the {@link Node}s that
+	 * were removed since the last layout pass.
+	 *
+	 * @return The {@link Node}s that were removed since the last layout pass.
+	 */
+	public Set<Node> getRemovedNodes() {
+		return Collections.unmodifiableSet(removedNodes);
+	}
+
+	/**
+	 * Returns <code>true</code> if no changes were recorded since the last
+	 * layout pass, otherwise <code>false</code>.
+	 *
+	 * @return <code>true</code> if no changes were recorded, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isEmpty() {
+		return addedNodes.isEmpty() && removedNodes.isEmpty() && movedNodes.isEmpty() && addedEdges.isEmpty()
+				&& removedEdges.isEmpty();
+	}
+
+	/**
+	 * Records that the given {@link Node} was added.
+	 *
+	 * @param node
+	 *            The {@link Node} that was added.
+	 */
+	void nodeAdded(Node node) {
+		if (!removedNodes.remove(node)) {
+			addedNodes.add(node);
+		} else {
+			// re-added nodes may have been moved in between
+			movedNodes.add(node);
+		}
+	}
+
+	/**
+	 * Records that the given {@link Node} was moved.
+	 *
+	 * @param node
+	 *            The {@link Node} that was moved.
+	 */
+	void nodeMoved(Node node) {
+		if (!addedNodes.contains(node)) {
+			movedNodes.add(node);
+		}
+	}
+
+	/**
+	 * Records that the given {@link Node} was removed.
+	 *
+	 * @param node
+	 *            The {@link Node} that was removed.
+	 */
+	void nodeRemoved(Node node) {
+		movedNodes.remove(node);
+		if (!addedNodes.remove(node)) {
+			removedNodes.add(node);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "LayoutChangeLog {added nodes: " + addedNodes.size() + ", removed nodes: " + removedNodes.size()
+				+ ", moved nodes: " + movedNodes.size() + ", added edges: " + addedEdges.size()
+				+ ", removed edges: " + removedEdges.size() + "}";
+	}
+}
@@ -13,7 +13,9 @@
 package org.eclipse.gef.layout;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
@@ -21,13 +23,31 @@ import org.eclipse.gef.graph.Node;
 
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
-import javafx.collections.ObservableList;
+import javafx.collections.ListChangeListener;
+import javafx.collections.MapChangeListener;
 
 /**
  * The {@link LayoutContext} provides the context in which to layout a
  * {@link Graph}. It maintains an {@link ILayoutAlgorithm} that can be applied,
  * supports the handling and execution of pre and post {@link Runnable}s, and
  * filtering of layout objects using {@link ILayoutFilter}.
+ * <p>
+ * The {@link LayoutContext} observes its {@link Graph} and records the changes
+ * since the last layout pass in a {@link LayoutChangeLog}, which is passed to
+ * {@link IIncrementalLayoutAlgorithm}s when a layout pass is requested that is
+ * not clean. Locations that are changed during a layout pass, or while the
+ * results of a layout pass that was computed elsewhere are transferred (see
+ * {@link #applyLayoutResult(Runnable)}), are not recorded as moves.
+ * <p>
+ * Moreover, the layout-relevant nodes and edges (see {@link #getNodes()} and
+ * {@link #getEdges()}) are cached. The {@link ILayoutFilter}s are evaluated
+ * again at the beginning of each layout pass, and when the {@link Graph} or
+ * the {@link ILayoutFilter}s change. Note that this changes the contract of
+ * {@link ILayoutFilter}, which was previously consulted upon each call to
+ * {@link #getNodes()} or {@link #getEdges()}: In case the result of an
+ * {@link ILayoutFilter} changes in-between layout passes, and the
+ * layout-relevant elements are queried before the next layout pass,
+ * {@link #invalidateLayoutRelevantElements()} has to be called.
  * 
  * @author mwienand
  *
@@ -48,6 +68,45 @@ public class LayoutContext {
 	private final List<Runnable> preLayoutPass = new ArrayList<>();
 	private final List<ILayoutFilter> layoutFilters = new ArrayList<>();
 
+	private final LayoutChangeLog changeLog = new LayoutChangeLog();
+	private Node[] layoutRelevantNodes;
+	private Edge[] layoutRelevantEdges;
+	private boolean isLayoutRunning;
+	private LayoutInstrumentation instrumentation;
+	private final Map<Node, MapChangeListener<String, Object>> locationObservers = new IdentityHashMap<>();
+
+	private ListChangeListener<Node> nodesObserver = new ListChangeListener<Node>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends Node> c) {
+			while (c.next()) {
+				for (Node n : c.getRemoved()) {
+					unobserveLocation(n);
+					changeLog.nodeRemoved(n);
+				}
+				for (Node n : c.getAddedSubList()) {
+					observeLocation(n);
+					changeLog.nodeAdded(n);
+				}
+			}
+			invalidateLayoutRelevantElements();
+		}
+	};
+
+	private ListChangeListener<Edge> edgesObserver = new ListChangeListener<Edge>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends Edge> c) {
+			while (c.next()) {
+				for (Edge e : c.getRemoved()) {
+					changeLog.edgeRemoved(e);
+				}
+				for (Edge e : c.getAddedSubList()) {
+					changeLog.edgeAdded(e);
+				}
+			}
+			layoutRelevantEdges = null;
+		}
+	};
+
 	/**
 	 * Adds the given ILayoutFilter to this {@link LayoutContext}.
 	 * 
@@ -56,12 +115,24 @@ public class LayoutContext {
 	 */
 	public void addLayoutFilter(ILayoutFilter layoutFilter) {
 		layoutFilters.add(layoutFilter);
+		invalidateLayoutRelevantElements();
 	}
 
 	/**
 	 * Applies the layout algorithm of this LayoutContext. The clean flag is
 	 * passed-in to the layout algorithm to indicate whether the context changed
-	 * significantly since the last layout pass.
+	 * significantly since the last layout pass. If the layout algorithm is an
+	 * {@link IIncrementalLayoutAlgorithm}, the clean flag is
+	 * <code>false</code>, and changes were recorded since the last layout
+	 * pass, the layout is updated incrementally (see
+	 * {@link IIncrementalLayoutAlgorithm#applyIncrementalLayout(LayoutContext, LayoutChangeLog)}
+	 * ).
+	 * <p>
+	 * The layout-relevant elements are re-evaluated at the beginning of each
+	 * layout pass (see {@link #invalidateLayoutRelevantElements()}). If an
+	 * {@link LayoutInstrumentation} is set, it is reset before the layout
+	 * pass, and the duration of the layout pass is recorded as its
+	 * {@link LayoutInstrumentation#PHASE_LAYOUT} phase.
 	 * 
 	 * @param clear
 	 *            <code>true</code> to indicate that the algorithm has to fully
@@ -70,12 +141,55 @@ public class LayoutContext {
 	public void applyLayout(boolean clear) {
 		ILayoutAlgorithm layoutAlgorithm = layoutAlgorithmProperty.get();
 		if (layoutAlgorithm != null) {
+			// layout filters may depend on state outside of this context
+			invalidateLayoutRelevantElements();
 			preLayout();
-			layoutAlgorithm.applyLayout(this, clear);
+			if (instrumentation != null) {
+				instrumentation.reset();
+				instrumentation.beginPhase(LayoutInstrumentation.PHASE_LAYOUT);
+			}
+			// locations changed by the algorithm are not recorded as moves
+			isLayoutRunning = true;
+			try {
+				if (!clear && layoutAlgorithm instanceof IIncrementalLayoutAlgorithm && !changeLog.isEmpty()) {
+					((IIncrementalLayoutAlgorithm) layoutAlgorithm).applyIncrementalLayout(this, changeLog);
+				} else {
+					layoutAlgorithm.applyLayout(this, clear);
+				}
+			} finally {
+				isLayoutRunning = false;
+				if (instrumentation != null) {
+					instrumentation.endPhase(LayoutInstrumentation.PHASE_LAYOUT);
+				}
+			}
+			changeLog.clear();
 			postLayout();
 		}
 	}
 
+	/**
+	 * Transfers the results of a layout pass that was computed outside of this
+	 * {@link LayoutContext}, e.g. for a copy of its {@link Graph} on another
+	 * thread, by executing the given {@link Runnable}. Location changes that
+	 * are performed by the {@link Runnable} are not recorded as moves. As the
+	 * results incorporate the recorded changes, the {@link #getChangeLog()
+	 * change log} is cleared afterwards, and the post-layout pass is executed.
+	 * 
+	 * @param resultTransfer
+	 *            The {@link Runnable} that transfers the layout results to the
+	 *            elements of this {@link LayoutContext}.
+	 */
+	public void applyLayoutResult(Runnable resultTransfer) {
+		isLayoutRunning = true;
+		try {
+			resultTransfer.run();
+		} finally {
+			isLayoutRunning = false;
+		}
+		changeLog.clear();
+		postLayout();
+	}
+
 	/**
 	 * Initiated by the context or by an {@link ILayoutAlgorithm} to perform
 	 * steps that are scheduled to be run after the layout pass. Should not be
@@ -98,6 +212,16 @@ public class LayoutContext {
 		}
 	}
 
+	/**
+	 * Returns the {@link LayoutChangeLog} that records the changes of the
+	 * {@link Graph} since the last layout pass.
+	 * 
+	 * @return The {@link LayoutChangeLog} of this {@link LayoutContext}.
+	 */
+	public LayoutChangeLog getChangeLog() {
+		return changeLog;
+	}
+
 	/**
 	 * Returns the graph that is to be layouted.
 	 * 
@@ -119,42 +243,79 @@ public class LayoutContext {
 		if (graph == null) {
 			graph = new Graph();
 		}
+		if (this.graph == graph) {
+			return;
+		}
+		if (this.graph != null) {
+			this.graph.getNodes().removeListener(nodesObserver);
+			this.graph.getEdges().removeListener(edgesObserver);
+			for (Node n : this.graph.getNodes()) {
+				unobserveLocation(n);
+			}
+		}
 		this.graph = graph;
+		graph.getNodes().addListener(nodesObserver);
+		graph.getEdges().addListener(edgesObserver);
+		for (Node n : graph.getNodes()) {
+			observeLocation(n);
+		}
+		changeLog.clear();
+		invalidateLayoutRelevantElements();
 	}
 
 	/**
 	 * Returns all the nodes that should be laid out. Replacing elements in the
-	 * returned array does not affect this context.
+	 * returned array does not affect this context. The layout-relevant nodes
+	 * are cached until the {@link Graph} or the {@link ILayoutFilter}s change,
+	 * or the next layout pass begins.
 	 * 
 	 * @return array of nodes to lay out
 	 */
 	// TODO: remove this (algorithms should use getGraph().getNodes())
 	public Node[] getNodes() {
-		ObservableList<Node> nodes = graph.getNodes();
-		List<Node> layoutRelevantNodes = new ArrayList<>();
-		for (Node n : nodes) {
-			if (!isLayoutIrrelevant(n)) {
-				layoutRelevantNodes.add(n);
+		if (layoutRelevantNodes == null) {
+			List<Node> nodes = new ArrayList<>();
+			for (Node n : graph.getNodes()) {
+				if (!isLayoutIrrelevant(n)) {
+					nodes.add(n);
+				}
 			}
+			layoutRelevantNodes = nodes.toArray(new Node[] {});
 		}
-		return layoutRelevantNodes.toArray(new Node[] {});
+		return layoutRelevantNodes.clone();
 	}
 
 	/**
 	 * Returns all the connections between nodes that should be laid out.
 	 * Replacing elements in the returned array does not affect this context.
+	 * The layout-relevant edges are cached until the {@link Graph} or the
+	 * {@link ILayoutFilter}s change, or the next layout pass begins.
 	 * 
 	 * @return array of connections between nodes
 	 */
 	public Edge[] getEdges() {
-		ObservableList<Edge> edges = graph.getEdges();
-		List<Edge> layoutRelevantEdges = new ArrayList<>();
-		for (Edge e : edges) {
-			if (!isLayoutIrrelevant(e)) {
-				layoutRelevantEdges.add(e);
+		if (layoutRelevantEdges == null) {
+			List<Edge> edges = new ArrayList<>();
+			for (Edge e : graph.getEdges()) {
+				if (!isLayoutIrrelevant(e)) {
+					edges.add(e);
+				}
 			}
+			layoutRelevantEdges = edges.toArray(new Edge[] {});
 		}
-		return layoutRelevantEdges.toArray(new Edge[] {});
+		return layoutRelevantEdges.clone();
+	}
+
+	/**
+	 * Returns the {@link LayoutInstrumentation} to which the
+	 * {@link ILayoutAlgorithm}s report, or <code>null</code> if no
+	 * measurements are collected (default).
+	 * 
+	 * @return The {@link LayoutInstrumentation} of this {@link LayoutContext},
+	 *         or <code>null</code>.
+	 */
+	public LayoutInstrumentation getInstrumentation() {
+		return instrumentation;
 	}
 
 	/**
@@ -167,6 +328,18 @@ public class LayoutContext {
 		return layoutAlgorithmProperty.get();
 	}
 
+	/**
+	 * Discards the cached layout-relevant nodes and edges, so that the
+	 * {@link ILayoutFilter}s are re-evaluated upon the next call to
+	 * {@link #getNodes()} or {@link #getEdges()}. Has to be called by clients
+	 * when the result of an {@link ILayoutFilter} changes, e.g. because an
+	 * element was hidden.
+	 */
+	public void invalidateLayoutRelevantElements() {
+		layoutRelevantNodes = null;
+		layoutRelevantEdges = null;
+	}
+
 	/**
 	 * Returns <code>true</code> when the given {@link Edge} is not relevant for
 	 * layout according to the configured {@link ILayoutFilter layout filters}.
@@ -220,6 +393,22 @@ public class LayoutContext {
 		return layoutAlgorithmProperty;
 	};
 
+	private void observeLocation(final Node node) {
+		if (locationObservers.containsKey(node)) {
+			return;
+		}
+		MapChangeListener<String, Object> locationObserver = new MapChangeListener<String, Object>() {
+			@Override
+			public void onChanged(MapChangeListener.Change<? extends String, ? extends Object> change) {
+				if (!isLayoutRunning && LayoutProperties.LOCATION_PROPERTY.equals(change.getKey())) {
+					changeLog.nodeMoved(node);
+				}
+			}
+		};
+		locationObservers.put(node, locationObserver);
+		node.attributesProperty().addListener(locationObserver);
+	}
+
 	/**
 	 * Removes the given ILayoutFilter from this {@link LayoutContext}.
 	 * 
@@ -228,6 +417,7 @@ public class LayoutContext {
 	 */
 	public void removeLayoutFilter(ILayoutFilter layoutFilter) {
 		layoutFilters.remove(layoutFilter);
+		invalidateLayoutRelevantElements();
 	}
 
 	/**
@@ -266,6 +456,19 @@ public class LayoutContext {
 		}
 	}
 
+	/**
+	 * Sets the {@link LayoutInstrumentation} to which the
+	 * {@link ILayoutAlgorithm}s report. If <code>null</code> is passed in, no
+	 * measurements are collected.
+	 *
+	 * @param instrumentation
+	 *            The new {@link LayoutInstrumentation} for this
+	 *            {@link LayoutContext}, or <code>null</code>.
+	 */
+	public void setInstrumentation(LayoutInstrumentation instrumentation) {
+		this.instrumentation = instrumentation;
+	}
+
 	/**
 	 * Sets the layout algorithm for this context.
 	 * 
@@ -277,6 +480,13 @@ public class LayoutContext {
 		layoutAlgorithmProperty.set(algorithm);
 	}
 
+	private void unobserveLocation(Node node) {
+		MapChangeListener<String, Object> locationObserver = locationObservers.remove(node);
+		if (locationObserver != null) {
+			node.attributesProperty().removeListener(locationObserver);
+		}
+	}
+
 	/**
 	 * Removes the given {@link Runnable} from the list of runnables which are
 	 * called when this {@link LayoutContext} is asked to apply all changes made
@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@link LayoutInstrumentation} collects measurements about a layout pass.
+ * It can be set on a {@link LayoutContext} (see
+ * {@link LayoutContext#setInstrumentation(LayoutInstrumentation)}), which
+ * resets it at the beginning of each layout pass (see
+ * {@link LayoutContext#applyLayout(boolean)}) and records the duration of the
+ * complete pass as the {@link #PHASE_LAYOUT} phase. {@link ILayoutAlgorithm}s
+ * report to the {@link LayoutInstrumentation} of their {@link LayoutContext},
+ * if one is set:
+ * <ul>
+ * <li>the durations of their phases, using {@link #beginPhase(String)} and
+ * {@link #endPhase(String)}, and
+ * <li>values that characterize the computation, such as the number of
+ * {@link #ITERATIONS iterations}, using {@link #report(String, double)}.
+ * </ul>
+ * In addition, quality metrics of the resulting layout can be computed on
+ * demand using {@link #computeQualityMetrics(LayoutContext)}.
+ * <p>
+ * The collected measurements can be queried after a layout pass, e.g. to
+ * export them to a metrics system or to compare different
+ * {@link ILayoutAlgorithm}s. A {@link LayoutInstrumentation} is not
+ * thread-safe, i.e. it should only be queried when no layout pass is running.
+ */
+public class LayoutInstrumentation {
+
+	/**
+	 * The phase that comprises a complete layout pass.
+	 */
+	public static final String PHASE_LAYOUT = "layout";
+
+	/**
+	 * The phase in which an {@link ILayoutAlgorithm} prepares its data
+	 * structures.
+	 */
+	public static final String PHASE_INITIALIZATION = "initialization";
+
+	/**
+	 * The phase in which an iterative {@link ILayoutAlgorithm} performs its
+	 * iterations.
+	 */
+	public static final String PHASE_ITERATION = "iteration";
+
+	/**
+	 * The phase in which a layered {@link ILayoutAlgorithm} assigns the nodes
+	 * to layers.
+	 */
+	public static final String PHASE_LAYERING = "layering";
+
+	/**
+	 * The phase in which a layered {@link ILayoutAlgorithm} reorders the nodes
+	 * within their layers to reduce edge crossings.
+	 */
+	public static final String PHASE_CROSSING_REDUCTION = "crossing-reduction";
+
+	/**
+	 * The phase in which an {@link ILayoutAlgorithm} assigns the final
+	 * locations (and sizes) to the nodes.
+	 */
+	public static final String PHASE_PLACEMENT = "placement";
+
+	/**
+	 * The number of iterations performed by an iterative
+	 * {@link ILayoutAlgorithm}.
+	 */
+	public static final String ITERATIONS = "iterations";
+
+	/**
+	 * The energy of the layout after the last iteration of a force-directed
+	 * {@link ILayoutAlgorithm}, i.e. the sum of the squared magnitudes of the
+	 * forces acting on the nodes.
+	 */
+	public static final String ENERGY = "energy";
+
+	/**
+	 * The total distance the nodes were moved in the last iteration of an
+	 * iterative {@link ILayoutAlgorithm}.
+	 */
+	public static final String DISPLACEMENT = "displacement";
+
+	/**
+	 * The number of pairs of edges that cross each other (see
+	 * {@link LayoutQualityMetrics#countEdgeCrossings(LayoutContext)}).
+	 */
+	public static final String EDGE_CROSSINGS = "edge-crossings";
+
+	/**
+	 * The number of pairs of nodes that overlap each other (see
+	 * {@link LayoutQualityMetrics#countNodeOverlaps(LayoutContext)}).
+	 */
+	public static final String NODE_OVERLAPS = "node-overlaps";
+
+	/**
+	 * The sum of the lengths of all edges (see
+	 * {@link LayoutQualityMetrics#computeTotalEdgeLength(LayoutContext)}).
+	 */
+	public static final String TOTAL_EDGE_LENGTH = "total-edge-length";
+
+	private final Map<String, Long> phaseTimes = new LinkedHashMap<>();
+	private final Map<String, Long> phaseStarts = new HashMap<>();
+	private final Map<String, Double> values = new LinkedHashMap<>();
+
+	/**
+	 * Records the start of the given phase. The time until the corresponding
+	 * call to {@link #endPhase(String)} is added to the duration of the phase.
+	 *
+	 * @param phase
+	 *            The name of the phase that starts.
+	 */
+	public void beginPhase(String phase) {
+		phaseStarts.put(phase, System.nanoTime());
+	}
+
+	/**
+	 * Computes the {@link #EDGE_CROSSINGS}, {@link #NODE_OVERLAPS}, and
+	 * {@link #TOTAL_EDGE_LENGTH} quality metrics for the current layout of the
+	 * given {@link LayoutContext} and reports them to this
+	 * {@link LayoutInstrumentation}.
+	 *
+	 * @param layoutContext
+	 *            The {@link LayoutContext} whose layout is evaluated.
+	 */
+	public void computeQualityMetrics(LayoutContext layoutContext) {
+		report(EDGE_CROSSINGS,
+				LayoutQualityMetrics.countEdgeCrossings(layoutContext));
+		report(NODE_OVERLAPS,
+				LayoutQualityMetrics.countNodeOverlaps(layoutContext));
+		report(TOTAL_EDGE_LENGTH,
+				LayoutQualityMetrics.computeTotalEdgeLength(layoutContext));
+	}
+
+	/**
+	 * Records the end of the given phase, adding the time since the
+	 * corresponding call to {@link #beginPhase(String)} to the duration of the
+	 * phase. Does nothing if the phase was not started.
+	 *
+	 * @param phase
+	 *            The name of the phase that ends.
+	 */
+	public void endPhase(String phase) {
+		Long start = phaseStarts.remove(phase);
+		if (start != null) {
+			Long time = phaseTimes.get(phase);
+			phaseTimes.put(phase, (time == null ? 0 : time)
+					+ System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Returns the accumulated duration of the given phase in nanoseconds, or
+	 * <code>0</code> if the phase was not recorded.
+	 *
+	 * @param phase
+	 *            The name of the phase.
+	 * @return The duration of the given phase in nanoseconds.
+	 */
+	public long getPhaseTime(String phase) {
+		Long time = phaseTimes.get(phase);
+		return time == null ? 0 : time;
+	}
+
+	/**
+	 * Returns an unmodifiable {@link Map} from the names of the recorded
+	 * phases (in the order in which they were first completed) to their
+	 * durations in nanoseconds.
+	 *
+	 * @return The durations of the recorded phases.
+	 */
+	public Map<String, Long> getPhaseTimes() {
+		return Collections.unmodifiableMap(phaseTimes);
+	}
+
+	/**
+	 * Returns the value that was last reported for the given metric, or
+	 * <code>null</code> if no value was reported.
+	 *
+	 * @param metric
+	 *            The name of the metric.
+	 * @return The value of the given metric, or <code>null</code>.
+	 */
+	public Double getValue(String metric) {
+		return values.get(metric);
+	}
+
+	/**
+	 * Returns an unmodifiable {@link Map} from the names of the reported
+	 * metrics (in the order in which they were first reported) to their
+	 * values.
+	 *
+	 * @return The values of the reported metrics.
+	 */
+	public Map<String, Double> getValues() {
+		return Collections.unmodifiableMap(values);
+	}
+
+	/**
+	 * Reports the given value for the given metric, replacing any previously
+	 * reported value.
+	 *
+	 * @param metric
+	 *            The name of the metric.
+	 * @param value
+	 *            The value of the metric.
+	 */
+	public void report(String metric, double value) {
+		values.put(metric, value);
+	}
+
+	/**
+	 * Discards all recorded phases and reported values.
+	 */
+	public void reset() {
+		phaseTimes.clear();
+		phaseStarts.clear();
+		values.clear();
+	}
+
+}
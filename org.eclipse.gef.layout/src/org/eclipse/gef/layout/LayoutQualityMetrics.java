@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Node;
+
+/**
+ * The {@link LayoutQualityMetrics} provides methods to evaluate the current
+ * layout of a {@link LayoutContext}. Nodes are represented by the rectangles
+ * that are centered at their {@link LayoutProperties#LOCATION_PROPERTY
+ * locations} and have their {@link LayoutProperties#SIZE_PROPERTY sizes}, and
+ * edges are represented by the straight lines between the locations of their
+ * source and target nodes. Nodes without a location, as well as the edges
+ * that are connected to them, are ignored.
+ * <p>
+ * In order to avoid testing all pairs of edges or nodes, the edges and nodes
+ * are sorted by their minimum x-coordinate and only those whose x-ranges
+ * overlap are tested against each other.
+ */
+public class LayoutQualityMetrics {
+
+	private static final int SOURCE = 0;
+	private static final int TARGET = 1;
+
+	private LayoutQualityMetrics() {
+		// this class should not be instantiated by clients
+	}
+
+	/**
+	 * Returns the sum of the lengths of the edges of the given
+	 * {@link LayoutContext}.
+	 *
+	 * @param layoutContext
+	 *            The {@link LayoutContext} to evaluate.
+	 * @return The total edge length.
+	 */
+	public static double computeTotalEdgeLength(LayoutContext layoutContext) {
+		double length = 0;
+		for (Edge edge : layoutContext.getEdges()) {
+			Point source = LayoutProperties.getLocation(edge.getSource());
+			Point target = LayoutProperties.getLocation(edge.getTarget());
+			if (source != null && target != null) {
+				length += source.getDistance(target);
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * Returns the number of pairs of edges of the given {@link LayoutContext}
+	 * that cross each other. Edges that share a node, as well as edges that
+	 * only touch or overlap collinearly, are not counted as crossing.
+	 *
+	 * @param layoutContext
+	 *            The {@link LayoutContext} to evaluate.
+	 * @return The number of edge crossings.
+	 */
+	public static int countEdgeCrossings(LayoutContext layoutContext) {
+		Node[] nodes = layoutContext.getNodes();
+		Map<Node, Integer> indices = new IdentityHashMap<>(2 * nodes.length);
+		for (int i = 0; i < nodes.length; i++) {
+			indices.put(nodes[i], i);
+		}
+
+		// collect the edges between located nodes
+		Edge[] edges = layoutContext.getEdges();
+		int[][] ends = new int[2][edges.length];
+		double[][] x = new double[2][edges.length];
+		double[][] y = new double[2][edges.length];
+		int count = 0;
+		for (Edge edge : edges) {
+			Integer source = indices.get(edge.getSource());
+			Integer target = indices.get(edge.getTarget());
+			Point sourceLocation = LayoutProperties
+					.getLocation(edge.getSource());
+			Point targetLocation = LayoutProperties
+					.getLocation(edge.getTarget());
+			if (source != null && target != null && sourceLocation != null
+					&& targetLocation != null) {
+				ends[SOURCE][count] = source;
+				ends[TARGET][count] = target;
+				x[SOURCE][count] = sourceLocation.x;
+				y[SOURCE][count] = sourceLocation.y;
+				x[TARGET][count] = targetLocation.x;
+				y[TARGET][count] = targetLocation.y;
+				count++;
+			}
+		}
+		double[] minX = new double[count];
+		double[] maxX = new double[count];
+		for (int i = 0; i < count; i++) {
+			minX[i] = Math.min(x[SOURCE][i], x[TARGET][i]);
+			maxX[i] = Math.max(x[SOURCE][i], x[TARGET][i]);
+		}
+
+		Integer[] order = sortByMinX(minX);
+		int crossings = 0;
+		for (int a = 0; a < count; a++) {
+			int i = order[a];
+			for (int b = a + 1; b < count
+					&& minX[order[b]] <= maxX[i]; b++) {
+				int j = order[b];
+				if (ends[SOURCE][i] == ends[SOURCE][j]
+						|| ends[SOURCE][i] == ends[TARGET][j]
+						|| ends[TARGET][i] == ends[SOURCE][j]
+						|| ends[TARGET][i] == ends[TARGET][j]) {
+					continue;
+				}
+				if (crosses(x[SOURCE][i], y[SOURCE][i], x[TARGET][i],
+						y[TARGET][i], x[SOURCE][j], y[SOURCE][j],
+						x[TARGET][j], y[TARGET][j])) {
+					crossings++;
+				}
+			}
+		}
+		return crossings;
+	}
+
+	/**
+	 * Returns the number of pairs of nodes of the given {@link LayoutContext}
+	 * whose rectangles overlap, i.e. share an interior point.
+	 *
+	 * @param layoutContext
+	 *            The {@link LayoutContext} to evaluate.
+	 * @return The number of node overlaps.
+	 */
+	public static int countNodeOverlaps(LayoutContext layoutContext) {
+		Node[] nodes = layoutContext.getNodes();
+		double[] minX = new double[nodes.length];
+		double[] maxX = new double[nodes.length];
+		double[] minY = new double[nodes.length];
+		double[] maxY = new double[nodes.length];
+		int count = 0;
+		for (Node node : nodes) {
+			Point location = LayoutProperties.getLocation(node);
+			if (location != null) {
+				Dimension size = LayoutProperties.getSize(node);
+				double width = size == null ? 0 : size.width;
+				double height = size == null ? 0 : size.height;
+				minX[count] = location.x - width / 2;
+				maxX[count] = location.x + width / 2;
+				minY[count] = location.y - height / 2;
+				maxY[count] = location.y + height / 2;
+				count++;
+			}
+		}
+		minX = Arrays.copyOf(minX, count);
+		maxX = Arrays.copyOf(maxX, count);
+
+		Integer[] order = sortByMinX(minX);
+		int overlaps = 0;
+		for (int a = 0; a < count; a++) {
+			int i = order[a];
+			for (int b = a + 1; b < count
+					&& minX[order[b]] < maxX[i]; b++) {
+				int j = order[b];
+				if (minX[j] < maxX[i] && minX[i] < maxX[j]
+						&& minY[j] < maxY[i] && minY[i] < maxY[j]) {
+					overlaps++;
+				}
+			}
+		}
+		return overlaps;
+	}
+
+	private static boolean crosses(double x1, double y1, double x2, double y2,
+			double x3, double y3, double x4, double y4) {
+		double o1 = orientation(x1, y1, x2, y2, x3, y3);
+		double o2 = orientation(x1, y1, x2, y2, x4, y4);
+		double o3 = orientation(x3, y3, x4, y4, x1, y1);
+		double o4 = orientation(x3, y3, x4, y4, x2, y2);
+		return (o1 > 0 && o2 < 0 || o1 < 0 && o2 > 0)
+				&& (o3 > 0 && o4 < 0 || o3 < 0 && o4 > 0);
+	}
+
+	private static double orientation(double x1, double y1, double x2,
+			double y2, double x3, double y3) {
+		return (x2 - x1) * (y3 - y1) - (y2 - y1) * (x3 - x1);
+	}
+
+	private static Integer[] sortByMinX(final double[] minX) {
+		Integer[] order = new Integer[minX.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer i, Integer j) {
+				return Double.compare(minX[i], minX[j]);
+			}
+		});
+		return order;
+	}
+
+}
@@ -0,0 +1,444 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * The {@link CachingLayoutAlgorithm} decorates another
+ * {@link ILayoutAlgorithm}, remembering the locations and sizes it computes.
+ * When a {@link LayoutContext} with the same structure is laid out again,
+ * e.g. because a diagram is re-opened, the remembered locations and sizes are
+ * replayed instead of running the decorated {@link ILayoutAlgorithm}.
+ * <p>
+ * The structure of a {@link LayoutContext} is captured by a fingerprint, which
+ * is computed from:
+ * <ul>
+ * <li>the layout bounds,
+ * <li>the nodes (in order), identified by the value of their
+ * {@link #setKeyAttribute(String) key attribute}, together with their sizes,
+ * their {@link LayoutProperties#MOVABLE_PROPERTY movable},
+ * {@link LayoutProperties#RESIZABLE_PROPERTY resizable}, and
+ * {@link LayoutProperties#ASPECT_RATIO_PROPERTY aspect ratio} properties, and
+ * the locations of the nodes that are not movable,
+ * <li>the edges (in order), identified by their source and target nodes,
+ * together with their {@link LayoutProperties#WEIGHT_PROPERTY weight},
+ * <li>the type of the decorated {@link ILayoutAlgorithm} and its
+ * {@link #setParametersKey(String) parameters key}.
+ * </ul>
+ * As the parameters of the decorated {@link ILayoutAlgorithm} cannot be
+ * inspected generically, clients have to change the parameters key whenever
+ * they change the parameters of the decorated {@link ILayoutAlgorithm}.
+ * <p>
+ * The results are kept in an in-memory cache of limited capacity, which
+ * evicts the least recently used results first. In addition, the results may
+ * be stored in a {@link #setCacheDirectory(Path) cache directory}, so that they
+ * survive the current session. Results that cannot be read from or written to
+ * the cache directory are ignored, i.e. the decorated {@link ILayoutAlgorithm}
+ * is used in that case.
+ */
+public class CachingLayoutAlgorithm implements ILayoutAlgorithm {
+
+	/**
+	 * The default capacity of the in-memory cache.
+	 */
+	public static final int DEFAULT_CAPACITY = 16;
+
+	private static final String FILE_EXTENSION = ".layout";
+
+	private final ILayoutAlgorithm delegate;
+	private final Map<String, double[]> cache;
+	private String keyAttribute;
+	private String parametersKey = "";
+	private Path cacheDirectory;
+
+	/**
+	 * Constructs a new {@link CachingLayoutAlgorithm} that decorates the given
+	 * {@link ILayoutAlgorithm}, using an in-memory cache with the
+	 * {@link #DEFAULT_CAPACITY default capacity}.
+	 *
+	 * @param delegate
+	 *            The {@link ILayoutAlgorithm} whose results are cached.
+	 */
+	public CachingLayoutAlgorithm(ILayoutAlgorithm delegate) {
+		this(delegate, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructs a new {@link CachingLayoutAlgorithm} that decorates the given
+	 * {@link ILayoutAlgorithm}, using an in-memory cache with the given
+	 * capacity.
+	 *
+	 * @param delegate
+	 *            The {@link ILayoutAlgorithm} whose results are cached.
+	 * @param capacity
+	 *            The maximum number of results that are kept in memory.
+	 */
+	@SuppressWarnings("serial")
+	public CachingLayoutAlgorithm(ILayoutAlgorithm delegate,
+			final int capacity) {
+		if (delegate == null) {
+			throw new IllegalArgumentException(
+					"The delegate may not be null.");
+		}
+		if (capacity < 1) {
+			throw new IllegalArgumentException(
+					"The capacity has to be positive, but is " + capacity
+							+ ".");
+		}
+		this.delegate = delegate;
+		this.cache = new LinkedHashMap<String, double[]>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<String, double[]> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	@Override
+	public void applyLayout(LayoutContext layoutContext, boolean clean) {
+		if (!clean) {
+			delegate.applyLayout(layoutContext, clean);
+			return;
+		}
+		Node[] nodes = layoutContext.getNodes();
+		String fingerprint = computeFingerprint(layoutContext, nodes);
+		double[] result = get(fingerprint, nodes.length);
+		if (result != null) {
+			replay(nodes, result);
+		} else {
+			delegate.applyLayout(layoutContext, clean);
+			put(fingerprint, record(nodes));
+		}
+	}
+
+	/**
+	 * Removes all results from the in-memory cache. The cache directory, if
+	 * any, is not affected.
+	 */
+	public synchronized void clear() {
+		cache.clear();
+	}
+
+	/**
+	 * Computes the fingerprint of the given {@link LayoutContext}, which
+	 * identifies its layout-relevant structure. The fingerprint is a
+	 * hexadecimal SHA-256 digest, so that it may be used as a file name.
+	 *
+	 * @param layoutContext
+	 *            The {@link LayoutContext} for which to compute the
+	 *            fingerprint.
+	 * @param nodes
+	 *            The nodes of the {@link LayoutContext}.
+	 * @return The fingerprint of the given {@link LayoutContext}.
+	 */
+	protected String computeFingerprint(LayoutContext layoutContext,
+			Node[] nodes) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-256 has to be supported by every Java platform
+			throw new IllegalStateException(e);
+		}
+		Map<Node, Integer> indices = new IdentityHashMap<>(2 * nodes.length);
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(
+						new MessageDigestOutputStream(digest)))) {
+			writeString(out, delegate.getClass().getName());
+			writeString(out, parametersKey);
+			Rectangle bounds = LayoutProperties
+					.getBounds(layoutContext.getGraph());
+			writeRectangle(out, bounds);
+
+			out.writeInt(nodes.length);
+			for (int i = 0; i < nodes.length; i++) {
+				Node node = nodes[i];
+				indices.put(node, i);
+				if (keyAttribute != null) {
+					writeString(out, node.getAttributes().get(keyAttribute));
+				}
+				Dimension size = LayoutProperties.getSize(node);
+				out.writeDouble(size == null ? Double.NaN : size.width);
+				out.writeDouble(size == null ? Double.NaN : size.height);
+				boolean movable = LayoutProperties.isMovable(node);
+				out.writeBoolean(movable);
+				out.writeBoolean(LayoutProperties.isResizable(node));
+				out.writeDouble(
+						LayoutProperties.getPreferredAspectRatio(node));
+				if (!movable) {
+					Point location = LayoutProperties.getLocation(node);
+					out.writeDouble(
+							location == null ? Double.NaN : location.x);
+					out.writeDouble(
+							location == null ? Double.NaN : location.y);
+				}
+			}
+
+			Edge[] edges = layoutContext.getEdges();
+			out.writeInt(edges.length);
+			for (Edge edge : edges) {
+				Integer source = indices.get(edge.getSource());
+				Integer target = indices.get(edge.getTarget());
+				out.writeInt(source == null ? -1 : source);
+				out.writeInt(target == null ? -1 : target);
+				out.writeDouble(LayoutProperties.getWeight(edge));
+			}
+		} catch (IOException e) {
+			// cannot happen, as the digest does not perform any I/O
+			throw new IllegalStateException(e);
+		}
+
+		StringBuilder fingerprint = new StringBuilder();
+		for (byte b : digest.digest()) {
+			fingerprint.append(Character.forDigit((b >> 4) & 0xF, 16));
+			fingerprint.append(Character.forDigit(b & 0xF, 16));
+		}
+		return fingerprint.toString();
+	}
+
+	private synchronized double[] get(String fingerprint, int nodeCount) {
+		double[] result = cache.get(fingerprint);
+		if (result == null && cacheDirectory != null) {
+			result = read(cacheDirectory.resolve(fingerprint + FILE_EXTENSION));
+			if (result != null) {
+				cache.put(fingerprint, result);
+			}
+		}
+		return result != null && result.length == 4 * nodeCount ? result
+				: null;
+	}
+
+	/**
+	 * Returns the directory in which the results are stored, or
+	 * <code>null</code> if the results are only kept in memory.
+	 *
+	 * @return The directory in which the results are stored.
+	 */
+	public synchronized Path getCacheDirectory() {
+		return cacheDirectory;
+	}
+
+	/**
+	 * Returns the {@link ILayoutAlgorithm} that is decorated by this
+	 * {@link CachingLayoutAlgorithm}.
+	 *
+	 * @return The decorated {@link ILayoutAlgorithm}.
+	 */
+	public ILayoutAlgorithm getDelegate() {
+		return delegate;
+	}
+
+	/**
+	 * Returns the name of the attribute that identifies a node within the
+	 * fingerprint, or <code>null</code> if nodes are only identified by their
+	 * position.
+	 *
+	 * @return The name of the key attribute.
+	 */
+	public String getKeyAttribute() {
+		return keyAttribute;
+	}
+
+	/**
+	 * Returns the key that represents the parameters of the decorated
+	 * {@link ILayoutAlgorithm} within the fingerprint.
+	 *
+	 * @return The parameters key.
+	 */
+	public String getParametersKey() {
+		return parametersKey;
+	}
+
+	private synchronized void put(String fingerprint, double[] result) {
+		cache.put(fingerprint, result);
+		if (cacheDirectory != null) {
+			write(cacheDirectory.resolve(fingerprint + FILE_EXTENSION),
+					result);
+		}
+	}
+
+	private double[] read(Path file) {
+		if (!Files.isRegularFile(file)) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(file)))) {
+			double[] result = new double[in.readInt()];
+			for (int i = 0; i < result.length; i++) {
+				result[i] = in.readDouble();
+			}
+			return result;
+		} catch (IOException | NegativeArraySizeException e) {
+			// treat unreadable results as missing
+			return null;
+		}
+	}
+
+	private double[] record(Node[] nodes) {
+		double[] result = new double[4 * nodes.length];
+		for (int i = 0; i < nodes.length; i++) {
+			Point location = LayoutProperties.getLocation(nodes[i]);
+			Dimension size = LayoutProperties.getSize(nodes[i]);
+			result[4 * i] = location == null ? Double.NaN : location.x;
+			result[4 * i + 1] = location == null ? Double.NaN : location.y;
+			result[4 * i + 2] = size == null ? Double.NaN : size.width;
+			result[4 * i + 3] = size == null ? Double.NaN : size.height;
+		}
+		return result;
+	}
+
+	private void replay(Node[] nodes, double[] result) {
+		for (int i = 0; i < nodes.length; i++) {
+			if (!Double.isNaN(result[4 * i])) {
+				LayoutProperties.setLocation(nodes[i],
+						new Point(result[4 * i], result[4 * i + 1]));
+			}
+			if (!Double.isNaN(result[4 * i + 2])) {
+				LayoutProperties.setSize(nodes[i],
+						new Dimension(result[4 * i + 2], result[4 * i + 3]));
+			}
+		}
+	}
+
+	/**
+	 * Changes the directory in which the results are stored to the given
+	 * value. If <code>null</code> is passed in, the results are only kept in
+	 * memory.
+	 *
+	 * @param cacheDirectory
+	 *            The new directory in which to store the results, or
+	 *            <code>null</code>.
+	 */
+	public synchronized void setCacheDirectory(Path cacheDirectory) {
+		this.cacheDirectory = cacheDirectory;
+	}
+
+	/**
+	 * Changes the name of the attribute that identifies a node within the
+	 * fingerprint to the given value. The string representation of the
+	 * attribute value is used, so the attribute should be stable across
+	 * sessions. If <code>null</code> is passed in (default), nodes are only
+	 * identified by their position.
+	 *
+	 * @param keyAttribute
+	 *            The name of the new key attribute.
+	 */
+	public void setKeyAttribute(String keyAttribute) {
+		this.keyAttribute = keyAttribute;
+	}
+
+	/**
+	 * Changes the key that represents the parameters of the decorated
+	 * {@link ILayoutAlgorithm} within the fingerprint to the given value. The
+	 * key has to be changed whenever the parameters of the decorated
+	 * {@link ILayoutAlgorithm} are changed, so that results computed with
+	 * other parameters are not replayed.
+	 *
+	 * @param parametersKey
+	 *            The new parameters key.
+	 */
+	public void setParametersKey(String parametersKey) {
+		this.parametersKey = parametersKey == null ? "" : parametersKey;
+	}
+
+	private void write(Path file, double[] result) {
+		try {
+			Files.createDirectories(file.getParent());
+			Path temporaryFile = Files.createTempFile(file.getParent(),
+					file.getFileName().toString(), null);
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(
+							Files.newOutputStream(temporaryFile)))) {
+				out.writeInt(result.length);
+				for (double value : result) {
+					out.writeDouble(value);
+				}
+			}
+			Files.move(temporaryFile, file,
+					StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			// the result remains in memory only
+		}
+	}
+
+	private void writeRectangle(DataOutputStream out, Rectangle bounds)
+			throws IOException {
+		out.writeBoolean(bounds != null);
+		if (bounds != null) {
+			out.writeDouble(bounds.getX());
+			out.writeDouble(bounds.getY());
+			out.writeDouble(bounds.getWidth());
+			out.writeDouble(bounds.getHeight());
+		}
+	}
+
+	private void writeString(DataOutputStream out, Object value)
+			throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			byte[] bytes = String.valueOf(value)
+					.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	/**
+	 * An {@link OutputStream} that feeds all written bytes into a
+	 * {@link MessageDigest}.
+	 */
+	private static class MessageDigestOutputStream extends OutputStream {
+
+		private final MessageDigest digest;
+
+		public MessageDigestOutputStream(MessageDigest digest) {
+			this.digest = digest;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			digest.update(b, off, len);
+		}
+
+		@Override
+		public void write(int b) {
+			digest.update((byte) b);
+		}
+	}
+
+}
@@ -0,0 +1,793 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutInstrumentation;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * The {@link MultilevelLayoutAlgorithm} is a force-directed layout algorithm
+ * for large graphs, following the multilevel approach of Hu ("Efficient and
+ * High Quality Force-Directed Graph Drawing", 2005), which is also used by
+ * sfdp and FM³.
+ * <p>
+ * Instead of starting from random positions, the graph is repeatedly
+ * coarsened by collapsing the edges of a heavy-edge matching (nodes that
+ * remain unmatched are merged into a matched neighbor), until it has at most
+ * {@link #getCoarsestSize() coarsest size} nodes or cannot be reduced
+ * significantly anymore. The coarsest graph is laid out from random
+ * positions, and then the layout is interpolated to the next finer graph
+ * (each node starts at the position of the node it was merged into) and
+ * refined, level by level, until the original graph is reached. As the
+ * coarser layouts already determine the global structure, only a few
+ * iterations are needed on each level.
+ * <p>
+ * The refinement uses the spring-electrical model: adjacent nodes attract
+ * each other proportionally to the square of their distance (and the weight
+ * of their edges), and all pairs of nodes repel each other inversely
+ * proportionally to their distance (and proportionally to the number of
+ * original nodes they represent). The repulsive forces are approximated
+ * using a Barnes-Hut quadtree, so that an iteration needs O(n log n) time.
+ * The step length is controlled adaptively, and the number of iterations is
+ * limited separately for the coarsest level (see {@link #getIterations()})
+ * and for the finer levels (see {@link #getRefinementIterations()}). The
+ * forces can be computed in parallel (see {@link #setParallel(boolean)}).
+ * <p>
+ * The random positions are derived from a fixed seed, so that the same graph
+ * is always laid out in the same way. Finally, the layout is scaled to fit
+ * into the layout bounds. Nodes that are not
+ * {@link LayoutProperties#isMovable(Node) movable} keep their locations, and
+ * are not taken into account when the other nodes are fitted into the layout
+ * bounds.
+ */
+public class MultilevelLayoutAlgorithm implements ILayoutAlgorithm {
+
+	/**
+	 * A level of the multilevel hierarchy, i.e. an undirected graph in
+	 * compressed adjacency form.
+	 */
+	private static class Level {
+
+		private final int size;
+		private final int[] offsets;
+		private final int[] neighbors;
+		private final double[] weights;
+		private final double[] masses;
+
+		// the indices of the nodes in the next coarser level
+		private int[] coarse;
+
+		/**
+		 * Creates a {@link Level} from the given edges, merging parallel
+		 * edges by summing their weights.
+		 */
+		private Level(int size, double[] masses, int[] sources, int[] targets,
+				double[] edgeWeights, int edgeCount) {
+			this.size = size;
+			this.masses = masses;
+
+			// each edge is stored in both directions
+			int[] offsets = new int[size + 1];
+			for (int e = 0; e < edgeCount; e++) {
+				offsets[sources[e] + 1]++;
+				offsets[targets[e] + 1]++;
+			}
+			for (int v = 0; v < size; v++) {
+				offsets[v + 1] += offsets[v];
+			}
+			int[] neighbors = new int[2 * edgeCount];
+			double[] weights = new double[2 * edgeCount];
+			int[] fill = Arrays.copyOf(offsets, size);
+			for (int e = 0; e < edgeCount; e++) {
+				int k = fill[sources[e]]++;
+				neighbors[k] = targets[e];
+				weights[k] = edgeWeights[e];
+				k = fill[targets[e]]++;
+				neighbors[k] = sources[e];
+				weights[k] = edgeWeights[e];
+			}
+
+			// merge parallel edges in place, marking the position of each
+			// neighbor within the current row
+			int[] positions = new int[size];
+			Arrays.fill(positions, -1);
+			int p = 0;
+			for (int v = 0; v < size; v++) {
+				int start = p;
+				for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+					int w = neighbors[k];
+					if (positions[w] >= start) {
+						weights[positions[w]] += weights[k];
+					} else {
+						positions[w] = p;
+						neighbors[p] = w;
+						weights[p++] = weights[k];
+					}
+				}
+				offsets[v] = start;
+			}
+			offsets[size] = p;
+			this.offsets = offsets;
+			this.neighbors = Arrays.copyOf(neighbors, p);
+			this.weights = Arrays.copyOf(weights, p);
+		}
+
+		/**
+		 * Computes the next coarser {@link Level}, or returns
+		 * <code>null</code> if this {@link Level} cannot be reduced
+		 * significantly.
+		 */
+		private Level coarsen(Random random) {
+			int[] order = new int[size];
+			for (int v = 0; v < size; v++) {
+				order[v] = v;
+			}
+			for (int i = size - 1; i > 0; i--) {
+				int j = random.nextInt(i + 1);
+				int swap = order[i];
+				order[i] = order[j];
+				order[j] = swap;
+			}
+
+			// heavy-edge matching, preferring light nodes to balance the
+			// masses of the coarse nodes
+			int[] coarse = new int[size];
+			Arrays.fill(coarse, -1);
+			int coarseSize = 0;
+			for (int v : order) {
+				if (coarse[v] >= 0) {
+					continue;
+				}
+				int match = -1;
+				double best = 0;
+				for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+					int w = neighbors[k];
+					double score = weights[k] / (masses[v] + masses[w]);
+					if (coarse[w] < 0 && score > best) {
+						match = w;
+						best = score;
+					}
+				}
+				if (match >= 0) {
+					coarse[v] = coarseSize;
+					coarse[match] = coarseSize++;
+				}
+			}
+
+			// all neighbors of an unmatched node are matched, so that it can
+			// be merged into the heaviest one; isolated nodes are paired
+			int isolated = -1;
+			for (int v : order) {
+				if (coarse[v] >= 0) {
+					continue;
+				}
+				int merge = -1;
+				double best = 0;
+				for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+					if (weights[k] > best) {
+						merge = neighbors[k];
+						best = weights[k];
+					}
+				}
+				if (merge >= 0) {
+					coarse[v] = coarse[merge];
+				} else if (isolated >= 0) {
+					coarse[v] = coarse[isolated];
+					isolated = -1;
+				} else {
+					coarse[v] = coarseSize++;
+					isolated = v;
+				}
+			}
+			if (coarseSize > MAX_COARSENING_RATIO * size) {
+				return null;
+			}
+
+			double[] coarseMasses = new double[coarseSize];
+			for (int v = 0; v < size; v++) {
+				coarseMasses[coarse[v]] += masses[v];
+			}
+			int[] sources = new int[neighbors.length / 2];
+			int[] targets = new int[sources.length];
+			double[] coarseWeights = new double[sources.length];
+			int edgeCount = 0;
+			for (int v = 0; v < size; v++) {
+				for (int k = offsets[v]; k < offsets[v + 1]; k++) {
+					int w = neighbors[k];
+					if (v < w && coarse[v] != coarse[w]) {
+						sources[edgeCount] = coarse[v];
+						targets[edgeCount] = coarse[w];
+						coarseWeights[edgeCount++] = weights[k];
+					}
+				}
+			}
+			this.coarse = coarse;
+			return new Level(coarseSize, coarseMasses, sources, targets,
+					coarseWeights, edgeCount);
+		}
+	}
+
+	/**
+	 * A Barnes-Hut quadtree over the node positions of a {@link Level}. Each
+	 * cell stores the total mass and the center of mass of the nodes it
+	 * contains. Inner cells have four consecutive children, leaf cells refer
+	 * to a range of node indices.
+	 */
+	private static class QuadTree {
+
+		private static final int LEAF_SIZE = 8;
+		private static final int MAX_DEPTH = 24;
+
+		private final double[] x;
+		private final double[] y;
+		private final double[] masses;
+		private final int[] indices;
+
+		private int cellCount;
+		private double[] cellMinX, cellMinY, cellSize;
+		private double[] cellMass, cellX, cellY;
+		// first child for inner cells, -1 for leaf cells
+		private int[] cellChild;
+		private int[] cellStart, cellEnd;
+
+		private QuadTree(double[] x, double[] y, double[] masses, int size) {
+			this.x = x;
+			this.y = y;
+			this.masses = masses;
+			indices = new int[size];
+			double minX = Double.POSITIVE_INFINITY;
+			double minY = Double.POSITIVE_INFINITY;
+			double maxX = Double.NEGATIVE_INFINITY;
+			double maxY = Double.NEGATIVE_INFINITY;
+			for (int v = 0; v < size; v++) {
+				indices[v] = v;
+				minX = Math.min(minX, x[v]);
+				minY = Math.min(minY, y[v]);
+				maxX = Math.max(maxX, x[v]);
+				maxY = Math.max(maxY, y[v]);
+			}
+			int capacity = Math.max(16, size / 2);
+			cellMinX = new double[capacity];
+			cellMinY = new double[capacity];
+			cellSize = new double[capacity];
+			cellMass = new double[capacity];
+			cellX = new double[capacity];
+			cellY = new double[capacity];
+			cellChild = new int[capacity];
+			cellStart = new int[capacity];
+			cellEnd = new int[capacity];
+			cellCount = 1;
+			build(0, minX, minY,
+					Math.max(Math.max(maxX - minX, maxY - minY), 1e-9), 0,
+					size, 0);
+		}
+
+		private void build(int cell, double minX, double minY, double size,
+				int start, int end, int depth) {
+			cellMinX[cell] = minX;
+			cellMinY[cell] = minY;
+			cellSize[cell] = size;
+			cellStart[cell] = start;
+			cellEnd[cell] = end;
+			double mass = 0, sumX = 0, sumY = 0;
+			for (int i = start; i < end; i++) {
+				int v = indices[i];
+				mass += masses[v];
+				sumX += masses[v] * x[v];
+				sumY += masses[v] * y[v];
+			}
+			cellMass[cell] = mass;
+			cellX[cell] = mass > 0 ? sumX / mass : minX + size / 2;
+			cellY[cell] = mass > 0 ? sumY / mass : minY + size / 2;
+			if (end - start <= LEAF_SIZE || depth >= MAX_DEPTH) {
+				cellChild[cell] = -1;
+				return;
+			}
+
+			// partition the range into quadrants
+			double half = size / 2;
+			double midX = minX + half;
+			double midY = minY + half;
+			int splitX = partition(x, midX, start, end);
+			int splitLeft = partition(y, midY, start, splitX);
+			int splitRight = partition(y, midY, splitX, end);
+
+			int child = cellCount;
+			cellCount += 4;
+			ensureCapacity(cellCount);
+			cellChild[cell] = child;
+			build(child, minX, minY, half, start, splitLeft, depth + 1);
+			build(child + 1, minX, midY, half, splitLeft, splitX, depth + 1);
+			build(child + 2, midX, minY, half, splitX, splitRight, depth + 1);
+			build(child + 3, midX, midY, half, splitRight, end, depth + 1);
+		}
+
+		private void ensureCapacity(int capacity) {
+			if (capacity <= cellChild.length) {
+				return;
+			}
+			int newCapacity = Math.max(capacity, 2 * cellChild.length);
+			cellMinX = Arrays.copyOf(cellMinX, newCapacity);
+			cellMinY = Arrays.copyOf(cellMinY, newCapacity);
+			cellSize = Arrays.copyOf(cellSize, newCapacity);
+			cellMass = Arrays.copyOf(cellMass, newCapacity);
+			cellX = Arrays.copyOf(cellX, newCapacity);
+			cellY = Arrays.copyOf(cellY, newCapacity);
+			cellChild = Arrays.copyOf(cellChild, newCapacity);
+			cellStart = Arrays.copyOf(cellStart, newCapacity);
+			cellEnd = Arrays.copyOf(cellEnd, newCapacity);
+		}
+
+		/**
+		 * Reorders the given range of indices so that the nodes whose
+		 * coordinates are less than the given value come first, and returns
+		 * the index of the first other node.
+		 */
+		private int partition(double[] coordinates, double value, int start,
+				int end) {
+			int i = start;
+			int j = end - 1;
+			while (i <= j) {
+				if (coordinates[indices[i]] < value) {
+					i++;
+				} else {
+					int swap = indices[i];
+					indices[i] = indices[j];
+					indices[j--] = swap;
+				}
+			}
+			return i;
+		}
+
+		/**
+		 * Adds the repulsive force that is exerted on the given node to the
+		 * given force arrays.
+		 */
+		private void addRepulsion(int v, double factor, double[] forcesX,
+				double[] forcesY, int[] stack) {
+			double vx = x[v];
+			double vy = y[v];
+			double fx = 0, fy = 0;
+			int top = 0;
+			stack[top++] = 0;
+			while (top > 0) {
+				int cell = stack[--top];
+				if (cellMass[cell] == 0) {
+					continue;
+				}
+				double dx = vx - cellX[cell];
+				double dy = vy - cellY[cell];
+				double distanceSq = dx * dx + dy * dy;
+				double size = cellSize[cell];
+				boolean inside = vx >= cellMinX[cell]
+						&& vx <= cellMinX[cell] + size
+						&& vy >= cellMinY[cell]
+						&& vy <= cellMinY[cell] + size;
+				if (!inside && size * size < THETA * THETA * distanceSq) {
+					// approximate the cell by its center of mass
+					double f = cellMass[cell] / distanceSq;
+					fx += f * dx;
+					fy += f * dy;
+				} else if (cellChild[cell] < 0) {
+					for (int i = cellStart[cell]; i < cellEnd[cell]; i++) {
+						int w = indices[i];
+						if (w == v) {
+							continue;
+						}
+						double ex = vx - x[w];
+						double ey = vy - y[w];
+						double d = ex * ex + ey * ey;
+						if (d < MIN_DISTANCE_SQ) {
+							// separate coinciding nodes deterministically
+							ex = v < w ? -MIN_DISTANCE : MIN_DISTANCE;
+							ey = 0;
+							d = MIN_DISTANCE_SQ;
+						}
+						double f = masses[w] / d;
+						fx += f * ex;
+						fy += f * ey;
+					}
+				} else {
+					int child = cellChild[cell];
+					stack[top++] = child;
+					stack[top++] = child + 1;
+					stack[top++] = child + 2;
+					stack[top++] = child + 3;
+				}
+			}
+			forcesX[v] += factor * fx;
+			forcesY[v] += factor * fy;
+		}
+	}
+
+	/**
+	 * Computes the forces of a range of nodes, and splits the range in halves
+	 * as long as it is large enough.
+	 */
+	private static class ForceTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private static final int THRESHOLD = 512;
+
+		private final Level level;
+		private final QuadTree quadTree;
+		private final double[] x, y, forcesX, forcesY;
+		private final int start;
+		private final int end;
+
+		public ForceTask(Level level, QuadTree quadTree, double[] x,
+				double[] y, double[] forcesX, double[] forcesY, int start,
+				int end) {
+			this.level = level;
+			this.quadTree = quadTree;
+			this.x = x;
+			this.y = y;
+			this.forcesX = forcesX;
+			this.forcesY = forcesY;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start <= THRESHOLD) {
+				computeForces(level, quadTree, x, y, forcesX, forcesY, start,
+						end);
+			} else {
+				int middle = (start + end) >>> 1;
+				invokeAll(
+						new ForceTask(level, quadTree, x, y, forcesX, forcesY,
+								start, middle),
+						new ForceTask(level, quadTree, x, y, forcesX, forcesY,
+								middle, end));
+			}
+		}
+	}
+
+	/**
+	 * The default value for the {@link #getCoarsestSize() coarsest size}.
+	 */
+	public static final int DEFAULT_COARSEST_SIZE = 50;
+
+	/**
+	 * The default value for the {@link #getIterations() iterations}.
+	 */
+	public static final int DEFAULT_ITERATIONS = 200;
+
+	/**
+	 * The default value for the {@link #getRefinementIterations() refinement
+	 * iterations}.
+	 */
+	public static final int DEFAULT_REFINEMENT_ITERATIONS = 50;
+
+	// the natural edge length, which only determines the internal scale
+	private static final double K = 1;
+	// the relative strength of the repulsive forces
+	private static final double C = 0.2;
+	// the Barnes-Hut opening criterion
+	private static final double THETA = 1;
+	// the step length is changed by this factor
+	private static final double COOLING = 0.9;
+	// refinement stops when the step length falls below TOLERANCE * K
+	private static final double TOLERANCE = 0.01;
+	private static final double MIN_DISTANCE = 1e-3 * K;
+	private static final double MIN_DISTANCE_SQ = MIN_DISTANCE * MIN_DISTANCE;
+	// coarsening stops if a level retains more nodes than this ratio
+	private static final double MAX_COARSENING_RATIO = 0.9;
+	private static final long SEED = 0x5eed;
+
+	/**
+	 * Computes the forces that are exerted on the nodes with indices in the
+	 * given range.
+	 */
+	private static void computeForces(Level level, QuadTree quadTree,
+			double[] x, double[] y, double[] forcesX, double[] forcesY,
+			int start, int end) {
+		int[] stack = new int[4 * QuadTree.MAX_DEPTH + 4];
+		for (int v = start; v < end; v++) {
+			forcesX[v] = 0;
+			forcesY[v] = 0;
+			quadTree.addRepulsion(v, C * K * K * level.masses[v], forcesX,
+					forcesY, stack);
+			for (int k = level.offsets[v]; k < level.offsets[v + 1]; k++) {
+				int w = level.neighbors[k];
+				double dx = x[w] - x[v];
+				double dy = y[w] - y[v];
+				double f = level.weights[k] * Math.sqrt(dx * dx + dy * dy)
+						/ K;
+				forcesX[v] += f * dx;
+				forcesY[v] += f * dy;
+			}
+		}
+	}
+
+	private int coarsestSize = DEFAULT_COARSEST_SIZE;
+	private int iterations = DEFAULT_ITERATIONS;
+	private int refinementIterations = DEFAULT_REFINEMENT_ITERATIONS;
+	private boolean parallel = false;
+
+	@Override
+	public void applyLayout(LayoutContext layoutContext, boolean clean) {
+		if (!clean) {
+			return;
+		}
+		Node[] nodes = layoutContext.getNodes();
+		if (nodes.length == 0) {
+			return;
+		}
+		LayoutInstrumentation instrumentation = layoutContext
+				.getInstrumentation();
+		if (instrumentation != null) {
+			instrumentation
+					.beginPhase(LayoutInstrumentation.PHASE_INITIALIZATION);
+		}
+		Random random = new Random(SEED);
+		List<Level> levels = new ArrayList<>();
+		levels.add(createLevel(nodes, layoutContext.getEdges()));
+		while (levels.get(levels.size() - 1).size > coarsestSize) {
+			Level coarser = levels.get(levels.size() - 1).coarsen(random);
+			if (coarser == null) {
+				break;
+			}
+			levels.add(coarser);
+		}
+		if (instrumentation != null) {
+			instrumentation
+					.endPhase(LayoutInstrumentation.PHASE_INITIALIZATION);
+			instrumentation.beginPhase(LayoutInstrumentation.PHASE_ITERATION);
+		}
+
+		// lay out the coarsest level from random positions
+		Level coarsest = levels.get(levels.size() - 1);
+		double extent = Math.sqrt(nodes.length) * K;
+		double[] x = new double[coarsest.size];
+		double[] y = new double[coarsest.size];
+		for (int v = 0; v < coarsest.size; v++) {
+			x[v] = extent * random.nextDouble();
+			y[v] = extent * random.nextDouble();
+		}
+		int totalIterations = refine(coarsest, x, y, extent / 10,
+				iterations);
+
+		// interpolate and refine level by level
+		for (int l = levels.size() - 2; l >= 0; l--) {
+			Level level = levels.get(l);
+			double[] fineX = new double[level.size];
+			double[] fineY = new double[level.size];
+			for (int v = 0; v < level.size; v++) {
+				fineX[v] = x[level.coarse[v]]
+						+ (random.nextDouble() - 0.5) * K / 10;
+				fineY[v] = y[level.coarse[v]]
+						+ (random.nextDouble() - 0.5) * K / 10;
+			}
+			x = fineX;
+			y = fineY;
+			totalIterations += refine(level, x, y, K, refinementIterations);
+		}
+		if (instrumentation != null) {
+			instrumentation.endPhase(LayoutInstrumentation.PHASE_ITERATION);
+			instrumentation.report(LayoutInstrumentation.ITERATIONS,
+					totalIterations);
+			instrumentation.beginPhase(LayoutInstrumentation.PHASE_PLACEMENT);
+		}
+
+		// the locations of non-movable nodes are unrelated to the internal
+		// coordinates, so that only the movable nodes are fitted
+		List<Node> movable = new ArrayList<>(nodes.length);
+		for (int v = 0; v < nodes.length; v++) {
+			if (LayoutProperties.isMovable(nodes[v])) {
+				LayoutProperties.setLocation(nodes[v], new Point(x[v], y[v]));
+				movable.add(nodes[v]);
+			}
+		}
+		Rectangle bounds = LayoutProperties
+				.getBounds(layoutContext.getGraph());
+		if (bounds != null && !movable.isEmpty()) {
+			int insets = 4;
+			AlgorithmHelper.fitWithinBounds(
+					movable.toArray(new Node[movable.size()]),
+					new Rectangle(bounds.getX() + insets,
+							bounds.getY() + insets,
+							bounds.getWidth() - 2 * insets,
+							bounds.getHeight() - 2 * insets),
+					false);
+		}
+		if (instrumentation != null) {
+			instrumentation.endPhase(LayoutInstrumentation.PHASE_PLACEMENT);
+		}
+	}
+
+	private Level createLevel(Node[] nodes, Edge[] edges) {
+		Map<Node, Integer> indices = new IdentityHashMap<>(2 * nodes.length);
+		for (int i = 0; i < nodes.length; i++) {
+			indices.put(nodes[i], i);
+		}
+		int[] sources = new int[edges.length];
+		int[] targets = new int[edges.length];
+		double[] weights = new double[edges.length];
+		int edgeCount = 0;
+		for (Edge edge : edges) {
+			Integer source = indices.get(edge.getSource());
+			Integer target = indices.get(edge.getTarget());
+			if (source == null || target == null
+					|| source.intValue() == target.intValue()) {
+				continue;
+			}
+			double weight = LayoutProperties.getWeight(edge);
+			sources[edgeCount] = source;
+			targets[edgeCount] = target;
+			weights[edgeCount++] = weight <= 0 ? 1 : weight;
+		}
+		double[] masses = new double[nodes.length];
+		Arrays.fill(masses, 1);
+		return new Level(nodes.length, masses, sources, targets, weights,
+				edgeCount);
+	}
+
+	/**
+	 * Returns the coarsest size of this {@link MultilevelLayoutAlgorithm},
+	 * i.e. the number of nodes at which the coarsening stops.
+	 *
+	 * @return The coarsest size of this {@link MultilevelLayoutAlgorithm}.
+	 */
+	public int getCoarsestSize() {
+		return coarsestSize;
+	}
+
+	/**
+	 * Returns the maximum number of iterations that are performed to lay out
+	 * the coarsest level.
+	 *
+	 * @return The maximum number of iterations on the coarsest level.
+	 */
+	public int getIterations() {
+		return iterations;
+	}
+
+	/**
+	 * Returns the maximum number of iterations that are performed to refine
+	 * each finer level.
+	 *
+	 * @return The maximum number of iterations on each finer level.
+	 */
+	public int getRefinementIterations() {
+		return refinementIterations;
+	}
+
+	/**
+	 * Returns whether the forces are computed in parallel.
+	 *
+	 * @return <code>true</code> if the forces are computed in parallel,
+	 *         otherwise <code>false</code>.
+	 */
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * Refines the layout of the given {@link Level} until the step length
+	 * falls below the tolerance or the maximum number of iterations is
+	 * reached, and returns the number of performed iterations. The step
+	 * length is decreased whenever the energy does not decrease, and
+	 * increased whenever it decreased several times in a row.
+	 */
+	private int refine(Level level, double[] x, double[] y, double step,
+			int maxIterations) {
+		double[] forcesX = new double[level.size];
+		double[] forcesY = new double[level.size];
+		double energy = Double.POSITIVE_INFINITY;
+		int progress = 0;
+		int iteration = 0;
+		while (iteration < maxIterations && step > TOLERANCE * K) {
+			QuadTree quadTree = new QuadTree(x, y, level.masses, level.size);
+			if (parallel) {
+				ForkJoinPool.commonPool().invoke(new ForceTask(level, quadTree,
+						x, y, forcesX, forcesY, 0, level.size));
+			} else {
+				computeForces(level, quadTree, x, y, forcesX, forcesY, 0,
+						level.size);
+			}
+
+			// move each node by the step length along its force
+			double previousEnergy = energy;
+			energy = 0;
+			for (int v = 0; v < level.size; v++) {
+				double forceSq = forcesX[v] * forcesX[v]
+						+ forcesY[v] * forcesY[v];
+				if (forceSq > 0) {
+					double force = Math.sqrt(forceSq);
+					x[v] += step * forcesX[v] / force;
+					y[v] += step * forcesY[v] / force;
+				}
+				energy += forceSq;
+			}
+
+			if (energy < previousEnergy) {
+				if (++progress >= 5) {
+					progress = 0;
+					step /= COOLING;
+				}
+			} else {
+				progress = 0;
+				step *= COOLING;
+			}
+			iteration++;
+		}
+		return iteration;
+	}
+
+	/**
+	 * Changes the coarsest size of this {@link MultilevelLayoutAlgorithm} to
+	 * the given value.
+	 *
+	 * @param coarsestSize
+	 *            The new coarsest size.
+	 * @see #getCoarsestSize()
+	 */
+	public void setCoarsestSize(int coarsestSize) {
+		this.coarsestSize = coarsestSize;
+	}
+
+	/**
+	 * Changes the maximum number of iterations that are performed to lay out
+	 * the coarsest level to the given value.
+	 *
+	 * @param iterations
+	 *            The new maximum number of iterations on the coarsest level.
+	 * @see #getIterations()
+	 */
+	public void setIterations(int iterations) {
+		this.iterations = iterations;
+	}
+
+	/**
+	 * Changes the maximum number of iterations that are performed to refine
+	 * each finer level to the given value.
+	 *
+	 * @param refinementIterations
+	 *            The new maximum number of iterations on each finer level.
+	 * @see #getRefinementIterations()
+	 */
+	public void setRefinementIterations(int refinementIterations) {
+		this.refinementIterations = refinementIterations;
+	}
+
+	/**
+	 * Specifies whether the forces are computed in parallel, using the common
+	 * {@link ForkJoinPool}. Defaults to <code>false</code>.
+	 *
+	 * @param parallel
+	 *            <code>true</code> to compute the forces in parallel,
+	 *            <code>false</code> to compute them sequentially.
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
+}
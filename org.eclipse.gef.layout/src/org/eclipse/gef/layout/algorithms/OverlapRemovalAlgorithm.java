@@ -0,0 +1,347 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.TreeSet;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * The {@link OverlapRemovalAlgorithm} moves the nodes so that they do not
+ * overlap, taking their sizes into account, while preserving their relative
+ * positions. It is intended to be appended to another
+ * {@link ILayoutAlgorithm} using a {@link CompositeLayoutAlgorithm}, e.g. to
+ * the {@link SpringLayoutAlgorithm} or the {@link RadialLayoutAlgorithm}.
+ * <p>
+ * The overlaps are removed using the scan-line approach of Dwyer, Marriott,
+ * and Stuckey ("Fast Node Overlap Removal", 2005): First, separation
+ * constraints are generated for horizontally neighboring nodes that overlap
+ * less horizontally than vertically, and the nodes are moved horizontally to
+ * satisfy them. Afterwards, separation constraints are generated for all
+ * vertically neighboring nodes that (still) overlap horizontally, and the
+ * nodes are moved vertically to satisfy them. The constraints are generated
+ * by a sweep over the node rectangles, so that only O(n) constraints are
+ * needed. Instead of solving a quadratic program to minimize the
+ * displacement, the constraints are satisfied by pushing the nodes once
+ * towards increasing and once towards decreasing coordinates, and averaging
+ * both (feasible) results, which splits the displacement among the involved
+ * nodes. Overall, O(n log n) time is needed.
+ * <p>
+ * Nodes that are not {@link LayoutProperties#isMovable(Node) movable} keep
+ * their locations, and the movable nodes are pushed away from them. However,
+ * overlaps may remain where there is not enough room between non-movable
+ * nodes.
+ */
+public class OverlapRemovalAlgorithm implements ILayoutAlgorithm {
+
+	/**
+	 * The default value for the {@link #getSpacing() spacing}.
+	 */
+	public static final double DEFAULT_SPACING = 0;
+
+	private double spacing = DEFAULT_SPACING;
+
+	/**
+	 * Constructs a new {@link OverlapRemovalAlgorithm} that keeps the
+	 * {@link #DEFAULT_SPACING default spacing} between nodes.
+	 */
+	public OverlapRemovalAlgorithm() {
+	}
+
+	/**
+	 * Constructs a new {@link OverlapRemovalAlgorithm} that keeps the given
+	 * spacing between nodes.
+	 *
+	 * @param spacing
+	 *            The minimum distance between nodes.
+	 */
+	public OverlapRemovalAlgorithm(double spacing) {
+		this.spacing = spacing;
+	}
+
+	@Override
+	public void applyLayout(LayoutContext layoutContext, boolean clean) {
+		if (!clean) {
+			return;
+		}
+		Node[] nodes = layoutContext.getNodes();
+		int n = 0;
+		Node[] located = new Node[nodes.length];
+		for (Node node : nodes) {
+			if (LayoutProperties.getLocation(node) != null) {
+				located[n++] = node;
+			}
+		}
+		double[] x = new double[n];
+		double[] y = new double[n];
+		double[] width = new double[n];
+		double[] height = new double[n];
+		boolean[] movable = new boolean[n];
+		for (int i = 0; i < n; i++) {
+			Point location = LayoutProperties.getLocation(located[i]);
+			Dimension size = LayoutProperties.getSize(located[i]);
+			x[i] = location.x;
+			y[i] = location.y;
+			width[i] = (size == null ? 0 : size.width) + spacing;
+			height[i] = (size == null ? 0 : size.height) + spacing;
+			movable[i] = LayoutProperties.isMovable(located[i]);
+		}
+
+		double[] newX = separate(x, y, width, height, movable, false);
+		double[] newY = separate(y, newX, height, width, movable, true);
+
+		for (int i = 0; i < n; i++) {
+			if (newX[i] != x[i] || newY[i] != y[i]) {
+				LayoutProperties.setLocation(located[i],
+						new Point(newX[i], newY[i]));
+			}
+		}
+	}
+
+	/**
+	 * Returns the spacing of this {@link OverlapRemovalAlgorithm}, i.e. the
+	 * minimum distance that is kept between nodes.
+	 *
+	 * @return The spacing of this {@link OverlapRemovalAlgorithm}.
+	 */
+	public double getSpacing() {
+		return spacing;
+	}
+
+	/**
+	 * Computes new coordinates along one axis (the primary axis), so that the
+	 * separation constraints between neighboring nodes are satisfied. The
+	 * constraints are generated by sweeping along the other (secondary) axis,
+	 * maintaining the nodes whose secondary extent contains the sweep
+	 * position, ordered by their primary coordinates. Whenever two nodes
+	 * become neighbors in this order, a separation constraint is generated
+	 * for them, so that the nodes that overlap on the secondary axis form a
+	 * chain of constraints.
+	 *
+	 * @param pos
+	 *            The primary coordinates of the nodes' centers.
+	 * @param other
+	 *            The secondary coordinates of the nodes' centers.
+	 * @param size
+	 *            The extents of the nodes along the primary axis.
+	 * @param otherSize
+	 *            The extents of the nodes along the secondary axis.
+	 * @param movable
+	 *            Whether the nodes may be moved.
+	 * @param all
+	 *            <code>true</code> if constraints are generated for all
+	 *            neighboring nodes, <code>false</code> if constraints are only
+	 *            generated for neighboring nodes that overlap less along the
+	 *            primary than along the secondary axis.
+	 * @return The new primary coordinates of the nodes' centers.
+	 */
+	private double[] separate(final double[] pos, double[] other,
+			double[] size, double[] otherSize, boolean[] movable,
+			boolean all) {
+		int n = pos.length;
+
+		// order the nodes by their primary coordinates (and index)
+		Comparator<Integer> order = new Comparator<Integer>() {
+			@Override
+			public int compare(Integer i, Integer j) {
+				int c = Double.compare(pos[i], pos[j]);
+				return c != 0 ? c : Integer.compare(i, j);
+			}
+		};
+
+		// sweep events, closing events precede opening events at the same
+		// position, so that touching nodes are not considered to overlap
+		final double[] eventPositions = new double[2 * n];
+		Integer[] events = new Integer[2 * n];
+		for (int i = 0; i < n; i++) {
+			eventPositions[2 * i] = other[i] - otherSize[i] / 2;
+			eventPositions[2 * i + 1] = other[i] + otherSize[i] / 2;
+			events[2 * i] = 2 * i;
+			events[2 * i + 1] = 2 * i + 1;
+		}
+		Arrays.sort(events, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer e, Integer f) {
+				int c = Double.compare(eventPositions[e], eventPositions[f]);
+				if (c != 0) {
+					return c;
+				}
+				// odd events (closing) first
+				return Integer.compare(f & 1, e & 1);
+			}
+		});
+
+		// generate constraints: sources[c] precedes targets[c] by gaps[c]
+		int[] sources = new int[3 * n];
+		int[] targets = new int[3 * n];
+		double[] gaps = new double[3 * n];
+		int constraints = 0;
+		TreeSet<Integer> scanLine = new TreeSet<>(order);
+		for (Integer event : events) {
+			Integer v = event / 2;
+			boolean opening = (event & 1) == 0;
+			if (opening) {
+				scanLine.add(v);
+			}
+			Integer u = scanLine.lower(v);
+			Integer w = scanLine.higher(v);
+			if (opening) {
+				if (u != null && isConstrained(u, v, pos, other, size,
+						otherSize, all)) {
+					sources[constraints] = u;
+					targets[constraints] = v;
+					gaps[constraints++] = (size[u] + size[v]) / 2;
+				}
+				if (w != null && isConstrained(v, w, pos, other, size,
+						otherSize, all)) {
+					sources[constraints] = v;
+					targets[constraints] = w;
+					gaps[constraints++] = (size[v] + size[w]) / 2;
+				}
+			} else {
+				scanLine.remove(v);
+				if (u != null && w != null && isConstrained(u, w, pos,
+						other, size, otherSize, all)) {
+					sources[constraints] = u;
+					targets[constraints] = w;
+					gaps[constraints++] = (size[u] + size[w]) / 2;
+				}
+			}
+		}
+
+		// index the constraints by their sources and targets
+		int[] outgoingOffsets = new int[n + 1];
+		int[] incomingOffsets = new int[n + 1];
+		for (int c = 0; c < constraints; c++) {
+			outgoingOffsets[sources[c] + 1]++;
+			incomingOffsets[targets[c] + 1]++;
+		}
+		for (int i = 0; i < n; i++) {
+			outgoingOffsets[i + 1] += outgoingOffsets[i];
+			incomingOffsets[i + 1] += incomingOffsets[i];
+		}
+		int[] outgoing = new int[constraints];
+		int[] incoming = new int[constraints];
+		int[] outgoingFill = new int[n];
+		int[] incomingFill = new int[n];
+		for (int c = 0; c < constraints; c++) {
+			outgoing[outgoingOffsets[sources[c]]
+					+ outgoingFill[sources[c]]++] = c;
+			incoming[incomingOffsets[targets[c]]
+					+ incomingFill[targets[c]]++] = c;
+		}
+
+		// all constraints respect the primary order, so that it is a
+		// topological order of the constraint graph
+		Integer[] sorted = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			sorted[i] = i;
+		}
+		Arrays.sort(sorted, order);
+
+		// push towards increasing coordinates
+		double[] increasing = new double[n];
+		for (int i = 0; i < n; i++) {
+			int v = sorted[i];
+			increasing[v] = pos[v];
+			if (movable[v]) {
+				for (int k = incomingOffsets[v]; k < incomingOffsets[v
+						+ 1]; k++) {
+					int c = incoming[k];
+					increasing[v] = Math.max(increasing[v],
+							increasing[sources[c]] + gaps[c]);
+				}
+			}
+		}
+
+		// push towards decreasing coordinates
+		double[] decreasing = new double[n];
+		for (int i = n - 1; i >= 0; i--) {
+			int v = sorted[i];
+			decreasing[v] = pos[v];
+			if (movable[v]) {
+				for (int k = outgoingOffsets[v]; k < outgoingOffsets[v
+						+ 1]; k++) {
+					int c = outgoing[k];
+					decreasing[v] = Math.min(decreasing[v],
+							decreasing[targets[c]] - gaps[c]);
+				}
+			}
+		}
+
+		// as the constraints are linear, the average of both solutions
+		// satisfies them as well
+		double[] result = new double[n];
+		for (int v = 0; v < n; v++) {
+			result[v] = (increasing[v] + decreasing[v]) / 2;
+		}
+
+		// the average does not satisfy constraints that involve non-movable
+		// nodes, which is repaired by pushing the movable nodes away from
+		// them (the average is left unchanged if all nodes are movable)
+		for (int i = 0; i < n; i++) {
+			int v = sorted[i];
+			if (movable[v]) {
+				for (int k = incomingOffsets[v]; k < incomingOffsets[v
+						+ 1]; k++) {
+					int c = incoming[k];
+					result[v] = Math.max(result[v],
+							result[sources[c]] + gaps[c]);
+				}
+			}
+		}
+		for (int i = n - 1; i >= 0; i--) {
+			int v = sorted[i];
+			if (movable[v]) {
+				for (int k = outgoingOffsets[v]; k < outgoingOffsets[v
+						+ 1]; k++) {
+					int c = outgoing[k];
+					result[v] = Math.min(result[v],
+							result[targets[c]] - gaps[c]);
+				}
+			}
+		}
+		return result;
+	}
+
+	private boolean isConstrained(int u, int v, double[] pos, double[] other,
+			double[] size, double[] otherSize, boolean all) {
+		if (all) {
+			return true;
+		}
+		double overlap = (size[u] + size[v]) / 2 - Math.abs(pos[v] - pos[u]);
+		double otherOverlap = (otherSize[u] + otherSize[v]) / 2
+				- Math.abs(other[v] - other[u]);
+		return overlap > 0 && otherOverlap > 0 && overlap <= otherOverlap;
+	}
+
+	/**
+	 * Changes the spacing of this {@link OverlapRemovalAlgorithm} to the given
+	 * value.
+	 *
+	 * @param spacing
+	 *            The new spacing.
+	 * @see #getSpacing()
+	 */
+	public void setSpacing(double spacing) {
+		this.spacing = spacing;
+	}
+
+}
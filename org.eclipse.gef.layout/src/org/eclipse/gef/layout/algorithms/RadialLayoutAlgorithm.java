@@ -35,7 +35,7 @@ public class RadialLayoutAlgorithm implements ILayoutAlgorithm {
 	private double startDegree = 0;
 	private double endDegree = MAX_DEGREES;
 	private boolean resize = false;
-	private TreeLayoutAlgorithm treeLayout = new TreeLayoutAlgorithm();
+	private ILayoutAlgorithm treeLayout = new TreeLayoutAlgorithm();
 
 	/**
 	 * Default constructor.
@@ -46,7 +46,12 @@ public class RadialLayoutAlgorithm implements ILayoutAlgorithm {
 	public void applyLayout(LayoutContext layoutContext, boolean clean) {
 		if (!clean)
 			return;
-		treeLayout.internalApplyLayout(layoutContext);
+		if (treeLayout instanceof TreeLayoutAlgorithm) {
+			((TreeLayoutAlgorithm) treeLayout)
+					.internalApplyLayout(layoutContext);
+		} else {
+			treeLayout.applyLayout(layoutContext, true);
+		}
 		Node[] entities = layoutContext.getNodes();
 		Rectangle bounds = LayoutProperties.getBounds(layoutContext.getGraph());
 		computeRadialPositions(entities, bounds);
@@ -63,8 +68,20 @@ public class RadialLayoutAlgorithm implements ILayoutAlgorithm {
 	private void computeRadialPositions(Node[] entities, Rectangle bounds) {
 		Rectangle layoutBounds = AlgorithmHelper.getLayoutBounds(entities,
 				false);
-		layoutBounds.setX(bounds.getX());
-		layoutBounds.setWidth(bounds.getWidth());
+		if (treeLayout instanceof TreeLayoutAlgorithm) {
+			// the tree layout fills the bounds horizontally
+			layoutBounds.setX(bounds.getX());
+			layoutBounds.setWidth(bounds.getWidth());
+		} else {
+			// other tree layouts do not fit into the bounds, so that their
+			// actual horizontal extent is mapped onto the angle range;
+			// including the node sizes ensures that the outermost nodes do
+			// not meet when the range covers the full circle
+			Rectangle extent = AlgorithmHelper.getLayoutBounds(entities,
+					true);
+			layoutBounds.setX(extent.getX());
+			layoutBounds.setWidth(extent.getWidth());
+		}
 		for (int i = 0; i < entities.length; i++) {
 			Point location = LayoutProperties.getLocation(entities[i]);
 			if (layoutBounds.getWidth() == 0 || layoutBounds.getHeight() == 0) {
@@ -116,6 +133,44 @@ public class RadialLayoutAlgorithm implements ILayoutAlgorithm {
 	 */
 	public void setResizing(boolean resizing) {
 		resize = resizing;
-		treeLayout.setResizing(resize);
+		if (treeLayout instanceof TreeLayoutAlgorithm) {
+			((TreeLayoutAlgorithm) treeLayout).setResizing(resize);
+		}
+	}
+
+	/**
+	 * Returns the {@link ILayoutAlgorithm} that is used to compute the tree
+	 * layout, which is afterwards transformed into a radial layout. By
+	 * default, a {@link TreeLayoutAlgorithm} is used.
+	 *
+	 * @return The {@link ILayoutAlgorithm} that is used to compute the tree
+	 *         layout.
+	 */
+	public ILayoutAlgorithm getTreeLayoutAlgorithm() {
+		return treeLayout;
+	}
+
+	/**
+	 * Changes the {@link ILayoutAlgorithm} that is used to compute the tree
+	 * layout to the given value. The given {@link ILayoutAlgorithm} has to
+	 * lay out the tree top-down, as the horizontal position of a node is
+	 * transformed into its angle, and the vertical position is transformed
+	 * into its distance from the center. For example, a
+	 * {@link TidyTreeLayoutAlgorithm} may be used to obtain a more compact
+	 * radial layout for trees with variable node sizes.
+	 *
+	 * @param treeLayoutAlgorithm
+	 *            The {@link ILayoutAlgorithm} to use for computing the tree
+	 *            layout.
+	 */
+	public void setTreeLayoutAlgorithm(ILayoutAlgorithm treeLayoutAlgorithm) {
+		if (treeLayoutAlgorithm == null) {
+			throw new IllegalArgumentException(
+					"The tree layout algorithm may not be null.");
+		}
+		treeLayout = treeLayoutAlgorithm;
+		if (treeLayout instanceof TreeLayoutAlgorithm) {
+			((TreeLayoutAlgorithm) treeLayout).setResizing(resize);
+		}
 	}
 }
@@ -23,6 +23,7 @@ import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
 import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutInstrumentation;
 import org.eclipse.gef.layout.LayoutProperties;
 
 /**
@@ -128,6 +129,7 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	private double[] forcesX, forcesY;
 	private double[] locationsX, locationsY;
 	private double[] sizeW, sizeH;
+	private double energy, displacement;
 	private Rectangle bounds;
 	private double boundsScaleX = 0.2;
 	private double boundsScaleY = 0.2;
@@ -140,13 +142,37 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 
 	public void applyLayout(LayoutContext layoutContext, boolean clean) {
 		this.layoutContext = layoutContext;
+		LayoutInstrumentation instrumentation = layoutContext
+				.getInstrumentation();
+		if (instrumentation != null) {
+			instrumentation
+					.beginPhase(LayoutInstrumentation.PHASE_INITIALIZATION);
+		}
 		initLayout(layoutContext);
+		if (instrumentation != null) {
+			instrumentation
+					.endPhase(LayoutInstrumentation.PHASE_INITIALIZATION);
+		}
 		if (!clean) {
 			return;
 		}
 
+		if (instrumentation != null) {
+			instrumentation.beginPhase(LayoutInstrumentation.PHASE_ITERATION);
+		}
+		int iterations = 0;
 		while (performAnotherNonContinuousIteration()) {
 			computeOneIteration();
+			iterations++;
+		}
+		if (instrumentation != null) {
+			instrumentation.endPhase(LayoutInstrumentation.PHASE_ITERATION);
+			instrumentation.report(LayoutInstrumentation.ITERATIONS,
+					iterations);
+			instrumentation.report(LayoutInstrumentation.ENERGY, energy);
+			instrumentation.report(LayoutInstrumentation.DISPLACEMENT,
+					displacement);
+			instrumentation.beginPhase(LayoutInstrumentation.PHASE_PLACEMENT);
 		}
 
 		saveLocations();
@@ -162,6 +188,9 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 			bounds2.setHeight(bounds2.getHeight() - 2 * insets);
 			AlgorithmHelper.fitWithinBounds(entities, bounds2, resize);
 		}
+		if (instrumentation != null) {
+			instrumentation.endPhase(LayoutInstrumentation.PHASE_PLACEMENT);
+		}
 	}
 
 	/**
@@ -628,8 +657,11 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	 * position + sprMove * force
 	 */
 	protected void computePositions() {
+		energy = 0;
+		displacement = 0;
 		for (int i = 0; i < entities.length; i++) {
 			if (LayoutProperties.isMovable(entities[i])) {
+				energy += forcesX[i] * forcesX[i] + forcesY[i] * forcesY[i];
 				double deltaX = sprMove * forcesX[i];
 				double deltaY = sprMove * forcesY[i];
 
@@ -642,8 +674,11 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 					deltaY *= maxMovement / dist;
 				}
 
-				locationsX[i] += deltaX * bounds.getWidth() * boundsScaleX;
-				locationsY[i] += deltaY * bounds.getHeight() * boundsScaleY;
+				deltaX = deltaX * bounds.getWidth() * boundsScaleX;
+				deltaY = deltaY * bounds.getHeight() * boundsScaleY;
+				locationsX[i] += deltaX;
+				locationsY[i] += deltaY;
+				displacement += Math.sqrt(deltaX * deltaX + deltaY * deltaY);
 			}
 		}
 	}
@@ -37,6 +37,7 @@ import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
 import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutInstrumentation;
 import org.eclipse.gef.layout.LayoutProperties;
 
 /**
@@ -1342,8 +1343,23 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 			nodes.add(node);
 			nodes2.add(node);
 		}
+		LayoutInstrumentation instrumentation = layoutContext
+				.getInstrumentation();
+		if (instrumentation != null) {
+			instrumentation.beginPhase(LayoutInstrumentation.PHASE_LAYERING);
+		}
 		layers = layerProvider.calculateLayers(nodes);
+		if (instrumentation != null) {
+			instrumentation.endPhase(LayoutInstrumentation.PHASE_LAYERING);
+			instrumentation.beginPhase(
+					LayoutInstrumentation.PHASE_CROSSING_REDUCTION);
+		}
 		crossingReducer.crossReduction(layers);
+		if (instrumentation != null) {
+			instrumentation
+					.endPhase(LayoutInstrumentation.PHASE_CROSSING_REDUCTION);
+			instrumentation.beginPhase(LayoutInstrumentation.PHASE_PLACEMENT);
+		}
 
 		for (List<NodeWrapper> layer : layers) {
 			if (layer.size() > last)
@@ -1353,6 +1369,9 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 			}
 		}
 		calculatePositions(layoutContext);
+		if (instrumentation != null) {
+			instrumentation.endPhase(LayoutInstrumentation.PHASE_PLACEMENT);
+		}
 	}
 
 	private void calculatePositions(LayoutContext context) {
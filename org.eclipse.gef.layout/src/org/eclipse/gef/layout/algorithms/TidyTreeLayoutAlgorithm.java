@@ -0,0 +1,541 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * The {@link TidyTreeLayoutAlgorithm} lays out the nodes as a tidy tree, using
+ * the linear-time variant of Walker's algorithm presented by Buchheim, Jünger,
+ * and Leipert ("Improving Walker's Algorithm to Run in Linear Time", 2002).
+ * <p>
+ * In contrast to the {@link TreeLayoutAlgorithm}, the nodes are not placed
+ * into a uniform grid, but each subtree is placed as close as possible to its
+ * left sibling subtrees, respecting the individual sizes of the nodes. Parents
+ * are centered above their children, and isomorphic subtrees are laid out
+ * identically. The {@link #getNodeSpacing() node spacing} is kept between
+ * neighboring nodes of the same level, and the {@link #getLevelSpacing() level
+ * spacing} is kept between consecutive levels, where the extent of a level is
+ * determined by its largest node.
+ * <p>
+ * The tree is derived from the layout-relevant {@link Edge}s of the
+ * {@link LayoutContext}. {@link Node}s without incoming {@link Edge}s are
+ * roots, and edges that would close a cycle or give a node a second parent
+ * are ignored. The resulting trees are placed next to each other as if they
+ * were the children of a common (invisible) root. The layout is positioned at
+ * the origin of the layout bounds, but is not scaled to fit into them.
+ * <p>
+ * As the layout only depends on the tree structure, the
+ * {@link TidyTreeLayoutAlgorithm} can also be used as the tree stage of the
+ * {@link RadialLayoutAlgorithm} (see
+ * {@link RadialLayoutAlgorithm#setTreeLayoutAlgorithm(ILayoutAlgorithm)}).
+ */
+public class TidyTreeLayoutAlgorithm implements ILayoutAlgorithm {
+
+	/**
+	 * The default value for the {@link #getNodeSpacing() node spacing}.
+	 */
+	public static final double DEFAULT_NODE_SPACING = 10;
+
+	/**
+	 * The default value for the {@link #getLevelSpacing() level spacing}.
+	 */
+	public static final double DEFAULT_LEVEL_SPACING = 20;
+
+	private static final int NONE = -1;
+
+	private int direction = LayoutProperties.DEFAULT_DIRECTION;
+	private double nodeSpacing = DEFAULT_NODE_SPACING;
+	private double levelSpacing = DEFAULT_LEVEL_SPACING;
+
+	// tree structure; the virtual root has the index nodes.length
+	private int[] parent;
+	private int[] childIndex;
+	private int[] childOffsets;
+	private int[] children;
+	private int[] order;
+	private int[] level;
+
+	// extents of the nodes along the breadth and depth axes
+	private double[] breadth;
+	private double[] depth;
+
+	// per-node state of the Buchheim-Walker algorithm
+	private double[] prelim;
+	private double[] mod;
+	private double[] shifts;
+	private double[] changes;
+	private double[] midpoint;
+	private int[] thread;
+	private int[] ancestor;
+
+	/**
+	 * Constructs a new {@link TidyTreeLayoutAlgorithm} that lays out the tree
+	 * in {@link LayoutProperties#DEFAULT_DIRECTION default direction}.
+	 */
+	public TidyTreeLayoutAlgorithm() {
+	}
+
+	/**
+	 * Constructs a new {@link TidyTreeLayoutAlgorithm} that lays out the tree
+	 * in the given direction.
+	 *
+	 * @param direction
+	 *            The direction of the tree, see {@link #setDirection(int)}.
+	 */
+	public TidyTreeLayoutAlgorithm(int direction) {
+		setDirection(direction);
+	}
+
+	@Override
+	public void applyLayout(LayoutContext layoutContext, boolean clean) {
+		if (!clean) {
+			return;
+		}
+		Node[] nodes = layoutContext.getNodes();
+		if (nodes.length == 0) {
+			return;
+		}
+		try {
+			buildTree(nodes, layoutContext.getEdges());
+			computeExtents(nodes);
+			firstWalk(nodes.length);
+			double[] x = secondWalk(nodes.length);
+			Rectangle bounds = LayoutProperties
+					.getBounds(layoutContext.getGraph());
+			applyPositions(nodes, x, bounds == null ? new Point()
+					: bounds.getTopLeft());
+		} finally {
+			// release the (potentially large) intermediate data
+			parent = childIndex = childOffsets = children = null;
+			order = level = thread = ancestor = null;
+			breadth = depth = null;
+			prelim = mod = shifts = changes = midpoint = null;
+		}
+	}
+
+	private int ancestor(int vim, int v, int defaultAncestor) {
+		return parent[ancestor[vim]] == parent[v] ? ancestor[vim]
+				: defaultAncestor;
+	}
+
+	private void applyPositions(Node[] nodes, double[] x, Point origin) {
+		int levels = 0;
+		double minX = Double.POSITIVE_INFINITY;
+		for (int v = 0; v < nodes.length; v++) {
+			levels = Math.max(levels, level[v] + 1);
+			minX = Math.min(minX, x[v] - breadth[v] / 2);
+		}
+		// the center of each level along the depth axis
+		double[] levelExtents = new double[levels];
+		for (int v = 0; v < nodes.length; v++) {
+			levelExtents[level[v]] = Math.max(levelExtents[level[v]],
+					depth[v]);
+		}
+		double[] levelCenters = new double[levels];
+		double totalDepth = 0;
+		for (int l = 0; l < levels; l++) {
+			if (l > 0) {
+				totalDepth += levelSpacing;
+			}
+			levelCenters[l] = totalDepth + levelExtents[l] / 2;
+			totalDepth += levelExtents[l];
+		}
+
+		for (int v = 0; v < nodes.length; v++) {
+			if (!LayoutProperties.isMovable(nodes[v])) {
+				continue;
+			}
+			double b = x[v] - minX;
+			double d = levelCenters[level[v]];
+			Point location;
+			switch (direction) {
+			case LayoutProperties.DIRECTION_BOTTOM_UP:
+				location = new Point(b, totalDepth - d);
+				break;
+			case LayoutProperties.DIRECTION_LEFT_RIGHT:
+				location = new Point(d, b);
+				break;
+			case LayoutProperties.DIRECTION_RIGHT_LEFT:
+				location = new Point(totalDepth - d, b);
+				break;
+			default:
+				location = new Point(b, d);
+			}
+			LayoutProperties.setLocation(nodes[v],
+					location.translate(origin.x, origin.y));
+		}
+	}
+
+	/**
+	 * Processes the given left or right contours of the subtree rooted at the
+	 * given node and the subtrees of its left siblings, shifting the subtree
+	 * to the right where the contours are too close.
+	 */
+	private int apportion(int v, int defaultAncestor) {
+		int w = leftSibling(v);
+		if (w == NONE) {
+			return defaultAncestor;
+		}
+		int vip = v;
+		int vop = v;
+		int vim = w;
+		int vom = children[childOffsets[parent[v]]];
+		double sip = mod[vip];
+		double sop = mod[vop];
+		double sim = mod[vim];
+		double som = mod[vom];
+		int nextRightVim = nextRight(vim);
+		int nextLeftVip = nextLeft(vip);
+		while (nextRightVim != NONE && nextLeftVip != NONE) {
+			vim = nextRightVim;
+			vip = nextLeftVip;
+			vom = nextLeft(vom);
+			vop = nextRight(vop);
+			ancestor[vop] = v;
+			double shift = (prelim[vim] + sim) - (prelim[vip] + sip)
+					+ distance(vim, vip);
+			if (shift > 0) {
+				moveSubtree(ancestor(vim, v, defaultAncestor), v, shift);
+				sip += shift;
+				sop += shift;
+			}
+			sim += mod[vim];
+			sip += mod[vip];
+			som += mod[vom];
+			sop += mod[vop];
+			nextRightVim = nextRight(vim);
+			nextLeftVip = nextLeft(vip);
+		}
+		if (nextRightVim != NONE && nextRight(vop) == NONE) {
+			thread[vop] = nextRightVim;
+			mod[vop] += sim - sop;
+		}
+		if (nextLeftVip != NONE && nextLeft(vom) == NONE) {
+			thread[vom] = nextLeftVip;
+			mod[vom] += sip - som;
+			defaultAncestor = v;
+		}
+		return defaultAncestor;
+	}
+
+	/**
+	 * Derives a spanning forest from the given nodes and edges in linear time.
+	 * The nodes are indexed by their position in the given array; the roots
+	 * of the forest become the children of a virtual root, which has the index
+	 * <code>nodes.length</code>. The nodes are recorded in breadth-first
+	 * order, so that each node precedes its children.
+	 */
+	private void buildTree(Node[] nodes, Edge[] edges) {
+		int n = nodes.length;
+		Map<Node, Integer> indices = new IdentityHashMap<>(2 * n);
+		for (int i = 0; i < n; i++) {
+			indices.put(nodes[i], i);
+		}
+
+		// collect the successors of each node
+		int[] sources = new int[edges.length];
+		int[] targets = new int[edges.length];
+		int[] successorOffsets = new int[n + 1];
+		boolean[] hasPredecessor = new boolean[n];
+		int edgeCount = 0;
+		for (Edge edge : edges) {
+			Integer source = indices.get(edge.getSource());
+			Integer target = indices.get(edge.getTarget());
+			if (source != null && target != null
+					&& source.intValue() != target.intValue()) {
+				sources[edgeCount] = source;
+				targets[edgeCount] = target;
+				successorOffsets[source + 1]++;
+				hasPredecessor[target] = true;
+				edgeCount++;
+			}
+		}
+		for (int i = 0; i < n; i++) {
+			successorOffsets[i + 1] += successorOffsets[i];
+		}
+		int[] successors = new int[edgeCount];
+		int[] fill = new int[n];
+		for (int e = 0; e < edgeCount; e++) {
+			int source = sources[e];
+			successors[successorOffsets[source] + fill[source]++] = targets[e];
+		}
+
+		// breadth-first traversal starting at the roots; nodes that are not
+		// reachable from any root (i.e. that lie on a cycle) start new trees
+		parent = new int[n + 1];
+		level = new int[n + 1];
+		order = new int[n];
+		boolean[] visited = new boolean[n];
+		parent[n] = NONE;
+		level[n] = NONE;
+		int head = 0;
+		int tail = 0;
+		for (int pass = 0; pass < 2; pass++) {
+			for (int r = 0; r < n; r++) {
+				if (visited[r] || (pass == 0 && hasPredecessor[r])) {
+					continue;
+				}
+				visited[r] = true;
+				parent[r] = n;
+				level[r] = 0;
+				order[tail++] = r;
+				while (head < tail) {
+					int v = order[head++];
+					for (int s = successorOffsets[v]; s < successorOffsets[v
+							+ 1]; s++) {
+						int w = successors[s];
+						if (!visited[w]) {
+							visited[w] = true;
+							parent[w] = v;
+							level[w] = level[v] + 1;
+							order[tail++] = w;
+						}
+					}
+				}
+			}
+		}
+
+		// record the children of each node in traversal order
+		childOffsets = new int[n + 2];
+		for (int v = 0; v < n; v++) {
+			childOffsets[parent[v] + 1]++;
+		}
+		for (int v = 0; v <= n; v++) {
+			childOffsets[v + 1] += childOffsets[v];
+		}
+		children = new int[n];
+		childIndex = new int[n + 1];
+		int[] childCounts = new int[n + 1];
+		for (int v : order) {
+			int p = parent[v];
+			childIndex[v] = childCounts[p]++;
+			children[childOffsets[p] + childIndex[v]] = v;
+		}
+	}
+
+	private void computeExtents(Node[] nodes) {
+		int n = nodes.length;
+		boolean vertical = direction == LayoutProperties.DIRECTION_TOP_DOWN
+				|| direction == LayoutProperties.DIRECTION_BOTTOM_UP;
+		breadth = new double[n + 1];
+		depth = new double[n + 1];
+		for (int v = 0; v < n; v++) {
+			Dimension size = LayoutProperties.getSize(nodes[v]);
+			if (size != null) {
+				breadth[v] = vertical ? size.width : size.height;
+				depth[v] = vertical ? size.height : size.width;
+			}
+		}
+	}
+
+	/**
+	 * Returns the minimal distance between the centers of the given nodes,
+	 * which are neighbors on the same level.
+	 */
+	private double distance(int v, int w) {
+		return (breadth[v] + breadth[w]) / 2 + nodeSpacing;
+	}
+
+	/**
+	 * Adds the shifts that have been recorded by
+	 * {@link #moveSubtree(int, int, double)} to the children of the given
+	 * node.
+	 */
+	private void executeShifts(int v) {
+		double shift = 0;
+		double change = 0;
+		for (int c = childOffsets[v + 1] - 1; c >= childOffsets[v]; c--) {
+			int w = children[c];
+			prelim[w] += shift;
+			mod[w] += shift;
+			change += changes[w];
+			shift += shifts[w] + change;
+		}
+	}
+
+	/**
+	 * Computes the preliminary x-coordinates of all nodes. In contrast to the
+	 * recursive formulation of the algorithm, the nodes are processed
+	 * bottom-up in reverse breadth-first order, so that deep trees do not
+	 * exhaust the call stack. A node is placed relative to its left sibling
+	 * when its parent is processed.
+	 */
+	private void firstWalk(int root) {
+		int n = root;
+		prelim = new double[n + 1];
+		mod = new double[n + 1];
+		shifts = new double[n + 1];
+		changes = new double[n + 1];
+		midpoint = new double[n + 1];
+		thread = new int[n + 1];
+		ancestor = new int[n + 1];
+		for (int v = 0; v <= n; v++) {
+			thread[v] = NONE;
+			ancestor[v] = v;
+		}
+		for (int i = n - 1; i >= -1; i--) {
+			int v = i < 0 ? root : order[i];
+			if (childOffsets[v] == childOffsets[v + 1]) {
+				continue;
+			}
+			int defaultAncestor = children[childOffsets[v]];
+			for (int c = childOffsets[v]; c < childOffsets[v + 1]; c++) {
+				int w = children[c];
+				int left = leftSibling(w);
+				if (left == NONE) {
+					prelim[w] = midpoint[w];
+				} else {
+					prelim[w] = prelim[left] + distance(left, w);
+					mod[w] = prelim[w] - midpoint[w];
+				}
+				defaultAncestor = apportion(w, defaultAncestor);
+			}
+			executeShifts(v);
+			midpoint[v] = (prelim[children[childOffsets[v]]]
+					+ prelim[children[childOffsets[v + 1] - 1]]) / 2;
+		}
+		prelim[root] = midpoint[root];
+	}
+
+	/**
+	 * Returns the level spacing of this {@link TidyTreeLayoutAlgorithm}, i.e.
+	 * the distance between consecutive levels of the tree.
+	 *
+	 * @return The level spacing of this {@link TidyTreeLayoutAlgorithm}.
+	 */
+	public double getLevelSpacing() {
+		return levelSpacing;
+	}
+
+	/**
+	 * Returns the direction of this {@link TidyTreeLayoutAlgorithm}.
+	 *
+	 * @return The direction of this {@link TidyTreeLayoutAlgorithm}.
+	 */
+	public int getDirection() {
+		return direction;
+	}
+
+	/**
+	 * Returns the node spacing of this {@link TidyTreeLayoutAlgorithm}, i.e.
+	 * the minimal distance between neighboring nodes of the same level.
+	 *
+	 * @return The node spacing of this {@link TidyTreeLayoutAlgorithm}.
+	 */
+	public double getNodeSpacing() {
+		return nodeSpacing;
+	}
+
+	private int leftSibling(int v) {
+		return childIndex[v] == 0 ? NONE
+				: children[childOffsets[parent[v]] + childIndex[v] - 1];
+	}
+
+	/**
+	 * Shifts the subtree rooted at <i>wp</i> by the given amount, and records
+	 * the shifts of the subtrees between <i>wm</i> and <i>wp</i>, which are
+	 * applied by {@link #executeShifts(int)}.
+	 */
+	private void moveSubtree(int wm, int wp, double shift) {
+		double subtrees = childIndex[wp] - childIndex[wm];
+		changes[wp] -= shift / subtrees;
+		shifts[wp] += shift;
+		changes[wm] += shift / subtrees;
+		prelim[wp] += shift;
+		mod[wp] += shift;
+	}
+
+	private int nextLeft(int v) {
+		return childOffsets[v] < childOffsets[v + 1]
+				? children[childOffsets[v]] : thread[v];
+	}
+
+	private int nextRight(int v) {
+		return childOffsets[v] < childOffsets[v + 1]
+				? children[childOffsets[v + 1] - 1] : thread[v];
+	}
+
+	/**
+	 * Computes the final x-coordinates of all nodes by accumulating the
+	 * modifiers of their ancestors.
+	 */
+	private double[] secondWalk(int root) {
+		double[] modSums = new double[root + 1];
+		double[] x = new double[root];
+		for (int v : order) {
+			int p = parent[v];
+			modSums[v] = modSums[p] + mod[p];
+			x[v] = prelim[v] + modSums[v];
+		}
+		return x;
+	}
+
+	/**
+	 * Changes the direction of this {@link TidyTreeLayoutAlgorithm} to the
+	 * given value. The direction may either be
+	 * {@link LayoutProperties#DIRECTION_TOP_DOWN},
+	 * {@link LayoutProperties#DIRECTION_BOTTOM_UP},
+	 * {@link LayoutProperties#DIRECTION_LEFT_RIGHT}, or
+	 * {@link LayoutProperties#DIRECTION_RIGHT_LEFT}.
+	 *
+	 * @param direction
+	 *            The new direction for this {@link TidyTreeLayoutAlgorithm}.
+	 */
+	public void setDirection(int direction) {
+		if (direction == LayoutProperties.DIRECTION_TOP_DOWN
+				|| direction == LayoutProperties.DIRECTION_BOTTOM_UP
+				|| direction == LayoutProperties.DIRECTION_LEFT_RIGHT
+				|| direction == LayoutProperties.DIRECTION_RIGHT_LEFT) {
+			this.direction = direction;
+		} else {
+			throw new IllegalArgumentException(
+					"Invalid direction: " + direction);
+		}
+	}
+
+	/**
+	 * Changes the level spacing of this {@link TidyTreeLayoutAlgorithm} to the
+	 * given value.
+	 *
+	 * @param levelSpacing
+	 *            The new level spacing.
+	 * @see #getLevelSpacing()
+	 */
+	public void setLevelSpacing(double levelSpacing) {
+		this.levelSpacing = levelSpacing;
+	}
+
+	/**
+	 * Changes the node spacing of this {@link TidyTreeLayoutAlgorithm} to the
+	 * given value.
+	 *
+	 * @param nodeSpacing
+	 *            The new node spacing.
+	 * @see #getNodeSpacing()
+	 */
+	public void setNodeSpacing(double nodeSpacing) {
+		this.nodeSpacing = nodeSpacing;
+	}
+
+}
@@ -12,6 +12,7 @@
 package org.eclipse.gef.mvc.fx.domain;
 
 import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +35,7 @@ import org.eclipse.gef.common.adapt.inject.InjectAdapters;
 import org.eclipse.gef.mvc.fx.gestures.IGesture;
 import org.eclipse.gef.mvc.fx.operations.AbstractCompositeOperation;
 import org.eclipse.gef.mvc.fx.operations.ForwardUndoCompositeOperation;
+import org.eclipse.gef.mvc.fx.operations.ICoalescableOperation;
 import org.eclipse.gef.mvc.fx.operations.ITransactionalOperation;
 import org.eclipse.gef.mvc.fx.operations.ReverseUndoCompositeOperation;
 import org.eclipse.gef.mvc.fx.viewer.IViewer;
@@ -49,11 +51,26 @@ import javafx.collections.ObservableMap;
  * The {@link HistoricizingDomain} is an {@link IDomain} that uses an
  * {@link IOperationHistory} for executing {@link ITransactionalOperation
  * ITransactionalOperations}.
+ * <p>
+ * Consecutive {@link ICoalescableOperation ICoalescableOperations} (e.g.
+ * viewport changes of the same viewer, or visual transformations of the same
+ * part) that are added to the history within the coalescing window (see
+ * {@link #setCoalescingWindowMillis(long)}) are coalesced into a single history
+ * entry. Operations that are not content relevant (see
+ * {@link ITransactionalOperation#isContentRelevant()}) can be kept out of the
+ * history entirely (see
+ * {@link #setContentIrrelevantOperationsHistoricized(boolean)}).
  *
  * @author anyssen
  */
 public class HistoricizingDomain implements IDomain {
 
+	/**
+	 * The default coalescing window (in milliseconds), see
+	 * {@link #setCoalescingWindowMillis(long)}.
+	 */
+	public static final long DEFAULT_COALESCING_WINDOW_MILLIS = 500;
+
 	private static final int DEFAULT_UNDO_LIMIT = 128;
 	private static final UncaughtExceptionHandler UNCAUGHT_EXCEPTION_HANDLER = new UncaughtExceptionHandler() {
 		@Override
@@ -74,6 +91,13 @@ public class HistoricizingDomain implements IDomain {
 	private IOperationHistory operationHistory;
 	private IUndoContext undoContext;
 
+	private long coalescingWindowMillis = DEFAULT_COALESCING_WINDOW_MILLIS;
+	private boolean contentIrrelevantOperationsHistoricized = true;
+	// the operation that was most recently added to the operation history,
+	// and the time at which it was added or last coalesced with
+	private IUndoableOperation coalescingTarget;
+	private long coalescingTargetMillis;
+
 	private AbstractCompositeOperation transaction;
 	private Set<IGesture> transactionContext = new HashSet<>();
 	private IOperationHistoryListener transactionListener = new IOperationHistoryListener() {
@@ -182,15 +206,68 @@ public class HistoricizingDomain implements IDomain {
 					}
 				}
 				transaction.setLabel(label.toString());
-				// only add undo context if we have a content related change
-				applyUndoContext(transaction);
-				getOperationHistory().add(transaction);
+				if (isHistoricized(transaction)
+						&& !coalesce(transaction)) {
+					// only add undo context if we have a content related change
+					applyUndoContext(transaction);
+					getOperationHistory().add(transaction);
+					setCoalescingTarget(transaction);
+				}
 			}
 			transaction = null;
 		}
 		transactionContext.remove(tool);
 	}
 
+	/**
+	 * Coalesces the given {@link IUndoableOperation}, which has been or is
+	 * about to be executed, into the operation that was most recently added to
+	 * the {@link #getOperationHistory() operation history}, if possible. This is
+	 * the case if the operation is still the topmost undoable operation of the
+	 * {@link #getUndoContext() undo context}, if it has been added or coalesced
+	 * with within the coalescing window (see
+	 * {@link #setCoalescingWindowMillis(long)}), and if all its (nested)
+	 * operations are {@link ICoalescableOperation ICoalescableOperations} that
+	 * can be coalesced with the respective (nested) operations of the given
+	 * {@link IUndoableOperation}.
+	 *
+	 * @param operation
+	 *            The {@link IUndoableOperation} to coalesce.
+	 * @return <code>true</code> if the given {@link IUndoableOperation} was
+	 *         coalesced, so that it does not need to be added to the
+	 *         {@link #getOperationHistory() operation history}, otherwise
+	 *         <code>false</code>.
+	 */
+	protected boolean coalesce(IUndoableOperation operation) {
+		long now = System.currentTimeMillis();
+		if (coalescingTarget == null || coalescingWindowMillis <= 0
+				|| now - coalescingTargetMillis > coalescingWindowMillis
+				|| getOperationHistory().getUndoOperation(
+						getUndoContext()) != coalescingTarget) {
+			return false;
+		}
+		List<ITransactionalOperation> targets = getNestedOperations(
+				coalescingTarget);
+		List<ITransactionalOperation> operations = getNestedOperations(
+				operation);
+		if (targets.isEmpty() || targets.size() != operations.size()) {
+			return false;
+		}
+		for (int i = 0; i < targets.size(); i++) {
+			if (!(targets.get(i) instanceof ICoalescableOperation)
+					|| !((ICoalescableOperation) targets.get(i))
+							.canCoalesce(operations.get(i))) {
+				return false;
+			}
+		}
+		for (int i = 0; i < targets.size(); i++) {
+			((ICoalescableOperation) targets.get(i))
+					.coalesce(operations.get(i));
+		}
+		coalescingTargetMillis = now;
+		return true;
+	}
+
 	/**
 	 * Creates a {@link ForwardUndoCompositeOperation} which is used to store
 	 * the operations within an execution transaction. The operation is opened
@@ -236,6 +313,7 @@ public class HistoricizingDomain implements IDomain {
 		operationHistory.dispose(undoContext, true, true, true);
 		operationHistory = null;
 		undoContext = null;
+		coalescingTarget = null;
 
 		// dispose adaptable and activatable support
 		ads.dispose();
@@ -289,10 +367,18 @@ public class HistoricizingDomain implements IDomain {
 			// execute operation locally and add it to the current transaction
 			operation.execute(monitor, null);
 			transaction.add(operation);
+		} else if (!isHistoricized(operation)) {
+			// execute operation locally, keeping it out of the history
+			operation.execute(monitor, null);
+		} else if (coalesce(operation)) {
+			// execute operation locally, as it is represented by the
+			// operation it has been coalesced into
+			operation.execute(monitor, null);
 		} else {
 			// execute operation directly on operation history
 			applyUndoContext(operation);
 			getOperationHistory().execute(operation, monitor, null);
+			setCoalescingTarget(operation);
 		}
 	}
 
@@ -333,6 +419,31 @@ public class HistoricizingDomain implements IDomain {
 		return ads.getAdapters(key);
 	}
 
+	/**
+	 * Returns the coalescing window (in milliseconds) of this
+	 * {@link HistoricizingDomain}.
+	 *
+	 * @return The coalescing window in milliseconds.
+	 * @see #setCoalescingWindowMillis(long)
+	 */
+	public long getCoalescingWindowMillis() {
+		return coalescingWindowMillis;
+	}
+
+	private List<ITransactionalOperation> getNestedOperations(
+			IUndoableOperation operation) {
+		List<ITransactionalOperation> nestedOperations = new ArrayList<>();
+		if (operation instanceof AbstractCompositeOperation) {
+			for (ITransactionalOperation o : ((AbstractCompositeOperation) operation)
+					.getOperations()) {
+				nestedOperations.addAll(getNestedOperations(o));
+			}
+		} else if (operation instanceof ITransactionalOperation) {
+			nestedOperations.add((ITransactionalOperation) operation);
+		}
+		return nestedOperations;
+	}
+
 	/**
 	 * Returns the {@link IOperationHistory} used by this
 	 * {@link HistoricizingDomain} to execute transactions.
@@ -368,6 +479,22 @@ public class HistoricizingDomain implements IDomain {
 		return acs.isActive();
 	}
 
+	/**
+	 * Returns <code>true</code> if {@link ITransactionalOperation
+	 * ITransactionalOperations} that are not content relevant (see
+	 * {@link ITransactionalOperation#isContentRelevant()}) are added to the
+	 * {@link #getOperationHistory() operation history}. Otherwise returns
+	 * <code>false</code>.
+	 *
+	 * @return <code>true</code> if operations that are not content relevant
+	 *         are added to the operation history, otherwise
+	 *         <code>false</code>.
+	 * @see #setContentIrrelevantOperationsHistoricized(boolean)
+	 */
+	public boolean isContentIrrelevantOperationsHistoricized() {
+		return contentIrrelevantOperationsHistoricized;
+	}
+
 	/**
 	 * Returns <code>true</code> if an execution transaction is currently open.
 	 * Otherwise returns <code>false</code>.
@@ -384,6 +511,11 @@ public class HistoricizingDomain implements IDomain {
 		return transactionContext.contains(tool);
 	}
 
+	private boolean isHistoricized(ITransactionalOperation operation) {
+		return contentIrrelevantOperationsHistoricized
+				|| operation.isContentRelevant();
+	}
+
 	@Override
 	public void openExecutionTransaction(IGesture tool) {
 		// if (transactionContext.contains(tool)) {
@@ -428,6 +560,47 @@ public class HistoricizingDomain implements IDomain {
 		ads.setAdapter(adapterType, adapter, role);
 	}
 
+	/**
+	 * Sets the coalescing window (in milliseconds) of this
+	 * {@link HistoricizingDomain}. An operation (or transaction) is coalesced
+	 * into the operation that was most recently added to the
+	 * {@link #getOperationHistory() operation history} if the latter has been
+	 * added or coalesced with no longer than the given number of milliseconds
+	 * ago (see {@link #coalesce(IUndoableOperation)}). A value of
+	 * <code>0</code> disables coalescing. Defaults to
+	 * {@link #DEFAULT_COALESCING_WINDOW_MILLIS}.
+	 *
+	 * @param coalescingWindowMillis
+	 *            The coalescing window in milliseconds.
+	 */
+	public void setCoalescingWindowMillis(long coalescingWindowMillis) {
+		this.coalescingWindowMillis = coalescingWindowMillis;
+	}
+
+	private void setCoalescingTarget(IUndoableOperation operation) {
+		coalescingTarget = operation;
+		coalescingTargetMillis = System.currentTimeMillis();
+	}
+
+	/**
+	 * Specifies whether {@link ITransactionalOperation
+	 * ITransactionalOperations} that are not content relevant (see
+	 * {@link ITransactionalOperation#isContentRelevant()}), e.g. viewport
+	 * changes, are added to the {@link #getOperationHistory() operation
+	 * history}. If not, such operations (and transactions only consisting of
+	 * such operations) are executed without being added to the operation
+	 * history, so that they cannot be undone. Defaults to <code>true</code>.
+	 *
+	 * @param contentIrrelevantOperationsHistoricized
+	 *            <code>true</code> if operations that are not content relevant
+	 *            are to be added to the operation history, otherwise
+	 *            <code>false</code>.
+	 */
+	public void setContentIrrelevantOperationsHistoricized(
+			boolean contentIrrelevantOperationsHistoricized) {
+		this.contentIrrelevantOperationsHistoricized = contentIrrelevantOperationsHistoricized;
+	}
+
 	/**
 	 * Sets the {@link IOperationHistory} that is used by this
 	 * {@link HistoricizingDomain} to the given value. Operation history
@@ -34,7 +34,7 @@ import javafx.scene.transform.Affine;
  */
 // TODO: we should speak of 'final' instead of 'new'
 public class ChangeViewportOperation extends AbstractOperation
-		implements ITransactionalOperation {
+		implements ICoalescableOperation {
 
 	/**
 	 * The {@link InfiniteCanvas} that is manipulated by this operation.
@@ -211,6 +211,42 @@ public class ChangeViewportOperation extends AbstractOperation
 		this.newVerticalScrollOffset = newVerticalScrollOffset;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * A {@link ChangeViewportOperation} can be coalesced with another
+	 * {@link ChangeViewportOperation} that manipulates the same
+	 * {@link InfiniteCanvas} and starts from the content transformation and
+	 * scroll offsets this {@link ChangeViewportOperation} ends with.
+	 */
+	@Override
+	public boolean canCoalesce(ITransactionalOperation operation) {
+		if (!(operation instanceof ChangeViewportOperation)) {
+			return false;
+		}
+		ChangeViewportOperation other = (ChangeViewportOperation) operation;
+		return other.getInfiniteCanvas() == getInfiniteCanvas()
+				&& (getNewContentTransform() == null
+						? other.getInitialContentTransform() == null
+						: getNewContentTransform()
+								.equals(other.getInitialContentTransform()))
+				&& getNewHorizontalScrollOffset() == other
+						.getInitialHorizontalScrollOffset()
+				&& getNewVerticalScrollOffset() == other
+						.getInitialVerticalScrollOffset();
+	}
+
+	@Override
+	public void coalesce(ITransactionalOperation operation) {
+		ChangeViewportOperation other = (ChangeViewportOperation) operation;
+		setNewWidth(other.getNewWidth());
+		setNewHeight(other.getNewHeight());
+		setNewContentTransform(other.getNewContentTransform() == null ? null
+				: other.getNewContentTransform().getCopy());
+		setNewHorizontalScrollOffset(other.getNewHorizontalScrollOffset());
+		setNewVerticalScrollOffset(other.getNewVerticalScrollOffset());
+	}
+
 	/**
 	 * Concatenates the given {@link java.awt.geom.AffineTransform} to the
 	 * contents transformation that will be applied when executing this
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.fx.operations;
+
+import org.eclipse.core.commands.operations.IOperationHistory;
+import org.eclipse.gef.mvc.fx.domain.HistoricizingDomain;
+
+/**
+ * An {@link ICoalescableOperation} is an {@link ITransactionalOperation} that
+ * can absorb a subsequently executed {@link ITransactionalOperation} with the
+ * same target, so that both are represented by a single entry on the
+ * {@link IOperationHistory}. After coalescing, the
+ * {@link ICoalescableOperation} starts from its own initial state and ends in
+ * the final state of the absorbed {@link ITransactionalOperation}.
+ * <p>
+ * The {@link HistoricizingDomain} uses this, for example, to merge the
+ * {@link ChangeViewportOperation ChangeViewportOperations} of a number of
+ * consecutive scroll gestures into a single undoable step.
+ */
+public interface ICoalescableOperation extends ITransactionalOperation {
+
+	/**
+	 * Returns <code>true</code> if the given {@link ITransactionalOperation},
+	 * which has been executed directly after this
+	 * {@link ICoalescableOperation}, can be coalesced into this
+	 * {@link ICoalescableOperation}, i.e. if it manipulates the same target and
+	 * starts from the final state of this {@link ICoalescableOperation}.
+	 * Otherwise returns <code>false</code>.
+	 *
+	 * @param operation
+	 *            The {@link ITransactionalOperation} that has been executed
+	 *            directly after this {@link ICoalescableOperation}.
+	 * @return <code>true</code> if the given {@link ITransactionalOperation}
+	 *         can be coalesced into this {@link ICoalescableOperation},
+	 *         otherwise <code>false</code>.
+	 */
+	public boolean canCoalesce(ITransactionalOperation operation);
+
+	/**
+	 * Coalesces the given {@link ITransactionalOperation} into this
+	 * {@link ICoalescableOperation}, so that this {@link ICoalescableOperation}
+	 * afterwards ends in the final state of the given
+	 * {@link ITransactionalOperation}. May only be called if
+	 * {@link #canCoalesce(ITransactionalOperation)} returns <code>true</code>
+	 * for the given {@link ITransactionalOperation}.
+	 *
+	 * @param operation
+	 *            The {@link ITransactionalOperation} to coalesce into this
+	 *            {@link ICoalescableOperation}.
+	 */
+	public void coalesce(ITransactionalOperation operation);
+
+}
@@ -32,7 +32,7 @@ import javafx.scene.transform.Affine;
  *
  */
 public class TransformVisualOperation extends AbstractOperation
-		implements ITransactionalOperation {
+		implements ICoalescableOperation {
 
 	private ITransformableContentPart<? extends Node> transformablePart;
 	private Affine initialTransform;
@@ -88,6 +88,29 @@ public class TransformVisualOperation extends AbstractOperation
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * A {@link TransformVisualOperation} can be coalesced with another
+	 * {@link TransformVisualOperation} that transforms the same
+	 * {@link ITransformableContentPart} and starts from the {@link Affine} this
+	 * {@link TransformVisualOperation} ends with.
+	 */
+	@Override
+	public boolean canCoalesce(ITransactionalOperation operation) {
+		if (!(operation instanceof TransformVisualOperation)) {
+			return false;
+		}
+		TransformVisualOperation other = (TransformVisualOperation) operation;
+		return other.transformablePart == transformablePart
+				&& NodeUtils.equals(finalTransform, other.initialTransform);
+	}
+
+	@Override
+	public void coalesce(ITransactionalOperation operation) {
+		setFinalTransform(((TransformVisualOperation) operation).finalTransform);
+	}
+
 	@Override
 	public IStatus execute(IProgressMonitor monitor, IAdaptable info)
 			throws ExecutionException {
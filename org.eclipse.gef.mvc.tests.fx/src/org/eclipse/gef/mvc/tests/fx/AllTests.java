@@ -20,7 +20,7 @@ import org.junit.runners.Suite.SuiteClasses;
 @SuiteClasses({ AbstractVisualPartTests.class, BendableTests.class, ContentSynchronizationTests.class,
 		FocusTraversalPolicyTests.class, SelectionModelTests.class, AbstractHandlePartTests.class,
 		BendConnectionPolicyTests.class, ClickDragGestureTests.class, TypeGestureTests.class, TransformPolicyTests.class,
-		FocusTraversalPolicyTests.class, ResizePolicyTests.class })
+		FocusTraversalPolicyTests.class, ResizePolicyTests.class, HistoricizingDomainTests.class })
 public class AllTests {
 
 }
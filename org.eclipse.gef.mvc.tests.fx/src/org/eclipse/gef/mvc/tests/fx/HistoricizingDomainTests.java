@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.commands.operations.AbstractOperation;
+import org.eclipse.core.commands.operations.DefaultOperationHistory;
+import org.eclipse.core.commands.operations.UndoContext;
+import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.gef.mvc.fx.domain.HistoricizingDomain;
+import org.eclipse.gef.mvc.fx.operations.ICoalescableOperation;
+import org.eclipse.gef.mvc.fx.operations.ITransactionalOperation;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the coalescing of operations by the {@link HistoricizingDomain}.
+ */
+public class HistoricizingDomainTests {
+
+	private static class Counter {
+		private int value;
+	}
+
+	/**
+	 * Sets the value of a {@link Counter}, coalescing with subsequent
+	 * operations on the same {@link Counter}.
+	 */
+	private static class SetValueOperation extends AbstractOperation
+			implements ICoalescableOperation {
+
+		private Counter counter;
+		private int initialValue;
+		private int finalValue;
+		private boolean contentRelevant;
+
+		public SetValueOperation(Counter counter, int finalValue,
+				boolean contentRelevant) {
+			super("Set Value");
+			this.counter = counter;
+			this.initialValue = counter.value;
+			this.finalValue = finalValue;
+			this.contentRelevant = contentRelevant;
+		}
+
+		@Override
+		public boolean canCoalesce(ITransactionalOperation operation) {
+			return operation instanceof SetValueOperation
+					&& ((SetValueOperation) operation).counter == counter
+					&& ((SetValueOperation) operation).initialValue == finalValue;
+		}
+
+		@Override
+		public void coalesce(ITransactionalOperation operation) {
+			finalValue = ((SetValueOperation) operation).finalValue;
+		}
+
+		@Override
+		public IStatus execute(IProgressMonitor monitor, IAdaptable info)
+				throws ExecutionException {
+			counter.value = finalValue;
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean isContentRelevant() {
+			return contentRelevant;
+		}
+
+		@Override
+		public boolean isNoOp() {
+			return initialValue == finalValue;
+		}
+
+		@Override
+		public IStatus redo(IProgressMonitor monitor, IAdaptable info)
+				throws ExecutionException {
+			return execute(monitor, info);
+		}
+
+		@Override
+		public IStatus undo(IProgressMonitor monitor, IAdaptable info)
+				throws ExecutionException {
+			counter.value = initialValue;
+			return Status.OK_STATUS;
+		}
+	}
+
+	private HistoricizingDomain domain;
+
+	private void execute(Counter counter, int value) throws ExecutionException {
+		domain.execute(new SetValueOperation(counter, value, false),
+				new NullProgressMonitor());
+	}
+
+	private int getUndoHistorySize() {
+		return domain.getOperationHistory()
+				.getUndoHistory(domain.getUndoContext()).length;
+	}
+
+	@Before
+	public void setUp() {
+		domain = new HistoricizingDomain();
+		domain.setOperationHistory(new DefaultOperationHistory());
+		domain.setUndoContext(new UndoContext());
+		domain.setCoalescingWindowMillis(Long.MAX_VALUE);
+	}
+
+	@Test
+	public void coalesceConsecutiveOperations() throws ExecutionException {
+		Counter counter = new Counter();
+		execute(counter, 1);
+		execute(counter, 2);
+		execute(counter, 3);
+		assertEquals(3, counter.value);
+		assertEquals(1, getUndoHistorySize());
+
+		domain.getOperationHistory().undo(domain.getUndoContext(), null, null);
+		assertEquals(0, counter.value);
+		domain.getOperationHistory().redo(domain.getUndoContext(), null, null);
+		assertEquals(3, counter.value);
+	}
+
+	@Test
+	public void doNotCoalesceAfterUndo() throws ExecutionException {
+		Counter counter = new Counter();
+		execute(counter, 1);
+		execute(counter, 2);
+		domain.getOperationHistory().undo(domain.getUndoContext(), null, null);
+		assertEquals(0, counter.value);
+		execute(counter, 1);
+		execute(counter, 2);
+		assertEquals(1, getUndoHistorySize());
+		domain.getOperationHistory().undo(domain.getUndoContext(), null, null);
+		assertEquals(0, counter.value);
+	}
+
+	@Test
+	public void doNotCoalesceDifferentTargets() throws ExecutionException {
+		Counter counter1 = new Counter();
+		Counter counter2 = new Counter();
+		execute(counter1, 1);
+		execute(counter2, 1);
+		execute(counter1, 2);
+		assertEquals(3, getUndoHistorySize());
+	}
+
+	@Test
+	public void doNotCoalesceOutsideOfWindow() throws ExecutionException {
+		domain.setCoalescingWindowMillis(0);
+		Counter counter = new Counter();
+		execute(counter, 1);
+		execute(counter, 2);
+		assertEquals(2, getUndoHistorySize());
+		domain.getOperationHistory().undo(domain.getUndoContext(), null, null);
+		assertEquals(1, counter.value);
+	}
+
+	@Test
+	public void keepContentIrrelevantOperationsOutOfHistory()
+			throws ExecutionException {
+		domain.setContentIrrelevantOperationsHistoricized(false);
+		Counter counter = new Counter();
+		execute(counter, 1);
+		assertEquals(1, counter.value);
+		assertEquals(0, getUndoHistorySize());
+		assertFalse(domain.getOperationHistory()
+				.canUndo(domain.getUndoContext()));
+
+		domain.execute(new SetValueOperation(counter, 2, true),
+				new NullProgressMonitor());
+		assertEquals(2, counter.value);
+		assertEquals(1, getUndoHistorySize());
+	}
+
+}
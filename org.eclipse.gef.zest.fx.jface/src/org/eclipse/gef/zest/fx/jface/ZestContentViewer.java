@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.gef.common.adapt.AdapterKey;
 import org.eclipse.gef.fx.swt.canvas.IFXCanvasFactory;
@@ -62,6 +63,14 @@ import javafx.scene.Scene;
 /**
  * The {@link ZestContentViewer} is a {@link ContentViewer} that is capable of
  * displaying {@link Graph}s.
+ * <p>
+ * Besides {@link #refresh()}, which rebuilds the complete {@link Graph}, the
+ * {@link ZestContentViewer} provides methods to incrementally reflect changes
+ * of individual content elements ({@link #add(Object[])},
+ * {@link #remove(Object[])}, {@link #refresh(Object)},
+ * {@link #update(Object, String[])}). These only mutate the affected
+ * {@link Node}s and {@link Edge}s, so that the parts and positions of all other
+ * elements are preserved.
  *
  * @author mwienand
  * @author anyssen
@@ -82,6 +91,7 @@ public class ZestContentViewer extends ContentViewer {
 	private IViewer viewer;
 	private ILayoutAlgorithm layoutAlgorithm;
 	private Map<Object, Node> contentNodeMap = new IdentityHashMap<>();
+	private Map<Node, Object> nodeContentMap = new IdentityHashMap<>();
 
 	/**
 	 * Constructs a new {@link ZestContentViewer}. The given {@link Module} is
@@ -98,6 +108,52 @@ public class ZestContentViewer extends ContentViewer {
 		// injector.injectMembers(this);
 	}
 
+	/**
+	 * Adds a {@link Node} for the given content element to the root
+	 * {@link Graph}. See {@link #add(Object[])} for details.
+	 *
+	 * @param element
+	 *            The content element to add.
+	 */
+	public void add(Object element) {
+		add(new Object[] { element });
+	}
+
+	/**
+	 * Adds {@link Node}s for the given content elements to the root
+	 * {@link Graph}, together with the {@link Edge}s to their adjacent nodes
+	 * (see {@link IGraphContentProvider#getAdjacentNodes(Object)}) that are
+	 * already displayed. Edges from already displayed nodes to the added
+	 * elements are created when refreshing the respective source elements (see
+	 * {@link #refresh(Object)}). Elements that are already displayed are
+	 * ignored.
+	 *
+	 * @param elements
+	 *            The content elements to add.
+	 */
+	public void add(Object[] elements) {
+		Graph graph = getRootGraph();
+		if (graph == null || !(getContentProvider() instanceof IGraphContentProvider)) {
+			return;
+		}
+		IGraphContentProvider graphContentProvider = (IGraphContentProvider) getContentProvider();
+		ILabelProvider labelProvider = getLabelProvider();
+		List<Object> addedElements = new ArrayList<>();
+		List<Node> addedNodes = new ArrayList<>();
+		for (Object element : elements) {
+			if (!contentNodeMap.containsKey(element)) {
+				addedElements.add(element);
+				addedNodes.add(createNode(element, graphContentProvider, labelProvider));
+			}
+		}
+		graph.getNodes().addAll(addedNodes);
+		List<Edge> addedEdges = new ArrayList<>();
+		for (Object element : addedElements) {
+			addedEdges.addAll(createEdges(graphContentProvider, labelProvider, element, new ArrayList<Edge>()));
+		}
+		graph.getEdges().addAll(addedEdges);
+	}
+
 	/**
 	 * Creates an {@link FXCanvas} inside of the given <i>parent</i>
 	 * {@link Composite}. The {@link FXCanvas} serves acs the container for the
@@ -175,6 +231,62 @@ public class ZestContentViewer extends ContentViewer {
 		return edge;
 	}
 
+	/**
+	 * Creates the {@link Edge}s from the given <i>contentSourceNode</i> to its
+	 * adjacent nodes (see
+	 * {@link IGraphContentProvider#getAdjacentNodes(Object)}) that are not yet
+	 * represented by one of the given <i>existingEdges</i>. Adjacent nodes that
+	 * are not displayed are skipped. The attributes of existing edges that are
+	 * still valid are updated, and those existing edges are removed from the
+	 * given list, so that it afterwards contains the obsolete edges.
+	 *
+	 * @param graphContentProvider
+	 *            This viewer's {@link IGraphContentProvider} for convenience.
+	 * @param labelProvider
+	 *            This viewer's {@link ILabelProvider} for convenience.
+	 * @param contentSourceNode
+	 *            The content element representing the source node.
+	 * @param existingEdges
+	 *            The outgoing {@link Edge}s of the source node that already
+	 *            exist.
+	 * @return The new {@link Edge}s.
+	 */
+	private List<Edge> createEdges(IGraphContentProvider graphContentProvider, ILabelProvider labelProvider,
+			Object contentSourceNode, List<Edge> existingEdges) {
+		List<Edge> newEdges = new ArrayList<>();
+		Node sourceNode = contentNodeMap.get(contentSourceNode);
+		Object[] connectedTo = graphContentProvider.getAdjacentNodes(contentSourceNode);
+		if (connectedTo == null) {
+			return newEdges;
+		}
+		for (Object contentTargetNode : connectedTo) {
+			Node targetNode = contentNodeMap.get(contentTargetNode);
+			if (targetNode == null) {
+				continue;
+			}
+			Edge existingEdge = null;
+			for (Edge edge : existingEdges) {
+				if (edge.getTarget() == targetNode) {
+					existingEdge = edge;
+					break;
+				}
+			}
+			if (existingEdge == null) {
+				newEdges.add(createEdge(labelProvider, contentSourceNode, sourceNode, contentTargetNode, targetNode));
+			} else {
+				existingEdges.remove(existingEdge);
+				if (labelProvider instanceof IGraphAttributesProvider) {
+					Map<String, Object> edgeAttributes = ((IGraphAttributesProvider) labelProvider)
+							.getEdgeAttributes(contentSourceNode, contentTargetNode);
+					if (edgeAttributes != null) {
+						existingEdge.attributesProperty().putAll(edgeAttributes);
+					}
+				}
+			}
+		}
+		return newEdges;
+	}
+
 	/**
 	 * Constructs and returns a new {@link Graph} and inserts default attributes
 	 * into it:
@@ -244,88 +356,8 @@ public class ZestContentViewer extends ContentViewer {
 
 		Node node = new Node();
 		contentNodeMap.put(contentNode, node);
-
-		// label
-		ZestProperties.setLabel(node, new Provider<String>() {
-			@Override
-			public String get() {
-				return labelProvider.getText(contentNode);
-			}
-		});
-
-		// icon
-		// TODO: use provider
-		Image icon = labelProvider.getImage(contentNode);
-		if (icon != null) {
-			ZestProperties.setIcon(node, SWTFXUtils.toFXImage(icon.getImageData(), null));
-		}
-
-		// tooltip
-		if (labelProvider instanceof IToolTipProvider) {
-			final IToolTipProvider toolTipProvider = (IToolTipProvider) labelProvider;
-			ZestProperties.setTooltip(node, new Provider<String>() {
-
-				@Override
-				public String get() {
-					return toolTipProvider.getToolTipText(contentNode);
-				}
-			});
-		}
-
-		String textCssStyle = "";
-
-		// colors
-		if (labelProvider instanceof IColorProvider) {
-			IColorProvider colorProvider = (IColorProvider) labelProvider;
-			Color foreground = colorProvider.getForeground(contentNode);
-			Color background = colorProvider.getBackground(contentNode);
-			String rectCssStyle = "";
-			if (background != null) {
-				rectCssStyle = rectCssStyle + "-fx-fill: " + toCssRgb(background) + ";";
-			}
-			if (foreground != null) {
-				rectCssStyle = rectCssStyle + "-fx-stroke: " + toCssRgb(foreground) + ";";
-				textCssStyle = "-fx-fill: " + toCssRgb(foreground) + ";";
-			}
-			if (!rectCssStyle.isEmpty()) {
-				ZestProperties.setShapeCssStyle(node, rectCssStyle);
-			}
-		}
-
-		// font
-		if (labelProvider instanceof IFontProvider) {
-			IFontProvider fontProvider = (IFontProvider) labelProvider;
-			Font font = fontProvider.getFont(contentNode);
-			FontData[] fontData = font == null ? null : font.getFontData();
-			if (fontData != null && fontData.length > 0 && fontData[0] != null) {
-				String name = fontData[0].getName();
-				int size = fontData[0].getHeight();
-				int style = fontData[0].getStyle();
-
-				// TODO: support all SWT font styles
-				boolean isBold = (style & SWT.BOLD) != 0;
-				boolean isItalic = (style & SWT.ITALIC) != 0;
-
-				textCssStyle = textCssStyle + "-fx-font-family: \"" + name + "\";" + "-fx-font-size: " + size + "pt;";
-				if (isItalic) {
-					textCssStyle = textCssStyle + "-fx-font-style: italic;";
-				}
-				if (isBold) {
-					textCssStyle = textCssStyle + "-fx-font-weight: bold;";
-				}
-			}
-		}
-
-		ZestProperties.setLabelCssStyle(node, textCssStyle);
-
-		// custom attributes
-		if (labelProvider instanceof IGraphAttributesProvider) {
-			IGraphAttributesProvider graphNodeLabelProvider = (IGraphAttributesProvider) labelProvider;
-			Map<String, Object> nodeAttributes = graphNodeLabelProvider.getNodeAttributes(contentNode);
-			if (nodeAttributes != null) {
-				node.attributesProperty().putAll(nodeAttributes);
-			}
-		}
+		nodeContentMap.put(node, contentNode);
+		updateNodeAttributes(node, contentNode, labelProvider);
 
 		// create nested graph (optional)
 		if (graphContentProvider.hasNestedGraph(contentNode)) {
@@ -352,23 +384,25 @@ public class ZestContentViewer extends ContentViewer {
 	 */
 	protected void createNodesAndEdges(IGraphContentProvider graphContentProvider, ILabelProvider labelProvider,
 			Graph graph, Object[] contentNodes) {
-		// create nodes
+		// create nodes (added in bulk, so that only a single change is fired)
+		List<Node> nodes = new ArrayList<>(contentNodes.length);
 		for (Object node : contentNodes) {
-			Node graphNode = createNode(node, graphContentProvider, labelProvider);
-			graph.getNodes().add(graphNode);
+			nodes.add(createNode(node, graphContentProvider, labelProvider));
 		}
+		graph.getNodes().addAll(nodes);
 		// create edges
+		List<Edge> edges = new ArrayList<>();
 		for (Object contentSourceNode : contentNodes) {
 			Node sourceNode = contentNodeMap.get(contentSourceNode);
 			Object[] connectedTo = graphContentProvider.getAdjacentNodes(contentSourceNode);
 			if (connectedTo != null) {
 				for (Object contentTargetNode : connectedTo) {
 					Node targetNode = contentNodeMap.get(contentTargetNode);
-					Edge edge = createEdge(labelProvider, contentSourceNode, sourceNode, contentTargetNode, targetNode);
-					graph.getEdges().add(edge);
+					edges.add(createEdge(labelProvider, contentSourceNode, sourceNode, contentTargetNode, targetNode));
 				}
 			}
 		}
+		graph.getEdges().addAll(edges);
 	}
 
 	/**
@@ -440,6 +474,19 @@ public class ZestContentViewer extends ContentViewer {
 		return layoutAlgorithm;
 	}
 
+	/**
+	 * Returns the root {@link Graph} that is currently displayed, or
+	 * <code>null</code> if the contents have not been created yet.
+	 *
+	 * @return The root {@link Graph} that is currently displayed.
+	 */
+	private Graph getRootGraph() {
+		if (viewer == null || viewer.getContents().isEmpty()) {
+			return null;
+		}
+		return (Graph) viewer.getContents().get(0);
+	}
+
 	@Override
 	public ISelection getSelection() {
 		// construct a new selection by using the selection model contents
@@ -485,10 +532,254 @@ public class ZestContentViewer extends ContentViewer {
 	@Override
 	public void refresh() {
 		contentNodeMap.clear();
+		nodeContentMap.clear();
 		viewer.getContents()
 				.setAll(Collections.singletonList(createRootGraph(getContentProvider(), getLabelProvider())));
 	}
 
+	/**
+	 * Refreshes the {@link Node} representing the given content element
+	 * incrementally: its attributes are updated (see
+	 * {@link #update(Object, String[])}), its outgoing {@link Edge}s are
+	 * synchronized with the adjacent nodes provided by the
+	 * {@link IGraphContentProvider}, and its nested {@link Graph} (if any) is
+	 * synchronized with the provided nested graph nodes. In case the input
+	 * (or <code>null</code>) is passed in, the nodes of the root {@link Graph}
+	 * are synchronized in this way. In contrast to {@link #refresh()}, the
+	 * {@link Node}s and {@link Edge}s of unchanged content elements are
+	 * preserved, together with their parts and positions.
+	 *
+	 * @param element
+	 *            The content element to refresh, or the input (or
+	 *            <code>null</code>) to refresh the root {@link Graph}.
+	 */
+	public void refresh(Object element) {
+		Graph graph = getRootGraph();
+		if (graph == null || !(getContentProvider() instanceof IGraphContentProvider)) {
+			refresh();
+			return;
+		}
+		IGraphContentProvider graphContentProvider = (IGraphContentProvider) getContentProvider();
+		ILabelProvider labelProvider = getLabelProvider();
+		if (element == null || element == getInput()) {
+			if (labelProvider instanceof IGraphAttributesProvider) {
+				Map<String, Object> rootGraphAttributes = ((IGraphAttributesProvider) labelProvider)
+						.getGraphAttributes();
+				if (rootGraphAttributes != null) {
+					graph.attributesProperty().putAll(rootGraphAttributes);
+				}
+			}
+			refreshNodesAndEdges(graphContentProvider, labelProvider, graph, graphContentProvider.getNodes());
+			return;
+		}
+		Node node = contentNodeMap.get(element);
+		if (node == null || node.getGraph() == null) {
+			return;
+		}
+		updateNodeAttributes(node, element, labelProvider);
+		refreshNestedGraph(graphContentProvider, labelProvider, element, node);
+		List<Edge> existingEdges = new ArrayList<>();
+		for (Edge edge : node.getGraph().getEdges()) {
+			if (edge.getSource() == node) {
+				existingEdges.add(edge);
+			}
+		}
+		List<Edge> newEdges = createEdges(graphContentProvider, labelProvider, element, existingEdges);
+		node.getGraph().getEdges().removeAll(existingEdges);
+		node.getGraph().getEdges().addAll(newEdges);
+	}
+
+	/**
+	 * Synchronizes the nested {@link Graph} of the given {@link Node} with the
+	 * nested graph nodes provided for the given <i>contentNestingNode</i>. The
+	 * nested {@link Graph} is created or removed in case the
+	 * {@link IGraphContentProvider#hasNestedGraph(Object)} state changed.
+	 */
+	private void refreshNestedGraph(IGraphContentProvider graphContentProvider, ILabelProvider labelProvider,
+			Object contentNestingNode, Node node) {
+		Graph nestedGraph = node.getNestedGraph();
+		boolean hasNestedGraph = graphContentProvider.hasNestedGraph(contentNestingNode);
+		if (nestedGraph != null && hasNestedGraph) {
+			if (labelProvider instanceof IGraphAttributesProvider) {
+				Map<String, Object> nestedGraphAttributes = ((IGraphAttributesProvider) labelProvider)
+						.getNestedGraphAttributes(contentNestingNode);
+				if (nestedGraphAttributes != null) {
+					nestedGraph.attributesProperty().putAll(nestedGraphAttributes);
+				}
+			}
+			Object[] contentNodes = graphContentProvider.getNestedGraphNodes(contentNestingNode);
+			refreshNodesAndEdges(graphContentProvider, labelProvider, nestedGraph,
+					contentNodes == null ? new Object[] {} : contentNodes);
+		} else if (nestedGraph != null || hasNestedGraph) {
+			if (nestedGraph != null) {
+				removeNodes(new ArrayList<>(nestedGraph.getNodes()));
+				node.setNestedGraph(null);
+			} else {
+				createNestedGraph(contentNestingNode, graphContentProvider, labelProvider).setNestingNode(node);
+			}
+			// the nested graph is not observed by the node's part
+			IContentPart<? extends javafx.scene.Node> nodePart = viewer.getContentPartMap().get(node);
+			if (nodePart != null) {
+				nodePart.refreshContentChildren();
+				nodePart.refreshVisual();
+			}
+		}
+	}
+
+	/**
+	 * Synchronizes the {@link Node}s and {@link Edge}s of the given
+	 * {@link Graph} with the given content elements: nodes of elements that
+	 * are no longer contained are removed, nodes for new elements are created,
+	 * and the nodes of all other elements are refreshed in place.
+	 */
+	private void refreshNodesAndEdges(IGraphContentProvider graphContentProvider, ILabelProvider labelProvider,
+			Graph graph, Object[] contentNodes) {
+		if (contentNodes == null) {
+			contentNodes = new Object[] {};
+		}
+		Set<Object> contents = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+		Collections.addAll(contents, contentNodes);
+
+		// remove nodes of elements that are no longer contained
+		List<Node> removedNodes = new ArrayList<>();
+		for (Node node : graph.getNodes()) {
+			if (!contents.contains(nodeContentMap.get(node))) {
+				removedNodes.add(node);
+			}
+		}
+		removeNodes(removedNodes);
+
+		// create nodes for new elements, refresh the others
+		List<Node> addedNodes = new ArrayList<>();
+		for (Object contentNode : contentNodes) {
+			Node node = contentNodeMap.get(contentNode);
+			if (node == null) {
+				addedNodes.add(createNode(contentNode, graphContentProvider, labelProvider));
+			} else if (node.getGraph() == graph) {
+				updateNodeAttributes(node, contentNode, labelProvider);
+				refreshNestedGraph(graphContentProvider, labelProvider, contentNode, node);
+			}
+		}
+		graph.getNodes().addAll(addedNodes);
+
+		// synchronize edges, determining the existing outgoing edges of all
+		// nodes in a single pass
+		Map<Node, List<Edge>> existingEdges = new IdentityHashMap<>();
+		for (Edge edge : graph.getEdges()) {
+			List<Edge> outgoingEdges = existingEdges.get(edge.getSource());
+			if (outgoingEdges == null) {
+				outgoingEdges = new ArrayList<>();
+				existingEdges.put(edge.getSource(), outgoingEdges);
+			}
+			outgoingEdges.add(edge);
+		}
+		Set<Edge> removedEdges = Collections.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
+		List<Edge> addedEdges = new ArrayList<>();
+		for (Object contentNode : contentNodes) {
+			Node node = contentNodeMap.get(contentNode);
+			if (node.getGraph() != graph) {
+				continue;
+			}
+			List<Edge> outgoingEdges = existingEdges.remove(node);
+			if (outgoingEdges == null) {
+				outgoingEdges = new ArrayList<>();
+			}
+			addedEdges.addAll(createEdges(graphContentProvider, labelProvider, contentNode, outgoingEdges));
+			removedEdges.addAll(outgoingEdges);
+		}
+		graph.getEdges().removeAll(removedEdges);
+		graph.getEdges().addAll(addedEdges);
+	}
+
+	/**
+	 * Removes the {@link Node} representing the given content element. See
+	 * {@link #remove(Object[])} for details.
+	 *
+	 * @param element
+	 *            The content element to remove.
+	 */
+	public void remove(Object element) {
+		remove(new Object[] { element });
+	}
+
+	/**
+	 * Removes the {@link Node}s representing the given content elements from
+	 * their {@link Graph}s, together with all {@link Edge}s that are connected
+	 * to them and the contents of their nested {@link Graph}s. Elements that
+	 * are not displayed are ignored.
+	 *
+	 * @param elements
+	 *            The content elements to remove.
+	 */
+	public void remove(Object[] elements) {
+		List<Node> removedNodes = new ArrayList<>();
+		for (Object element : elements) {
+			Node node = contentNodeMap.get(element);
+			if (node != null) {
+				removedNodes.add(node);
+			}
+		}
+		removeNodes(removedNodes);
+	}
+
+	/**
+	 * Removes the given {@link Node}s from their {@link Graph}s, removes all
+	 * {@link Edge}s connected to them or to the nodes of their nested
+	 * {@link Graph}s, and forgets about the content elements they represent.
+	 */
+	private void removeNodes(List<Node> nodes) {
+		if (nodes.isEmpty()) {
+			return;
+		}
+		Set<Node> removedNodes = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+		List<Node> queue = new ArrayList<>(nodes);
+		while (!queue.isEmpty()) {
+			Node node = queue.remove(queue.size() - 1);
+			if (removedNodes.add(node)) {
+				contentNodeMap.remove(nodeContentMap.remove(node));
+				if (node.getNestedGraph() != null) {
+					queue.addAll(node.getNestedGraph().getNodes());
+				}
+			}
+		}
+		// edges may connect nodes of different (nested) graphs, so all graphs
+		// have to be considered
+		List<Graph> graphs = new ArrayList<>();
+		Graph rootGraph = getRootGraph();
+		if (rootGraph != null) {
+			graphs.add(rootGraph);
+		}
+		for (int i = 0; i < graphs.size(); i++) {
+			Graph graph = graphs.get(i);
+			Set<Edge> removedEdges = Collections.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
+			for (Edge edge : graph.getEdges()) {
+				if (removedNodes.contains(edge.getSource()) || removedNodes.contains(edge.getTarget())) {
+					removedEdges.add(edge);
+				}
+			}
+			graph.getEdges().removeAll(removedEdges);
+			for (Node node : graph.getNodes()) {
+				if (node.getNestedGraph() != null && !removedNodes.contains(node)) {
+					graphs.add(node.getNestedGraph());
+				}
+			}
+		}
+		Map<Graph, Set<Node>> graphNodes = new IdentityHashMap<>();
+		for (Node node : nodes) {
+			if (node.getGraph() != null) {
+				Set<Node> removedGraphNodes = graphNodes.get(node.getGraph());
+				if (removedGraphNodes == null) {
+					removedGraphNodes = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+					graphNodes.put(node.getGraph(), removedGraphNodes);
+				}
+				removedGraphNodes.add(node);
+			}
+		}
+		for (Map.Entry<Graph, Set<Node>> entry : graphNodes.entrySet()) {
+			entry.getKey().getNodes().removeAll(entry.getValue());
+		}
+	}
+
 	/**
 	 * Changes the {@link ILayoutAlgorithm} that is used for laying out the
 	 * contents to the given value.
@@ -542,4 +833,145 @@ public class ZestContentViewer extends ContentViewer {
 		return "rgb(" + color.getRed() + "," + color.getGreen() + "," + color.getBlue() + ")";
 	}
 
+	/**
+	 * Updates the attributes of the {@link Node} representing the given
+	 * content element (see
+	 * {@link #updateNodeAttributes(Node, Object, ILabelProvider)}), without
+	 * changing the structure of the {@link Graph}. If <i>properties</i> is not
+	 * <code>null</code>, the update is only performed if at least one of the
+	 * given properties affects the label (see
+	 * {@link ILabelProvider#isLabelProperty(Object, String)}).
+	 *
+	 * @param element
+	 *            The content element whose {@link Node} is to be updated.
+	 * @param properties
+	 *            The properties that have changed, or <code>null</code> to
+	 *            update unconditionally.
+	 */
+	public void update(Object element, String[] properties) {
+		Node node = contentNodeMap.get(element);
+		if (node == null) {
+			return;
+		}
+		if (properties != null) {
+			boolean labelProperty = false;
+			for (String property : properties) {
+				if (getLabelProvider().isLabelProperty(element, property)) {
+					labelProperty = true;
+					break;
+				}
+			}
+			if (!labelProperty) {
+				return;
+			}
+		}
+		updateNodeAttributes(node, element, getLabelProvider());
+	}
+
+	/**
+	 * Updates the attributes of the given {@link Node}, which represents the
+	 * given <i>contentNode</i>, using the given {@link ILabelProvider}
+	 * (label, icon, tooltip, colors, font, and custom attributes). This is
+	 * used when creating a {@link Node} (see
+	 * {@link #createNode(Object, IGraphContentProvider, ILabelProvider)}) as
+	 * well as when updating it (see {@link #update(Object, String[])}).
+	 * Attributes that are not determined by the {@link ILabelProvider}, e.g.
+	 * positions computed by a layout, are left untouched.
+	 *
+	 * @param node
+	 *            The {@link Node} to update.
+	 * @param contentNode
+	 *            The content {@link Object} that is represented by the
+	 *            {@link Node}.
+	 * @param labelProvider
+	 *            This viewer's {@link ILabelProvider} for convenience.
+	 */
+	protected void updateNodeAttributes(Node node, final Object contentNode, final ILabelProvider labelProvider) {
+		// label
+		ZestProperties.setLabel(node, new Provider<String>() {
+			@Override
+			public String get() {
+				return labelProvider.getText(contentNode);
+			}
+		});
+
+		// icon
+		// TODO: use provider
+		Image icon = labelProvider.getImage(contentNode);
+		if (icon != null) {
+			ZestProperties.setIcon(node, SWTFXUtils.toFXImage(icon.getImageData(), null));
+		} else {
+			node.attributesProperty().remove(ZestProperties.ICON__N);
+		}
+
+		// tooltip
+		if (labelProvider instanceof IToolTipProvider) {
+			final IToolTipProvider toolTipProvider = (IToolTipProvider) labelProvider;
+			ZestProperties.setTooltip(node, new Provider<String>() {
+
+				@Override
+				public String get() {
+					return toolTipProvider.getToolTipText(contentNode);
+				}
+			});
+		}
+
+		String textCssStyle = "";
+
+		// colors
+		if (labelProvider instanceof IColorProvider) {
+			IColorProvider colorProvider = (IColorProvider) labelProvider;
+			Color foreground = colorProvider.getForeground(contentNode);
+			Color background = colorProvider.getBackground(contentNode);
+			String rectCssStyle = "";
+			if (background != null) {
+				rectCssStyle = rectCssStyle + "-fx-fill: " + toCssRgb(background) + ";";
+			}
+			if (foreground != null) {
+				rectCssStyle = rectCssStyle + "-fx-stroke: " + toCssRgb(foreground) + ";";
+				textCssStyle = "-fx-fill: " + toCssRgb(foreground) + ";";
+			}
+			if (!rectCssStyle.isEmpty()) {
+				ZestProperties.setShapeCssStyle(node, rectCssStyle);
+			} else {
+				node.attributesProperty().remove(ZestProperties.SHAPE_CSS_STYLE__N);
+			}
+		}
+
+		// font
+		if (labelProvider instanceof IFontProvider) {
+			IFontProvider fontProvider = (IFontProvider) labelProvider;
+			Font font = fontProvider.getFont(contentNode);
+			FontData[] fontData = font == null ? null : font.getFontData();
+			if (fontData != null && fontData.length > 0 && fontData[0] != null) {
+				String name = fontData[0].getName();
+				int size = fontData[0].getHeight();
+				int style = fontData[0].getStyle();
+
+				// TODO: support all SWT font styles
+				boolean isBold = (style & SWT.BOLD) != 0;
+				boolean isItalic = (style & SWT.ITALIC) != 0;
+
+				textCssStyle = textCssStyle + "-fx-font-family: \"" + name + "\";" + "-fx-font-size: " + size + "pt;";
+				if (isItalic) {
+					textCssStyle = textCssStyle + "-fx-font-style: italic;";
+				}
+				if (isBold) {
+					textCssStyle = textCssStyle + "-fx-font-weight: bold;";
+				}
+			}
+		}
+
+		ZestProperties.setLabelCssStyle(node, textCssStyle);
+
+		// custom attributes
+		if (labelProvider instanceof IGraphAttributesProvider) {
+			IGraphAttributesProvider graphNodeLabelProvider = (IGraphAttributesProvider) labelProvider;
+			Map<String, Object> nodeAttributes = graphNodeLabelProvider.getNodeAttributes(contentNode);
+			if (nodeAttributes != null) {
+				node.attributesProperty().putAll(nodeAttributes);
+			}
+		}
+	}
+
 }
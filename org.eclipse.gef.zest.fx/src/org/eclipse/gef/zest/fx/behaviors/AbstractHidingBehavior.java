@@ -12,6 +12,11 @@
  *******************************************************************************/
 package org.eclipse.gef.zest.fx.behaviors;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
 import org.eclipse.gef.mvc.fx.behaviors.AbstractBehavior;
 import org.eclipse.gef.mvc.fx.viewer.IViewer;
 import org.eclipse.gef.zest.fx.models.HidingModel;
@@ -28,6 +33,11 @@ import javafx.collections.SetChangeListener.Change;
  * will be called, respectively. By default, the {@link #getHost() host}'s
  * visual's visibility and mouse-transparency are changed depending on the
  * hidden status.
+ * <p>
+ * Subclasses may restrict the notifications to changes that affect the
+ * {@link #getHost() host} by specifying the {@link #getObservedNodes()
+ * observed nodes}, and the {@link #getObservedNeighborhoods() nodes whose
+ * neighbors are observed}, respectively.
  *
  * @author mwienand
  *
@@ -43,6 +53,9 @@ public abstract class AbstractHidingBehavior extends AbstractBehavior {
 
 	private boolean isHidden;
 
+	private List<org.eclipse.gef.graph.Node> observedNodes;
+	private List<org.eclipse.gef.graph.Node> observedNeighborhoods;
+
 	/**
 	 * Returns <code>true</code> if the {@link #getHost() host} is currently
 	 * hidden. Otherwise, returns <code>false</code>.
@@ -56,13 +69,36 @@ public abstract class AbstractHidingBehavior extends AbstractBehavior {
 	protected void doActivate() {
 		// register for change notifications regarding hidden nodes
 		HidingModel hidingModel = getHidingModel();
-		hidingModel.hiddenProperty().addListener(hidingModelObserver);
+		Set<org.eclipse.gef.graph.Node> nodes = getObservedNodes();
+		if (nodes == null) {
+			hidingModel.hiddenProperty().addListener(hidingModelObserver);
+		} else {
+			observedNodes = new ArrayList<>(nodes);
+			for (org.eclipse.gef.graph.Node node : observedNodes) {
+				hidingModel.addObserver(node, hidingModelObserver);
+			}
+			observedNeighborhoods = new ArrayList<>(getObservedNeighborhoods());
+			for (org.eclipse.gef.graph.Node node : observedNeighborhoods) {
+				hidingModel.addNeighborsObserver(node, hidingModelObserver);
+			}
+		}
 	}
 
 	@Override
 	protected void doDeactivate() {
 		HidingModel hidingModel = getHidingModel();
-		hidingModel.hiddenProperty().removeListener(hidingModelObserver);
+		if (observedNodes == null) {
+			hidingModel.hiddenProperty().removeListener(hidingModelObserver);
+		} else {
+			for (org.eclipse.gef.graph.Node node : observedNodes) {
+				hidingModel.removeObserver(node, hidingModelObserver);
+			}
+			for (org.eclipse.gef.graph.Node node : observedNeighborhoods) {
+				hidingModel.removeNeighborsObserver(node, hidingModelObserver);
+			}
+			observedNodes = null;
+			observedNeighborhoods = null;
+		}
 	}
 
 	/**
@@ -76,6 +112,33 @@ public abstract class AbstractHidingBehavior extends AbstractBehavior {
 		return getHost().getRoot().getViewer().getAdapter(HidingModel.class);
 	}
 
+	/**
+	 * Returns the {@link org.eclipse.gef.graph.Node}s whose neighbors are
+	 * observed, i.e. changes of the hidden status of any of their neighbors
+	 * are reported to {@link #onHidingModelChange(Change)}. Only evaluated in
+	 * case {@link #getObservedNodes()} does not return <code>null</code>. By
+	 * default, an empty {@link Set} is returned.
+	 *
+	 * @return The {@link org.eclipse.gef.graph.Node}s whose neighbors are
+	 *         observed.
+	 */
+	protected Set<org.eclipse.gef.graph.Node> getObservedNeighborhoods() {
+		return Collections.emptySet();
+	}
+
+	/**
+	 * Returns the {@link org.eclipse.gef.graph.Node}s whose hidden status is
+	 * observed, i.e. changes of their hidden status are reported to
+	 * {@link #onHidingModelChange(Change)}. If <code>null</code> is returned
+	 * (default), all changes of the {@link HidingModel} are reported.
+	 *
+	 * @return The {@link org.eclipse.gef.graph.Node}s whose hidden status is
+	 *         observed, or <code>null</code> to observe all changes.
+	 */
+	protected Set<org.eclipse.gef.graph.Node> getObservedNodes() {
+		return null;
+	}
+
 	/**
 	 * Hides the {@link #getHost() host}. By default, the {@link #getHost()
 	 * host}'s visual's visibility will be set to <code>false</code> and its
@@ -12,6 +12,11 @@
  *******************************************************************************/
 package org.eclipse.gef.zest.fx.behaviors;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.zest.fx.parts.EdgePart;
 
 /**
@@ -35,4 +40,14 @@ public class EdgeHidingBehavior extends AbstractHidingBehavior {
 		return (EdgePart) super.getHost();
 	}
 
+	@Override
+	protected Set<org.eclipse.gef.graph.Node> getObservedNodes() {
+		Edge edge = getHost().getContent();
+		Set<org.eclipse.gef.graph.Node> nodes = Collections
+				.newSetFromMap(new IdentityHashMap<org.eclipse.gef.graph.Node, Boolean>());
+		nodes.add(edge.getSource());
+		nodes.add(edge.getTarget());
+		return nodes;
+	}
+
 }
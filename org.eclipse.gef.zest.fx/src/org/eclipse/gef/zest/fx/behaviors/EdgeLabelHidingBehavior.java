@@ -12,6 +12,10 @@
  *******************************************************************************/
 package org.eclipse.gef.zest.fx.behaviors;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.zest.fx.parts.EdgeLabelPart;
 
@@ -36,4 +40,14 @@ public class EdgeLabelHidingBehavior extends AbstractHidingBehavior {
 		return (EdgeLabelPart) super.getHost();
 	}
 
+	@Override
+	protected Set<org.eclipse.gef.graph.Node> getObservedNodes() {
+		Edge edge = getHost().getContent().getKey();
+		Set<org.eclipse.gef.graph.Node> nodes = Collections
+				.newSetFromMap(new IdentityHashMap<org.eclipse.gef.graph.Node, Boolean>());
+		nodes.add(edge.getSource());
+		nodes.add(edge.getTarget());
+		return nodes;
+	}
+
 }
@@ -12,10 +12,19 @@
  *******************************************************************************/
 package org.eclipse.gef.zest.fx.behaviors;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
@@ -35,17 +44,49 @@ import org.eclipse.gef.zest.fx.models.NavigationModel.ViewportState;
 import org.eclipse.gef.zest.fx.parts.GraphPart;
 import org.eclipse.gef.zest.fx.parts.NodePart;
 
+import javafx.animation.PauseTransition;
+import javafx.animation.Transition;
+import javafx.application.Platform;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.ReadOnlyLongWrapper;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.ListChangeListener;
 import javafx.collections.SetChangeListener;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
 import javafx.geometry.Bounds;
 import javafx.scene.Node;
 import javafx.scene.Parent;
+import javafx.util.Duration;
 
 /**
  * The {@link GraphLayoutBehavior} is responsible for initiating layout passes.
  * It is only applicable to {@link GraphPart}.
+ * <p>
+ * Per default, the {@link ILayoutAlgorithm} is executed synchronously on the
+ * JavaFX application thread. When the {@link #asynchronousProperty()
+ * asynchronous} mode is enabled, a snapshot of the layout-relevant part of the
+ * {@link Graph} is laid out on a worker thread instead, and the results are
+ * transferred back to the {@link Graph} on the JavaFX application thread in
+ * one batch (optionally animated, see {@link #animationDurationProperty()}).
+ * A layout pass that is still running when a new one is requested is
+ * superseded, i.e. its results are discarded.
+ * <p>
+ * Relayouts that are triggered by changes of the children, the
+ * {@link HidingModel}, or the layout bounds are executed immediately per
+ * default. When a {@link #relayoutDelayProperty() relayout delay} is set, they
+ * are coalesced within the current pulse ({@link Duration#ZERO}) or within the
+ * given delay instead. If only the layout bounds changed since the last
+ * relayout, and {@link #rescaleOnBoundsChangeProperty() rescaling} is enabled,
+ * the current layout is rescaled to the new bounds instead of re-running the
+ * {@link ILayoutAlgorithm}.
  *
  * @author mwienand
  *
@@ -53,6 +94,143 @@ import javafx.scene.Parent;
 // only applicable for GraphPart (see #getHost())
 public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 
+	/**
+	 * A copy of the layout-relevant {@link org.eclipse.gef.graph.Node nodes}
+	 * and {@link Edge edges} of a {@link LayoutContext}, which can be laid out
+	 * independently of the JavaFX application thread.
+	 */
+	private static class LayoutSnapshot {
+
+		private final Graph graph;
+		private final Map<org.eclipse.gef.graph.Node, org.eclipse.gef.graph.Node> nodeCopies = new IdentityHashMap<>();
+
+		public LayoutSnapshot(LayoutContext layoutContext) {
+			List<org.eclipse.gef.graph.Node> nodes = new ArrayList<>();
+			for (org.eclipse.gef.graph.Node node : layoutContext.getNodes()) {
+				org.eclipse.gef.graph.Node nodeCopy = new org.eclipse.gef.graph.Node(
+						copyAttributes(node.getAttributes()));
+				nodeCopies.put(node, nodeCopy);
+				nodes.add(nodeCopy);
+			}
+			List<Edge> edges = new ArrayList<>();
+			for (Edge edge : layoutContext.getEdges()) {
+				org.eclipse.gef.graph.Node sourceCopy = nodeCopies.get(edge.getSource());
+				org.eclipse.gef.graph.Node targetCopy = nodeCopies.get(edge.getTarget());
+				if (sourceCopy != null && targetCopy != null) {
+					edges.add(new Edge(copyAttributes(edge.getAttributes()), sourceCopy, targetCopy));
+				}
+			}
+			graph = new Graph(copyAttributes(layoutContext.getGraph().getAttributes()), nodes, edges);
+		}
+
+		private static Map<String, Object> copyAttributes(Map<String, Object> attributes) {
+			Map<String, Object> copy = new HashMap<>(attributes);
+			// layout algorithms may manipulate geometric values in-place
+			for (Map.Entry<String, Object> entry : copy.entrySet()) {
+				Object value = entry.getValue();
+				if (value instanceof Point) {
+					entry.setValue(((Point) value).getCopy());
+				} else if (value instanceof Dimension) {
+					entry.setValue(((Dimension) value).getCopy());
+				} else if (value instanceof Rectangle) {
+					entry.setValue(((Rectangle) value).getCopy());
+				}
+			}
+			return copy;
+		}
+
+		public Map<org.eclipse.gef.graph.Node, org.eclipse.gef.graph.Node> getNodeCopies() {
+			return nodeCopies;
+		}
+
+		public void layout(ILayoutAlgorithm layoutAlgorithm, boolean clean) {
+			LayoutContext snapshotContext = new LayoutContext();
+			snapshotContext.setGraph(graph);
+			snapshotContext.setLayoutAlgorithm(layoutAlgorithm);
+			snapshotContext.applyLayout(clean);
+		}
+	}
+
+	/**
+	 * The name of the {@link #asynchronousProperty() asynchronous property}.
+	 */
+	public static final String ASYNCHRONOUS_PROPERTY = "asynchronous";
+
+	/**
+	 * The name of the {@link #animationDurationProperty() animation duration
+	 * property}.
+	 */
+	public static final String ANIMATION_DURATION_PROPERTY = "animationDuration";
+
+	/**
+	 * The name of the {@link #layoutRunningProperty() layout running
+	 * property}.
+	 */
+	public static final String LAYOUT_RUNNING_PROPERTY = "layoutRunning";
+
+	/**
+	 * The name of the {@link #lastLayoutDurationProperty() last layout
+	 * duration property}.
+	 */
+	public static final String LAST_LAYOUT_DURATION_PROPERTY = "lastLayoutDuration";
+
+	/**
+	 * The name of the {@link #relayoutDelayProperty() relayout delay
+	 * property}.
+	 */
+	public static final String RELAYOUT_DELAY_PROPERTY = "relayoutDelay";
+
+	/**
+	 * The name of the {@link #rescaleOnBoundsChangeProperty() rescale on
+	 * bounds change property}.
+	 */
+	public static final String RESCALE_ON_BOUNDS_CHANGE_PROPERTY = "rescaleOnBoundsChange";
+
+	/**
+	 * The name of the {@link #requestedLayoutCountProperty() requested layout
+	 * count property}.
+	 */
+	public static final String REQUESTED_LAYOUT_COUNT_PROPERTY = "requestedLayoutCount";
+
+	/**
+	 * The name of the {@link #executedLayoutCountProperty() executed layout
+	 * count property}.
+	 */
+	public static final String EXECUTED_LAYOUT_COUNT_PROPERTY = "executedLayoutCount";
+
+	private BooleanProperty asynchronousProperty = new SimpleBooleanProperty(this, ASYNCHRONOUS_PROPERTY, false);
+	private ObjectProperty<Duration> animationDurationProperty = new SimpleObjectProperty<>(this,
+			ANIMATION_DURATION_PROPERTY, Duration.ZERO);
+	private ReadOnlyBooleanWrapper layoutRunningProperty = new ReadOnlyBooleanWrapper(this, LAYOUT_RUNNING_PROPERTY,
+			false);
+	private ReadOnlyLongWrapper lastLayoutDurationProperty = new ReadOnlyLongWrapper(this,
+			LAST_LAYOUT_DURATION_PROPERTY, 0);
+	private ObjectProperty<Duration> relayoutDelayProperty = new SimpleObjectProperty<>(this,
+			RELAYOUT_DELAY_PROPERTY);
+	private BooleanProperty rescaleOnBoundsChangeProperty = new SimpleBooleanProperty(this,
+			RESCALE_ON_BOUNDS_CHANGE_PROPERTY, false);
+	private ReadOnlyLongWrapper requestedLayoutCountProperty = new ReadOnlyLongWrapper(this,
+			REQUESTED_LAYOUT_COUNT_PROPERTY, 0);
+	private ReadOnlyLongWrapper executedLayoutCountProperty = new ReadOnlyLongWrapper(this,
+			EXECUTED_LAYOUT_COUNT_PROPERTY, 0);
+
+	private ExecutorService layoutExecutor;
+	private Future<?> pendingLayout;
+	private long layoutGeneration;
+	private Transition layoutAnimation;
+
+	private boolean relayoutScheduled;
+	private boolean pendingStructureChange;
+	private Rectangle pendingOldBounds;
+	private PauseTransition relayoutTimer;
+
+	private Runnable flushRelayout = new Runnable() {
+		@Override
+		public void run() {
+			flushRelayout();
+		}
+	};
+
 	private Runnable postLayout = new Runnable() {
 		@Override
 		public void run() {
@@ -88,19 +266,30 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 	private ListChangeListener<IVisualPart<? extends Node>> childrenObserver = new ListChangeListener<IVisualPart<? extends Node>>() {
 		@Override
 		public void onChanged(ListChangeListener.Change<? extends IVisualPart<? extends Node>> c) {
-			applyLayout(true, null);
+			scheduleRelayout(true);
 		}
 	};
 
 	private SetChangeListener<org.eclipse.gef.graph.Node> hidingModelObserver = new SetChangeListener<org.eclipse.gef.graph.Node>() {
 		@Override
 		public void onChanged(SetChangeListener.Change<? extends org.eclipse.gef.graph.Node> change) {
-			applyLayout(true, null);
+			scheduleRelayout(true);
 		}
 	};
 
 	private boolean skipNextLayout;
 
+	/**
+	 * Returns a property that specifies the {@link Duration} over which the
+	 * results of an asynchronous layout pass are animated. A duration of
+	 * {@link Duration#ZERO} disables the animation.
+	 *
+	 * @return An object property named {@link #ANIMATION_DURATION_PROPERTY}.
+	 */
+	public ObjectProperty<Duration> animationDurationProperty() {
+		return animationDurationProperty;
+	}
+
 	/**
 	 * Performs one layout pass using the static layout algorithm that is
 	 * configured for the layout context.
@@ -151,8 +340,190 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 			layoutContext.setGraph(graph);
 		}
 
+		// layout filters depend on the hiding model and the content parts
+		layoutContext.invalidateLayoutRelevantElements();
+
 		// apply layout (if no algorithm is set, will be a no-op)
-		layoutContext.applyLayout(true);
+		if (layoutAlgorithm != null) {
+			executedLayoutCountProperty.set(executedLayoutCountProperty.get() + 1);
+		}
+		if (isAsynchronous()) {
+			applyLayoutAsynchronously(layoutContext, true);
+		} else {
+			long startTime = System.nanoTime();
+			layoutContext.applyLayout(true);
+			lastLayoutDurationProperty.set((System.nanoTime() - startTime) / 1000000);
+		}
+	}
+
+	/**
+	 * Lays out a snapshot of the layout-relevant graph elements of the given
+	 * {@link LayoutContext} on the {@link #getLayoutExecutor() layout
+	 * executor}, superseding any layout pass that is still running. The
+	 * results are transferred back on the JavaFX application thread by
+	 * {@link #applyLayoutResult(LayoutContext, Map)}.
+	 *
+	 * @param layoutContext
+	 *            The {@link LayoutContext} to layout.
+	 * @param clean
+	 *            Whether to fully re-compute the layout or not.
+	 */
+	protected void applyLayoutAsynchronously(final LayoutContext layoutContext, final boolean clean) {
+		final ILayoutAlgorithm layoutAlgorithm = layoutContext.getLayoutAlgorithm();
+		if (layoutAlgorithm == null) {
+			return;
+		}
+
+		// supersede running layout pass
+		cancelPendingLayout();
+
+		// transfer layout information to the graph and take a snapshot
+		layoutContext.preLayout();
+		final LayoutSnapshot snapshot = new LayoutSnapshot(layoutContext);
+
+		final long generation = layoutGeneration;
+		final long startTime = System.nanoTime();
+		layoutRunningProperty.set(true);
+		pendingLayout = getLayoutExecutor().submit(new Runnable() {
+			@Override
+			public void run() {
+				RuntimeException layoutException = null;
+				try {
+					snapshot.layout(layoutAlgorithm, clean);
+				} catch (RuntimeException e) {
+					layoutException = e;
+				}
+				final RuntimeException exception = layoutException;
+				Platform.runLater(new Runnable() {
+					@Override
+					public void run() {
+						if (generation != layoutGeneration || !isActive()) {
+							// superseded by another layout pass
+							return;
+						}
+						pendingLayout = null;
+						lastLayoutDurationProperty.set((System.nanoTime() - startTime) / 1000000);
+						layoutRunningProperty.set(false);
+						if (exception != null) {
+							throw new IllegalStateException("Asynchronous layout pass failed.", exception);
+						}
+						applyLayoutResult(layoutContext, snapshot.getNodeCopies());
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Transfers the layout information computed for the given node copies to
+	 * their original nodes and executes the post-layout pass of the given
+	 * {@link LayoutContext} (see
+	 * {@link LayoutContext#applyLayoutResult(Runnable)}). If an
+	 * {@link #getAnimationDuration() animation duration} is specified,
+	 * locations are interpolated over that duration. Has to be called on the
+	 * JavaFX application thread.
+	 *
+	 * @param layoutContext
+	 *            The {@link LayoutContext} whose nodes are updated.
+	 * @param nodeCopies
+	 *            A {@link Map} from the original nodes to the laid out copies.
+	 */
+	protected void applyLayoutResult(final LayoutContext layoutContext,
+			Map<org.eclipse.gef.graph.Node, org.eclipse.gef.graph.Node> nodeCopies) {
+		final List<org.eclipse.gef.graph.Node> nodes = new ArrayList<>();
+		final List<Point> startLocations = new ArrayList<>();
+		final List<Point> endLocations = new ArrayList<>();
+		for (Map.Entry<org.eclipse.gef.graph.Node, org.eclipse.gef.graph.Node> entry : nodeCopies.entrySet()) {
+			org.eclipse.gef.graph.Node node = entry.getKey();
+			org.eclipse.gef.graph.Node nodeCopy = entry.getValue();
+			Dimension size = LayoutProperties.getSize(nodeCopy);
+			if (size != null) {
+				LayoutProperties.setSize(node, size);
+			}
+			Point location = LayoutProperties.getLocation(nodeCopy);
+			if (location != null) {
+				Point startLocation = LayoutProperties.getLocation(node);
+				nodes.add(node);
+				startLocations.add(startLocation == null ? location : startLocation);
+				endLocations.add(location);
+			}
+		}
+
+		Duration animationDuration = getAnimationDuration();
+		if (animationDuration == null || animationDuration.lessThanOrEqualTo(Duration.ZERO)) {
+			layoutContext.applyLayoutResult(new Runnable() {
+				@Override
+				public void run() {
+					for (int i = 0; i < nodes.size(); i++) {
+						LayoutProperties.setLocation(nodes.get(i), endLocations.get(i));
+					}
+				}
+			});
+		} else {
+			layoutAnimation = new Transition() {
+				{
+					setCycleDuration(getAnimationDuration());
+				}
+
+				@Override
+				protected void interpolate(final double frac) {
+					layoutContext.applyLayoutResult(new Runnable() {
+						@Override
+						public void run() {
+							for (int i = 0; i < nodes.size(); i++) {
+								Point start = startLocations.get(i);
+								Point end = endLocations.get(i);
+								LayoutProperties.setLocation(nodes.get(i), new Point(start.x + (end.x - start.x) * frac,
+										start.y + (end.y - start.y) * frac));
+							}
+						}
+					});
+				}
+			};
+			layoutAnimation.play();
+		}
+	}
+
+	/**
+	 * Returns a property that controls whether layout passes are executed
+	 * asynchronously, i.e. on the {@link #getLayoutExecutor() layout
+	 * executor}, or synchronously on the JavaFX application thread.
+	 *
+	 * @return A boolean property named {@link #ASYNCHRONOUS_PROPERTY}.
+	 */
+	public BooleanProperty asynchronousProperty() {
+		return asynchronousProperty;
+	}
+
+	/**
+	 * Cancels the layout pass that is currently running (or scheduled) on the
+	 * {@link #getLayoutExecutor() layout executor}, as well as a running
+	 * layout animation, so that their results are discarded.
+	 */
+	protected void cancelPendingLayout() {
+		layoutGeneration++;
+		if (pendingLayout != null) {
+			pendingLayout.cancel(false);
+			pendingLayout = null;
+		}
+		if (layoutAnimation != null) {
+			layoutAnimation.stop();
+			layoutAnimation = null;
+		}
+		layoutRunningProperty.set(false);
+	}
+
+	/**
+	 * Discards all relayout requests that have not yet been
+	 * {@link #flushRelayout() flushed}.
+	 */
+	protected void cancelScheduledRelayout() {
+		relayoutScheduled = false;
+		pendingStructureChange = false;
+		pendingOldBounds = null;
+		if (relayoutTimer != null) {
+			relayoutTimer.stop();
+		}
 	}
 
 	/**
@@ -259,6 +630,13 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 
 	@Override
 	protected void doDeactivate() {
+		cancelScheduledRelayout();
+		cancelPendingLayout();
+		if (layoutExecutor != null) {
+			layoutExecutor.shutdown();
+			layoutExecutor = null;
+		}
+
 		getHost().getChildrenUnmodifiable().removeListener(childrenObserver);
 
 		final HidingModel hidingModel = getHost().getRoot().getViewer().getAdapter(HidingModel.class);
@@ -279,6 +657,65 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		nestingVisual = null;
 	}
 
+	/**
+	 * Returns the {@link Duration} over which the results of an asynchronous
+	 * layout pass are animated.
+	 *
+	 * @return The {@link Duration} over which the results of an asynchronous
+	 *         layout pass are animated.
+	 */
+	public Duration getAnimationDuration() {
+		return animationDurationProperty.get();
+	}
+
+	/**
+	 * Returns a read-only property that counts the layout passes that were
+	 * actually executed, i.e. for which the {@link ILayoutAlgorithm} was
+	 * applied. Rescaling a layout in response to a bounds change does not
+	 * count as an executed layout pass.
+	 *
+	 * @return A read-only long property named
+	 *         {@link #EXECUTED_LAYOUT_COUNT_PROPERTY}.
+	 */
+	public ReadOnlyLongProperty executedLayoutCountProperty() {
+		return executedLayoutCountProperty.getReadOnlyProperty();
+	}
+
+	/**
+	 * Executes the relayout that was {@link #scheduleRelayout(boolean)
+	 * scheduled}. If only the layout bounds changed since the last relayout
+	 * and {@link #isRescaleOnBoundsChange() rescaling} is enabled, the current
+	 * layout is {@link #rescaleLayout(Rectangle, Rectangle) rescaled}.
+	 * Otherwise, a full layout pass is {@link #applyLayout(boolean, Object)
+	 * applied}.
+	 */
+	protected void flushRelayout() {
+		if (!relayoutScheduled || !isActive()) {
+			return;
+		}
+		boolean structureChanged = pendingStructureChange;
+		Rectangle oldBounds = pendingOldBounds;
+		cancelScheduledRelayout();
+
+		Rectangle newBounds = LayoutProperties.getBounds(getHost().getContent());
+		if (!structureChanged && oldBounds != null && newBounds != null && isRescaleOnBoundsChange()
+				&& !isLayoutRunning() && getLayoutContext().getGraph() == getHost().getContent()
+				&& oldBounds.getWidth() > 0 && oldBounds.getHeight() > 0) {
+			rescaleLayout(oldBounds, newBounds);
+		} else {
+			applyLayout(true, null);
+		}
+	}
+
+	/**
+	 * Returns the number of layout passes that were actually executed.
+	 *
+	 * @return The number of layout passes that were actually executed.
+	 */
+	public long getExecutedLayoutCount() {
+		return executedLayoutCountProperty.get();
+	}
+
 	@Override
 	public GraphPart getHost() {
 		return (GraphPart) super.getHost();
@@ -300,6 +737,38 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		return getHost().getAdapter(LayoutContext.class);
 	}
 
+	/**
+	 * Returns the {@link ExecutorService} that is used to execute asynchronous
+	 * layout passes. Per default, a single daemon thread is used, so that
+	 * layout passes of the same {@link ILayoutAlgorithm} never run
+	 * concurrently.
+	 *
+	 * @return The {@link ExecutorService} that is used to execute asynchronous
+	 *         layout passes.
+	 */
+	protected ExecutorService getLayoutExecutor() {
+		if (layoutExecutor == null) {
+			layoutExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread thread = new Thread(r, "Zest Layout");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return layoutExecutor;
+	}
+
+	/**
+	 * Returns the duration of the last layout pass in milliseconds.
+	 *
+	 * @return The duration of the last layout pass in milliseconds.
+	 */
+	public long getLastLayoutDuration() {
+		return lastLayoutDurationProperty.get();
+	}
+
 	/**
 	 * Returns the {@link NodePart} that contains the nested graph to which the
 	 * behavior corresponds, if this behavior is related to a nested graph.
@@ -314,6 +783,83 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		return null;
 	}
 
+	/**
+	 * Returns the {@link Duration} within which relayout requests are
+	 * coalesced, or <code>null</code> if relayouts are executed immediately.
+	 *
+	 * @return The {@link Duration} within which relayout requests are
+	 *         coalesced, or <code>null</code>.
+	 */
+	public Duration getRelayoutDelay() {
+		return relayoutDelayProperty.get();
+	}
+
+	/**
+	 * Returns the number of relayouts that were requested.
+	 *
+	 * @return The number of relayouts that were requested.
+	 */
+	public long getRequestedLayoutCount() {
+		return requestedLayoutCountProperty.get();
+	}
+
+	/**
+	 * Returns <code>true</code> if layout passes are executed asynchronously,
+	 * otherwise <code>false</code>.
+	 *
+	 * @return <code>true</code> if layout passes are executed asynchronously,
+	 *         otherwise <code>false</code>.
+	 */
+	public boolean isAsynchronous() {
+		return asynchronousProperty.get();
+	}
+
+	/**
+	 * Returns <code>true</code> while an asynchronous layout pass is running,
+	 * otherwise <code>false</code>.
+	 *
+	 * @return <code>true</code> while an asynchronous layout pass is running,
+	 *         otherwise <code>false</code>.
+	 */
+	public boolean isLayoutRunning() {
+		return layoutRunningProperty.get();
+	}
+
+	/**
+	 * Returns a read-only property that provides the duration of the last
+	 * layout pass in milliseconds. For asynchronous layout passes, the
+	 * duration spans from taking the snapshot to receiving the results on the
+	 * JavaFX application thread.
+	 *
+	 * @return A read-only long property named
+	 *         {@link #LAST_LAYOUT_DURATION_PROPERTY}.
+	 */
+	public ReadOnlyLongProperty lastLayoutDurationProperty() {
+		return lastLayoutDurationProperty.getReadOnlyProperty();
+	}
+
+	/**
+	 * Returns a read-only property that indicates whether an asynchronous
+	 * layout pass is currently running.
+	 *
+	 * @return A read-only boolean property named
+	 *         {@link #LAYOUT_RUNNING_PROPERTY}.
+	 */
+	public ReadOnlyBooleanProperty layoutRunningProperty() {
+		return layoutRunningProperty.getReadOnlyProperty();
+	}
+
+	/**
+	 * Returns <code>true</code> if the current layout is rescaled when only
+	 * the layout bounds change, otherwise <code>false</code>.
+	 *
+	 * @return <code>true</code> if the current layout is rescaled when only
+	 *         the layout bounds change, otherwise <code>false</code>.
+	 */
+	public boolean isRescaleOnBoundsChange() {
+		return rescaleOnBoundsChangeProperty.get();
+	}
+
 	@Override
 	protected void postLayout() {
 		// execute post-layout of all nodes and edges
@@ -346,6 +892,159 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		}
 	}
 
+	/**
+	 * Returns a property that specifies the {@link Duration} within which
+	 * relayout requests are coalesced. A value of <code>null</code> (the
+	 * default) disables the coalescing, i.e. each request is executed
+	 * immediately, while {@link Duration#ZERO} coalesces all requests of the
+	 * current pulse. For larger durations, the relayout is executed once no
+	 * further request was issued for the given duration.
+	 *
+	 * @return An object property named {@link #RELAYOUT_DELAY_PROPERTY}.
+	 */
+	public ObjectProperty<Duration> relayoutDelayProperty() {
+		return relayoutDelayProperty;
+	}
+
+	/**
+	 * Returns a read-only property that counts the relayouts that were
+	 * requested, i.e. the number of calls to
+	 * {@link #scheduleRelayout(boolean)}.
+	 *
+	 * @return A read-only long property named
+	 *         {@link #REQUESTED_LAYOUT_COUNT_PROPERTY}.
+	 */
+	public ReadOnlyLongProperty requestedLayoutCountProperty() {
+		return requestedLayoutCountProperty.getReadOnlyProperty();
+	}
+
+	/**
+	 * Returns a property that controls whether the current layout is rescaled
+	 * to the new layout bounds, instead of re-running the
+	 * {@link ILayoutAlgorithm}, when only the layout bounds changed.
+	 *
+	 * @return A boolean property named
+	 *         {@link #RESCALE_ON_BOUNDS_CHANGE_PROPERTY}.
+	 */
+	public BooleanProperty rescaleOnBoundsChangeProperty() {
+		return rescaleOnBoundsChangeProperty;
+	}
+
+	/**
+	 * Rescales the locations of all layout-relevant and movable nodes from the
+	 * given old bounds to the given new bounds, without applying the
+	 * {@link ILayoutAlgorithm}.
+	 *
+	 * @param oldBounds
+	 *            The layout bounds for which the current layout was computed.
+	 * @param newBounds
+	 *            The new layout bounds.
+	 */
+	protected void rescaleLayout(final Rectangle oldBounds, final Rectangle newBounds) {
+		final LayoutContext layoutContext = getLayoutContext();
+		layoutContext.invalidateLayoutRelevantElements();
+		layoutContext.preLayout();
+		final double sx = newBounds.getWidth() / oldBounds.getWidth();
+		final double sy = newBounds.getHeight() / oldBounds.getHeight();
+		// rescaled locations are a layout result, not user moves
+		layoutContext.applyLayoutResult(new Runnable() {
+			@Override
+			public void run() {
+				for (org.eclipse.gef.graph.Node node : layoutContext.getNodes()) {
+					Point location = LayoutProperties.getLocation(node);
+					if (location != null && LayoutProperties.isMovable(node)) {
+						LayoutProperties.setLocation(node,
+								new Point(newBounds.getX() + (location.x - oldBounds.getX()) * sx,
+										newBounds.getY() + (location.y - oldBounds.getY()) * sy));
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Requests a relayout, which is coalesced with other requests according to
+	 * the {@link #getRelayoutDelay() relayout delay}.
+	 *
+	 * @param structureChanged
+	 *            <code>true</code> if the layout-relevant structure changed,
+	 *            <code>false</code> if only the layout bounds changed.
+	 */
+	protected void scheduleRelayout(boolean structureChanged) {
+		requestedLayoutCountProperty.set(requestedLayoutCountProperty.get() + 1);
+		pendingStructureChange |= structureChanged;
+		boolean alreadyScheduled = relayoutScheduled;
+		relayoutScheduled = true;
+
+		Duration relayoutDelay = getRelayoutDelay();
+		if (relayoutDelay == null) {
+			flushRelayout();
+		} else if (relayoutDelay.lessThanOrEqualTo(Duration.ZERO)) {
+			if (!alreadyScheduled) {
+				Platform.runLater(flushRelayout);
+			}
+		} else {
+			if (relayoutTimer == null) {
+				relayoutTimer = new PauseTransition();
+				relayoutTimer.setOnFinished(new EventHandler<ActionEvent>() {
+					@Override
+					public void handle(ActionEvent event) {
+						flushRelayout();
+					}
+				});
+			}
+			relayoutTimer.setDuration(relayoutDelay);
+			relayoutTimer.playFromStart();
+		}
+	}
+
+	/**
+	 * Sets the {@link Duration} over which the results of an asynchronous
+	 * layout pass are animated.
+	 *
+	 * @param animationDuration
+	 *            The new animation {@link Duration}.
+	 */
+	public void setAnimationDuration(Duration animationDuration) {
+		animationDurationProperty.set(animationDuration);
+	}
+
+	/**
+	 * Enables or disables the asynchronous execution of layout passes.
+	 *
+	 * @param asynchronous
+	 *            <code>true</code> to execute layout passes asynchronously,
+	 *            <code>false</code> to execute them on the JavaFX application
+	 *            thread.
+	 */
+	public void setAsynchronous(boolean asynchronous) {
+		asynchronousProperty.set(asynchronous);
+	}
+
+	/**
+	 * Sets the {@link Duration} within which relayout requests are coalesced.
+	 *
+	 * @param relayoutDelay
+	 *            The new relayout delay, or <code>null</code> to execute
+	 *            relayouts immediately.
+	 */
+	public void setRelayoutDelay(Duration relayoutDelay) {
+		relayoutDelayProperty.set(relayoutDelay);
+	}
+
+	/**
+	 * Enables or disables rescaling of the current layout when only the layout
+	 * bounds change.
+	 *
+	 * @param rescaleOnBoundsChange
+	 *            <code>true</code> to rescale the current layout when only the
+	 *            layout bounds change, <code>false</code> to re-run the
+	 *            {@link ILayoutAlgorithm}.
+	 */
+	public void setRescaleOnBoundsChange(boolean rescaleOnBoundsChange) {
+		rescaleOnBoundsChangeProperty.set(rescaleOnBoundsChange);
+	}
+
 	/**
 	 * Updates the bounds property from the visual (viewport or nesting node)
 	 */
@@ -354,7 +1053,11 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		Rectangle oldBounds = LayoutProperties.getBounds(getHost().getContent());
 		if (oldBounds != newBounds && (oldBounds == null || !oldBounds.equals(newBounds))) {
 			LayoutProperties.setBounds(getHost().getContent(), newBounds);
-			applyLayout(true, null);
+			// remember the bounds for which the current layout was computed
+			if (oldBounds != null && pendingOldBounds == null) {
+				pendingOldBounds = oldBounds.getCopy();
+			}
+			scheduleRelayout(oldBounds == null);
 		}
 	}
 }
@@ -12,30 +12,53 @@
  *******************************************************************************/
 package org.eclipse.gef.zest.fx.models;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.gef.common.adapt.IAdaptable;
+import org.eclipse.gef.common.dispose.IDisposable;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
 import org.eclipse.gef.zest.fx.parts.NodePart;
 
 import javafx.beans.property.ReadOnlySetProperty;
 import javafx.beans.property.ReadOnlySetWrapper;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.SetChangeListener;
 
 /**
  * The {@link HidingModel} manages a {@link Set} of currently hidden
  * {@link org.eclipse.gef.graph.Node}s. The hidden neighbors of a
  * {@link org.eclipse.gef.graph.Node} can be identified using
  * {@link #getHiddenNeighbors(org.eclipse.gef.graph.Node)}.
+ * <p>
+ * The {@link HidingModel} maintains a neighbor index per {@link Graph} as well
+ * as the number of hidden neighbors per {@link org.eclipse.gef.graph.Node},
+ * which are updated incrementally when a {@link org.eclipse.gef.graph.Node} is
+ * hidden or shown. Therefore, hiding or showing a
+ * {@link org.eclipse.gef.graph.Node} is proportional to its degree. Besides
+ * listening to the {@link #hiddenProperty()}, clients can register observers
+ * for specific {@link org.eclipse.gef.graph.Node}s (see
+ * {@link #addObserver(org.eclipse.gef.graph.Node, SetChangeListener)} and
+ * {@link #addNeighborsObserver(org.eclipse.gef.graph.Node, SetChangeListener)}
+ * ), so that only those observers that are affected by a change are notified.
+ * <p>
+ * The neighbor indices are dropped when the contents of the {@link IViewer}
+ * change, as well as when the {@link HidingModel} is disposed.
  *
  * @author mwienand
  *
  */
-public class HidingModel {
+public class HidingModel extends IAdaptable.Bound.Impl<IViewer> implements IDisposable {
 
 	/**
 	 * Property name that is used when firing property change notifications when
@@ -46,6 +69,173 @@ public class HidingModel {
 	private ReadOnlySetWrapper<org.eclipse.gef.graph.Node> hiddenProperty = new ReadOnlySetWrapper<>(this,
 			HIDDEN_PROPERTY, FXCollections.observableSet(new HashSet<org.eclipse.gef.graph.Node>()));
 
+	// the number of edges between a node and each of its neighbors
+	private final Map<Graph, Map<org.eclipse.gef.graph.Node, Map<org.eclipse.gef.graph.Node, Integer>>> neighborIndex = new IdentityHashMap<>();
+	private final Map<Graph, ListChangeListener<Edge>> edgesListeners = new IdentityHashMap<>();
+	private final Map<org.eclipse.gef.graph.Node, Integer> hiddenNeighborCounts = new IdentityHashMap<>();
+	private final Map<org.eclipse.gef.graph.Node, List<SetChangeListener<org.eclipse.gef.graph.Node>>> observers = new IdentityHashMap<>();
+	private final Map<org.eclipse.gef.graph.Node, List<SetChangeListener<org.eclipse.gef.graph.Node>>> neighborsObservers = new IdentityHashMap<>();
+
+	private ListChangeListener<Object> contentsListener = new ListChangeListener<Object>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends Object> c) {
+			// the indexed graphs may no longer be displayed
+			clearNeighborIndex();
+		}
+	};
+
+	/**
+	 * Constructs a new {@link HidingModel}.
+	 */
+	public HidingModel() {
+		// update hidden neighbor counts before any other listener is notified
+		hiddenProperty.addListener(new SetChangeListener<org.eclipse.gef.graph.Node>() {
+			@Override
+			public void onChanged(SetChangeListener.Change<? extends org.eclipse.gef.graph.Node> change) {
+				onHiddenChanged(change);
+			}
+		});
+	}
+
+	private void addEdge(Graph graph, Map<org.eclipse.gef.graph.Node, Map<org.eclipse.gef.graph.Node, Integer>> index,
+			Edge edge) {
+		org.eclipse.gef.graph.Node source = edge.getSource();
+		org.eclipse.gef.graph.Node target = edge.getTarget();
+		if (source == null || target == null) {
+			return;
+		}
+		// neighbors are determined per graph, see Node#getNeighbors()
+		if (source.getGraph() == graph) {
+			addNeighbor(index, source, target);
+		}
+		if (target.getGraph() == graph) {
+			addNeighbor(index, target, source);
+		}
+	}
+
+	private void addNeighbor(Map<org.eclipse.gef.graph.Node, Map<org.eclipse.gef.graph.Node, Integer>> index,
+			org.eclipse.gef.graph.Node node, org.eclipse.gef.graph.Node neighbor) {
+		Map<org.eclipse.gef.graph.Node, Integer> neighbors = index.get(node);
+		if (neighbors == null) {
+			neighbors = new IdentityHashMap<>();
+			index.put(node, neighbors);
+		}
+		Integer edgeCount = neighbors.get(neighbor);
+		neighbors.put(neighbor, edgeCount == null ? 1 : edgeCount + 1);
+		if (edgeCount == null && isHidden(neighbor)) {
+			updateHiddenNeighborCount(node, 1);
+		}
+	}
+
+	/**
+	 * Registers the given observer to be notified when the hidden status of
+	 * any neighbor of the given {@link org.eclipse.gef.graph.Node} changes.
+	 *
+	 * @param node
+	 *            The {@link org.eclipse.gef.graph.Node} whose neighbors are
+	 *            observed.
+	 * @param observer
+	 *            The {@link SetChangeListener} to notify.
+	 */
+	public void addNeighborsObserver(org.eclipse.gef.graph.Node node,
+			SetChangeListener<org.eclipse.gef.graph.Node> observer) {
+		addObserver(neighborsObservers, node, observer);
+	}
+
+	/**
+	 * Registers the given observer to be notified when the hidden status of
+	 * the given {@link org.eclipse.gef.graph.Node} changes.
+	 *
+	 * @param node
+	 *            The {@link org.eclipse.gef.graph.Node} that is observed.
+	 * @param observer
+	 *            The {@link SetChangeListener} to notify.
+	 */
+	public void addObserver(org.eclipse.gef.graph.Node node, SetChangeListener<org.eclipse.gef.graph.Node> observer) {
+		addObserver(observers, node, observer);
+	}
+
+	private void addObserver(Map<org.eclipse.gef.graph.Node, List<SetChangeListener<org.eclipse.gef.graph.Node>>> map,
+			org.eclipse.gef.graph.Node node, SetChangeListener<org.eclipse.gef.graph.Node> observer) {
+		List<SetChangeListener<org.eclipse.gef.graph.Node>> list = map.get(node);
+		if (list == null) {
+			list = new ArrayList<>(1);
+			map.put(node, list);
+		}
+		list.add(observer);
+	}
+
+	/**
+	 * Builds the neighbor index for the given {@link Graph}, computes the
+	 * hidden neighbor counts of its {@link org.eclipse.gef.graph.Node}s, and
+	 * registers a listener that keeps the index up-to-date.
+	 *
+	 * @param graph
+	 *            The {@link Graph} for which to build the neighbor index.
+	 * @return The neighbor index for the given {@link Graph}.
+	 */
+	private Map<org.eclipse.gef.graph.Node, Map<org.eclipse.gef.graph.Node, Integer>> buildNeighborIndex(
+			final Graph graph) {
+		final Map<org.eclipse.gef.graph.Node, Map<org.eclipse.gef.graph.Node, Integer>> index = new IdentityHashMap<>();
+		for (Edge edge : graph.getEdges()) {
+			addEdge(graph, index, edge);
+		}
+		neighborIndex.put(graph, index);
+
+		ListChangeListener<Edge> edgesListener = new ListChangeListener<Edge>() {
+			@Override
+			public void onChanged(ListChangeListener.Change<? extends Edge> c) {
+				while (c.next()) {
+					for (Edge edge : c.getRemoved()) {
+						removeEdge(index, edge);
+					}
+					for (Edge edge : c.getAddedSubList()) {
+						addEdge(graph, index, edge);
+					}
+				}
+			}
+		};
+		graph.getEdges().addListener(edgesListener);
+		edgesListeners.put(graph, edgesListener);
+		return index;
+	}
+
+	/**
+	 * Drops the neighbor indices of all {@link Graph}s, so that they are
+	 * rebuilt on demand, and unregisters the listeners from the
+	 * {@link Graph}s.
+	 */
+	private void clearNeighborIndex() {
+		for (Map.Entry<Graph, ListChangeListener<Edge>> entry : edgesListeners.entrySet()) {
+			entry.getKey().getEdges().removeListener(entry.getValue());
+		}
+		edgesListeners.clear();
+		neighborIndex.clear();
+		hiddenNeighborCounts.clear();
+	}
+
+	@Override
+	public void dispose() {
+		clearNeighborIndex();
+	}
+
+	/**
+	 * Returns the number of hidden neighbors of the given
+	 * {@link org.eclipse.gef.graph.Node}.
+	 *
+	 * @param node
+	 *            The {@link org.eclipse.gef.graph.Node} of which the number of
+	 *            hidden neighbors is returned.
+	 * @return The number of hidden neighbors of the given
+	 *         {@link org.eclipse.gef.graph.Node}.
+	 */
+	public int getHiddenNeighborCount(org.eclipse.gef.graph.Node node) {
+		// ensure the neighbor index (and thereby the counts) are available
+		getNeighbors(node);
+		Integer count = hiddenNeighborCounts.get(node);
+		return count == null ? 0 : count;
+	}
+
 	/**
 	 * Returns a {@link Set} containing all {@link NodePart}s corresponding to
 	 * the hidden neighbors of the content of the given {@link NodePart}.
@@ -78,10 +268,12 @@ public class HidingModel {
 	 *         {@link org.eclipse.gef.graph.Node}.
 	 */
 	public Set<org.eclipse.gef.graph.Node> getHiddenNeighbors(org.eclipse.gef.graph.Node node) {
-		Set<org.eclipse.gef.graph.Node> neighbors = node.getNeighbors();
 		Set<org.eclipse.gef.graph.Node> hiddenNeighbors = Collections
 				.newSetFromMap(new IdentityHashMap<org.eclipse.gef.graph.Node, Boolean>());
-		for (org.eclipse.gef.graph.Node neighbor : neighbors) {
+		if (getHiddenNeighborCount(node) == 0) {
+			return hiddenNeighbors;
+		}
+		for (org.eclipse.gef.graph.Node neighbor : getNeighbors(node)) {
 			if (isHidden(neighbor)) {
 				hiddenNeighbors.add(neighbor);
 			}
@@ -128,7 +320,36 @@ public class HidingModel {
 	 *         <code>false</code>.
 	 */
 	public boolean hasHiddenNeighbors(org.eclipse.gef.graph.Node node) {
-		return getHiddenNeighbors(node).size() > 0;
+		return getHiddenNeighborCount(node) > 0;
+	}
+
+	/**
+	 * Returns the neighbors of the given {@link org.eclipse.gef.graph.Node}
+	 * (see {@link org.eclipse.gef.graph.Node#getNeighbors()}) from the
+	 * neighbor index of its {@link Graph}. The index is built on demand and
+	 * updated incrementally whenever the {@link Edge}s of the {@link Graph}
+	 * change.
+	 *
+	 * @param node
+	 *            The {@link org.eclipse.gef.graph.Node} of which the neighbors
+	 *            are returned.
+	 * @return An unmodifiable {@link Set} containing the neighbors of the
+	 *         given {@link org.eclipse.gef.graph.Node}.
+	 */
+	protected Set<org.eclipse.gef.graph.Node> getNeighbors(org.eclipse.gef.graph.Node node) {
+		Graph graph = node.getGraph();
+		if (graph == null) {
+			return Collections.emptySet();
+		}
+		Map<org.eclipse.gef.graph.Node, Map<org.eclipse.gef.graph.Node, Integer>> index = neighborIndex.get(graph);
+		if (index == null) {
+			index = buildNeighborIndex(graph);
+		}
+		Map<org.eclipse.gef.graph.Node, Integer> neighbors = index.get(node);
+		if (neighbors == null) {
+			return Collections.emptySet();
+		}
+		return Collections.unmodifiableSet(neighbors.keySet());
 	}
 
 	/**
@@ -200,6 +421,137 @@ public class HidingModel {
 		return hiddenProperty.contains(node);
 	}
 
+	private void notifyObservers(List<SetChangeListener<org.eclipse.gef.graph.Node>> observersToNotify,
+			Set<SetChangeListener<org.eclipse.gef.graph.Node>> notified,
+			SetChangeListener.Change<? extends org.eclipse.gef.graph.Node> change) {
+		if (observersToNotify == null) {
+			return;
+		}
+		// copy, so that observers may (un-)register during notification
+		for (SetChangeListener<org.eclipse.gef.graph.Node> observer : new ArrayList<>(observersToNotify)) {
+			if (notified.add(observer)) {
+				observer.onChanged(change);
+			}
+		}
+	}
+
+	/**
+	 * Called when the {@link Set} of hidden {@link org.eclipse.gef.graph.Node}
+	 * s changes. Updates the hidden neighbor counts of the neighbors of the
+	 * changed {@link org.eclipse.gef.graph.Node} and notifies the observers
+	 * that are affected by the change.
+	 *
+	 * @param change
+	 *            The change of the {@link Set} of hidden
+	 *            {@link org.eclipse.gef.graph.Node}s.
+	 */
+	protected void onHiddenChanged(SetChangeListener.Change<? extends org.eclipse.gef.graph.Node> change) {
+		org.eclipse.gef.graph.Node node = change.wasAdded() ? change.getElementAdded() : change.getElementRemoved();
+		// a newly built index already reflects the change
+		boolean indexed = neighborIndex.containsKey(node.getGraph());
+		Set<org.eclipse.gef.graph.Node> neighbors = getNeighbors(node);
+		if (indexed) {
+			int delta = change.wasAdded() ? 1 : -1;
+			for (org.eclipse.gef.graph.Node neighbor : neighbors) {
+				updateHiddenNeighborCount(neighbor, delta);
+			}
+		}
+
+		Set<SetChangeListener<org.eclipse.gef.graph.Node>> notified = Collections
+				.newSetFromMap(new IdentityHashMap<SetChangeListener<org.eclipse.gef.graph.Node>, Boolean>());
+		notifyObservers(observers.get(node), notified, change);
+		for (org.eclipse.gef.graph.Node neighbor : neighbors) {
+			notifyObservers(neighborsObservers.get(neighbor), notified, change);
+		}
+	}
+
+	private void removeEdge(Map<org.eclipse.gef.graph.Node, Map<org.eclipse.gef.graph.Node, Integer>> index,
+			Edge edge) {
+		org.eclipse.gef.graph.Node source = edge.getSource();
+		org.eclipse.gef.graph.Node target = edge.getTarget();
+		if (source == null || target == null) {
+			return;
+		}
+		// the nodes may have left the graph already, so that only the index
+		// is consulted
+		removeNeighbor(index, source, target);
+		removeNeighbor(index, target, source);
+	}
+
+	private void removeNeighbor(Map<org.eclipse.gef.graph.Node, Map<org.eclipse.gef.graph.Node, Integer>> index,
+			org.eclipse.gef.graph.Node node, org.eclipse.gef.graph.Node neighbor) {
+		Map<org.eclipse.gef.graph.Node, Integer> neighbors = index.get(node);
+		Integer edgeCount = neighbors == null ? null : neighbors.get(neighbor);
+		if (edgeCount == null) {
+			return;
+		}
+		if (edgeCount > 1) {
+			neighbors.put(neighbor, edgeCount - 1);
+			return;
+		}
+		neighbors.remove(neighbor);
+		if (neighbors.isEmpty()) {
+			index.remove(node);
+		}
+		if (isHidden(neighbor)) {
+			updateHiddenNeighborCount(node, -1);
+		}
+	}
+
+	/**
+	 * Unregisters the given observer, which was previously registered via
+	 * {@link #addNeighborsObserver(org.eclipse.gef.graph.Node, SetChangeListener)}
+	 * .
+	 *
+	 * @param node
+	 *            The {@link org.eclipse.gef.graph.Node} whose neighbors are
+	 *            observed.
+	 * @param observer
+	 *            The {@link SetChangeListener} to unregister.
+	 */
+	public void removeNeighborsObserver(org.eclipse.gef.graph.Node node,
+			SetChangeListener<org.eclipse.gef.graph.Node> observer) {
+		removeObserver(neighborsObservers, node, observer);
+	}
+
+	/**
+	 * Unregisters the given observer, which was previously registered via
+	 * {@link #addObserver(org.eclipse.gef.graph.Node, SetChangeListener)}.
+	 *
+	 * @param node
+	 *            The {@link org.eclipse.gef.graph.Node} that is observed.
+	 * @param observer
+	 *            The {@link SetChangeListener} to unregister.
+	 */
+	public void removeObserver(org.eclipse.gef.graph.Node node,
+			SetChangeListener<org.eclipse.gef.graph.Node> observer) {
+		removeObserver(observers, node, observer);
+	}
+
+	private void removeObserver(
+			Map<org.eclipse.gef.graph.Node, List<SetChangeListener<org.eclipse.gef.graph.Node>>> map,
+			org.eclipse.gef.graph.Node node, SetChangeListener<org.eclipse.gef.graph.Node> observer) {
+		List<SetChangeListener<org.eclipse.gef.graph.Node>> list = map.get(node);
+		if (list != null) {
+			list.remove(observer);
+			if (list.isEmpty()) {
+				map.remove(node);
+			}
+		}
+	}
+
+	@Override
+	public void setAdaptable(IViewer adaptable) {
+		if (getAdaptable() != null) {
+			getAdaptable().getContents().removeListener(contentsListener);
+		}
+		super.setAdaptable(adaptable);
+		if (adaptable != null) {
+			adaptable.getContents().addListener(contentsListener);
+		}
+		clearNeighborIndex();
+	}
+
 	/**
 	 * Remove the content of the given {@link NodePart} from the {@link Set} of
 	 * hidden {@link org.eclipse.gef.graph.Node} s. Notifies all property change
@@ -227,4 +579,14 @@ public class HidingModel {
 		hiddenProperty.remove(node);
 	}
 
+	private void updateHiddenNeighborCount(org.eclipse.gef.graph.Node node, int delta) {
+		Integer count = hiddenNeighborCounts.get(node);
+		int newCount = (count == null ? 0 : count) + delta;
+		if (newCount <= 0) {
+			hiddenNeighborCounts.remove(node);
+		} else {
+			hiddenNeighborCounts.put(node, newCount);
+		}
+	}
+
 }
@@ -16,11 +16,13 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -88,6 +90,39 @@ public class ZestContentViewerTests {
 		}
 	}
 
+	static class ModifiableContentProvider implements IGraphContentProvider {
+		private List<Object> nodes = new ArrayList<>();
+		private Map<Object, Object[]> adjacentNodes = new HashMap<>();
+
+		@Override
+		public void dispose() {
+		}
+
+		@Override
+		public Object[] getAdjacentNodes(Object node) {
+			return adjacentNodes.get(node);
+		}
+
+		@Override
+		public Object[] getNestedGraphNodes(Object node) {
+			return null;
+		}
+
+		@Override
+		public Object[] getNodes() {
+			return nodes.toArray();
+		}
+
+		@Override
+		public boolean hasNestedGraph(Object node) {
+			return false;
+		}
+
+		@Override
+		public void inputChanged(org.eclipse.jface.viewers.Viewer viewer, Object oldInput, Object newInput) {
+		}
+	}
+
 	static class MyContentProvider implements IGraphContentProvider {
 		public static String alpha() {
 			return "alpha";
@@ -369,6 +404,57 @@ public class ZestContentViewerTests {
 		assertTrue(labelCssStyle.contains("-fx-font-style: italic;"));
 	}
 
+	@Test
+	public void test_incrementalRefresh() {
+		ModifiableContentProvider contentProvider = new ModifiableContentProvider();
+		contentProvider.nodes.addAll(Arrays.asList("a", "b"));
+		contentProvider.adjacentNodes.put("a", new Object[] { "b" });
+		viewer.setContentProvider(contentProvider);
+		Object input = new Object();
+		viewer.setInput(input);
+		Graph graph = (Graph) viewer.getContentViewer().getContents().get(0);
+		org.eclipse.gef.graph.Node aNode = viewer.getContentNodeMap().get("a");
+		IContentPart<? extends Node> aPart = viewer.getContentViewer().getContentPartMap().get(aNode);
+		assertNotNull(aPart);
+
+		// add element
+		contentProvider.nodes.add("c");
+		contentProvider.adjacentNodes.put("c", new Object[] { "a" });
+		viewer.add("c");
+		assertEquals(3, graph.getNodes().size());
+		assertEquals(2, graph.getEdges().size());
+		assertSame(graph, viewer.getContentNodeMap().get("c").getGraph());
+		assertSame(aNode, viewer.getContentNodeMap().get("a"));
+		assertSame(aPart, viewer.getContentViewer().getContentPartMap().get(aNode));
+
+		// refresh changed adjacency of an element
+		contentProvider.adjacentNodes.put("a", new Object[] { "c" });
+		viewer.refresh("a");
+		assertEquals(2, graph.getEdges().size());
+		assertEquals(1, aNode.getOutgoingEdges().size());
+		assertSame(viewer.getContentNodeMap().get("c"), aNode.getOutgoingEdges().iterator().next().getTarget());
+		assertTrue(viewer.getContentNodeMap().get("b").getIncomingEdges().isEmpty());
+
+		// remove element
+		contentProvider.nodes.remove("c");
+		viewer.remove("c");
+		assertEquals(2, graph.getNodes().size());
+		assertTrue(graph.getEdges().isEmpty());
+		assertFalse(viewer.getContentNodeMap().containsKey("c"));
+
+		// refresh input
+		contentProvider.nodes.remove("b");
+		contentProvider.nodes.add("d");
+		contentProvider.adjacentNodes.put("d", new Object[] { "a" });
+		viewer.refresh(input);
+		assertSame(graph, viewer.getContentViewer().getContents().get(0));
+		assertEquals(2, graph.getNodes().size());
+		assertEquals(1, graph.getEdges().size());
+		assertFalse(viewer.getContentNodeMap().containsKey("b"));
+		assertSame(aNode, viewer.getContentNodeMap().get("a"));
+		assertSame(aPart, viewer.getContentViewer().getContentPartMap().get(aNode));
+	}
+
 	@Test
 	public void test_labelProvider() {
 		viewer.setInput(new Object());
@@ -500,6 +586,19 @@ public class ZestContentViewerTests {
 		assertEquals(firstNode, selectedPart.getContent());
 	}
 
+	@Test
+	public void test_update() {
+		viewer.setInput(new Object());
+		org.eclipse.gef.graph.Node firstNode = viewer.getContentNodeMap().get(MyContentProvider.first());
+		firstNode.attributesProperty().put("custom", true);
+		firstNode.attributesProperty().remove("node");
+		viewer.update(MyContentProvider.first(), null);
+		assertSame(firstNode, viewer.getContentNodeMap().get(MyContentProvider.first()));
+		assertTrue((Boolean) firstNode.attributesProperty().get("node"));
+		// attributes not provided by the label provider are preserved
+		assertTrue((Boolean) firstNode.attributesProperty().get("custom"));
+	}
+
 	@Test
 	public void test_toolTipProvider() {
 		viewer.setInput(new Object());
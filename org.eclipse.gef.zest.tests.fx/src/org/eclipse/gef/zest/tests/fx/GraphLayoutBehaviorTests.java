@@ -0,0 +1,344 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.mvc.fx.parts.LayeredRootPart;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.behaviors.GraphLayoutBehavior;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+import org.junit.Rule;
+import org.junit.Test;
+
+import javafx.util.Duration;
+
+public class GraphLayoutBehaviorTests {
+
+	/**
+	 * An {@link ILayoutAlgorithm} that moves all nodes to a fixed location. A
+	 * blocking algorithm waits until it is released.
+	 */
+	private static class MoveAlgorithm implements ILayoutAlgorithm {
+		private final Point location;
+		private final CountDownLatch started = new CountDownLatch(1);
+		private final CountDownLatch released;
+		private volatile int executions;
+
+		public MoveAlgorithm(Point location, boolean blocking) {
+			this.location = location;
+			released = new CountDownLatch(blocking ? 1 : 0);
+		}
+
+		@Override
+		public void applyLayout(LayoutContext layoutContext, boolean clean) {
+			executions++;
+			started.countDown();
+			try {
+				released.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+			for (Node node : layoutContext.getNodes()) {
+				LayoutProperties.setLocation(node, location.getCopy());
+			}
+		}
+	}
+
+	/**
+	 * A {@link GraphLayoutBehavior} for a detached {@link GraphPart}, which
+	 * does not lay out upon activation and whose layout executor can be
+	 * drained.
+	 */
+	private static class TestGraphLayoutBehavior extends GraphLayoutBehavior {
+		private final Graph graph;
+		private final LayoutContext layoutContext = new LayoutContext();
+		private final ExecutorService layoutExecutor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable);
+			thread.setDaemon(true);
+			return thread;
+		});
+		private GraphPart host;
+
+		public TestGraphLayoutBehavior(Graph graph) {
+			this.graph = graph;
+			layoutContext.setGraph(graph);
+		}
+
+		@Override
+		public void applyLayoutAsynchronously(LayoutContext layoutContext, boolean clean) {
+			super.applyLayoutAsynchronously(layoutContext, clean);
+		}
+
+		/**
+		 * Waits until all layout passes that were submitted so far have
+		 * finished, so that their results are queued on the JavaFX
+		 * application thread.
+		 */
+		public void awaitLayoutExecutor() throws Exception {
+			layoutExecutor.submit(() -> {
+				// all previously submitted tasks are finished
+			}).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		}
+
+		@Override
+		protected void doActivate() {
+			// layout passes are triggered explicitly
+		}
+
+		@Override
+		public GraphPart getHost() {
+			if (host == null) {
+				host = new GraphPart() {
+					@Override
+					public Graph getContent() {
+						return graph;
+					}
+				};
+				LayeredRootPart rootPart = new LayeredRootPart();
+				InfiniteCanvasViewer viewer = new InfiniteCanvasViewer();
+				viewer.setAdapter(rootPart);
+				host.setParent(rootPart);
+			}
+			return host;
+		}
+
+		@Override
+		public LayoutContext getLayoutContext() {
+			return layoutContext;
+		}
+
+		@Override
+		protected ExecutorService getLayoutExecutor() {
+			return layoutExecutor;
+		}
+
+		@Override
+		public void scheduleRelayout(boolean structureChanged) {
+			super.scheduleRelayout(structureChanged);
+		}
+	}
+
+	private static final long TIMEOUT_SECONDS = 5;
+
+	@Rule
+	public FXNonApplicationThreadRule ctx = new FXNonApplicationThreadRule();
+
+	@Test
+	public void applyLayoutResultAsLayoutPass() throws Throwable {
+		final Node node = new Node();
+		final TestGraphLayoutBehavior behavior = new TestGraphLayoutBehavior(
+				new Graph.Builder().nodes(node).build());
+		ctx.runAndWait(() -> {
+			behavior.activate();
+			LayoutProperties.setLocation(node, new Point(5, 5));
+			assertFalse(behavior.getLayoutContext().getChangeLog().isEmpty());
+			behavior.getLayoutContext().setLayoutAlgorithm(new MoveAlgorithm(new Point(1, 1), false));
+			behavior.applyLayoutAsynchronously(behavior.getLayoutContext(), true);
+		});
+		behavior.awaitLayoutExecutor();
+
+		// transferred locations are no moves and consume the recorded changes
+		ctx.runAndWait(() -> {
+			assertEquals(new Point(1, 1), LayoutProperties.getLocation(node));
+			assertTrue(behavior.getLayoutContext().getChangeLog().isEmpty());
+		});
+	}
+
+	@Test
+	public void coalesceRelayoutsWithinDelay() throws Throwable {
+		Graph graph = new Graph.Builder().nodes(new Node()).build();
+		final MoveAlgorithm algorithm = new MoveAlgorithm(new Point(1, 1), false);
+		ZestProperties.setLayoutAlgorithm(graph, algorithm);
+		final TestGraphLayoutBehavior behavior = new TestGraphLayoutBehavior(graph);
+		ctx.runAndWait(() -> {
+			behavior.activate();
+			behavior.setRelayoutDelay(Duration.millis(100));
+			behavior.scheduleRelayout(true);
+			behavior.scheduleRelayout(true);
+			behavior.scheduleRelayout(false);
+			assertEquals(0, behavior.getExecutedLayoutCount());
+		});
+
+		// the relayout is executed once the delay elapsed
+		long timeout = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+		while (ctx.runAndWait(() -> behavior.getExecutedLayoutCount()) == 0) {
+			assertTrue(System.currentTimeMillis() < timeout);
+			Thread.sleep(20);
+		}
+		Thread.sleep(200);
+		ctx.runAndWait(() -> {
+			assertEquals(1, behavior.getExecutedLayoutCount());
+			assertEquals(3, behavior.getRequestedLayoutCount());
+			assertEquals(1, algorithm.executions);
+		});
+	}
+
+	@Test
+	public void coalesceRelayoutsWithinPulse() throws Throwable {
+		Graph graph = new Graph.Builder().nodes(new Node()).build();
+		final MoveAlgorithm algorithm = new MoveAlgorithm(new Point(1, 1), false);
+		ZestProperties.setLayoutAlgorithm(graph, algorithm);
+		final TestGraphLayoutBehavior behavior = new TestGraphLayoutBehavior(graph);
+		ctx.runAndWait(() -> {
+			behavior.activate();
+			behavior.setRelayoutDelay(Duration.ZERO);
+			behavior.scheduleRelayout(true);
+			behavior.scheduleRelayout(true);
+			behavior.scheduleRelayout(false);
+			assertEquals(0, behavior.getExecutedLayoutCount());
+		});
+
+		// the relayout is executed once within the next pulse
+		ctx.runAndWait(() -> {
+			assertEquals(1, behavior.getExecutedLayoutCount());
+			assertEquals(3, behavior.getRequestedLayoutCount());
+			assertEquals(1, algorithm.executions);
+		});
+	}
+
+	@Test
+	public void deactivateWhileLayoutPending() throws Throwable {
+		final Node node = new Node();
+		final TestGraphLayoutBehavior behavior = new TestGraphLayoutBehavior(
+				new Graph.Builder().nodes(node).build());
+		final MoveAlgorithm algorithm = new MoveAlgorithm(new Point(1, 1), true);
+		ctx.runAndWait(() -> {
+			behavior.activate();
+			behavior.getLayoutContext().setLayoutAlgorithm(algorithm);
+			behavior.applyLayoutAsynchronously(behavior.getLayoutContext(), true);
+		});
+		assertTrue(algorithm.started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+		ctx.runAndWait(() -> {
+			behavior.deactivate();
+			assertFalse(behavior.isLayoutRunning());
+		});
+		algorithm.released.countDown();
+		behavior.awaitLayoutExecutor();
+
+		// the results of the pending layout pass are discarded
+		ctx.runAndWait(() -> {
+			assertNull(LayoutProperties.getLocation(node));
+			assertFalse(behavior.isLayoutRunning());
+		});
+	}
+
+	@Test
+	public void propagateLayoutException() throws Throwable {
+		final Node node = new Node();
+		final TestGraphLayoutBehavior behavior = new TestGraphLayoutBehavior(
+				new Graph.Builder().nodes(node).build());
+		final RuntimeException failure = new RuntimeException("layout failure");
+		final AtomicReference<UncaughtExceptionHandler> previousHandler = new AtomicReference<>();
+		final AtomicReference<Throwable> uncaught = new AtomicReference<>();
+		ctx.runAndWait(() -> {
+			previousHandler.set(Thread.currentThread().getUncaughtExceptionHandler());
+			Thread.currentThread().setUncaughtExceptionHandler((thread, throwable) -> uncaught.set(throwable));
+			behavior.activate();
+			behavior.getLayoutContext().setLayoutAlgorithm(new ILayoutAlgorithm() {
+				@Override
+				public void applyLayout(LayoutContext layoutContext, boolean clean) {
+					throw failure;
+				}
+			});
+			behavior.applyLayoutAsynchronously(behavior.getLayoutContext(), true);
+			assertTrue(behavior.isLayoutRunning());
+		});
+		behavior.awaitLayoutExecutor();
+
+		// the exception is re-thrown on the JavaFX application thread
+		try {
+			ctx.runAndWait(() -> {
+				assertFalse(behavior.isLayoutRunning());
+				assertNull(LayoutProperties.getLocation(node));
+				assertTrue(uncaught.get() instanceof IllegalStateException);
+				assertSame(failure, uncaught.get().getCause());
+			});
+		} finally {
+			ctx.runAndWait(() -> {
+				Thread.currentThread().setUncaughtExceptionHandler(previousHandler.get());
+			});
+		}
+	}
+
+	@Test
+	public void relayoutImmediatelyPerDefault() throws Throwable {
+		Graph graph = new Graph.Builder().nodes(new Node()).build();
+		final MoveAlgorithm algorithm = new MoveAlgorithm(new Point(1, 1), false);
+		ZestProperties.setLayoutAlgorithm(graph, algorithm);
+		final TestGraphLayoutBehavior behavior = new TestGraphLayoutBehavior(graph);
+		ctx.runAndWait(() -> {
+			behavior.activate();
+			assertNull(behavior.getRelayoutDelay());
+			behavior.scheduleRelayout(true);
+			assertEquals(1, behavior.getExecutedLayoutCount());
+			behavior.scheduleRelayout(false);
+			assertEquals(2, behavior.getExecutedLayoutCount());
+			assertEquals(2, behavior.getRequestedLayoutCount());
+			assertEquals(2, algorithm.executions);
+		});
+	}
+
+	@Test
+	public void supersedeRunningLayout() throws Throwable {
+		final Node node = new Node();
+		final TestGraphLayoutBehavior behavior = new TestGraphLayoutBehavior(
+				new Graph.Builder().nodes(node).build());
+		final MoveAlgorithm superseded = new MoveAlgorithm(new Point(1, 1), true);
+		final MoveAlgorithm superseding = new MoveAlgorithm(new Point(2, 2), false);
+		ctx.runAndWait(() -> {
+			behavior.activate();
+			behavior.getLayoutContext().setLayoutAlgorithm(superseded);
+			behavior.applyLayoutAsynchronously(behavior.getLayoutContext(), true);
+			assertTrue(behavior.isLayoutRunning());
+		});
+		assertTrue(superseded.started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+		ctx.runAndWait(() -> {
+			behavior.getLayoutContext().setLayoutAlgorithm(superseding);
+			behavior.applyLayoutAsynchronously(behavior.getLayoutContext(), true);
+			assertTrue(behavior.isLayoutRunning());
+		});
+		superseded.released.countDown();
+		behavior.awaitLayoutExecutor();
+
+		// only the results of the superseding layout pass are applied
+		ctx.runAndWait(() -> {
+			assertEquals(1, superseded.executions);
+			assertEquals(1, superseding.executions);
+			assertEquals(new Point(2, 2), LayoutProperties.getLocation(node));
+			assertFalse(behavior.isLayoutRunning());
+		});
+	}
+
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2017 itemis AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     itemis AG - initial API & implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.zest.fx.models.HidingModel;
+import org.junit.Test;
+
+public class HidingModelTests {
+
+	@Test
+	public void releaseGraphOnDispose() {
+		Node a = new Node();
+		Node b = new Node();
+		Graph graph = new Graph.Builder().nodes(a, b).edges(new Edge(a, b))
+				.build();
+		HidingModel model = new HidingModel();
+		model.hide(b);
+		assertTrue(model.hasHiddenNeighbors(a));
+
+		// the neighbor index is rebuilt on demand after disposal
+		model.dispose();
+		assertTrue(model.hasHiddenNeighbors(a));
+		model.dispose();
+
+		// the graph does not keep the disposed model alive
+		WeakReference<HidingModel> reference = new WeakReference<>(model);
+		model = null;
+		for (int i = 0; i < 10 && reference.get() != null; i++) {
+			System.gc();
+		}
+		assertNull(reference.get());
+		assertEquals(1, graph.getEdges().size());
+	}
+
+	@Test
+	public void updateNeighborIndexOnEdgeChanges() {
+		Node a = new Node();
+		Node b = new Node();
+		Node c = new Node();
+		Edge ab = new Edge(a, b);
+		Graph graph = new Graph.Builder().nodes(a, b, c).edges(ab).build();
+		HidingModel model = new HidingModel();
+		model.hide(b);
+		assertEquals(1, model.getHiddenNeighborCount(a));
+		assertEquals(0, model.getHiddenNeighborCount(c));
+
+		// an added edge to a hidden node
+		graph.getEdges().add(new Edge(c, b));
+		assertEquals(1, model.getHiddenNeighborCount(c));
+
+		// a node stays a neighbor as long as any edge connects it
+		Edge ba = new Edge(b, a);
+		graph.getEdges().add(ba);
+		assertEquals(1, model.getHiddenNeighborCount(a));
+		graph.getEdges().remove(ab);
+		assertEquals(1, model.getHiddenNeighborCount(a));
+		assertEquals(Collections.singleton(b), model.getHiddenNeighbors(a));
+		graph.getEdges().remove(ba);
+		assertEquals(0, model.getHiddenNeighborCount(a));
+		assertTrue(model.getHiddenNeighbors(a).isEmpty());
+
+		// showing a node updates the counts of the remaining neighbors
+		model.show(b);
+		assertFalse(model.hasHiddenNeighbors(c));
+		model.hide(c);
+		assertEquals(1, model.getHiddenNeighborCount(b));
+		assertEquals(0, model.getHiddenNeighborCount(a));
+	}
+
+}